@@ -3,17 +3,16 @@ package io.github.sashirestela.cleverclient.example;
 import io.github.sashirestela.cleverclient.CleverClient;
 import io.github.sashirestela.cleverclient.annotation.GET;
 import io.github.sashirestela.cleverclient.annotation.Path;
+import io.github.sashirestela.cleverclient.annotation.SaveTo;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 
 public class FileDownloadExample {
 
     static interface ImageService {
 
         @GET("/150/{id}")
-        InputStream getImage(@Path("id") String id);
+        java.nio.file.Path getImage(@Path("id") String id, @SaveTo java.nio.file.Path file);
 
     }
 
@@ -25,10 +24,8 @@ public class FileDownloadExample {
                 .build();
 
         var imageService = cleverClient.create(ImageService.class);
-        var binaryData = imageService.getImage("92c952");
-        var file = new FileOutputStream("src/test/resources/download.png");
-        file.write(binaryData.readAllBytes());
-        file.close();
+        var file = imageService.getImage("92c952", java.nio.file.Path.of("src/test/resources/download.png"));
+        System.out.println("Saved to " + file);
     }
 
 }
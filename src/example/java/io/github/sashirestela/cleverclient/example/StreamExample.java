@@ -3,6 +3,7 @@ package io.github.sashirestela.cleverclient.example;
 import io.github.sashirestela.cleverclient.CleverClient;
 import io.github.sashirestela.cleverclient.example.openai.ChatRequest;
 import io.github.sashirestela.cleverclient.example.openai.ChatResponse;
+import io.github.sashirestela.cleverclient.example.openai.ChatResponseAccumulator;
 import io.github.sashirestela.cleverclient.example.openai.ChatService;
 import io.github.sashirestela.cleverclient.example.openai.Message;
 
@@ -52,6 +53,27 @@ public class StreamExample {
                 .map(ChatResponse::firstContent)
                 .forEach(System.out::print);
         System.out.println();
+
+        showTitle("Example Create Reduced Stream");
+        var chatResponseReduced = chatService.createReducedStream(chatRequest);
+        System.out.println(chatResponseReduced.firstContent());
+
+        showTitle("Example Create Asynchronous Reduced Stream");
+        var accumulator = new ChatResponseAccumulator();
+        var futureChatResponse = chatService.createAsyncReducedStream(chatRequest, accumulator);
+        while (!futureChatResponse.isDone()) {
+            System.out.println("Characters received so far: " + accumulator.contentLength());
+            sleep(500);
+        }
+        System.out.println(futureChatResponse.join().firstContent());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     private static void showTitle(String title) {
@@ -1,11 +1,13 @@
 package io.github.sashirestela.cleverclient.example.openai;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 import java.util.List;
 
+@AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @ToString
@@ -0,0 +1,68 @@
+package io.github.sashirestela.cleverclient.example.openai;
+
+import io.github.sashirestela.cleverclient.StreamAccumulator;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Folds the chunks of a streamed chat completion into the full response. The content of every choice
+ * is appended to a StringBuilder, so it is copied only once when the result is built.
+ */
+public class ChatResponseAccumulator implements StreamAccumulator<ChatResponse, ChatResponse> {
+
+    private final Map<Integer, ChoiceState> choices = new TreeMap<>();
+    private String id;
+    private String object;
+    private Long created;
+    private String model;
+    private Usage usage;
+
+    @Override
+    public synchronized void accumulate(ChatResponse chunk) {
+        id = chunk.getId() != null ? chunk.getId() : id;
+        object = chunk.getObject() != null ? chunk.getObject() : object;
+        created = chunk.getCreated() != null ? chunk.getCreated() : created;
+        model = chunk.getModel() != null ? chunk.getModel() : model;
+        usage = chunk.getUsage() != null ? chunk.getUsage() : usage;
+        if (chunk.getChoices() == null) {
+            return;
+        }
+        for (var choice : chunk.getChoices()) {
+            var state = choices.computeIfAbsent(choice.getIndex(), index -> new ChoiceState());
+            var delta = choice.getMessage();
+            if (delta != null) {
+                state.role = delta.getRole() != null ? delta.getRole() : state.role;
+                if (delta.getContent() != null) {
+                    state.content.append(delta.getContent());
+                }
+            }
+            state.finishReason = choice.getFinishReason() != null ? choice.getFinishReason() : state.finishReason;
+        }
+    }
+
+    @Override
+    public synchronized ChatResponse result() {
+        var fullChoices = new ArrayList<Choice>(choices.size());
+        choices.forEach((index, state) -> fullChoices.add(new Choice(index,
+                new Message(state.role, state.content.toString()), state.finishReason)));
+        return new ChatResponse(id, object, created, model, fullChoices, usage);
+    }
+
+    /**
+     * @return The length of the content of the first choice received so far.
+     */
+    public synchronized int contentLength() {
+        return choices.isEmpty() ? 0 : choices.values().iterator().next().content.length();
+    }
+
+    private static class ChoiceState {
+
+        private String role;
+        private final StringBuilder content = new StringBuilder();
+        private String finishReason;
+
+    }
+
+}
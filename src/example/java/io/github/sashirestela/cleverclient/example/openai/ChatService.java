@@ -3,6 +3,7 @@ package io.github.sashirestela.cleverclient.example.openai;
 import io.github.sashirestela.cleverclient.annotation.Body;
 import io.github.sashirestela.cleverclient.annotation.POST;
 import io.github.sashirestela.cleverclient.annotation.Resource;
+import io.github.sashirestela.cleverclient.annotation.StreamReduce;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
@@ -26,4 +27,23 @@ public interface ChatService {
         return __createAsyncStream(request);
     }
 
+    @POST
+    @StreamReduce(ChatResponseAccumulator.class)
+    ChatResponse __createReducedStream(@Body ChatRequest chatRequest);
+
+    default ChatResponse createReducedStream(ChatRequest chatRequest) {
+        var request = chatRequest.withStream(true);
+        return __createReducedStream(request);
+    }
+
+    @POST
+    CompletableFuture<ChatResponse> __createAsyncReducedStream(@Body ChatRequest chatRequest,
+            ChatResponseAccumulator accumulator);
+
+    default CompletableFuture<ChatResponse> createAsyncReducedStream(ChatRequest chatRequest,
+            ChatResponseAccumulator accumulator) {
+        var request = chatRequest.withStream(true);
+        return __createAsyncReducedStream(request, accumulator);
+    }
+
 }
@@ -0,0 +1,28 @@
+package io.github.sashirestela.cleverclient;
+
+import java.util.List;
+
+/**
+ * Receives the elements of a streaming response in batches, bounded by a number of elements and by a
+ * flush interval as set by the Batch annotation. Pass it as a parameter of a method returning void or
+ * a StreamHandle. The callbacks of the same stream are never called concurrently.
+ *
+ * @param <T> Type of the elements, Event for methods annotated with StreamType.
+ */
+public interface BatchListener<T> {
+
+    /**
+     * Receives the next batch of elements. The list is reused for a later batch once this method
+     * returns, so copy it if it has to be kept.
+     * 
+     * @param batch The elements in the order they arrived, never empty.
+     */
+    void onBatch(List<T> batch);
+
+    default void onError(Throwable throwable) {
+    }
+
+    default void onComplete() {
+    }
+
+}
@@ -2,8 +2,13 @@ package io.github.sashirestela.cleverclient;
 
 import io.github.sashirestela.cleverclient.http.HttpProcessor;
 import io.github.sashirestela.cleverclient.http.HttpRequestData;
+import io.github.sashirestela.cleverclient.support.BandwidthLimiter;
+import io.github.sashirestela.cleverclient.support.ClientOptions;
+import io.github.sashirestela.cleverclient.support.Codec;
 import io.github.sashirestela.cleverclient.support.Configurator;
+import io.github.sashirestela.cleverclient.support.StreamJournal;
 import io.github.sashirestela.cleverclient.util.CommonUtil;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
@@ -16,24 +21,48 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 /**
  * Main class and entry point to use this library. This is a kind of wrapper that makes it easier to
- * use the Java's HttpClient component to call http services by using annotated interfaces.
+ * use the Java's HttpClient component to call http services by using annotated interfaces. Close it
+ * to stop the pool of eventWorkers, if one was created.
  */
 @Getter
-public class CleverClient {
+public class CleverClient implements AutoCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(CleverClient.class);
+    private static final long EVENT_WORKER_KEEP_ALIVE = 60;
 
     private final String baseUrl;
     private final Map<String, String> headers;
     private final HttpClient httpClient;
     private final UnaryOperator<HttpRequestData> requestInterceptor;
     private final Consumer<Object> bodyInspector;
+    private final boolean decompression;
+    private final List<Codec> codecs;
+    private final String mediaType;
+    private final int maxErrorBodySize;
+    private final long maxBodySize;
+    private final long spillThreshold;
+    private final boolean lightweightErrors;
+    private final Executor eventExecutor;
+    private final Executor decodeExecutor;
+    private final int decodeWindow;
+    private final StreamJournal journal;
+    private final BandwidthLimiter bandwidthLimiter;
     private final HttpProcessor httpProcessor;
+    @Getter(AccessLevel.NONE)
+    private final ExecutorService eventWorkerPool;
 
     /**
      * Constructor to create an instance of CleverClient.
@@ -46,22 +75,83 @@ public class CleverClient {
      * @param bodyInspector      Function to inspect the Body request parameter.
      * @param endsOfStream       Texts used to mark the final of streams when handling server sent
      *                           events (SSE). Optional.
+     * @param decompression      Whether to ask for gzip/deflate compressed responses and decompress
+     *                           them on the fly. Optional, false by default.
+     * @param codecs             Codecs to encode and decode bodies of media types other than Json.
+     *                           Optional.
+     * @param mediaType          Media type for all the interfaces, unless they or their methods are
+     *                           annotated with MediaType. Optional, Json by default.
+     * @param maxErrorBodySize   Maximum size of the error response bodies to be captured, the rest is
+     *                           discarded. Optional, no limit by default.
+     * @param maxBodySize        Maximum size of the successful response bodies held in memory or
+     *                           spilled to disk, bigger ones fail. Optional, no limit by default.
+     * @param spillThreshold     Size from which the Json bodies of objects are spilled to a temporary
+     *                           file and parsed memory-mapped. Optional, never by default.
+     * @param lightweightErrors  Throw the exceptions for error responses without stack trace.
+     *                           Optional, false by default.
+     * @param eventExecutor      Executor to run the callbacks of the EventListeners. Optional, they
+     *                           are run on the thread that decodes the response by default.
+     * @param eventWorkers       Number of threads of a pool to be created to run the callbacks of the
+     *                           EventListeners, when no eventExecutor is passed. Its threads end
+     *                           when idle, and when the client is closed. Optional.
+     * @param decodeExecutor     Executor to decode the server sent events of Stream responses in
+     *                           parallel, keeping their order. Optional, they are decoded by the
+     *                           consumer by default.
+     * @param decodeWindow       Maximum number of events decoded ahead of the consumer when there is a
+     *                           decodeExecutor. Optional, 16 by default.
+     * @param journal            Journal to record the responses of the methods annotated with Tee.
+     *                           Optional.
+     * @param bandwidthLimiter   Limiter of the bytes per second of all the request and response
+     *                           bodies. Optional, no limit by default.
      */
     @Builder
     public CleverClient(@NonNull String baseUrl, @Singular Map<String, String> headers, HttpClient httpClient,
             UnaryOperator<HttpRequestData> requestInterceptor, Consumer<Object> bodyInspector,
-            @Singular("endOfStream") List<String> endsOfStream) {
+            @Singular("endOfStream") List<String> endsOfStream, boolean decompression,
+            @Singular List<Codec> codecs, String mediaType, int maxErrorBodySize, long maxBodySize,
+            long spillThreshold, boolean lightweightErrors, Executor eventExecutor, int eventWorkers,
+            Executor decodeExecutor, int decodeWindow, StreamJournal journal, BandwidthLimiter bandwidthLimiter) {
         this.baseUrl = baseUrl;
         this.headers = Optional.ofNullable(headers).orElse(Map.of());
         this.httpClient = Optional.ofNullable(httpClient).orElse(HttpClient.newHttpClient());
         this.requestInterceptor = requestInterceptor;
         this.bodyInspector = bodyInspector;
+        this.decompression = decompression;
+        this.codecs = Optional.ofNullable(codecs).orElse(List.of());
+        this.mediaType = mediaType;
+        this.maxErrorBodySize = maxErrorBodySize;
+        this.maxBodySize = maxBodySize;
+        this.spillThreshold = spillThreshold;
+        this.lightweightErrors = lightweightErrors;
+        this.eventWorkerPool = eventExecutor != null || eventWorkers <= 0 ? null
+                : createEventWorkers(eventWorkers);
+        this.eventExecutor = eventWorkerPool != null ? eventWorkerPool : eventExecutor;
+        this.decodeExecutor = decodeExecutor;
+        this.decodeWindow = decodeWindow;
+        this.journal = journal;
+        this.bandwidthLimiter = bandwidthLimiter;
         this.httpProcessor = HttpProcessor.builder()
                 .baseUrl(this.baseUrl)
                 .headers(CommonUtil.mapToListOfString(this.headers))
                 .httpClient(this.httpClient)
                 .requestInterceptor(this.requestInterceptor)
                 .bodyInspector(bodyInspector)
+                .options(ClientOptions.builder()
+                        .decompression(this.decompression)
+                        .codecs(this.codecs.stream()
+                                .collect(Collectors.toMap(codec -> codec.getMediaType().toLowerCase(),
+                                        Function.identity())))
+                        .mediaType(this.mediaType)
+                        .maxErrorBodySize(this.maxErrorBodySize)
+                        .maxBodySize(this.maxBodySize)
+                        .spillThreshold(this.spillThreshold)
+                        .lightweightErrors(this.lightweightErrors)
+                        .eventExecutor(this.eventExecutor)
+                        .decodeExecutor(this.decodeExecutor)
+                        .decodeWindow(this.decodeWindow)
+                        .journal(this.journal)
+                        .bandwidthLimiter(this.bandwidthLimiter)
+                        .build())
                 .build();
         Configurator.builder()
                 .endsOfStream(Optional.ofNullable(endsOfStream).orElse(Arrays.asList()))
@@ -69,6 +159,18 @@ public class CleverClient {
         logger.debug("CleverClient has been created.");
     }
 
+    private static ExecutorService createEventWorkers(int eventWorkers) {
+        var counter = new AtomicInteger();
+        var pool = new ThreadPoolExecutor(eventWorkers, eventWorkers, EVENT_WORKER_KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    var thread = new Thread(runnable, "cleverclient-event-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
     /**
      * Creates an instance of an annotated interface that represents a resource of the API service and
      * its methods represent the endpoints that we can call: Get, Post, Put, Patch, Delete.
@@ -81,4 +183,16 @@ public class CleverClient {
         return this.httpProcessor.createProxy(interfaceClass);
     }
 
+    /**
+     * Stops the pool of eventWorkers created by this client, once the callbacks already queued are run.
+     * An eventExecutor passed to the builder is left to its owner.
+     */
+    @Override
+    public void close() {
+        if (eventWorkerPool != null) {
+            eventWorkerPool.shutdown();
+        }
+        logger.debug("CleverClient has been closed.");
+    }
+
 }
@@ -1,16 +1,103 @@
 package io.github.sashirestela.cleverclient;
 
+import lombok.AccessLevel;
 import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
+import lombok.experimental.NonFinal;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
 
 /**
- * Represents every event in a Server Sent Event interaction.
+ * Represents every event in a Server Sent Event interaction. Lazy events keep the raw UTF-8 bytes of
+ * the data, so the event can be forwarded as is, and a decoder that decodes the data on the first call
+ * to getData and keeps it for the next ones, even if it is null. Neither toString, equals nor hashCode
+ * decode the data: lazy events are compared by their name and raw data, the other ones by their name
+ * and data, so a lazy event keeps its hash code once decoded.
  */
 @Value
-@Builder
+@ToString(doNotUseGetters = true)
 public class Event {
 
+    private static final Object UNDECODED = new Object();
+
     String name;
-    Object data;
+
+    @NonFinal
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    volatile Object data;
+
+    @ToString.Exclude
+    byte[] rawData;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    Function<byte[], Object> decoder;
+
+    @Builder
+    private Event(String name, Object data, byte[] rawData, Function<byte[], Object> decoder) {
+        this.name = name;
+        this.rawData = rawData;
+        this.decoder = decoder;
+        this.data = isLazy(rawData, decoder) ? UNDECODED : data;
+    }
+
+    /**
+     * @return The decoded data, decoding it now if it was not yet.
+     */
+    public Object getData() {
+        if (data == UNDECODED) {
+            synchronized (this) {
+                if (data == UNDECODED) {
+                    data = decoder.apply(rawData);
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * @return The raw data as text, or null if the event has no raw data.
+     */
+    public String getRawDataAsString() {
+        return rawData != null ? new String(rawData, StandardCharsets.UTF_8) : null;
+    }
+
+    @ToString.Include(name = "data")
+    private Object dataIfDecoded() {
+        var value = data;
+        return value != UNDECODED ? value : null;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Event)) {
+            return false;
+        }
+        var event = (Event) other;
+        if (!Objects.equals(name, event.name) || isLazy(rawData, decoder) != isLazy(event.rawData, event.decoder)) {
+            return false;
+        }
+        return isLazy(rawData, decoder) ? Arrays.equals(rawData, event.rawData)
+                : Objects.equals(data, event.data) && Arrays.equals(rawData, event.rawData);
+    }
+
+    @Override
+    public int hashCode() {
+        return isLazy(rawData, decoder) ? 31 * Objects.hashCode(name) + Arrays.hashCode(rawData)
+                : Objects.hash(name, data, Arrays.hashCode(rawData));
+    }
+
+    private static boolean isLazy(byte[] rawData, Function<byte[], Object> decoder) {
+        return rawData != null && decoder != null;
+    }
 
 }
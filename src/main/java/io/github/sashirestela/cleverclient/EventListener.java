@@ -0,0 +1,20 @@
+package io.github.sashirestela.cleverclient;
+
+/**
+ * Receives the elements of a streaming response as they are decoded, instead of iterating a Stream.
+ * Pass it as a parameter of a method returning void or a StreamHandle. The callbacks of the same
+ * stream are never called concurrently.
+ *
+ * @param <T> Type of the elements, Event for methods annotated with StreamType.
+ */
+public interface EventListener<T> {
+
+    void onEvent(T event);
+
+    default void onError(Throwable throwable) {
+    }
+
+    default void onComplete() {
+    }
+
+}
@@ -0,0 +1,17 @@
+package io.github.sashirestela.cleverclient;
+
+/**
+ * Receives the progress of a response body as its bytes arrive. Pass it as a parameter of the
+ * method, typically one returning an InputStream or a Path. It is called on the thread that reads
+ * the response, so it must be short.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    /**
+     * @param received Bytes of the body received so far, counting the ones received before a resume.
+     * @param total    Length of the whole body, or -1 if it is unknown.
+     */
+    void onProgress(long received, long total);
+
+}
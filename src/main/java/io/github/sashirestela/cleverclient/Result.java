@@ -0,0 +1,41 @@
+package io.github.sashirestela.cleverclient;
+
+import io.github.sashirestela.cleverclient.util.CommonUtil;
+import io.github.sashirestela.cleverclient.util.JsonUtil;
+import lombok.Builder;
+import lombok.Value;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpHeaders;
+
+/**
+ * Represents the outcome of a request as a value: either the deserialized response body or, for
+ * status codes out of the 2xx range, the error body. No exception is thrown for error responses.
+ *
+ * @param <T> Type of the response body.
+ */
+@Value
+@Builder
+public class Result<T> {
+
+    int statusCode;
+    HttpHeaders headers;
+    T value;
+    String errorBody;
+
+    public boolean isSuccess() {
+        return CommonUtil.isInHundredsOf(statusCode, HttpURLConnection.HTTP_OK);
+    }
+
+    /**
+     * Decodes the error body as Json to a class.
+     * 
+     * @param <E>   Type of the decoded error.
+     * @param clazz Class of the decoded error.
+     * @return The decoded error or null if the result is successful.
+     */
+    public <E> E getErrorAs(Class<E> clazz) {
+        return errorBody != null ? JsonUtil.jsonToObject(errorBody, clazz) : null;
+    }
+
+}
@@ -0,0 +1,24 @@
+package io.github.sashirestela.cleverclient;
+
+/**
+ * Folds the elements of a streaming response into a single result as they arrive, for instance the
+ * deltas of a chat completion into the full response. Implementations should keep append-only state
+ * (StringBuilder, lists) so every element is folded in constant time.
+ *
+ * @param <T> Type of the elements, Event for methods annotated with StreamType.
+ * @param <R> Type of the result.
+ * @see io.github.sashirestela.cleverclient.annotation.StreamReduce
+ */
+public interface StreamAccumulator<T, R> {
+
+    void accumulate(T element);
+
+    /**
+     * Builds the result from the elements accumulated so far. It is the final result once the stream
+     * has ended, or a partial one while it is still being consumed.
+     * 
+     * @return The result.
+     */
+    R result();
+
+}
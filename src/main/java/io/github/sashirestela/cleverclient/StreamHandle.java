@@ -0,0 +1,23 @@
+package io.github.sashirestela.cleverclient;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle of a streaming response consumed by an EventListener.
+ */
+public interface StreamHandle {
+
+    /**
+     * Stops the delivery of elements and cancels the response.
+     */
+    void cancel();
+
+    boolean isDone();
+
+    /**
+     * @return A future that is completed when the stream ends and the listener has been notified,
+     *         exceptionally if it ends with an error.
+     */
+    CompletableFuture<Void> completion();
+
+}
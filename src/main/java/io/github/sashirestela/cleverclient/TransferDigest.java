@@ -0,0 +1,197 @@
+package io.github.sashirestela.cleverclient;
+
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.TransferVerificationException;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+/**
+ * Digest and size of a body computed while its bytes are transferred, so big files do not have to be
+ * read again to be checked. Pass it as a parameter of the method: one created with forResponse
+ * digests the body that is received, and one created with forRequest digests the body that is sent
+ * (the contents of the files of a multipart body, or the whole body otherwise). If an expected
+ * digest or size is set, a body that does not match fails with a TransferVerificationException
+ * before it is handed over as complete. Otherwise, the digest can be read once the transfer is
+ * complete.
+ */
+public class TransferDigest {
+
+    public static final String SHA_256 = "SHA-256";
+    public static final String CRC32C = "CRC32C";
+    public static final String CRC32 = "CRC32";
+
+    private final String algorithm;
+    private final Target target;
+    private final MessageDigest messageDigest;
+    private final Checksum checksum;
+    private String expected;
+    private long expectedSize = -1;
+    private volatile long size;
+    private volatile byte[] value;
+
+    private TransferDigest(String algorithm, Target target) {
+        this.algorithm = algorithm.toUpperCase(Locale.ROOT);
+        this.target = target;
+        if (CRC32C.equals(this.algorithm)) {
+            this.checksum = new CRC32C();
+            this.messageDigest = null;
+        } else if (CRC32.equals(this.algorithm)) {
+            this.checksum = new CRC32();
+            this.messageDigest = null;
+        } else {
+            this.checksum = null;
+            try {
+                this.messageDigest = MessageDigest.getInstance(this.algorithm);
+            } catch (NoSuchAlgorithmException e) {
+                throw new CleverClientException("The digest algorithm {0} is not supported.", algorithm, e);
+            }
+        }
+    }
+
+    /**
+     * @param algorithm CRC32C, CRC32 or the name of a MessageDigest algorithm, as SHA-256.
+     * @return A TransferDigest of the body of the response.
+     */
+    public static TransferDigest forResponse(String algorithm) {
+        return new TransferDigest(algorithm, Target.RESPONSE);
+    }
+
+    /**
+     * @param algorithm CRC32C, CRC32 or the name of a MessageDigest algorithm, as SHA-256.
+     * @return A TransferDigest of the body of the request.
+     */
+    public static TransferDigest forRequest(String algorithm) {
+        return new TransferDigest(algorithm, Target.REQUEST);
+    }
+
+    /**
+     * @param expected The expected digest, in hexadecimal or in Base64.
+     * @return This TransferDigest.
+     */
+    public TransferDigest expect(String expected) {
+        this.expected = expected;
+        return this;
+    }
+
+    /**
+     * @param expectedSize The expected size of the body in bytes.
+     * @return This TransferDigest.
+     */
+    public TransferDigest expectSize(long expectedSize) {
+        this.expectedSize = expectedSize;
+        return this;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public Target getTarget() {
+        return target;
+    }
+
+    /**
+     * @return Bytes of the body digested so far.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return True if the whole body was digested.
+     */
+    public boolean isComplete() {
+        return value != null;
+    }
+
+    /**
+     * @return The digest in hexadecimal, or null if the body is not complete.
+     */
+    public String getHex() {
+        var digest = value;
+        if (digest == null) {
+            return null;
+        }
+        var hex = new StringBuilder(digest.length * 2);
+        for (var b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * @return The digest in Base64, or null if the body is not complete.
+     */
+    public String getBase64() {
+        var digest = value;
+        return digest != null ? Base64.getEncoder().encodeToString(digest) : null;
+    }
+
+    /**
+     * Adds the remaining bytes of a buffer to the digest, without moving its position. Called by the
+     * client as the bytes are transferred.
+     *
+     * @param buffer The next bytes of the body.
+     */
+    public void update(ByteBuffer buffer) {
+        size += buffer.remaining();
+        if (checksum != null) {
+            checksum.update(buffer.duplicate());
+        } else {
+            messageDigest.update(buffer.duplicate());
+        }
+    }
+
+    /**
+     * Starts the digest again, when the body is transferred again from its first byte.
+     */
+    public void reset() {
+        size = 0;
+        value = null;
+        if (checksum != null) {
+            checksum.reset();
+        } else {
+            messageDigest.reset();
+        }
+    }
+
+    /**
+     * Completes the digest once the whole body was transferred and checks it against the expected
+     * size and digest, if they were set.
+     *
+     * @throws TransferVerificationException If the size or the digest is not the expected one.
+     */
+    public void verify() {
+        if (checksum != null) {
+            var crc = checksum.getValue();
+            value = new byte[] { (byte) (crc >> 24), (byte) (crc >> 16), (byte) (crc >> 8), (byte) crc };
+        } else {
+            value = messageDigest.digest();
+        }
+        if (expectedSize >= 0 && expectedSize != size) {
+            throw new TransferVerificationException("size", String.valueOf(expectedSize), String.valueOf(size));
+        }
+        if (expected != null && !expected.equalsIgnoreCase(getHex()) && !expected.equals(getBase64())) {
+            throw new TransferVerificationException(algorithm, expected, getHex());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TransferDigest(algorithm=" + algorithm + ", target=" + target + ", size=" + size + ", value="
+                + getHex() + ")";
+    }
+
+    public enum Target {
+        REQUEST,
+        RESPONSE;
+    }
+
+}
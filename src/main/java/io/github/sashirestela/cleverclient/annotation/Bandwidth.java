@@ -0,0 +1,29 @@
+package io.github.sashirestela.cleverclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the rate of the request and response bodies of the method, with a token bucket shared by all
+ * of its calls. The limit of the client, if there is one, applies too.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Bandwidth {
+
+    /**
+     * @return Maximum bytes per second of all the calls of the method together.
+     */
+    long bytesPerSecond();
+
+    /**
+     * @return Bytes that can be transferred at once after an idle time. Zero means 64 KB, or one second
+     *         of transfer if that is less.
+     */
+    long burst() default 0;
+
+}
@@ -0,0 +1,29 @@
+package io.github.sashirestela.cleverclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the bounds of the batches handed to the BatchListener of the method: a batch is delivered when
+ * it has the given size or when the interval has passed since its first element arrived.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Batch {
+
+    /**
+     * @return Maximum number of elements of a batch.
+     */
+    int size() default 64;
+
+    /**
+     * @return Maximum time in milliseconds an element waits in an incomplete batch. Zero means that
+     *         only full batches are delivered before the end of the response.
+     */
+    long interval() default 20;
+
+}
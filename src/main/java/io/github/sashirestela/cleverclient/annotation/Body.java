@@ -6,8 +6,21 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Marks the parameter that is sent as the request body. Besides objects, the body can be an
+ * InputStream, a Path or a Flow.Publisher of ByteBuffer, that are sent as they are read, or a Stream
+ * whose elements are serialized one by one as a Json array, or as NDJSON for the media type
+ * application/x-ndjson.
+ */
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.PARAMETER)
 public @interface Body {
+
+    /**
+     * @return Media type of a streamed body, if it is not the default one: application/octet-stream for
+     *         binary bodies and application/json for Streams.
+     */
+    String value() default "";
+
 }
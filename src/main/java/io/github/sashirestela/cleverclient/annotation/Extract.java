@@ -0,0 +1,23 @@
+package io.github.sashirestela.cleverclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps only the Json value selected by a Json Pointer (RFC 6901) to the method's return type, for
+ * instance {@code @Extract("/choices/0/message/content")}. The rest of the response is skipped
+ * without being deserialized. Async methods read the whole body into a byte array before it is
+ * parsed, sync methods parse it as it arrives. Responses whose Content-Type has a codec in the
+ * client are not Json, so they fail with a CleverClientException.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Extract {
+
+    String value();
+
+}
@@ -0,0 +1,18 @@
+package io.github.sashirestela.cleverclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Delivers the events of the method without decoding their data, which is decoded on the first call
+ * to Event.getData. Events that are only forwarded with Event.getRawData are never decoded.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface LazyEvents {
+
+}
@@ -0,0 +1,54 @@
+package io.github.sashirestela.cleverclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Shares one response among the concurrent subscriptions to a method with equal arguments: the
+ * request is sent once, its elements are decoded once and every subscriber gets them from its own
+ * bounded buffer. Subscribers that arrive while the response is running get the elements from then
+ * on. It applies to Flow.Publisher return types and to methods with an EventListener, but not to
+ * methods that reduce their elements with a StreamAccumulator.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Multicast {
+
+    /**
+     * @return Maximum number of elements buffered for a subscriber that has no demand.
+     */
+    int buffer() default 256;
+
+    /**
+     * @return What to do when the buffer of a subscriber is full.
+     */
+    Overflow overflow() default Overflow.BLOCK;
+
+    /**
+     * Policies for subscribers that can not keep up with the response.
+     */
+    enum Overflow {
+
+        /**
+         * New elements are discarded for the slow subscriber only.
+         */
+        DROP,
+
+        /**
+         * The response is not read any further until the slow subscriber makes room, so every subscriber
+         * goes at the pace of the slowest one.
+         */
+        BLOCK,
+
+        /**
+         * The slow subscriber gets an error and leaves, the rest go on.
+         */
+        DISCONNECT;
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package io.github.sashirestela.cleverclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Downloads the file of a method returning Path through many connections at once. A HEAD request
+ * reads the Content-Length and Accept-Ranges of the file first, then the file is split in parts that
+ * are requested at the same time with Range headers and written at their positions of the file. A
+ * part that fails is requested again from its last byte received, after a delay doubled for every
+ * consecutive failure up to maxDelay. Files too small to be split, or
+ * from servers without ranges, are downloaded with a single request.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ParallelDownload {
+
+    /**
+     * @return Maximum number of parts downloaded at the same time.
+     */
+    int connections() default 4;
+
+    /**
+     * @return Minimum size in bytes of every part.
+     */
+    long minPartSize() default 8L * 1024 * 1024;
+
+    /**
+     * @return Maximum number of attempts to download every part.
+     */
+    int maxAttempts() default 3;
+
+    /**
+     * @return Initial delay in milliseconds before requesting a failed part again.
+     */
+    long delay() default 1000;
+
+    /**
+     * @return Maximum delay in milliseconds before requesting a failed part again.
+     */
+    long maxDelay() default 30000;
+
+}
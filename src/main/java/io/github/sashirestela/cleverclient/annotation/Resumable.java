@@ -0,0 +1,42 @@
+package io.github.sashirestela.cleverclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Makes a server sent events stream resumable: when the connection drops in the middle of the
+ * response, or it is closed before an end of stream marker if there are some, the request is sent
+ * again with the header Last-Event-ID set to the last event id received, and the consumer keeps
+ * reading the same Stream. Reconnections wait the delay sent by the server in the retry field (or the
+ * delay here), doubled for every consecutive failure up to maxDelay. Reconnections answered with a
+ * server error (5xx) are retried as well, waiting its Retry-After if any. Use it only for endpoints
+ * that are safe to be called again.
+ * <p>
+ * For methods returning InputStream or Path, the body is requested again from its next byte with the
+ * headers Range and If-Range, so the consumer keeps reading the same InputStream and the file is
+ * completed in place.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Resumable {
+
+    /**
+     * @return Maximum number of consecutive reconnection attempts.
+     */
+    int maxAttempts() default 5;
+
+    /**
+     * @return Initial delay in milliseconds before reconnecting, unless the server sent a retry field.
+     */
+    long delay() default 3000;
+
+    /**
+     * @return Maximum delay in milliseconds before reconnecting.
+     */
+    long maxDelay() default 30000;
+
+}
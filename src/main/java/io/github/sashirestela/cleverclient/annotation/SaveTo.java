@@ -0,0 +1,29 @@
+package io.github.sashirestela.cleverclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the parameter, a java.nio.file.Path, with the file where the response body of a method
+ * returning Path is written.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface SaveTo {
+
+    /**
+     * @return True to write the body to a temporary file next to the target, that replaces the target
+     *         only once the body is complete.
+     */
+    boolean atomic() default true;
+
+    /**
+     * @return True to extend the file to the Content-Length of the response before writing it.
+     */
+    boolean preallocate() default true;
+
+}
@@ -0,0 +1,28 @@
+package io.github.sashirestela.cleverclient.annotation;
+
+import io.github.sashirestela.cleverclient.StreamAccumulator;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Consumes the streaming response of the method (Server Sent Events, Newline Delimited Json or a Json
+ * array) with a new instance of the StreamAccumulator, and returns its result instead of the
+ * elements. The method has to return the result type, sync or async. The type of the elements is
+ * the first type argument of the accumulator, or Event if the method is annotated with StreamType.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface StreamReduce {
+
+    /**
+     * @return The StreamAccumulator class, it must have a constructor without parameters.
+     */
+    @SuppressWarnings("rawtypes")
+    Class<? extends StreamAccumulator> value();
+
+}
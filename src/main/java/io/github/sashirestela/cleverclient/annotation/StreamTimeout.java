@@ -0,0 +1,29 @@
+package io.github.sashirestela.cleverclient.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Aborts the response of the method when no bytes arrive for the idle time while the consumer is
+ * waiting for them, or when the whole response takes more than the total time. The consumer gets a
+ * StreamTimeoutException and the connection is released. Zero means no limit.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface StreamTimeout {
+
+    /**
+     * @return Maximum time in milliseconds between two chunks of the response.
+     */
+    long idle() default 0;
+
+    /**
+     * @return Maximum time in milliseconds to receive the whole response, from its headers.
+     */
+    long total() default 0;
+
+}
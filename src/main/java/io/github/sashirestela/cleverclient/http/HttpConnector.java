@@ -1,23 +1,35 @@
 package io.github.sashirestela.cleverclient.http;
 
+import io.github.sashirestela.cleverclient.TransferDigest;
 import io.github.sashirestela.cleverclient.sender.HttpSenderFactory;
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.ClientOptions;
 import io.github.sashirestela.cleverclient.support.ContentType;
+import io.github.sashirestela.cleverclient.support.DigestBodyPublisher;
 import io.github.sashirestela.cleverclient.support.HttpMultipart;
+import io.github.sashirestela.cleverclient.support.JsonStreamInputStream;
 import io.github.sashirestela.cleverclient.support.ReturnType;
+import io.github.sashirestela.cleverclient.support.ThrottledBodyPublisher;
 import io.github.sashirestela.cleverclient.util.CommonUtil;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.FileNotFoundException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublisher;
 import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Flow;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * HttpConnector prepares the request and receives the response to/from the Java's HttpClient
@@ -37,6 +49,8 @@ public class HttpConnector {
     private ContentType contentType;
     private List<String> headers;
     private UnaryOperator<HttpRequestData> requestInterceptor;
+    private ClientOptions options;
+    private Object[] arguments;
 
     /**
      * Prepares the request to call Java's HttpClient and delegates it to a specialized HttpSender based
@@ -52,7 +66,10 @@ public class HttpConnector {
         logger.debug("Http Call : {} {}", httpMethod, url);
         logger.debug("Request Headers : {}", formattedHeaders);
 
-        var bodyPublisher = createBodyPublisher(bodyObject, contentType);
+        var requestDigest = returnType != null && arguments != null
+                ? returnType.digestOf(arguments, TransferDigest.Target.REQUEST)
+                : null;
+        var bodyPublisher = throttle(createBodyPublisher(bodyObject, contentType, requestDigest));
         var headersArray = headers.toArray(new String[0]);
         HttpRequest httpRequest = null;
         if (headersArray.length > 0) {
@@ -67,7 +84,7 @@ public class HttpConnector {
                     .method(httpMethod, bodyPublisher)
                     .build();
         }
-        var httpSender = HttpSenderFactory.get().createSender(returnType);
+        var httpSender = HttpSenderFactory.get().createSender(returnType, options, arguments);
         return httpSender.sendRequest(httpClient, httpRequest, returnType);
     }
 
@@ -88,22 +105,75 @@ public class HttpConnector {
     }
 
     @SuppressWarnings("unchecked")
-    private BodyPublisher createBodyPublisher(Object bodyObject, ContentType contentType) {
+    private BodyPublisher createBodyPublisher(Object bodyObject, ContentType contentType,
+            TransferDigest requestDigest) {
         BodyPublisher bodyPublisher = null;
         if (contentType == null) {
             logger.debug("Request Body : (Empty)");
             bodyPublisher = BodyPublishers.noBody();
         } else if (contentType == ContentType.MULTIPART_FORMDATA) {
             logger.debug("Request Body : {}", bodyObject);
-            var bodyBytes = HttpMultipart.toByteArrays((Map<String, Object>) bodyObject);
-            bodyPublisher = BodyPublishers.ofByteArrays(bodyBytes);
+            // The files are read as the body is sent, and only their contents are digested.
+            return HttpMultipart.toBodyPublisher((Map<String, Object>) bodyObject, requestDigest);
+        } else if (bodyObject instanceof Stream) {
+            logger.debug("Request Body : (Streamed {})", contentType.getMimeType());
+            var stream = (Stream<?>) bodyObject;
+            var delimited = contentType == ContentType.APPLICATION_NDJSON;
+            bodyPublisher = BodyPublishers.ofInputStream(() -> new JsonStreamInputStream(stream, delimited));
+        } else if (contentType == ContentType.APPLICATION_OCTET_STREAM) {
+            bodyPublisher = createBinaryBodyPublisher(bodyObject);
         } else if (contentType == ContentType.APPLICATION_JSON) {
             logger.debug("Request Body : {}", bodyObject);
             bodyPublisher = BodyPublishers.ofString((String) bodyObject);
+        } else if (contentType == ContentType.CODEC) {
+            var bodyBytes = (byte[]) bodyObject;
+            logger.debug("Request Body : ({} bytes)", bodyBytes.length);
+            bodyPublisher = BodyPublishers.ofByteArray(bodyBytes);
+        }
+        if (requestDigest != null) {
+            bodyPublisher = new DigestBodyPublisher(bodyPublisher, requestDigest);
+        }
+        return bodyPublisher;
+    }
+
+    private BodyPublisher throttle(BodyPublisher bodyPublisher) {
+        if (contentType == null) {
+            return bodyPublisher;
+        }
+        if (returnType != null && returnType.getBandwidthLimiter() != null) {
+            bodyPublisher = new ThrottledBodyPublisher(bodyPublisher, returnType.getBandwidthLimiter());
+        }
+        if (options != null && options.getBandwidthLimiter() != null) {
+            bodyPublisher = new ThrottledBodyPublisher(bodyPublisher, options.getBandwidthLimiter());
         }
         return bodyPublisher;
     }
 
+    /**
+     * Binary bodies are read as they are sent. Files are sent with their length, the other ones with
+     * chunked transfer, and all of them can be sent only once.
+     */
+    @SuppressWarnings("unchecked")
+    private BodyPublisher createBinaryBodyPublisher(Object bodyObject) {
+        if (bodyObject instanceof Path) {
+            var path = (Path) bodyObject;
+            try {
+                var bodyPublisher = BodyPublishers.ofFile(path);
+                logger.debug("Request Body : (File {} of {} bytes)", path, bodyPublisher.contentLength());
+                return bodyPublisher;
+            } catch (FileNotFoundException e) {
+                throw new CleverClientException("Cannot read the file {0}.", path, e);
+            }
+        } else if (bodyObject instanceof InputStream) {
+            logger.debug("Request Body : (Streamed InputStream)");
+            var inputStream = (InputStream) bodyObject;
+            return BodyPublishers.ofInputStream(() -> inputStream);
+        } else {
+            logger.debug("Request Body : (Streamed Publisher)");
+            return BodyPublishers.fromPublisher((Flow.Publisher<ByteBuffer>) bodyObject);
+        }
+    }
+
     private String printHeaders(List<String> headers) {
         var print = new StringBuilder("{");
         for (var i = 0; i < headers.size(); i += 2) {
@@ -1,23 +1,32 @@
 package io.github.sashirestela.cleverclient.http;
 
+import io.github.sashirestela.cleverclient.metadata.InterfaceMetadata;
 import io.github.sashirestela.cleverclient.metadata.InterfaceMetadata.MethodMetadata;
 import io.github.sashirestela.cleverclient.metadata.InterfaceMetadataStore;
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.ClientOptions;
+import io.github.sashirestela.cleverclient.support.Codec;
 import io.github.sashirestela.cleverclient.support.ContentType;
+import io.github.sashirestela.cleverclient.support.DecompressingBodyHandler;
 import io.github.sashirestela.cleverclient.util.JsonUtil;
 import io.github.sashirestela.cleverclient.util.ReflectUtil;
 import lombok.Builder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.net.http.HttpClient;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Flow;
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * HttpProcessor orchestrates all the http interaction.
@@ -32,6 +41,7 @@ public class HttpProcessor implements InvocationHandler {
     private final HttpClient httpClient;
     private final UnaryOperator<HttpRequestData> requestInterceptor;
     private final Consumer<Object> bodyInspector;
+    private final ClientOptions options;
 
     /**
      * Creates a generic dynamic proxy with this HttpProcessor object acting as an InvocationHandler to
@@ -101,12 +111,16 @@ public class HttpProcessor implements InvocationHandler {
         var url = baseUrl + URLBuilder.one().build(urlMethod, methodMetadata, arguments);
         var httpMethod = methodMetadata.getHttpAnnotationName();
         var returnType = methodMetadata.getReturnType();
-        var contentType = methodMetadata.getContentType();
+        var codec = getCodec(interfaceMetadata, methodMetadata);
         var body = getAndInspectBody(methodMetadata, arguments);
-        var bodyObject = getBodyObject(body, contentType);
+        var bodyMediaType = isStreamed(body) ? methodMetadata.getBodyMediaType() : null;
+        var contentType = getContentType(methodMetadata, codec, body, bodyMediaType);
+        var bodyObject = getBodyObject(body, contentType, codec);
         var fullHeaders = new ArrayList<>(this.headers);
-        fullHeaders.addAll(calculateHeaderContentType(contentType));
+        fullHeaders.addAll(calculateHeaderContentType(contentType, codec, bodyMediaType));
         fullHeaders.addAll(interfaceMetadata.getFullHeadersByMethod(methodMetadata));
+        fullHeaders.addAll(calculateHeaderAccept(fullHeaders, codec));
+        fullHeaders.addAll(calculateHeaderAcceptEncoding(fullHeaders));
         var httpConnector = HttpConnector.builder()
                 .httpClient(httpClient)
                 .url(url)
@@ -116,6 +130,8 @@ public class HttpProcessor implements InvocationHandler {
                 .contentType(contentType)
                 .headers(fullHeaders)
                 .requestInterceptor(requestInterceptor)
+                .options(options)
+                .arguments(arguments)
                 .build();
         return httpConnector.sendRequest();
     }
@@ -131,26 +147,106 @@ public class HttpProcessor implements InvocationHandler {
         return body;
     }
 
-    private Object getBodyObject(Object body, ContentType contentType) {
+    private Codec getCodec(InterfaceMetadata interfaceMetadata, MethodMetadata methodMetadata) {
+        var mediaType = interfaceMetadata.getMediaTypeByMethod(methodMetadata);
+        if (mediaType == null && options != null) {
+            mediaType = options.getMediaType();
+        }
+        if (mediaType == null) {
+            return null;
+        }
+        var codec = options != null ? options.getCodecFor(mediaType) : null;
+        if (codec == null && !mediaType.equalsIgnoreCase(ContentType.APPLICATION_JSON.getMimeType())) {
+            throw new CleverClientException("There is no codec for the media type {0}.", mediaType, null);
+        }
+        return codec;
+    }
+
+    private ContentType getContentType(MethodMetadata methodMetadata, Codec codec, Object body,
+            String bodyMediaType) {
+        var contentType = methodMetadata.getContentType();
+        if (contentType == ContentType.APPLICATION_JSON) {
+            // Streamed bodies are sent as they are read, whatever the codec is.
+            if (isBinaryStream(body)) {
+                return ContentType.APPLICATION_OCTET_STREAM;
+            } else if (body instanceof Stream) {
+                return ContentType.APPLICATION_NDJSON.getMimeType().equalsIgnoreCase(bodyMediaType)
+                        ? ContentType.APPLICATION_NDJSON
+                        : ContentType.APPLICATION_JSON;
+            }
+        }
+        return contentType == ContentType.APPLICATION_JSON && codec != null ? ContentType.CODEC : contentType;
+    }
+
+    private static boolean isBinaryStream(Object body) {
+        return body instanceof InputStream || body instanceof Path || body instanceof Flow.Publisher;
+    }
+
+    private static boolean isStreamed(Object body) {
+        return isBinaryStream(body) || body instanceof Stream;
+    }
+
+    private Object getBodyObject(Object body, ContentType contentType, Codec codec) {
         Object bodyObject = null;
         if (body != null) {
-            if (contentType == ContentType.MULTIPART_FORMDATA) {
+            if (isStreamed(body) && contentType != ContentType.MULTIPART_FORMDATA) {
+                bodyObject = body;
+            } else if (contentType == ContentType.MULTIPART_FORMDATA) {
                 bodyObject = JsonUtil.objectToMap(body);
             } else if (contentType == ContentType.APPLICATION_JSON) {
                 bodyObject = JsonUtil.objectToJson(body);
+            } else if (contentType == ContentType.CODEC) {
+                bodyObject = codec.encode(body);
             }
         }
         return bodyObject;
     }
 
-    private List<String> calculateHeaderContentType(ContentType contentType) {
+    private List<String> calculateHeaderContentType(ContentType contentType, Codec codec, String bodyMediaType) {
         final String HEADER_CONTENT_TYPE = "Content-Type";
         List<String> headerContentType = new ArrayList<>();
         if (contentType != null) {
             headerContentType.add(HEADER_CONTENT_TYPE);
-            headerContentType.add(contentType.getMimeType() + contentType.getDetails());
+            if (contentType == ContentType.CODEC) {
+                headerContentType.add(codec.getMediaType());
+            } else if (bodyMediaType != null && contentType != ContentType.MULTIPART_FORMDATA) {
+                headerContentType.add(bodyMediaType);
+            } else {
+                headerContentType.add(contentType.getMimeType() + contentType.getDetails());
+            }
         }
         return headerContentType;
     }
 
+    private List<String> calculateHeaderAccept(List<String> headers, Codec codec) {
+        final String HEADER_ACCEPT = "Accept";
+        final String JSON_FALLBACK = ", " + ContentType.APPLICATION_JSON.getMimeType() + ";q=0.5";
+        List<String> headerAccept = new ArrayList<>();
+        if (codec != null && !containsHeader(headers, HEADER_ACCEPT)) {
+            var isJson = codec.getMediaType().equalsIgnoreCase(ContentType.APPLICATION_JSON.getMimeType());
+            headerAccept.add(HEADER_ACCEPT);
+            headerAccept.add(codec.getMediaType() + (isJson ? "" : JSON_FALLBACK));
+        }
+        return headerAccept;
+    }
+
+    private List<String> calculateHeaderAcceptEncoding(List<String> headers) {
+        List<String> headerAcceptEncoding = new ArrayList<>();
+        if (options != null && options.isDecompression()
+                && !containsHeader(headers, DecompressingBodyHandler.HEADER_ACCEPT_ENCODING)) {
+            headerAcceptEncoding.add(DecompressingBodyHandler.HEADER_ACCEPT_ENCODING);
+            headerAcceptEncoding.add(DecompressingBodyHandler.ACCEPTED_ENCODINGS);
+        }
+        return headerAcceptEncoding;
+    }
+
+    private boolean containsHeader(List<String> headers, String headerName) {
+        for (var i = 0; i < headers.size(); i += 2) {
+            if (headers.get(i).equalsIgnoreCase(headerName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
@@ -17,6 +17,7 @@ public class InterfaceMetadata {
     private static final String ANNOT_RESOURCE = "Resource";
     private static final String ANNOT_HEADER = "Header";
     private static final String ANNOT_MULTIPART = "Multipart";
+    private static final String ANNOT_MEDIA_TYPE = "MediaType";
     private static final String ANNOT_PARAM_BODY = "Body";
     private static final String ANNOT_PARAM_PATH = "Path";
     private static final String ANNOT_PARAM_QUERY = "Query";
@@ -57,6 +58,17 @@ public class InterfaceMetadata {
         return fullHeaders;
     }
 
+    public String getMediaTypeByMethod(MethodMetadata methodMetadata) {
+        var mediaTypeAnnot = methodMetadata.getAnnotations()
+                .stream()
+                .filter(annot -> annot.getName().equals(ANNOT_MEDIA_TYPE))
+                .findFirst()
+                .or(() -> annotations.stream()
+                        .filter(annot -> annot.getName().equals(ANNOT_MEDIA_TYPE))
+                        .findFirst());
+        return mediaTypeAnnot.isPresent() ? mediaTypeAnnot.get().getValue() : null;
+    }
+
     @Value
     @Builder
     public static class MethodMetadata {
@@ -93,8 +105,19 @@ public class InterfaceMetadata {
                     .anyMatch(annot -> annot.getName().equals(ANNOT_MULTIPART));
         }
 
+        public String getBodyMediaType() {
+            var mediaType = parameters.stream()
+                    .filter(param -> param.getAnnotation() != null)
+                    .filter(param -> param.getAnnotation().getName().equals(ANNOT_PARAM_BODY))
+                    .map(param -> param.getAnnotation().getValue())
+                    .findFirst()
+                    .orElse(null);
+            return mediaType == null || mediaType.isEmpty() ? null : mediaType;
+        }
+
         public int getBodyIndex() {
             var bodyParam = parameters.stream()
+                    .filter(param -> param.getAnnotation() != null)
                     .filter(param -> param.getAnnotation().getName().equals(ANNOT_PARAM_BODY))
                     .findFirst();
             return bodyParam.isPresent() ? bodyParam.get().getIndex() : -1;
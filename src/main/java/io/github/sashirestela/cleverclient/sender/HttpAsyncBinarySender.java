@@ -12,7 +12,7 @@ public class HttpAsyncBinarySender extends HttpSender {
     @Override
     public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
 
-        var httpResponseFuture = httpClient.sendAsync(httpRequest, BodyHandlers.ofInputStream());
+        var httpResponseFuture = httpClient.sendAsync(httpRequest, bodyHandlerOf(BodyHandlers.ofInputStream()));
 
         return httpResponseFuture.thenApply(response -> {
 
@@ -20,7 +20,7 @@ public class HttpAsyncBinarySender extends HttpSender {
 
             logger.debug("Response : {}", response.body());
 
-            return response.body();
+            return resumableIfRequired(response, httpClient, httpRequest, returnType);
         });
     }
 
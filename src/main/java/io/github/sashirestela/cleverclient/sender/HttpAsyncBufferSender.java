@@ -0,0 +1,60 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.support.ByteBufferBodyHandler;
+import io.github.sashirestela.cleverclient.support.ChannelBodyHandler;
+import io.github.sashirestela.cleverclient.support.ReturnType;
+import io.github.sashirestela.cleverclient.util.CommonUtil;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.nio.ByteBuffer;
+
+/**
+ * Sender for methods returning a ByteBuffer or a ReadableByteChannel. A ByteBuffer is a direct one
+ * with the whole response body, and a ReadableByteChannel is returned as soon as the headers arrive,
+ * to read the body straight into the buffers of the caller. Neither goes through a heap array.
+ */
+public class HttpAsyncBufferSender extends HttpSender {
+
+    @Override
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+
+        var httpResponseFuture = httpClient.sendAsync(httpRequest, bufferHandlerOf(returnType));
+
+        return httpResponseFuture.thenApply(this::bodyOf);
+    }
+
+    /**
+     * Creates the BodyHandler of the response body as the method returns it, that keeps the bytes of
+     * error responses instead, to be reported by throwExceptionIfErrorIsPresent.
+     * 
+     * @param returnType The method return type.
+     * @return The BodyHandler to be passed to the Java's HttpClient.
+     */
+    protected BodyHandler<Object> bufferHandlerOf(ReturnType returnType) {
+        var isBuffer = ByteBuffer.class.equals(returnType.getBaseClass());
+        var bufferBodyHandler = isBuffer ? new ByteBufferBodyHandler() : new ChannelBodyHandler();
+        BodyHandler<Object> bodyHandler = responseInfo -> {
+            if (CommonUtil.isInHundredsOf(responseInfo.statusCode(), HttpURLConnection.HTTP_OK)) {
+                return BodySubscribers.mapping(bufferBodyHandler.apply(responseInfo), Object.class::cast);
+            }
+            return BodySubscribers.mapping(BodySubscribers.ofByteArray(), Object.class::cast);
+        };
+        // A ByteBuffer holds the whole body, a ReadableByteChannel is read as it arrives.
+        return isBuffer ? inMemoryBodyHandlerOf(bodyHandler) : bodyHandlerOf(bodyHandler);
+    }
+
+    protected Object bodyOf(HttpResponse<Object> response) {
+
+        throwExceptionIfErrorIsPresent(response, byte[].class);
+
+        logger.debug("Response : {}", response.body());
+
+        return response.body();
+    }
+
+}
@@ -0,0 +1,26 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.support.ReturnType;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+
+public class HttpAsyncCodecSender extends HttpSender {
+
+    @Override
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+
+        var httpResponseFuture = httpClient.sendAsync(httpRequest, inMemoryBodyHandlerOf(BodyHandlers.ofByteArray()));
+
+        return httpResponseFuture.thenApply(response -> {
+
+            throwExceptionIfErrorIsPresent(response, byte[].class);
+
+            logger.debug("Response : ({} bytes)", response.body().length);
+
+            return decode(response, returnType);
+        });
+    }
+
+}
@@ -0,0 +1,28 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.support.ReturnType;
+import io.github.sashirestela.cleverclient.util.JsonUtil;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+
+public class HttpAsyncExtractSender extends HttpSender {
+
+    @Override
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+
+        var httpResponseFuture = httpClient.sendAsync(httpRequest, inMemoryBodyHandlerOf(BodyHandlers.ofByteArray()));
+
+        return httpResponseFuture.thenApply(response -> {
+
+            throwExceptionIfErrorIsPresent(response, byte[].class);
+            throwExceptionIfNotJson(response, returnType);
+
+            logger.debug("Response : Extracting {}", returnType.getExtractPointer());
+
+            return JsonUtil.jsonToObject(response.body(), returnType.getExtractPointer(), returnType.getJavaType());
+        });
+    }
+
+}
@@ -0,0 +1,187 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.annotation.ParallelDownload;
+import io.github.sashirestela.cleverclient.annotation.SaveTo;
+import io.github.sashirestela.cleverclient.support.ByteRanges;
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.FileBodyHandler;
+import io.github.sashirestela.cleverclient.support.ReturnType;
+import io.github.sashirestela.cleverclient.support.TransferVerificationException;
+import io.github.sashirestela.cleverclient.util.CommonUtil;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Sender for methods returning a Path. The response body is written to the file of the parameter
+ * annotated with SaveTo, or to a new temporary file if there is not one, without holding it in
+ * memory. Methods annotated with ParallelDownload download the file in parts at the same time, and
+ * the ones annotated with Resumable request the rest of the file when the response fails.
+ */
+public class HttpAsyncFileSender extends HttpSender {
+
+    protected Path file;
+
+    protected SaveTo saveTo;
+
+    protected ParallelDownload parallelDownload;
+
+    @Override
+    void bindArguments(ReturnType returnType, Object[] arguments) {
+        saveTo = returnType.getSaveTo();
+        parallelDownload = returnType.getParallelDownload();
+        if (returnType.getSaveToIndex() >= 0 && arguments[returnType.getSaveToIndex()] != null) {
+            var argument = arguments[returnType.getSaveToIndex()];
+            file = argument instanceof Path ? (Path) argument : Path.of(argument.toString());
+        }
+    }
+
+    @Override
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+        var target = targetFile();
+
+        if (parallelDownload != null) {
+            return new RangedDownload(this, httpClient, httpRequest, target, parallelDownload).start();
+        }
+        if (resumable != null) {
+            return resume(httpClient, httpRequest, httpRequest, target, new AtomicLong(), new AtomicReference<>(), 0);
+        }
+
+        var httpResponseFuture = httpClient.sendAsync(httpRequest, fileHandlerOf(target));
+
+        return httpResponseFuture.thenApply(response -> pathOf(response, target));
+    }
+
+    /**
+     * Sends the request of a resumable download. When the response fails, the request is sent again
+     * after a backoff delay, asking with Range for the bytes from the last one written on, and with
+     * If-Range for the same version of the file. If the file changed, the server sends it whole and it
+     * is written from the start.
+     */
+    private CompletableFuture<Path> resume(HttpClient httpClient, HttpRequest httpRequest, HttpRequest request,
+            Path target, AtomicLong written, AtomicReference<String> validator, int failures) {
+        var fileBodyHandler = new FileBodyHandler(target, isAtomic(), isPreallocated(), written.get(), written);
+        return httpClient.sendAsync(request, fileHandlerOf(fileBodyHandler, validator))
+                .thenApply(response -> pathOf(response, target))
+                .handle((path, throwable) -> {
+                    if (throwable == null) {
+                        return CompletableFuture.completedFuture(path);
+                    }
+                    var cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                    var mismatch = TransferVerificationException.causeOf(cause);
+                    if (failures >= resumable.maxAttempts() || !ResumableEventIterator.isRetryable(cause)
+                            || mismatch != null) {
+                        discard(target);
+                        return CompletableFuture.<Path>failedFuture(mismatch != null ? mismatch : cause);
+                    }
+                    var wait = ResumableEventIterator.waitOf(cause,
+                            ResumableEventIterator.backoffOf(resumable.delay(), failures + 1, resumable.maxDelay()),
+                            resumable.maxDelay());
+                    // Without a validator there is no way to know that the rest belongs to the same file.
+                    var next = validator.get() != null
+                            ? ByteRanges.withRange(httpRequest, written.get(), validator.get())
+                            : httpRequest;
+                    logger.debug("Resuming the download of {} from byte {} in {} ms.", target, written.get(), wait);
+                    return CompletableFuture
+                            .runAsync(() -> {
+                            }, CompletableFuture.delayedExecutor(wait, TimeUnit.MILLISECONDS))
+                            .thenCompose(nothing -> resume(httpClient, httpRequest, next, target, written, validator,
+                                    failures + 1));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * @return The file of the SaveTo parameter, or a new temporary file.
+     */
+    protected Path targetFile() {
+        if (file != null) {
+            return file;
+        }
+        try {
+            return Files.createTempFile("cleverclient-", ".download");
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot create a file for the download.", e);
+        }
+    }
+
+    /**
+     * Creates the BodyHandler that writes successful responses to the target file and keeps the bytes
+     * of error responses, to be reported by throwExceptionIfErrorIsPresent.
+     * 
+     * @param target The file where the body is written.
+     * @return The BodyHandler to be passed to the Java's HttpClient.
+     */
+    protected BodyHandler<Object> fileHandlerOf(Path target) {
+        return fileHandlerOf(new FileBodyHandler(target, isAtomic(), isPreallocated()), null);
+    }
+
+    private BodyHandler<Object> fileHandlerOf(FileBodyHandler fileBodyHandler, AtomicReference<String> validator) {
+        return bodyHandlerOf(responseInfo -> {
+            if (CommonUtil.isInHundredsOf(responseInfo.statusCode(), HttpURLConnection.HTTP_OK)) {
+                if (validator != null && responseInfo.statusCode() != HttpURLConnection.HTTP_PARTIAL) {
+                    validator.set(ByteRanges.validatorOf(responseInfo.headers()));
+                }
+                return BodySubscribers.mapping(fileBodyHandler.apply(responseInfo), Object.class::cast);
+            }
+            return BodySubscribers.mapping(BodySubscribers.ofByteArray(), Object.class::cast);
+        });
+    }
+
+    /**
+     * @return True if the body is written to a part file that replaces the target once it is complete.
+     *         Temporary files are written directly.
+     */
+    protected boolean isAtomic() {
+        return file != null && (saveTo == null || saveTo.atomic());
+    }
+
+    protected boolean isPreallocated() {
+        return saveTo == null || saveTo.preallocate();
+    }
+
+    private void discard(Path target) {
+        var output = isAtomic() ? FileBodyHandler.partFileOf(target) : target;
+        try {
+            Files.deleteIfExists(output);
+        } catch (IOException e) {
+            logger.error("Cannot delete the file {}. {}", output, e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the file of a response, or throws the error of the response, removing the temporary file.
+     * 
+     * @param response Java's HttpResponse component.
+     * @param target   The file where the body was written.
+     * @return The file with the response body.
+     */
+    protected Path pathOf(HttpResponse<Object> response, Path target) {
+        try {
+            throwExceptionIfErrorIsPresent(response, byte[].class);
+        } catch (RuntimeException e) {
+            if (file == null) {
+                target.toFile().delete();
+            }
+            throw e;
+        }
+
+        logger.debug("Response : {}", response.body());
+
+        return (Path) response.body();
+    }
+
+}
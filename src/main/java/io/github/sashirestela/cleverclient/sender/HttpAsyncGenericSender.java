@@ -12,7 +12,7 @@ public class HttpAsyncGenericSender extends HttpSender {
     @Override
     public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
 
-        var httpResponseFuture = httpClient.sendAsync(httpRequest, BodyHandlers.ofString());
+        var httpResponseFuture = httpClient.sendAsync(httpRequest, inMemoryBodyHandlerOf(BodyHandlers.ofString()));
 
         return httpResponseFuture.thenApply(response -> {
 
@@ -0,0 +1,96 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.StreamAccumulator;
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.ReturnType;
+import io.github.sashirestela.cleverclient.util.ReflectUtil;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Sender for methods annotated with StreamReduce or receiving a StreamAccumulator. The elements of the
+ * response are folded into the accumulator as they are decoded, without blocking any thread, and the
+ * accumulator result is returned once the response ends.
+ */
+public class HttpAsyncReduceSender extends HttpPublisherSender {
+
+    private StreamAccumulator<Object, Object> accumulator;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    void bindArguments(ReturnType returnType, Object[] arguments) {
+        super.bindArguments(returnType, arguments);
+        if (returnType.getReduceIndex() >= 0) {
+            accumulator = (StreamAccumulator<Object, Object>) arguments[returnType.getReduceIndex()];
+            if (accumulator == null) {
+                throw new CleverClientException("The StreamAccumulator argument of {0} must not be null.",
+                        returnType.getMethodSignature(), null);
+            }
+        } else {
+            accumulator = (StreamAccumulator<Object, Object>) ReflectUtil.createInstance(returnType.getReduceClass());
+        }
+    }
+
+    @Override
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+        return reduce(publisherOf(httpClient, httpRequest, returnType));
+    }
+
+    @Override
+    protected Class<?> elementClassOf(ReturnType returnType) {
+        return returnType.getReduceElementClass();
+    }
+
+    protected CompletableFuture<Object> reduce(Flow.Publisher<Object> publisher) {
+        var result = new CompletableFuture<Object>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                result.whenComplete((value, throwable) -> {
+                    if (result.isCancelled()) {
+                        subscription.cancel();
+                    }
+                });
+                // Folding an element is cheap, so there is no need to throttle the response.
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Object element) {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    accumulator.accumulate(element);
+                } catch (RuntimeException e) {
+                    subscription.cancel();
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                try {
+                    result.complete(accumulator.result());
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+        });
+        return result;
+    }
+
+}
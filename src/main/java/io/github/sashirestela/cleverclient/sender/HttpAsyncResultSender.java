@@ -0,0 +1,24 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.support.ReturnType;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+
+public class HttpAsyncResultSender extends HttpSender {
+
+    @Override
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+
+        var httpResponseFuture = httpClient.sendAsync(httpRequest, inMemoryBodyHandlerOf(BodyHandlers.ofByteArray()));
+
+        return httpResponseFuture.thenApply(response -> {
+
+            logger.debug("Response : ({} bytes)", response.body().length);
+
+            return toResult(response, returnType);
+        });
+    }
+
+}
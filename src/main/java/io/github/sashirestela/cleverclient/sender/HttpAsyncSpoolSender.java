@@ -0,0 +1,63 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.support.ReturnType;
+import io.github.sashirestela.cleverclient.support.SpoolBodyHandler;
+import io.github.sashirestela.cleverclient.support.SpooledBody;
+import io.github.sashirestela.cleverclient.util.CommonUtil;
+import io.github.sashirestela.cleverclient.util.JsonUtil;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscribers;
+
+/**
+ * Sender for methods returning Json objects when the client has a spill threshold. The response body
+ * is kept in memory up to the threshold and spilled to a temporary file beyond it, to be parsed from
+ * its memory-mapped regions, so neither the body nor a String of it sits on the heap while the object
+ * is built. When the client has codecs, the body is decoded by the codec matching its Content-Type.
+ */
+public class HttpAsyncSpoolSender extends HttpSender {
+
+    @Override
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+
+        var httpResponseFuture = httpClient.sendAsync(httpRequest, spoolHandlerOf());
+
+        return httpResponseFuture.thenApply(response -> bodyOf(response, returnType));
+    }
+
+    /**
+     * Creates the BodyHandler that spools the response body, and keeps the bytes of error responses
+     * instead, to be reported by throwExceptionIfErrorIsPresent.
+     * 
+     * @return The BodyHandler to be passed to the Java's HttpClient.
+     */
+    protected BodyHandler<Object> spoolHandlerOf() {
+        var spoolBodyHandler = new SpoolBodyHandler(options.getSpillThreshold());
+        return inMemoryBodyHandlerOf(responseInfo -> {
+            if (CommonUtil.isInHundredsOf(responseInfo.statusCode(), HttpURLConnection.HTTP_OK)) {
+                return BodySubscribers.mapping(spoolBodyHandler.apply(responseInfo), Object.class::cast);
+            }
+            return BodySubscribers.mapping(BodySubscribers.ofByteArray(), Object.class::cast);
+        });
+    }
+
+    protected Object bodyOf(HttpResponse<Object> response, ReturnType returnType) {
+
+        throwExceptionIfErrorIsPresent(response, byte[].class);
+
+        var body = (SpooledBody) response.body();
+
+        logger.debug("Response : ({} bytes{})", body.size(), body.isSpilled() ? ", spilled to disk" : "");
+
+        var codec = options.getCodecFor(response.headers().firstValue(HEADER_CONTENT_TYPE).orElse(null));
+        if (codec != null) {
+            return codec.decode(body.openStream(), returnType.getJavaType());
+        }
+        return JsonUtil.jsonToObject(body.openStream(), returnType.getJavaType());
+    }
+
+}
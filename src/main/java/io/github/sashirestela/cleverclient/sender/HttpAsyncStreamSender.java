@@ -1,13 +1,14 @@
 package io.github.sashirestela.cleverclient.sender;
 
-import io.github.sashirestela.cleverclient.support.CleverClientSSE;
-import io.github.sashirestela.cleverclient.support.CleverClientSSE.LineRecord;
 import io.github.sashirestela.cleverclient.support.ReturnType;
+import io.github.sashirestela.cleverclient.support.ServerSentEvent;
+import io.github.sashirestela.cleverclient.support.ServerSentEventParser;
 import io.github.sashirestela.cleverclient.util.JsonUtil;
 
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse.BodyHandlers;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class HttpAsyncStreamSender extends HttpSender {
@@ -15,23 +16,23 @@ public class HttpAsyncStreamSender extends HttpSender {
     @Override
     public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
 
-        var httpResponseFuture = httpClient.sendAsync(httpRequest, BodyHandlers.ofLines());
+        final var events = Set.of(ServerSentEventParser.NO_EVENT);
+        final Function<ServerSentEvent, Object> decoder = event -> JsonUtil.bytesToObject(event.getData(),
+                returnType.getBaseClass());
 
-        return httpResponseFuture.thenApply(response -> {
+        var eventsHandler = serverSentEventBodyHandlerOf(events, decoder);
+        var httpResponseFuture = httpClient.sendAsync(httpRequest, bodyHandlerOf(eventsHandler));
+
+        return cancellable(httpResponseFuture.thenApply(response -> {
 
             throwExceptionIfErrorIsPresent(response, Stream.class);
 
-            final var lineRecord = new LineRecord();
-
-            return response.body()
-                    .map(line -> {
-                        logger.debug("Response : {}", line);
-                        lineRecord.updateWith(line);
-                        return new CleverClientSSE(lineRecord);
-                    })
-                    .filter(CleverClientSSE::isActualData)
-                    .map(item -> JsonUtil.jsonToObject(item.getActualData(), returnType.getBaseClass()));
-        });
+            return resumableIfRequired(response.body(), httpClient, httpRequest, returnType, events, decoder)
+                    .map(event -> {
+                        logger.debug("Response : {}", event);
+                        return event.decodeWith(decoder);
+                    });
+        }), httpResponseFuture, eventsHandler::abort);
     }
 
 }
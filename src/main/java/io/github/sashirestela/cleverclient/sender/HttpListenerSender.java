@@ -0,0 +1,57 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.BatchListener;
+import io.github.sashirestela.cleverclient.EventListener;
+import io.github.sashirestela.cleverclient.support.BatchingSubscriber;
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.ListenerSubscriber;
+import io.github.sashirestela.cleverclient.support.ReturnType;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.concurrent.Flow;
+
+/**
+ * Sender for methods that receive an EventListener or a BatchListener. The response elements are
+ * decoded as they are published and handed to the listener on the client's event executor, one by one
+ * or in batches, without blocking the caller. The returned StreamHandle allows to cancel the response.
+ */
+public class HttpListenerSender extends HttpPublisherSender {
+
+    private static final int DEFAULT_BATCH_SIZE = 64;
+    private static final long DEFAULT_BATCH_INTERVAL = 20;
+
+    private Object listener;
+
+    @Override
+    void bindArguments(ReturnType returnType, Object[] arguments) {
+        super.bindArguments(returnType, arguments);
+        listener = arguments[returnType.getListenerIndex()];
+        if (listener == null) {
+            throw new CleverClientException("The {0} argument must not be null.",
+                    returnType.isBatchListener() ? "BatchListener" : "EventListener", null);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+        Flow.Subscriber<Object> subscriber;
+        if (returnType.isBatchListener()) {
+            var batch = returnType.getBatch();
+            subscriber = new BatchingSubscriber<>((BatchListener<Object>) listener,
+                    batch != null ? batch.size() : DEFAULT_BATCH_SIZE,
+                    batch != null ? batch.interval() : DEFAULT_BATCH_INTERVAL, options.getEventExecutor());
+        } else {
+            subscriber = new ListenerSubscriber<>((EventListener<Object>) listener, options.getEventExecutor());
+        }
+        publisherOf(httpClient, httpRequest, returnType).subscribe(subscriber);
+        return subscriber;
+    }
+
+    @Override
+    protected Class<?> elementClassOf(ReturnType returnType) {
+        return returnType.getListenerClass();
+    }
+
+}
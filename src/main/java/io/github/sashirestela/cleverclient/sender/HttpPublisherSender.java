@@ -0,0 +1,155 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.support.ChunkDecoder;
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.Configurator;
+import io.github.sashirestela.cleverclient.support.JsonArrayDecoder;
+import io.github.sashirestela.cleverclient.support.LineDelimitedJsonDecoder;
+import io.github.sashirestela.cleverclient.support.MulticastPublisher;
+import io.github.sashirestela.cleverclient.support.PassThroughDecoder;
+import io.github.sashirestela.cleverclient.support.PublishingBodySubscriber;
+import io.github.sashirestela.cleverclient.support.ReturnType;
+import io.github.sashirestela.cleverclient.support.ServerSentEventDecoder;
+import io.github.sashirestela.cleverclient.support.ServerSentEventParser;
+import io.github.sashirestela.cleverclient.util.CommonUtil;
+import io.github.sashirestela.cleverclient.util.JsonUtil;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+
+/**
+ * Sender for Flow.Publisher return types. Every subscription sends the request, unless it is shared
+ * with Multicast, and the elements are decoded according to the response Content-Type: Server Sent
+ * Events, Newline Delimited Json or a Json array. Publishers of ByteBuffer get the buffers of the
+ * HttpClient as they arrive, whatever the Content-Type. The demand of the subscriber is wired through to
+ * the HttpClient.
+ */
+public class HttpPublisherSender extends HttpSender {
+
+    private static final String EVENT_STREAM = "text/event-stream";
+    private static final String[] LINE_DELIMITED_JSON = { "ndjson", "jsonl", "jsonlines" };
+
+    protected Object[] arguments = new Object[0];
+
+    @Override
+    void bindArguments(ReturnType returnType, Object[] arguments) {
+        this.arguments = arguments;
+    }
+
+    @Override
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+        return publisherOf(httpClient, httpRequest, returnType);
+    }
+
+    /**
+     * Creates the Publisher of the response elements, shared with the running subscriptions to the
+     * same method and arguments when the method is annotated with Multicast.
+     * 
+     * @param httpClient  Java's HttpClient component.
+     * @param httpRequest Java's HttpRequest component.
+     * @param returnType  The method return type.
+     * @return The Publisher of the response elements.
+     */
+    protected Flow.Publisher<Object> publisherOf(HttpClient httpClient, HttpRequest httpRequest,
+            ReturnType returnType) {
+        var multicast = returnType.getMulticast();
+        if (multicast == null) {
+            return responsePublisherOf(httpClient, httpRequest, returnType);
+        }
+        return new MulticastPublisher<>(multicastKeyOf(httpClient, returnType),
+                () -> responsePublisherOf(httpClient, httpRequest, returnType), multicast.buffer(),
+                multicast.overflow());
+    }
+
+    private Object multicastKeyOf(HttpClient httpClient, ReturnType returnType) {
+        var keyArguments = new ArrayList<>(Arrays.asList(arguments));
+        // The listener and the accumulator belong to every caller, they are not part of the request.
+        for (var index : new int[] { returnType.getListenerIndex(), returnType.getReduceIndex() }) {
+            if (index >= 0 && index < keyArguments.size()) {
+                keyArguments.set(index, null);
+            }
+        }
+        return Arrays.asList(httpClient, returnType.getMethodSignature(), keyArguments);
+    }
+
+    private Flow.Publisher<Object> responsePublisherOf(HttpClient httpClient, HttpRequest httpRequest,
+            ReturnType returnType) {
+        Flow.Publisher<Object> publisher = subscriber -> {
+            var bodySubscriber = new PublishingBodySubscriber<Object>(subscriber);
+            subscriber.onSubscribe(bodySubscriber);
+            httpClient.sendAsync(httpRequest, bodyHandlerOf(responseInfo -> {
+                if (!CommonUtil.isInHundredsOf(responseInfo.statusCode(), HttpURLConnection.HTTP_OK)) {
+                    return BodySubscribers.ofString(StandardCharsets.UTF_8);
+                }
+                return bodySubscriber.decodingWith(decoderOf(responseInfo, returnType));
+            })).whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    bodySubscriber.fail(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+                    return;
+                }
+                try {
+                    throwExceptionIfErrorIsPresent(response, String.class);
+                } catch (CleverClientException e) {
+                    bodySubscriber.fail(e);
+                }
+            });
+        };
+        return publisher;
+    }
+
+    /**
+     * @param returnType The method return type.
+     * @return The class of the published elements.
+     */
+    protected Class<?> elementClassOf(ReturnType returnType) {
+        return returnType.getBaseClass();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ChunkDecoder<Object> decoderOf(ResponseInfo responseInfo, ReturnType returnType) {
+        if (ByteBuffer.class.equals(elementClassOf(returnType))) {
+            return (ChunkDecoder<Object>) (ChunkDecoder<?>) new PassThroughDecoder();
+        }
+        var contentType = responseInfo.headers()
+                .firstValue(HEADER_CONTENT_TYPE)
+                .map(value -> value.toLowerCase(Locale.ROOT))
+                .orElse("");
+        logger.debug("Publishing : {}", contentType);
+        var classByEvent = returnType.getClassByEvent();
+        if (contentType.startsWith(EVENT_STREAM)) {
+            if (classByEvent != null) {
+                return new ServerSentEventDecoder<>(
+                        new ServerSentEventParser(classByEvent.keySet(), Configurator.one().getEndsOfStream()),
+                        eventDecoderOf(returnType)::apply);
+            } else {
+                return new ServerSentEventDecoder<>(
+                        new ServerSentEventParser(Set.of(ServerSentEventParser.NO_EVENT),
+                                Configurator.one().getEndsOfStream()),
+                        event -> JsonUtil.bytesToObject(event.getData(), elementClassOf(returnType)));
+            }
+        }
+        if (classByEvent != null) {
+            throw new CleverClientException("The content type {0} can not be published as events.", contentType,
+                    null);
+        }
+        var elementClass = (Class<Object>) elementClassOf(returnType);
+        for (var lineDelimitedJson : LINE_DELIMITED_JSON) {
+            if (contentType.contains(lineDelimitedJson)) {
+                return new LineDelimitedJsonDecoder<>(elementClass);
+            }
+        }
+        return new JsonArrayDecoder<>(elementClass);
+    }
+
+}
@@ -1,8 +1,29 @@
 package io.github.sashirestela.cleverclient.sender;
 
+import io.github.sashirestela.cleverclient.Event;
+import io.github.sashirestela.cleverclient.ProgressListener;
+import io.github.sashirestela.cleverclient.Result;
+import io.github.sashirestela.cleverclient.TransferDigest;
+import io.github.sashirestela.cleverclient.annotation.Resumable;
+import io.github.sashirestela.cleverclient.annotation.StreamTimeout;
+import io.github.sashirestela.cleverclient.support.BandwidthLimiter;
 import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.ClientOptions;
+import io.github.sashirestela.cleverclient.support.Configurator;
+import io.github.sashirestela.cleverclient.support.DecompressingBodyHandler;
+import io.github.sashirestela.cleverclient.support.DigestBodyHandler;
+import io.github.sashirestela.cleverclient.support.HttpResponseException;
+import io.github.sashirestela.cleverclient.support.LimitedErrorBodyHandler;
+import io.github.sashirestela.cleverclient.support.ProgressBodyHandler;
 import io.github.sashirestela.cleverclient.support.ReturnType;
+import io.github.sashirestela.cleverclient.support.ServerSentEvent;
+import io.github.sashirestela.cleverclient.support.ServerSentEventBodyHandler;
+import io.github.sashirestela.cleverclient.support.SizeLimitBodyHandler;
+import io.github.sashirestela.cleverclient.support.TeeBodyHandler;
+import io.github.sashirestela.cleverclient.support.ThrottledBodyHandler;
+import io.github.sashirestela.cleverclient.support.TimeoutBodyHandler;
 import io.github.sashirestela.cleverclient.util.CommonUtil;
+import io.github.sashirestela.cleverclient.util.JsonUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,9 +33,17 @@ import java.net.HttpURLConnection;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
 import java.nio.charset.StandardCharsets;
-import java.util.stream.Collectors;
+import java.util.Collection;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * HttpSender is an abstract class for a set of concrete classes that implement different
@@ -24,6 +53,29 @@ public abstract class HttpSender {
 
     protected static Logger logger = LoggerFactory.getLogger(HttpSender.class);
 
+    protected static final String HEADER_CONTENT_TYPE = "Content-Type";
+
+    private static final int DEFAULT_DECODE_WINDOW = 16;
+
+    protected ClientOptions options = ClientOptions.DEFAULT;
+
+    protected StreamTimeout streamTimeout;
+
+    protected String journalLabel;
+
+    protected ProgressListener progressListener;
+
+    protected TransferDigest responseDigest;
+
+    protected BandwidthLimiter bandwidthLimiter;
+
+    protected Resumable resumable;
+
+    /**
+     * Bytes of the response received so far, shared by the responses of a resumed or split download.
+     */
+    protected final AtomicLong received = new AtomicLong();
+
     /**
      * Method to be implementd for concrete classes to send request to the Java's HttpClient and receive
      * response.
@@ -36,31 +88,323 @@ public abstract class HttpSender {
     public abstract Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType);
 
     /**
-     * Exception handling that will be called by any concrete class.
+     * Takes the arguments of the method call that are used by the concrete class, if any.
+     * 
+     * @param returnType The method return type.
+     * @param arguments  The arguments of the method call.
+     */
+    void bindArguments(ReturnType returnType, Object[] arguments) {
+        // Most of the senders only use the request.
+    }
+
+    /**
+     * Adapts the BodyHandler of a concrete class to the client options, for instance to limit the size
+     * of error bodies or to decompress the response body when they are enabled, to the timeouts and
+     * the recording of the method when it is annotated with StreamTimeout or Tee, and to the
+     * ProgressListener of the method if it has one, which counts the bytes as they come from the network.
+     * A TransferDigest of the response digests the bytes as they are handed to the concrete class.
+     * 
+     * @param <T>         Type of the response body.
+     * @param bodyHandler BodyHandler of the concrete class.
+     * @return The BodyHandler to be passed to the Java's HttpClient.
+     */
+    protected <T> BodyHandler<T> bodyHandlerOf(BodyHandler<T> bodyHandler) {
+        var adaptedBodyHandler = bodyHandler;
+        if (responseDigest != null) {
+            adaptedBodyHandler = new DigestBodyHandler<>(adaptedBodyHandler, responseDigest);
+        }
+        if (journalLabel != null) {
+            adaptedBodyHandler = new TeeBodyHandler<>(adaptedBodyHandler, options.getJournal(), journalLabel);
+        }
+        if (options.getMaxErrorBodySize() > 0) {
+            adaptedBodyHandler = new LimitedErrorBodyHandler<>(adaptedBodyHandler, options.getMaxErrorBodySize());
+        }
+        if (options.isDecompression()) {
+            adaptedBodyHandler = new DecompressingBodyHandler<>(adaptedBodyHandler);
+        }
+        if (progressListener != null) {
+            adaptedBodyHandler = new ProgressBodyHandler<>(adaptedBodyHandler, progressListener, received);
+        }
+        if (bandwidthLimiter != null) {
+            adaptedBodyHandler = new ThrottledBodyHandler<>(adaptedBodyHandler, bandwidthLimiter);
+        }
+        if (options.getBandwidthLimiter() != null) {
+            adaptedBodyHandler = new ThrottledBodyHandler<>(adaptedBodyHandler, options.getBandwidthLimiter());
+        }
+        if (streamTimeout != null && (streamTimeout.idle() > 0 || streamTimeout.total() > 0)) {
+            adaptedBodyHandler = new TimeoutBodyHandler<>(adaptedBodyHandler, streamTimeout.idle(),
+                    streamTimeout.total());
+        }
+        return adaptedBodyHandler;
+    }
+
+    /**
+     * Adapts the BodyHandler of a concrete class that holds the whole response body, in memory or
+     * spilled to disk, failing the body when it is bigger than the maximum body size of the client.
+     * 
+     * @param <T>         Type of the response body.
+     * @param bodyHandler BodyHandler of the concrete class.
+     * @return The BodyHandler to be passed to the Java's HttpClient.
+     */
+    protected <T> BodyHandler<T> inMemoryBodyHandlerOf(BodyHandler<T> bodyHandler) {
+        if (options.getMaxBodySize() > 0) {
+            return bodyHandlerOf(new SizeLimitBodyHandler<>(bodyHandler, options.getMaxBodySize()));
+        }
+        return bodyHandlerOf(bodyHandler);
+    }
+
+    /**
+     * Decodes a response body with the codec matching its Content-Type, or as Json if there is not
+     * one.
+     * 
+     * @param response   Java's HttpResponse component with the raw body.
+     * @param returnType Response class and generic class if exists.
+     * @return The decoded response.
+     */
+    protected Object decode(HttpResponse<byte[]> response, ReturnType returnType) {
+        var codec = options.getCodecFor(response.headers().firstValue(HEADER_CONTENT_TYPE).orElse(null));
+        if (codec != null) {
+            return codec.decode(response.body(), returnType.getJavaType());
+        } else {
+            return JsonUtil.bytesToObject(response.body(), returnType.getJavaType());
+        }
+    }
+
+    /**
+     * Wraps the response in a Result, decoding the body to the type argument of the Result when it is
+     * successful or keeping the error body otherwise, so no exception is thrown for error responses.
+     * 
+     * @param response   Java's HttpResponse component with the raw body.
+     * @param returnType The method return type, a Result or a CompletableFuture of a Result.
+     * @return The Result of the request.
+     */
+    protected Result<Object> toResult(HttpResponse<byte[]> response, ReturnType returnType) {
+        logger.debug("Response Code : {}", response.statusCode());
+        var result = Result.builder()
+                .statusCode(response.statusCode())
+                .headers(response.headers());
+        if (CommonUtil.isInHundredsOf(response.statusCode(), HttpURLConnection.HTTP_OK)) {
+            var valueType = returnType.getResultValueType();
+            if (String.class.equals(valueType.getBaseClass()) && valueType.getGenericClassIfExists() == null) {
+                result.value(new String(response.body(), StandardCharsets.UTF_8));
+            } else if (response.body().length > 0) {
+                result.value(decode(response, valueType));
+            }
+        } else {
+            result.errorBody(readErrorBody(response, byte[].class));
+        }
+        return result.build();
+    }
+
+    /**
+     * Creates the function that turns a server sent event into an Event, with its data decoded to the
+     * class of its name, or to be decoded on demand when the method is annotated with LazyEvents.
+     * 
+     * @param returnType The method return type.
+     * @return The function that creates the Events.
+     */
+    protected Function<ServerSentEvent, Event> eventDecoderOf(ReturnType returnType) {
+        final var classByEvent = returnType.getClassByEvent();
+        if (returnType.isLazyEvents()) {
+            return event -> Event.builder()
+                    .name(event.getName())
+                    .rawData(event.getData())
+                    .decoder(data -> JsonUtil.bytesToObject(data, classByEvent.get(event.getName())))
+                    .build();
+        }
+        return event -> Event.builder()
+                .name(event.getName())
+                .data(JsonUtil.bytesToObject(event.getData(), classByEvent.get(event.getName())))
+                .build();
+    }
+
+    /**
+     * Creates the BodyHandler that parses server sent events as the response bytes arrive, adapted to
+     * the client options. When the client has a decode executor, the events are decoded in parallel
+     * ahead of the consumer, that has to get them with ServerSentEvent.decodeWith.
+     * 
+     * @param events  Names of the events to be dispatched.
+     * @param decoder Function that decodes every event.
+     * @return The BodyHandler to be passed to the Java's HttpClient.
+     */
+    protected BodyHandler<Stream<ServerSentEvent>> serverSentEventsHandlerOf(Collection<String> events,
+            Function<ServerSentEvent, ?> decoder) {
+        return bodyHandlerOf(serverSentEventBodyHandlerOf(events, decoder));
+    }
+
+    /**
+     * Creates the BodyHandler that parses server sent events, before it is adapted to the client
+     * options, for the concrete classes that need to abort it.
+     * 
+     * @param events  Names of the events to be dispatched.
+     * @param decoder Function that decodes every event.
+     * @return The BodyHandler of server sent events.
+     */
+    protected ServerSentEventBodyHandler serverSentEventBodyHandlerOf(Collection<String> events,
+            Function<ServerSentEvent, ?> decoder) {
+        if (options.getDecodeExecutor() == null) {
+            return new ServerSentEventBodyHandler(events, Configurator.one().getEndsOfStream())
+                    .endOfStreamRequired(resumable != null);
+        }
+        var window = options.getDecodeWindow() > 0 ? options.getDecodeWindow() : DEFAULT_DECODE_WINDOW;
+        return new ServerSentEventBodyHandler(events, Configurator.one().getEndsOfStream(), decoder,
+                options.getDecodeExecutor(), window).endOfStreamRequired(resumable != null);
+    }
+
+    /**
+     * Makes the cancellation of the future returned to the caller cancel the exchange too, releasing
+     * its connection whether the response has arrived or not.
+     * 
+     * @param <T>                Type of the future result.
+     * @param future             The future returned to the caller.
+     * @param httpResponseFuture The future of the Java's HttpClient.
+     * @param abort              Action that cancels the response body.
+     * @return The same future returned to the caller.
+     */
+    protected <T> CompletableFuture<T> cancellable(CompletableFuture<T> future,
+            CompletableFuture<?> httpResponseFuture, Runnable abort) {
+        future.whenComplete((value, throwable) -> {
+            if (future.isCancelled()) {
+                httpResponseFuture.cancel(true);
+                abort.run();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Makes the stream of events resumable when the method is annotated with Resumable, so a dropped
+     * connection is sent again from the last event id received instead of ending the stream.
+     * 
+     * @param events      Stream of events of the first response.
+     * @param httpClient  Java's HttpClient component.
+     * @param httpRequest Java's HttpRequest component.
+     * @param returnType  The method return type.
+     * @param eventNames  Names of the events to be dispatched.
+     * @param decoder     Function that decodes every event.
+     * @return The same stream of events or a resumable one.
+     */
+    protected Stream<ServerSentEvent> resumableIfRequired(Stream<ServerSentEvent> events, HttpClient httpClient,
+            HttpRequest httpRequest, ReturnType returnType, Collection<String> eventNames,
+            Function<ServerSentEvent, ?> decoder) {
+        if (returnType.getResumable() == null) {
+            return events;
+        }
+        var iterator = new ResumableEventIterator(events, httpRequest,
+                request -> reconnect(httpClient, request, eventNames, decoder), returnType.getResumable());
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Makes the body of a binary response resumable when the method is annotated with Resumable, so a
+     * dropped connection is sent again asking for the rest of the body instead of failing the read.
+     * 
+     * @param httpResponse Java's HttpResponse component of the first response.
+     * @param httpClient   Java's HttpClient component.
+     * @param httpRequest  Java's HttpRequest component.
+     * @param returnType   The method return type.
+     * @return The same body or a resumable one.
+     */
+    protected InputStream resumableIfRequired(HttpResponse<InputStream> httpResponse, HttpClient httpClient,
+            HttpRequest httpRequest, ReturnType returnType) {
+        if (returnType.getResumable() == null) {
+            return httpResponse.body();
+        }
+        return new ResumableInputStream(httpResponse, httpRequest, request -> {
+            try {
+                var response = httpClient.send(request, bodyHandlerOf(BodyHandlers.ofInputStream()));
+                throwExceptionIfErrorIsPresent(response, InputStream.class);
+                return response;
+            } catch (IOException e) {
+                throw new CleverClientException(e.getMessage(), null, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CleverClientException(e.getMessage(), null, e);
+            }
+        }, returnType.getResumable());
+    }
+
+    private Stream<ServerSentEvent> reconnect(HttpClient httpClient, HttpRequest httpRequest,
+            Collection<String> eventNames, Function<ServerSentEvent, ?> decoder) {
+        try {
+            var httpResponse = httpClient.send(httpRequest, serverSentEventsHandlerOf(eventNames, decoder));
+            throwExceptionIfErrorIsPresent(httpResponse, Stream.class);
+            return httpResponse.body();
+        } catch (IOException e) {
+            throw new CleverClientException(e.getMessage(), null, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CleverClientException(e.getMessage(), null, e);
+        }
+    }
+
+    /**
+     * Exception handling that will be called by any concrete class. The error body is read up to the
+     * maximum size set in the client options, the rest of it is discarded.
      * 
      * @param response Java's HttpResponse component.
      * @param clazz    Response class.
      */
-    @SuppressWarnings("unchecked")
     protected void throwExceptionIfErrorIsPresent(HttpResponse<?> response, Class<?> clazz) {
         logger.debug("Response Code : {}", response.statusCode());
         if (!CommonUtil.isInHundredsOf(response.statusCode(), HttpURLConnection.HTTP_OK)) {
-            var data = "";
-            if (Stream.class.equals(clazz)) {
-                data = ((Stream<String>) response.body())
-                        .collect(Collectors.joining(System.getProperty("line.separator")));
-            } else if (InputStream.class.equals(clazz)) {
-                try {
-                    data = new String(((InputStream) response.body()).readAllBytes(), StandardCharsets.UTF_8);
-                } catch (IOException e) {
-                    logger.error("Cannot read input stream. {}", e.getMessage());
+            var data = readErrorBody(response, clazz);
+            logger.error("Response : {}", data);
+            throw new HttpResponseException(response.statusCode(), response.headers(), data,
+                    !options.isLightweightErrors());
+        }
+    }
+
+    /**
+     * Rejects the responses of methods annotated with Extract whose Content-Type has a codec, as the
+     * Json pointer can not be applied to their bodies.
+     * 
+     * @param response   Java's HttpResponse component.
+     * @param returnType The method return type.
+     */
+    protected void throwExceptionIfNotJson(HttpResponse<?> response, ReturnType returnType) {
+        if (!options.hasCodecs()) {
+            return;
+        }
+        var contentType = response.headers().firstValue(HEADER_CONTENT_TYPE).orElse(null);
+        if (options.getCodecFor(contentType) != null) {
+            throw new CleverClientException("The method {0} is annotated with Extract, but its response is {1}.",
+                    returnType.getMethodSignature(), contentType, null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String readErrorBody(HttpResponse<?> response, Class<?> clazz) {
+        var maxSize = options.getMaxErrorBodySize() > 0 ? options.getMaxErrorBodySize() : Integer.MAX_VALUE;
+        var data = "";
+        if (Stream.class.equals(clazz)) {
+            try (var lines = (Stream<String>) response.body()) {
+                var builder = new StringBuilder();
+                var iterator = lines.iterator();
+                while (iterator.hasNext() && builder.length() < maxSize) {
+                    if (builder.length() > 0) {
+                        builder.append(System.getProperty("line.separator"));
+                    }
+                    builder.append(iterator.next());
                 }
-            } else {
-                data = (String) response.body();
+                data = builder.toString();
             }
-            logger.error("Response : {}", data);
-            throw new CleverClientException("ERROR : {0}", data, null);
+        } else if (InputStream.class.equals(clazz)) {
+            try (var inputStream = (InputStream) response.body()) {
+                data = new String(inputStream.readNBytes(maxSize), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                logger.error("Cannot read input stream. {}", e.getMessage());
+            }
+        } else if (byte[].class.equals(clazz)) {
+            var bytes = (byte[]) response.body();
+            data = new String(bytes, 0, Math.min(bytes.length, maxSize), StandardCharsets.UTF_8);
+        } else {
+            data = (String) response.body();
         }
+        return data != null && data.length() > maxSize ? data.substring(0, maxSize) : data;
     }
 
 }
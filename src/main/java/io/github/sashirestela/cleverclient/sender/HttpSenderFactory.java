@@ -1,6 +1,9 @@
 package io.github.sashirestela.cleverclient.sender;
 
+import io.github.sashirestela.cleverclient.ProgressListener;
+import io.github.sashirestela.cleverclient.TransferDigest;
 import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.ClientOptions;
 import io.github.sashirestela.cleverclient.support.ReturnType;
 import io.github.sashirestela.cleverclient.support.ReturnType.Category;
 import org.slf4j.Logger;
@@ -20,6 +23,12 @@ public class HttpSenderFactory {
 
     private EnumMap<Category, Supplier<HttpSender>> sendersMap;
 
+    private EnumMap<Category, Supplier<HttpSender>> codecSendersMap;
+
+    private EnumMap<Category, Supplier<HttpSender>> extractSendersMap;
+
+    private EnumMap<Category, Supplier<HttpSender>> spoolSendersMap;
+
     private HttpSenderFactory() {
         sendersMap = new EnumMap<>(Category.class);
         sendersMap.put(Category.ASYNC_STREAM_EVENT, HttpAsyncStreamEventSender::new);
@@ -28,14 +37,49 @@ public class HttpSenderFactory {
         sendersMap.put(Category.ASYNC_GENERIC, HttpAsyncGenericSender::new);
         sendersMap.put(Category.ASYNC_CUSTOM, HttpAsyncCustomSender::new);
         sendersMap.put(Category.ASYNC_BINARY, HttpAsyncBinarySender::new);
+        sendersMap.put(Category.ASYNC_FILE, HttpAsyncFileSender::new);
+        sendersMap.put(Category.ASYNC_BUFFER, HttpAsyncBufferSender::new);
         sendersMap.put(Category.ASYNC_PLAIN_TEXT, HttpAsyncPlainTextSender::new);
+        sendersMap.put(Category.ASYNC_RESULT, HttpAsyncResultSender::new);
         sendersMap.put(Category.SYNC_STREAM_EVENT, HttpSyncStreamEventSender::new);
         sendersMap.put(Category.SYNC_STREAM, HttpSyncStreamSender::new);
         sendersMap.put(Category.SYNC_LIST, HttpSyncListSender::new);
         sendersMap.put(Category.SYNC_GENERIC, HttpSyncGenericSender::new);
         sendersMap.put(Category.SYNC_CUSTOM, HttpSyncCustomSender::new);
         sendersMap.put(Category.SYNC_BINARY, HttpSyncBinarySender::new);
+        sendersMap.put(Category.SYNC_FILE, HttpSyncFileSender::new);
+        sendersMap.put(Category.SYNC_BUFFER, HttpSyncBufferSender::new);
         sendersMap.put(Category.SYNC_PLAIN_TEXT, HttpSyncPlainTextSender::new);
+        sendersMap.put(Category.SYNC_RESULT, HttpSyncResultSender::new);
+        sendersMap.put(Category.SYNC_PUBLISHER_EVENT, HttpPublisherSender::new);
+        sendersMap.put(Category.SYNC_PUBLISHER, HttpPublisherSender::new);
+        sendersMap.put(Category.SYNC_LISTENER_EVENT, HttpListenerSender::new);
+        sendersMap.put(Category.SYNC_LISTENER, HttpListenerSender::new);
+        sendersMap.put(Category.ASYNC_REDUCE, HttpAsyncReduceSender::new);
+        sendersMap.put(Category.SYNC_REDUCE, HttpSyncReduceSender::new);
+        codecSendersMap = new EnumMap<>(Category.class);
+        codecSendersMap.put(Category.ASYNC_LIST, HttpAsyncCodecSender::new);
+        codecSendersMap.put(Category.ASYNC_GENERIC, HttpAsyncCodecSender::new);
+        codecSendersMap.put(Category.ASYNC_CUSTOM, HttpAsyncCodecSender::new);
+        codecSendersMap.put(Category.SYNC_LIST, HttpSyncCodecSender::new);
+        codecSendersMap.put(Category.SYNC_GENERIC, HttpSyncCodecSender::new);
+        codecSendersMap.put(Category.SYNC_CUSTOM, HttpSyncCodecSender::new);
+        extractSendersMap = new EnumMap<>(Category.class);
+        extractSendersMap.put(Category.ASYNC_LIST, HttpAsyncExtractSender::new);
+        extractSendersMap.put(Category.ASYNC_GENERIC, HttpAsyncExtractSender::new);
+        extractSendersMap.put(Category.ASYNC_CUSTOM, HttpAsyncExtractSender::new);
+        extractSendersMap.put(Category.ASYNC_PLAIN_TEXT, HttpAsyncExtractSender::new);
+        extractSendersMap.put(Category.SYNC_LIST, HttpSyncExtractSender::new);
+        extractSendersMap.put(Category.SYNC_GENERIC, HttpSyncExtractSender::new);
+        extractSendersMap.put(Category.SYNC_CUSTOM, HttpSyncExtractSender::new);
+        extractSendersMap.put(Category.SYNC_PLAIN_TEXT, HttpSyncExtractSender::new);
+        spoolSendersMap = new EnumMap<>(Category.class);
+        spoolSendersMap.put(Category.ASYNC_LIST, HttpAsyncSpoolSender::new);
+        spoolSendersMap.put(Category.ASYNC_GENERIC, HttpAsyncSpoolSender::new);
+        spoolSendersMap.put(Category.ASYNC_CUSTOM, HttpAsyncSpoolSender::new);
+        spoolSendersMap.put(Category.SYNC_LIST, HttpSyncSpoolSender::new);
+        spoolSendersMap.put(Category.SYNC_GENERIC, HttpSyncSpoolSender::new);
+        spoolSendersMap.put(Category.SYNC_CUSTOM, HttpSyncSpoolSender::new);
     }
 
     public static HttpSenderFactory get() {
@@ -46,16 +90,68 @@ public class HttpSenderFactory {
     }
 
     /**
-     * Instances a HttpSender concrete class based on the return type.
+     * Instances a HttpSender concrete class based on the return type. When the method has a Json
+     * pointer to extract, only the pointed value is deserialized. Otherwise, when the client has a
+     * spill threshold, the object responses are parsed from a temporary file if they are big, with the
+     * codec matching their Content-Type if any. Otherwise, when the client has codecs, the object
+     * responses are read as raw bytes to be decoded by the codec matching their Content-Type.
+     * 
+     * @param returnType The method return type.
+     * @param options    The client options to be applied by the sender.
+     * @return A HttpSender concrete class.
+     */
+    public HttpSender createSender(ReturnType returnType, ClientOptions options) {
+        return createSender(returnType, options, null);
+    }
+
+    /**
+     * Instances a HttpSender concrete class based on the return type, for methods that receive
+     * arguments to be used by the sender, as an EventListener or a StreamAccumulator.
      * 
      * @param returnType The method return type.
+     * @param options    The client options to be applied by the sender.
+     * @param arguments  The arguments of the method call, or null.
      * @return A HttpSender concrete class.
      */
-    public HttpSender createSender(ReturnType returnType) {
+    public HttpSender createSender(ReturnType returnType, ClientOptions options, Object[] arguments) {
         HttpSender sender = null;
         var category = returnType.category();
         if (category != null && sendersMap.containsKey(category)) {
-            sender = sendersMap.get(category).get();
+            var hasCodecs = options != null && options.hasCodecs();
+            var hasExtract = returnType.getExtractPointer() != null;
+            var hasSpill = options != null && options.getSpillThreshold() > 0;
+            if (hasExtract && extractSendersMap.containsKey(category)) {
+                sender = extractSendersMap.get(category).get();
+            } else if (hasSpill && spoolSendersMap.containsKey(category)) {
+                sender = spoolSendersMap.get(category).get();
+            } else if (hasCodecs && codecSendersMap.containsKey(category)) {
+                sender = codecSendersMap.get(category).get();
+            } else {
+                sender = sendersMap.get(category).get();
+            }
+            sender.options = options != null ? options : ClientOptions.DEFAULT;
+            sender.streamTimeout = returnType.getStreamTimeout();
+            sender.bandwidthLimiter = returnType.getBandwidthLimiter();
+            sender.resumable = returnType.getResumable();
+            if (returnType.isTee()) {
+                if (sender.options.getJournal() == null) {
+                    throw new CleverClientException("The method {0} is annotated with Tee but there is no journal.",
+                            returnType.getMethodSignature(), null);
+                }
+                sender.journalLabel = returnType.getMethodSignature();
+            }
+            if (returnType.getProgressIndex() >= 0 && arguments != null) {
+                sender.progressListener = (ProgressListener) arguments[returnType.getProgressIndex()];
+            }
+            if (arguments != null) {
+                sender.responseDigest = returnType.digestOf(arguments, TransferDigest.Target.RESPONSE);
+                if (sender.responseDigest != null && returnType.getParallelDownload() != null) {
+                    throw new CleverClientException(
+                            "The method {0} is annotated with ParallelDownload, its response can not be digested.",
+                            returnType.getMethodSignature(), null);
+                }
+            }
+            sender.bindArguments(returnType, arguments != null ? arguments : new Object[0]);
             logger.debug("Created Sender : {}", sender.getClass().getSimpleName());
         } else {
             throw new CleverClientException("Unsupported return type {0}.", returnType.getFullClassName(), null);
@@ -15,11 +15,11 @@ public class HttpSyncBinarySender extends HttpSender {
     public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
         try {
 
-            var httpResponse = httpClient.send(httpRequest, BodyHandlers.ofInputStream());
+            var httpResponse = httpClient.send(httpRequest, bodyHandlerOf(BodyHandlers.ofInputStream()));
 
             throwExceptionIfErrorIsPresent(httpResponse, InputStream.class);
 
-            var rawData = httpResponse.body();
+            var rawData = resumableIfRequired(httpResponse, httpClient, httpRequest, returnType);
 
             logger.debug("Response : {}", rawData);
 
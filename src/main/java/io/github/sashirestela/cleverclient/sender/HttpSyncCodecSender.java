@@ -0,0 +1,31 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.ReturnType;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+
+public class HttpSyncCodecSender extends HttpSender {
+
+    @Override
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+        try {
+
+            var httpResponse = httpClient.send(httpRequest, inMemoryBodyHandlerOf(BodyHandlers.ofByteArray()));
+
+            throwExceptionIfErrorIsPresent(httpResponse, byte[].class);
+
+            logger.debug("Response : ({} bytes)", httpResponse.body().length);
+
+            return decode(httpResponse, returnType);
+
+        } catch (IOException | InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CleverClientException(e.getMessage(), null, e);
+        }
+    }
+
+}
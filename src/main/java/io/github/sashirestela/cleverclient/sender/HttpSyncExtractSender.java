@@ -0,0 +1,36 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.ReturnType;
+import io.github.sashirestela.cleverclient.util.JsonUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+
+public class HttpSyncExtractSender extends HttpSender {
+
+    @Override
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+        try {
+
+            var httpResponse = httpClient.send(httpRequest, bodyHandlerOf(BodyHandlers.ofInputStream()));
+
+            throwExceptionIfErrorIsPresent(httpResponse, InputStream.class);
+
+            logger.debug("Response : Extracting {}", returnType.getExtractPointer());
+
+            try (var rawData = httpResponse.body()) {
+                throwExceptionIfNotJson(httpResponse, returnType);
+                return JsonUtil.jsonToObject(rawData, returnType.getExtractPointer(), returnType.getJavaType());
+            }
+
+        } catch (IOException | InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CleverClientException(e.getMessage(), null, e);
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.ReturnType;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class HttpSyncFileSender extends HttpAsyncFileSender {
+
+    @Override
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+        if (parallelDownload != null || resumable != null) {
+            try {
+                return ((CompletableFuture<?>) super.sendRequest(httpClient, httpRequest, returnType)).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new CleverClientException(e.getCause().getMessage(), null, e.getCause());
+            }
+        }
+        var target = targetFile();
+        try {
+
+            var httpResponse = httpClient.send(httpRequest, fileHandlerOf(target));
+
+            return pathOf(httpResponse, target);
+
+        } catch (IOException e) {
+            throw new CleverClientException(e.getMessage(), null, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CleverClientException(e.getMessage(), null, e);
+        }
+    }
+
+}
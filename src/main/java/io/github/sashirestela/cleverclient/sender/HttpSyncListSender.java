@@ -15,7 +15,7 @@ public class HttpSyncListSender extends HttpSender {
     public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
         try {
 
-            var httpResponse = httpClient.send(httpRequest, BodyHandlers.ofString());
+            var httpResponse = httpClient.send(httpRequest, inMemoryBodyHandlerOf(BodyHandlers.ofString()));
 
             throwExceptionIfErrorIsPresent(httpResponse, null);
 
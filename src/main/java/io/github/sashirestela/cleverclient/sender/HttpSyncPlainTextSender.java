@@ -14,7 +14,7 @@ public class HttpSyncPlainTextSender extends HttpSender {
     public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
         try {
 
-            var httpResponse = httpClient.send(httpRequest, BodyHandlers.ofString());
+            var httpResponse = httpClient.send(httpRequest, inMemoryBodyHandlerOf(BodyHandlers.ofString()));
 
             throwExceptionIfErrorIsPresent(httpResponse, null);
 
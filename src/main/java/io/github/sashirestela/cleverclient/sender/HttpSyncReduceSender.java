@@ -0,0 +1,24 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.ReturnType;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.concurrent.CompletionException;
+
+public class HttpSyncReduceSender extends HttpAsyncReduceSender {
+
+    @Override
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+        try {
+            return reduce(publisherOf(httpClient, httpRequest, returnType)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CleverClientException(e.getCause().getMessage(), null, e.getCause());
+        }
+    }
+
+}
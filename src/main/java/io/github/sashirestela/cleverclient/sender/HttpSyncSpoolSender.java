@@ -0,0 +1,28 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.ReturnType;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+
+public class HttpSyncSpoolSender extends HttpAsyncSpoolSender {
+
+    @Override
+    public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+        try {
+
+            var httpResponse = httpClient.send(httpRequest, spoolHandlerOf());
+
+            return bodyOf(httpResponse, returnType);
+
+        } catch (IOException e) {
+            throw new CleverClientException(e.getMessage(), null, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CleverClientException(e.getMessage(), null, e);
+        }
+    }
+
+}
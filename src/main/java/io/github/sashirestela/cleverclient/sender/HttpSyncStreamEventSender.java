@@ -2,15 +2,13 @@ package io.github.sashirestela.cleverclient.sender;
 
 import io.github.sashirestela.cleverclient.Event;
 import io.github.sashirestela.cleverclient.support.CleverClientException;
-import io.github.sashirestela.cleverclient.support.CleverClientSSE;
-import io.github.sashirestela.cleverclient.support.CleverClientSSE.LineRecord;
 import io.github.sashirestela.cleverclient.support.ReturnType;
-import io.github.sashirestela.cleverclient.util.JsonUtil;
+import io.github.sashirestela.cleverclient.support.ServerSentEvent;
 
 import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse.BodyHandlers;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class HttpSyncStreamEventSender extends HttpSender {
@@ -19,25 +17,18 @@ public class HttpSyncStreamEventSender extends HttpSender {
     public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
         try {
 
-            var httpResponse = httpClient.send(httpRequest, BodyHandlers.ofLines());
+            final var events = returnType.getClassByEvent().keySet();
+            final Function<ServerSentEvent, Event> decoder = eventDecoderOf(returnType);
 
-            throwExceptionIfErrorIsPresent(httpResponse, Stream.class);
+            var httpResponse = httpClient.send(httpRequest, serverSentEventsHandlerOf(events, decoder));
 
-            final var lineRecord = new LineRecord();
-            final var events = returnType.getClassByEvent().keySet();
+            throwExceptionIfErrorIsPresent(httpResponse, Stream.class);
 
-            return httpResponse.body()
-                    .map(line -> {
-                        logger.debug("Response : {}", line);
-                        lineRecord.updateWith(line);
-                        return new CleverClientSSE(lineRecord, events);
-                    })
-                    .filter(CleverClientSSE::isActualData)
-                    .map(item -> Event.builder()
-                            .name(item.getMatchedEvent())
-                            .data(JsonUtil.jsonToObject(item.getActualData(),
-                                    returnType.getClassByEvent().get(item.getMatchedEvent())))
-                            .build());
+            return resumableIfRequired(httpResponse.body(), httpClient, httpRequest, returnType, events, decoder)
+                    .map(event -> {
+                        logger.debug("Response : {}", event);
+                        return event.decodeWith(decoder);
+                    });
 
         } catch (IOException | InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -1,37 +1,38 @@
 package io.github.sashirestela.cleverclient.sender;
 
 import io.github.sashirestela.cleverclient.support.CleverClientException;
-import io.github.sashirestela.cleverclient.support.CleverClientSSE;
-import io.github.sashirestela.cleverclient.support.CleverClientSSE.LineRecord;
 import io.github.sashirestela.cleverclient.support.ReturnType;
+import io.github.sashirestela.cleverclient.support.ServerSentEvent;
+import io.github.sashirestela.cleverclient.support.ServerSentEventParser;
 import io.github.sashirestela.cleverclient.util.JsonUtil;
 
 import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse.BodyHandlers;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class HttpSyncStreamSender extends HttpSender {
 
     @Override
     public Object sendRequest(HttpClient httpClient, HttpRequest httpRequest, ReturnType returnType) {
+
         try {
 
-            var httpResponse = httpClient.send(httpRequest, BodyHandlers.ofLines());
+            final var events = Set.of(ServerSentEventParser.NO_EVENT);
+            final Function<ServerSentEvent, Object> decoder = event -> JsonUtil.bytesToObject(event.getData(),
+                    returnType.getBaseClass());
 
-            throwExceptionIfErrorIsPresent(httpResponse, Stream.class);
+            var httpResponse = httpClient.send(httpRequest, serverSentEventsHandlerOf(events, decoder));
 
-            final var lineRecord = new LineRecord();
+            throwExceptionIfErrorIsPresent(httpResponse, Stream.class);
 
-            return httpResponse.body()
-                    .map(line -> {
-                        logger.debug("Response : {}", line);
-                        lineRecord.updateWith(line);
-                        return new CleverClientSSE(lineRecord);
-                    })
-                    .filter(CleverClientSSE::isActualData)
-                    .map(item -> JsonUtil.jsonToObject(item.getActualData(), returnType.getBaseClass()));
+            return resumableIfRequired(httpResponse.body(), httpClient, httpRequest, returnType, events, decoder)
+                    .map(event -> {
+                        logger.debug("Response : {}", event);
+                        return event.decodeWith(decoder);
+                    });
 
         } catch (IOException | InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -0,0 +1,261 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.annotation.ParallelDownload;
+import io.github.sashirestela.cleverclient.support.ByteRanges;
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.FileBodyHandler;
+import io.github.sashirestela.cleverclient.support.FileRangeBodyHandler;
+import io.github.sashirestela.cleverclient.util.CommonUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Download of a file in parts requested at the same time with Range headers, as set by the
+ * ParallelDownload annotation. The parts are written at their positions of one preallocated file, and
+ * a part that fails is requested again from its last byte received, after a backoff delay. The parts
+ * are requested over HTTP/1.1, so every one of them gets its own connection.
+ */
+class RangedDownload {
+
+    private static final Logger logger = LoggerFactory.getLogger(RangedDownload.class);
+
+    private static final String METHOD_GET = "GET";
+    private static final String METHOD_HEAD = "HEAD";
+    private static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String HEADER_ACCEPT_RANGES = "Accept-Ranges";
+    private static final String HEADER_CONTENT_LENGTH = "Content-Length";
+    private static final String UNIT_BYTES = "bytes";
+    // Ranges refer to the bytes of the file as it is stored, so the parts are never compressed.
+    private static final Set<String> SKIPPED_HEADERS = Set.of(HEADER_ACCEPT_ENCODING.toLowerCase(),
+            ByteRanges.HEADER_RANGE.toLowerCase(), ByteRanges.HEADER_IF_RANGE.toLowerCase());
+
+    private final HttpAsyncFileSender sender;
+    private final HttpClient httpClient;
+    private final HttpRequest httpRequest;
+    private final Path target;
+    private final ParallelDownload settings;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private FileChannel channel;
+
+    RangedDownload(HttpAsyncFileSender sender, HttpClient httpClient, HttpRequest httpRequest, Path target,
+            ParallelDownload settings) {
+        this.sender = sender;
+        this.httpClient = httpClient;
+        this.httpRequest = httpRequest;
+        this.target = target;
+        this.settings = settings;
+    }
+
+    /**
+     * Asks for the length of the file and downloads it in parts, or with a single request if it cannot
+     * be split.
+     *
+     * @return The file, once all of its parts are written.
+     */
+    CompletableFuture<Path> start() {
+        if (!METHOD_GET.equals(httpRequest.method())) {
+            return single();
+        }
+        return httpClient.sendAsync(requestOf(METHOD_HEAD, null, null), BodyHandlers.discarding())
+                .thenCompose(head -> {
+                    var length = head.headers().firstValueAsLong(HEADER_CONTENT_LENGTH).orElse(-1);
+                    var ranges = head.headers().firstValue(HEADER_ACCEPT_RANGES).orElse("none");
+                    if (!CommonUtil.isInHundredsOf(head.statusCode(), HttpURLConnection.HTTP_OK)
+                            || !UNIT_BYTES.equalsIgnoreCase(ranges)
+                            || length < 2 * Math.max(1, settings.minPartSize())) {
+                        logger.debug("The file cannot be split, downloading it in one request.");
+                        return single();
+                    }
+                    return parts(length, ByteRanges.validatorOf(head.headers()));
+                });
+    }
+
+    private CompletableFuture<Path> single() {
+        return httpClient.sendAsync(httpRequest, sender.fileHandlerOf(target))
+                .thenApply(response -> sender.pathOf(response, target));
+    }
+
+    private CompletableFuture<Path> parts(long length, String validator) {
+        var output = sender.isAtomic() ? FileBodyHandler.partFileOf(target) : target;
+        try {
+            channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            channel.write(ByteBuffer.allocate(1), length - 1);
+        } catch (IOException e) {
+            if (channel != null) {
+                discard(output);
+            }
+            return CompletableFuture.failedFuture(
+                    new CleverClientException("Cannot create the file {0}.", output, e));
+        }
+        var minPartSize = Math.max(1, settings.minPartSize());
+        var count = (int) Math.min(Math.max(1, settings.connections()), (length + minPartSize - 1) / minPartSize);
+        var partSize = (length + count - 1) / count;
+        logger.debug("Downloading {} bytes in {} parts.", length, count);
+        var futures = new CompletableFuture<?>[count];
+        for (var index = 0; index < count; index++) {
+            var start = index * partSize;
+            var end = Math.min(length, start + partSize) - 1;
+            futures[index] = fetch(new Part(start, end, validator), 1);
+        }
+        return CompletableFuture.allOf(futures).handle((nothing, throwable) -> {
+            if (throwable != null) {
+                discard(output);
+                // The first failure, not the closed file that stopped the other parts.
+                throw new CompletionException(failure.get() != null ? failure.get() : throwable);
+            }
+            try {
+                channel.force(false);
+                channel.close();
+                if (!output.equals(target)) {
+                    FileBodyHandler.replace(output, target);
+                }
+                return target;
+            } catch (IOException e) {
+                discard(output);
+                throw new CompletionException(new CleverClientException("Cannot complete the file {0}.", target, e));
+            }
+        });
+    }
+
+    private CompletableFuture<Void> fetch(Part part, int attempt) {
+        var from = part.start + part.written.get();
+        var request = requestOf(METHOD_GET, UNIT_BYTES + "=" + from + "-" + part.end, part.validator);
+        return httpClient.sendAsync(request, rangeHandlerOf(from, part.end, part.written))
+                .thenAccept(response -> verify(response, part))
+                .handle((nothing, throwable) -> {
+                    if (throwable == null) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    var cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                    if (attempt < settings.maxAttempts() && channel.isOpen()
+                            && ResumableEventIterator.isRetryable(cause)) {
+                        var wait = ResumableEventIterator.waitOf(cause,
+                                ResumableEventIterator.backoffOf(settings.delay(), attempt, settings.maxDelay()),
+                                settings.maxDelay());
+                        logger.debug("The part {}-{} failed at byte {}, retrying in {} ms. {}", part.start, part.end,
+                                part.start + part.written.get(), wait, cause.getMessage());
+                        return CompletableFuture
+                                .runAsync(() -> {}, CompletableFuture.delayedExecutor(wait, TimeUnit.MILLISECONDS))
+                                .thenCompose(delayed -> fetch(part, attempt + 1));
+                    }
+                    abort(cause);
+                    return CompletableFuture.<Void>failedFuture(cause);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private BodyHandler<Object> rangeHandlerOf(long from, long end, AtomicLong written) {
+        var rangeBodyHandler = new FileRangeBodyHandler(channel, from, end, written);
+        return sender.bodyHandlerOf(responseInfo -> {
+            if (CommonUtil.isInHundredsOf(responseInfo.statusCode(), HttpURLConnection.HTTP_OK)) {
+                return BodySubscribers.mapping(rangeBodyHandler.apply(responseInfo), Object.class::cast);
+            }
+            return BodySubscribers.mapping(BodySubscribers.ofByteArray(), Object.class::cast);
+        });
+    }
+
+    private void verify(HttpResponse<Object> response, Part part) {
+        if (response.statusCode() == HttpURLConnection.HTTP_PARTIAL) {
+            if (part.written.get() < part.length()) {
+                throw new CleverClientException("The part {0}-{1} ended at byte {2}.", part.start, part.end,
+                        part.start + part.written.get(), null);
+            }
+        } else if (CommonUtil.isInHundredsOf(response.statusCode(), HttpURLConnection.HTTP_OK)) {
+            var exception = new CleverClientException(
+                    "The server did not return the part {0}-{1}, the file might have changed.", part.start, part.end,
+                    null);
+            abort(exception);
+            throw exception;
+        } else {
+            sender.throwExceptionIfErrorIsPresent(response, byte[].class);
+        }
+    }
+
+    private HttpRequest requestOf(String method, String range, String validator) {
+        var builder = HttpRequest.newBuilder()
+                .uri(httpRequest.uri())
+                .version(HttpClient.Version.HTTP_1_1)
+                .method(method, HttpRequest.BodyPublishers.noBody());
+        httpRequest.timeout().ifPresent(builder::timeout);
+        httpRequest.headers().map().forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        if (range != null) {
+            builder.header(ByteRanges.HEADER_RANGE, range);
+        }
+        if (validator != null) {
+            builder.header(ByteRanges.HEADER_IF_RANGE, validator);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Stops the download: the file is useless without any of its parts, so closing it makes the other
+     * parts fail at their next write instead of being retried.
+     */
+    private void abort(Throwable cause) {
+        failure.compareAndSet(null, cause);
+        close();
+    }
+
+    private void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.error("Cannot close the file. {}", e.getMessage());
+        }
+    }
+
+    private void discard(Path output) {
+        close();
+        try {
+            Files.deleteIfExists(output);
+        } catch (IOException e) {
+            logger.error("Cannot delete the file {}. {}", output, e.getMessage());
+        }
+    }
+
+    static class Part {
+
+        private final long start;
+        private final long end;
+        private final String validator;
+        private final AtomicLong written = new AtomicLong();
+
+        Part(long start, long end, String validator) {
+            this.start = start;
+            this.end = end;
+            this.validator = validator;
+        }
+
+        long length() {
+            return end - start + 1;
+        }
+
+    }
+
+}
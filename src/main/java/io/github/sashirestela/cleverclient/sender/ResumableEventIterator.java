@@ -0,0 +1,204 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.annotation.Resumable;
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.HttpResponseException;
+import io.github.sashirestela.cleverclient.support.ServerSentEvent;
+import io.github.sashirestela.cleverclient.support.StreamTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Iterates the events of a server sent events stream across reconnections. When the current
+ * response fails, or it is closed before its end of stream marker, the request is sent again with the
+ * Last-Event-ID header after a backoff delay. Error responses of the server (5xx) are retried too,
+ * waiting their Retry-After if they have one, while the other error responses end the stream.
+ */
+class ResumableEventIterator implements Iterator<ServerSentEvent> {
+
+    static final String HEADER_LAST_EVENT_ID = "Last-Event-ID";
+    static final String HEADER_RETRY_AFTER = "Retry-After";
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumableEventIterator.class);
+
+    private final HttpRequest httpRequest;
+    private final Function<HttpRequest, Stream<ServerSentEvent>> connector;
+    private final Resumable resumable;
+
+    private Stream<ServerSentEvent> stream;
+    private Iterator<ServerSentEvent> iterator;
+    private String lastEventId;
+    private long delay;
+    private int failures;
+
+    ResumableEventIterator(Stream<ServerSentEvent> stream, HttpRequest httpRequest,
+            Function<HttpRequest, Stream<ServerSentEvent>> connector, Resumable resumable) {
+        this.stream = stream;
+        this.iterator = stream.iterator();
+        this.httpRequest = httpRequest;
+        this.connector = connector;
+        this.resumable = resumable;
+        this.delay = resumable.delay();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (true) {
+            try {
+                return iterator.hasNext();
+            } catch (CleverClientException e) {
+                if (!isRecoverable(e)) {
+                    throw e;
+                }
+                reconnect(e);
+            }
+        }
+    }
+
+    @Override
+    public ServerSentEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var event = iterator.next();
+        if (event.getLastEventId() != null) {
+            lastEventId = event.getLastEventId();
+        }
+        if (event.getRetry() >= 0) {
+            delay = event.getRetry();
+        }
+        failures = 0;
+        return event;
+    }
+
+    void close() {
+        stream.close();
+    }
+
+    private void reconnect(CleverClientException cause) {
+        stream.close();
+        while (true) {
+            failures++;
+            if (failures > resumable.maxAttempts()) {
+                throw cause;
+            }
+            var wait = waitOf(cause, backoffOf(delay, failures, resumable.maxDelay()), resumable.maxDelay());
+            logger.debug("Reconnecting in {} ms with {} : {}", wait, HEADER_LAST_EVENT_ID, lastEventId);
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CleverClientException("The stream was interrupted.", null, e);
+            }
+            try {
+                stream = connector.apply(withLastEventId(httpRequest, lastEventId));
+                iterator = stream.iterator();
+                return;
+            } catch (CleverClientException e) {
+                if (!isRecoverable(e)) {
+                    throw e;
+                }
+                cause = e;
+            }
+        }
+    }
+
+    /**
+     * Doubles the delay for every consecutive failure, saturating at the maximum delay so a big retry
+     * sent by the server can not overflow.
+     */
+    static long backoffOf(long delay, int failures, long maxDelay) {
+        var wait = Math.max(0, Math.min(delay, maxDelay));
+        for (var i = 1; i < failures && wait < maxDelay; i++) {
+            wait = wait > maxDelay / 2 ? maxDelay : wait * 2;
+        }
+        return wait;
+    }
+
+    /**
+     * Whether a failed attempt is worth another one: any failure but an error response, unless the
+     * server failed (5xx), as a bad request or a missing resource fails the same way again.
+     */
+    static boolean isRetryable(Throwable cause) {
+        var response = responseExceptionOf(cause);
+        return response == null || response.getStatusCode() >= HttpURLConnection.HTTP_INTERNAL_ERROR;
+    }
+
+    /**
+     * Replaces the backoff by the Retry-After of an error response, in seconds or as a date, bounded by
+     * the maximum delay.
+     */
+    static long waitOf(Throwable cause, long backoff, long maxDelay) {
+        var response = responseExceptionOf(cause);
+        if (response == null || response.getHeaders() == null) {
+            return backoff;
+        }
+        return response.getHeaders().firstValue(HEADER_RETRY_AFTER)
+                .map(ResumableEventIterator::retryAfterOf)
+                .map(retryAfter -> Math.max(0, Math.min(retryAfter, maxDelay)))
+                .orElse(backoff);
+    }
+
+    private static Long retryAfterOf(String value) {
+        try {
+            return Math.multiplyExact(Long.parseLong(value.strip()), 1000L);
+        } catch (NumberFormatException | ArithmeticException e) {
+            try {
+                var date = ZonedDateTime.parse(value.strip(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Duration.between(ZonedDateTime.now(), date).toMillis();
+            } catch (DateTimeParseException | ArithmeticException invalid) {
+                return null;
+            }
+        }
+    }
+
+    private static HttpResponseException responseExceptionOf(Throwable cause) {
+        if (cause instanceof HttpResponseException) {
+            return (HttpResponseException) cause;
+        }
+        return cause != null && cause.getCause() instanceof HttpResponseException
+                ? (HttpResponseException) cause.getCause()
+                : null;
+    }
+
+    private static boolean isRecoverable(CleverClientException e) {
+        return isRetryable(e) && !(e.getCause() instanceof InterruptedException)
+                && !isTotalTimeout(e) && !isTotalTimeout(e.getCause());
+    }
+
+    private static boolean isTotalTimeout(Throwable e) {
+        // An idle response is worth resuming, one that ran out of its whole time is not.
+        return e instanceof StreamTimeoutException && !((StreamTimeoutException) e).isIdle();
+    }
+
+    private static HttpRequest withLastEventId(HttpRequest httpRequest, String lastEventId) {
+        var builder = HttpRequest.newBuilder()
+                .uri(httpRequest.uri())
+                .expectContinue(httpRequest.expectContinue())
+                .method(httpRequest.method(),
+                        httpRequest.bodyPublisher().orElse(HttpRequest.BodyPublishers.noBody()));
+        httpRequest.timeout().ifPresent(builder::timeout);
+        httpRequest.version().ifPresent(builder::version);
+        httpRequest.headers().map().forEach((name, values) -> {
+            if (!HEADER_LAST_EVENT_ID.equalsIgnoreCase(name)) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        if (lastEventId != null) {
+            builder.header(HEADER_LAST_EVENT_ID, lastEventId);
+        }
+        return builder.build();
+    }
+
+}
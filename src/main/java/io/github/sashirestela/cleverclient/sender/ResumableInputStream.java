@@ -0,0 +1,155 @@
+package io.github.sashirestela.cleverclient.sender;
+
+import io.github.sashirestela.cleverclient.annotation.Resumable;
+import io.github.sashirestela.cleverclient.support.ByteRanges;
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.HttpResponseException;
+import io.github.sashirestela.cleverclient.support.TransferVerificationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.function.Function;
+
+/**
+ * Reads the body of a binary response across reconnections. When reading the current response
+ * fails, the request is sent again after a backoff delay, asking with Range for the bytes from the
+ * last one read on, and with If-Range for the same version of the resource, so the reader keeps
+ * reading the same InputStream. Responses without an ETag or a Last-Modified date are not resumed.
+ */
+class ResumableInputStream extends InputStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumableInputStream.class);
+
+    private final HttpRequest httpRequest;
+    private final Function<HttpRequest, HttpResponse<InputStream>> connector;
+    private final Resumable resumable;
+    private final String validator;
+
+    private InputStream current;
+    private long position;
+    private int failures;
+
+    ResumableInputStream(HttpResponse<InputStream> httpResponse, HttpRequest httpRequest,
+            Function<HttpRequest, HttpResponse<InputStream>> connector, Resumable resumable) {
+        this.current = httpResponse.body();
+        this.validator = ByteRanges.validatorOf(httpResponse.headers());
+        this.httpRequest = httpRequest;
+        this.connector = connector;
+        this.resumable = resumable;
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (true) {
+            try {
+                var value = current.read();
+                if (value >= 0) {
+                    position++;
+                    failures = 0;
+                }
+                return value;
+            } catch (IOException e) {
+                reconnect(e);
+            }
+        }
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        while (true) {
+            try {
+                var count = current.read(bytes, offset, length);
+                if (count > 0) {
+                    position += count;
+                    failures = 0;
+                }
+                return count;
+            } catch (IOException e) {
+                reconnect(e);
+            }
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        return current.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        current.close();
+    }
+
+    /**
+     * @return Bytes of the body read so far.
+     */
+    long getPosition() {
+        return position;
+    }
+
+    private void reconnect(IOException cause) throws IOException {
+        if (validator == null || cause instanceof InterruptedIOException
+                || TransferVerificationException.causeOf(cause) != null) {
+            throw cause;
+        }
+        closeQuietly(current);
+        while (true) {
+            failures++;
+            if (failures > resumable.maxAttempts()) {
+                throw cause;
+            }
+            var wait = ResumableEventIterator.waitOf(cause,
+                    ResumableEventIterator.backoffOf(resumable.delay(), failures, resumable.maxDelay()),
+                    resumable.maxDelay());
+            logger.debug("Resuming the body from byte {} in {} ms.", position, wait);
+            try {
+                Thread.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("The body was interrupted.");
+            }
+            HttpResponse<InputStream> httpResponse;
+            try {
+                httpResponse = connector.apply(ByteRanges.withRange(httpRequest, position, validator));
+            } catch (HttpResponseException e) {
+                if (!ResumableEventIterator.isRetryable(e)) {
+                    throw new IOException(e.getMessage(), e);
+                }
+                cause = new IOException(e.getMessage(), e);
+                continue;
+            } catch (CleverClientException e) {
+                cause = new IOException(e.getMessage(), e);
+                continue;
+            }
+            if (continues(httpResponse)) {
+                current = httpResponse.body();
+                return;
+            }
+            closeQuietly(httpResponse.body());
+            throw new IOException("The resource changed, the body cannot be resumed from byte " + position + ".");
+        }
+    }
+
+    private boolean continues(HttpResponse<InputStream> httpResponse) {
+        if (httpResponse.statusCode() == HttpURLConnection.HTTP_PARTIAL) {
+            return ByteRanges.startOf(httpResponse.headers()) == position;
+        }
+        // The whole body again is fine only if nothing was read yet.
+        return position == 0;
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            logger.debug("Cannot close the body. {}", e.getMessage());
+        }
+    }
+
+}
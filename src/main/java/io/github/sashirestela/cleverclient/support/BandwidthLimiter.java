@@ -0,0 +1,76 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket that limits the rate in bytes per second of the bodies sent and received through it.
+ * The bucket is refilled at the rate and holds up to the burst. Every chunk takes its bytes from the
+ * bucket even if they are not there, and the transfer waits until the debt is paid back before
+ * reading or writing the next chunk, so chunks bigger than the burst are paced too. One limiter can be
+ * shared by many clients to limit them all together.
+ */
+public class BandwidthLimiter {
+
+    private static final long DEFAULT_BURST = 64L * 1024;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long bytesPerSecond;
+    private final long burst;
+    private double tokens;
+    private long lastRefill;
+
+    private BandwidthLimiter(long bytesPerSecond, long burst) {
+        if (bytesPerSecond <= 0) {
+            throw new CleverClientException("The bytes per second must be positive, not {0}.", bytesPerSecond,
+                    null);
+        }
+        this.bytesPerSecond = bytesPerSecond;
+        this.burst = burst > 0 ? burst : Math.min(DEFAULT_BURST, bytesPerSecond);
+        this.tokens = this.burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Creates a limiter with a burst of 64 KB, or of one second of transfer if that is less.
+     *
+     * @param bytesPerSecond The maximum rate.
+     * @return The limiter.
+     */
+    public static BandwidthLimiter of(long bytesPerSecond) {
+        return new BandwidthLimiter(bytesPerSecond, 0);
+    }
+
+    /**
+     * Creates a limiter.
+     *
+     * @param bytesPerSecond The maximum rate.
+     * @param burst          The bytes that can be transferred at once after an idle time.
+     * @return The limiter.
+     */
+    public static BandwidthLimiter of(long bytesPerSecond, long burst) {
+        return new BandwidthLimiter(bytesPerSecond, burst);
+    }
+
+    /**
+     * Takes the bytes of a chunk from the bucket.
+     *
+     * @param bytes The size of the chunk.
+     * @return The nanoseconds to wait before the next chunk, zero if there is no need to wait.
+     */
+    public synchronized long acquire(long bytes) {
+        var now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * bytesPerSecond / NANOS_PER_SECOND);
+        lastRefill = now;
+        tokens -= bytes;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * NANOS_PER_SECOND / bytesPerSecond);
+    }
+
+    public long getBytesPerSecond() {
+        return this.bytesPerSecond;
+    }
+
+    public long getBurst() {
+        return this.burst;
+    }
+
+}
@@ -0,0 +1,175 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.BatchListener;
+import io.github.sashirestela.cleverclient.StreamHandle;
+import io.github.sashirestela.cleverclient.support.ListenerSubscriber.SerialExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Flow.Subscriber that groups the elements in batches and hands them to a BatchListener on an
+ * executor. A batch is delivered when it is full or when its flush interval expires. At most one
+ * batch size of elements is requested ahead of the listener, and the lists of the delivered batches
+ * are reused for the next ones.
+ *
+ * @param <T> Type of the elements.
+ */
+public class BatchingSubscriber<T> implements Flow.Subscriber<T>, StreamHandle {
+
+    private final BatchListener<T> listener;
+    private final int size;
+    private final long interval;
+    private final SerialExecutor executor;
+    private final Queue<List<T>> pool = new ConcurrentLinkedQueue<>();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private volatile Flow.Subscription subscription;
+    private volatile boolean cancelled;
+    private List<T> batch;
+    private long batchNumber;
+    private ScheduledFuture<?> flush;
+
+    /**
+     * Constructor.
+     * 
+     * @param listener The receiver of the batches.
+     * @param size     Maximum number of elements of a batch.
+     * @param interval Maximum time in milliseconds an element waits in an incomplete batch, or zero.
+     * @param executor The executor to run the callbacks on, or null to run them on the thread that
+     *                 completes the batch, that is a thread of the default async executor of
+     *                 CompletableFuture for the batches flushed by time.
+     */
+    public BatchingSubscriber(BatchListener<T> listener, int size, long interval, Executor executor) {
+        this.listener = listener;
+        this.size = Math.max(size, 1);
+        this.interval = interval;
+        this.executor = new SerialExecutor(executor != null ? executor : Runnable::run);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        if (cancelled) {
+            subscription.cancel();
+        } else {
+            subscription.request(size);
+        }
+    }
+
+    @Override
+    public synchronized void onNext(T item) {
+        if (batch == null) {
+            var reused = pool.poll();
+            batch = reused != null ? reused : new ArrayList<>(size);
+            var number = ++batchNumber;
+            if (interval > 0) {
+                flush = SharedScheduler.schedule(() -> flush(number), interval);
+            }
+        }
+        batch.add(item);
+        if (batch.size() >= size) {
+            deliver();
+        }
+    }
+
+    @Override
+    public synchronized void onError(Throwable throwable) {
+        deliver();
+        executor.execute(() -> {
+            if (!cancelled && !completion.isDone()) {
+                try {
+                    listener.onError(throwable);
+                } finally {
+                    completion.completeExceptionally(throwable);
+                }
+            }
+        });
+    }
+
+    @Override
+    public synchronized void onComplete() {
+        deliver();
+        executor.execute(() -> {
+            if (!cancelled && !completion.isDone()) {
+                try {
+                    listener.onComplete();
+                } finally {
+                    completion.complete(null);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        var currentSubscription = subscription;
+        if (currentSubscription != null) {
+            currentSubscription.cancel();
+        }
+        synchronized (this) {
+            if (flush != null) {
+                flush.cancel(false);
+            }
+        }
+        completion.complete(null);
+    }
+
+    @Override
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    @Override
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    private synchronized void flush(long number) {
+        // The timer could have fired while its batch was being delivered for being full.
+        if (number == batchNumber) {
+            deliver();
+        }
+    }
+
+    /**
+     * Hands the current batch, if any, to the executor. It is called holding the lock, so the batches
+     * are queued in the order they were completed.
+     */
+    private void deliver() {
+        if (flush != null) {
+            flush.cancel(false);
+            flush = null;
+        }
+        if (batch == null) {
+            return;
+        }
+        var delivered = batch;
+        batch = null;
+        executor.execute(() -> {
+            if (cancelled) {
+                return;
+            }
+            var count = delivered.size();
+            try {
+                listener.onBatch(delivered);
+            } catch (RuntimeException e) {
+                completion.completeExceptionally(e);
+                cancel();
+                listener.onError(e);
+                return;
+            }
+            delivered.clear();
+            pool.offer(delivered);
+            subscription.request(count);
+        });
+    }
+
+}
@@ -0,0 +1,44 @@
+package io.github.sashirestela.cleverclient.support;
+
+/**
+ * Thrown when a response body that would be held in memory is bigger than the maximum body size of
+ * the client. It is detected from the Content-Length before the body is read, or while it is read.
+ */
+public class BodyTooLargeException extends CleverClientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long size;
+    private final long maxSize;
+
+    public BodyTooLargeException(long size, long maxSize) {
+        super("The response body has at least {0} bytes, over the limit of {1} bytes.", size, maxSize, null);
+        this.size = size;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return The Content-Length of the body, or the bytes received when the limit was exceeded.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @param throwable A failure of a response.
+     * @return The BodyTooLargeException that caused the failure, or null if it was not one.
+     */
+    public static BodyTooLargeException causeOf(Throwable throwable) {
+        for (var cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BodyTooLargeException) {
+                return (BodyTooLargeException) cause;
+            }
+        }
+        return null;
+    }
+
+}
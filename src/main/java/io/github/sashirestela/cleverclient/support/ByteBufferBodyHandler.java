@@ -0,0 +1,128 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.io.IOException;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * BodyHandler that collects the response body in one direct ByteBuffer, ready to be written to a
+ * channel or handed to native code without going through a heap array. When the Content-Length is
+ * known, the bytes are copied as they arrive into a buffer that starts at 1 MB at most and doubles up
+ * to that length, so a length declared by the server is never allocated before the bytes arrive.
+ * Otherwise the buffers of the HttpClient are kept as they are and copied once into a buffer of the
+ * exact size when the body is complete.
+ */
+public class ByteBufferBodyHandler implements BodyHandler<ByteBuffer> {
+
+    private static final String HEADER_CONTENT_LENGTH = "Content-Length";
+    private static final int MAX_INITIAL_CAPACITY = 1024 * 1024;
+
+    @Override
+    public BodySubscriber<ByteBuffer> apply(ResponseInfo responseInfo) {
+        long length;
+        try {
+            length = responseInfo.headers().firstValueAsLong(HEADER_CONTENT_LENGTH).orElse(-1);
+        } catch (NumberFormatException e) {
+            length = -1;
+        }
+        return new ByteBufferSubscriber(Math.max(-1, length));
+    }
+
+    static class ByteBufferSubscriber implements BodySubscriber<ByteBuffer> {
+
+        private final long length;
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+        private final CompletableFuture<ByteBuffer> body = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+        private ByteBuffer buffer;
+        private long size;
+
+        ByteBufferSubscriber(long length) {
+            this.length = length;
+        }
+
+        @Override
+        public CompletionStage<ByteBuffer> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (length > Integer.MAX_VALUE) {
+                subscription.cancel();
+                body.completeExceptionally(tooBig(length));
+                return;
+            }
+            if (length >= 0) {
+                buffer = ByteBuffer.allocateDirect((int) Math.min(length, MAX_INITIAL_CAPACITY));
+            }
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (body.isDone()) {
+                return;
+            }
+            for (var item : items) {
+                size += item.remaining();
+                if (size > Integer.MAX_VALUE) {
+                    subscription.cancel();
+                    body.completeExceptionally(tooBig(size));
+                    return;
+                }
+                if (buffer != null && buffer.remaining() < item.remaining() && size <= length) {
+                    buffer = grow(buffer, size);
+                }
+                if (buffer != null && buffer.remaining() >= item.remaining()) {
+                    buffer.put(item);
+                } else {
+                    if (buffer != null) {
+                        // The body is longer than its Content-Length, as a decompressed one.
+                        chunks.add(buffer.flip());
+                        buffer = null;
+                    }
+                    chunks.add(item);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            chunks.clear();
+            buffer = null;
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (buffer == null) {
+                buffer = ByteBuffer.allocateDirect((int) size);
+                chunks.forEach(buffer::put);
+                chunks.clear();
+            }
+            body.complete(buffer.flip());
+        }
+
+        private ByteBuffer grow(ByteBuffer current, long needed) {
+            var capacity = (int) Math.min(length, Math.max(needed, 2L * current.capacity()));
+            var grown = ByteBuffer.allocateDirect(capacity);
+            grown.put(current.flip());
+            return grown;
+        }
+
+        private static IOException tooBig(long size) {
+            return new IOException("The body of " + size + " bytes does not fit in a ByteBuffer.");
+        }
+
+    }
+
+}
@@ -0,0 +1,81 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for the requests of byte ranges (RFC 9110), used to resume or split downloads.
+ */
+public final class ByteRanges {
+
+    public static final String HEADER_RANGE = "Range";
+    public static final String HEADER_IF_RANGE = "If-Range";
+    public static final String HEADER_CONTENT_RANGE = "Content-Range";
+
+    private static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_LAST_MODIFIED = "Last-Modified";
+    private static final String WEAK_PREFIX = "W/";
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes\\s+(\\d+)-(\\d+)/(\\d+|\\*)");
+
+    private ByteRanges() {
+    }
+
+    /**
+     * @param headers Headers of a response.
+     * @return The strong ETag of the response, or its Last-Modified date, to be sent in If-Range. Null
+     *         if it has none of them.
+     */
+    public static String validatorOf(HttpHeaders headers) {
+        return headers.firstValue(HEADER_ETAG)
+                .filter(value -> !value.startsWith(WEAK_PREFIX))
+                .orElse(headers.firstValue(HEADER_LAST_MODIFIED).orElse(null));
+    }
+
+    /**
+     * @param headers Headers of a partial response.
+     * @return The position of the first byte of the Content-Range, or -1 if there is not one.
+     */
+    public static long startOf(HttpHeaders headers) {
+        var matcher = CONTENT_RANGE.matcher(headers.firstValue(HEADER_CONTENT_RANGE).orElse(""));
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    /**
+     * @param headers Headers of a partial response.
+     * @return The length of the whole body of the Content-Range, or -1 if it is unknown.
+     */
+    public static long totalOf(HttpHeaders headers) {
+        var matcher = CONTENT_RANGE.matcher(headers.firstValue(HEADER_CONTENT_RANGE).orElse(""));
+        return matcher.matches() && !"*".equals(matcher.group(3)) ? Long.parseLong(matcher.group(3)) : -1;
+    }
+
+    /**
+     * Copies a request asking for its body from a position on, only if the resource still matches the
+     * validator. The copy does not accept compressed bodies, since the position counts the bytes of the
+     * body as they were received, after being decompressed.
+     *
+     * @param httpRequest The original request.
+     * @param from        Position of the first byte to be received.
+     * @param validator   The ETag or Last-Modified date of the resource.
+     * @return The request of the rest of the body.
+     */
+    public static HttpRequest withRange(HttpRequest httpRequest, long from, String validator) {
+        var builder = HttpRequest.newBuilder()
+                .uri(httpRequest.uri())
+                .expectContinue(httpRequest.expectContinue())
+                .method(httpRequest.method(),
+                        httpRequest.bodyPublisher().orElse(HttpRequest.BodyPublishers.noBody()));
+        httpRequest.timeout().ifPresent(builder::timeout);
+        httpRequest.version().ifPresent(builder::version);
+        httpRequest.headers().map().forEach((name, values) -> {
+            if (!HEADER_RANGE.equalsIgnoreCase(name) && !HEADER_IF_RANGE.equalsIgnoreCase(name)
+                    && !HEADER_ACCEPT_ENCODING.equalsIgnoreCase(name)) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        return builder.header(HEADER_RANGE, "bytes=" + from + "-").header(HEADER_IF_RANGE, validator).build();
+    }
+
+}
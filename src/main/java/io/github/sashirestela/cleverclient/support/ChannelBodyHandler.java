@@ -0,0 +1,168 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.io.IOException;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * BodyHandler that returns the response body as a ReadableByteChannel as soon as the headers arrive.
+ * Every read copies the buffers of the HttpClient straight into the buffer of the caller, that can
+ * be a direct one, and the next chunk is requested to the HttpClient only once the previous one was
+ * taken, so a slow reader throttles the network read. The queue of chunks is touched only when the
+ * current chunk is exhausted, not on every read, so the channel is meant to be read by one thread at
+ * a time. Closing the channel cancels the response.
+ */
+public class ChannelBodyHandler implements BodyHandler<ReadableByteChannel> {
+
+    @Override
+    public BodySubscriber<ReadableByteChannel> apply(ResponseInfo responseInfo) {
+        return new ChannelSubscriber();
+    }
+
+    static class ChannelSubscriber implements BodySubscriber<ReadableByteChannel>, ReadableByteChannel {
+
+        private static final List<ByteBuffer> END = Collections.unmodifiableList(new ArrayList<>());
+
+        private final BlockingQueue<List<ByteBuffer>> queue = new LinkedBlockingQueue<>();
+        private final CompletableFuture<ReadableByteChannel> body = CompletableFuture.completedFuture(this);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+        private volatile boolean closed;
+        private List<ByteBuffer> current = List.of();
+        private int index;
+        private boolean ended;
+
+        @Override
+        public CompletionStage<ReadableByteChannel> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (closed) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            queue.add(items);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            queue.add(END);
+        }
+
+        @Override
+        public void onComplete() {
+            queue.add(END);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            if (closed) {
+                throw new ClosedChannelException();
+            }
+            var count = 0;
+            while (dst.hasRemaining()) {
+                // Block only while nothing was read, otherwise return what is there.
+                var buffer = nextBuffer(count == 0);
+                if (buffer == null) {
+                    break;
+                }
+                var length = Math.min(buffer.remaining(), dst.remaining());
+                if (length == buffer.remaining()) {
+                    dst.put(buffer);
+                } else {
+                    dst.put(buffer.slice().limit(length));
+                    buffer.position(buffer.position() + length);
+                }
+                count += length;
+            }
+            if (count == 0 && ended) {
+                if (error != null) {
+                    throw new IOException(error.getMessage(), error);
+                }
+                return -1;
+            }
+            return count;
+        }
+
+        private ByteBuffer nextBuffer(boolean blocking) throws IOException {
+            while (true) {
+                if (index < current.size()) {
+                    var buffer = current.get(index);
+                    if (buffer.hasRemaining()) {
+                        return buffer;
+                    }
+                    index++;
+                    continue;
+                }
+                if (ended) {
+                    return null;
+                }
+                var next = blocking ? take() : queue.poll();
+                if (next == null) {
+                    return null;
+                }
+                if (next == END) {
+                    ended = true;
+                    current = List.of();
+                    continue;
+                }
+                current = next;
+                index = 0;
+                subscription.request(1);
+            }
+        }
+
+        private List<ByteBuffer> take() throws IOException {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new ClosedByInterruptException();
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !closed;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            var upstream = subscription;
+            if (upstream != null) {
+                upstream.cancel();
+            }
+            queue.clear();
+            current = List.of();
+        }
+
+    }
+
+}
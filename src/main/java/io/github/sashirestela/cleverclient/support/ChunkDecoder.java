@@ -0,0 +1,30 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * Incremental decoder of a response body that is made of many elements, as Server Sent Events,
+ * Newline Delimited Json or a Json array. It receives the body in chunks of bytes as they arrive and
+ * hands every completed element to a consumer.
+ *
+ * @param <T> Type of the decoded elements.
+ */
+public interface ChunkDecoder<T> {
+
+    /**
+     * Decodes the next chunk of bytes of the body.
+     * 
+     * @param buffer   Next bytes of the body.
+     * @param consumer Receiver of the completed elements.
+     */
+    void decode(ByteBuffer buffer, Consumer<T> consumer);
+
+    /**
+     * Ends the decoding when the whole body was received.
+     * 
+     * @param consumer Receiver of the last completed elements.
+     */
+    void finish(Consumer<T> consumer);
+
+}
@@ -14,4 +14,9 @@ public class CleverClientException extends RuntimeException {
                 (Throwable) parameters[parameters.length - 1]);
     }
 
+    protected CleverClientException(String message, Throwable cause, boolean enableSuppression,
+            boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
 }
@@ -3,6 +3,13 @@ package io.github.sashirestela.cleverclient.support;
 import java.util.List;
 import java.util.Set;
 
+/**
+ * Line based reading of server sent events.
+ * 
+ * @deprecated The stream senders parse the response bytes with {@link ServerSentEventParser}, which
+ *             also supports multi-line data, id, retry and comments.
+ */
+@Deprecated
 public class CleverClientSSE {
 
     private static final String EVENT_HEADER = "event: ";
@@ -0,0 +1,112 @@
+package io.github.sashirestela.cleverclient.support;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Client level options that are shared by the HttpConnector and the HttpSenders for every request
+ * made through the same CleverClient.
+ */
+@Value
+@Builder
+public class ClientOptions {
+
+    /**
+     * Options used when the client has not set any.
+     */
+    public static final ClientOptions DEFAULT = ClientOptions.builder().build();
+
+    /**
+     * Advertise gzip and deflate as accepted encodings and decompress the response bodies on the fly.
+     */
+    boolean decompression;
+
+    /**
+     * Codecs to encode and decode bodies, by their media type.
+     */
+    @Singular
+    Map<String, Codec> codecs;
+
+    /**
+     * Media type used by the interfaces and methods that are not annotated with MediaType. Json is used
+     * when it is not set.
+     */
+    String mediaType;
+
+    /**
+     * Maximum number of bytes (or characters) of an error response body to be captured. The rest of
+     * it is discarded. Zero or negative means no limit.
+     */
+    int maxErrorBodySize;
+
+    /**
+     * Maximum number of bytes of a successful response body that is held in memory or spilled to disk.
+     * Bigger bodies fail with a BodyTooLargeException. Streamed and downloaded bodies have no limit.
+     * Zero or negative means no limit.
+     */
+    long maxBodySize;
+
+    /**
+     * Number of bytes of a response body to be decoded as a Json object from which it is written to a
+     * temporary file, and parsed memory-mapped from there instead of from the heap. Zero or negative
+     * means that the bodies are always kept in memory.
+     */
+    long spillThreshold;
+
+    /**
+     * Throw the exceptions for error responses without filling in their stack trace.
+     */
+    boolean lightweightErrors;
+
+    /**
+     * Executor that runs the callbacks of the EventListeners. They are run on the thread that decodes
+     * the response when it is not set.
+     */
+    Executor eventExecutor;
+
+    /**
+     * Executor that decodes the data of the server sent events of Stream return types in parallel,
+     * while they are still delivered in order. They are decoded by the consumer when it is not set.
+     */
+    Executor decodeExecutor;
+
+    /**
+     * Maximum number of server sent events read and decoded ahead of the consumer when they are decoded
+     * in parallel. A default of 16 is used when it is not set.
+     */
+    int decodeWindow;
+
+    /**
+     * Journal that records the responses of the methods annotated with Tee.
+     */
+    StreamJournal journal;
+
+    /**
+     * Limiter of the rate of all the request and response bodies of the client.
+     */
+    BandwidthLimiter bandwidthLimiter;
+
+    public boolean hasCodecs() {
+        return !codecs.isEmpty();
+    }
+
+    /**
+     * Finds the codec for the media type of a Content-Type header value.
+     * 
+     * @param contentType The Content-Type header value, parameters are ignored.
+     * @return The matched codec or null if there is not one.
+     */
+    public Codec getCodecFor(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        var separator = contentType.indexOf(';');
+        var mediaTypeOnly = (separator >= 0 ? contentType.substring(0, separator) : contentType).strip();
+        return codecs.get(mediaTypeOnly.toLowerCase());
+    }
+
+}
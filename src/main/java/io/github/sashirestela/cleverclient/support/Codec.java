@@ -0,0 +1,56 @@
+package io.github.sashirestela.cleverclient.support;
+
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service provider interface to write request bodies and read response bodies of a given media type
+ * as raw bytes, so formats other than Json (for instance CBOR or Smile) can be plugged in.
+ */
+public interface Codec {
+
+    /**
+     * The media type handled by this codec, used in the Content-Type and Accept headers.
+     * 
+     * @return The media type, for instance "application/cbor".
+     */
+    String getMediaType();
+
+    /**
+     * Encodes an object as the body of a request.
+     * 
+     * @param object The object to encode.
+     * @return The encoded bytes.
+     */
+    byte[] encode(Object object);
+
+    /**
+     * Decodes the body of a response.
+     * 
+     * @param <T>      Type of the decoded object.
+     * @param data     The bytes of the response body.
+     * @param javaType The expected type, including its generic parameters if they exist.
+     * @return The decoded object.
+     */
+    <T> T decode(byte[] data, JavaType javaType);
+
+    /**
+     * Decodes the body of a response that was spilled to disk. By default it is read whole and passed
+     * to {@link #decode(byte[], JavaType)}, codecs able to parse a stream should override it.
+     * 
+     * @param <T>      Type of the decoded object.
+     * @param data     The stream of the response body.
+     * @param javaType The expected type, including its generic parameters if they exist.
+     * @return The decoded object.
+     */
+    default <T> T decode(InputStream data, JavaType javaType) {
+        try (data) {
+            return decode(data.readAllBytes(), javaType);
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot read the body to decode {0} as {1}.", javaType, getMediaType(), e);
+        }
+    }
+
+}
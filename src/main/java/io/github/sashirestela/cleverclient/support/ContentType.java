@@ -9,6 +9,15 @@ public enum ContentType {
             "; boundary=\"" + Constant.BOUNDARY_VALUE + "\""),
     APPLICATION_JSON(
             "application/json",
+            ""),
+    APPLICATION_NDJSON(
+            "application/x-ndjson",
+            ""),
+    APPLICATION_OCTET_STREAM(
+            "application/octet-stream",
+            ""),
+    CODEC(
+            "",
             "");
 
     private String mimeType;
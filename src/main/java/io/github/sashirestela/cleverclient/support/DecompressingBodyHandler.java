@@ -0,0 +1,318 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.io.EOFException;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * BodyHandler that decompresses gzip or deflate encoded responses on the fly before they reach the
+ * wrapped BodyHandler. Responses without a supported Content-Encoding are passed through untouched.
+ *
+ * @param <T> Type of the response body.
+ */
+public class DecompressingBodyHandler<T> implements BodyHandler<T> {
+
+    public static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String ACCEPTED_ENCODINGS = "gzip, deflate";
+
+    private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+
+    private final BodyHandler<T> bodyHandler;
+
+    public DecompressingBodyHandler(BodyHandler<T> bodyHandler) {
+        this.bodyHandler = bodyHandler;
+    }
+
+    @Override
+    public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+        var encoding = responseInfo.headers()
+                .firstValue(HEADER_CONTENT_ENCODING)
+                .map(value -> value.strip().toLowerCase(Locale.ROOT))
+                .orElse("");
+        var bodySubscriber = bodyHandler.apply(responseInfo);
+        switch (encoding) {
+            case "gzip":
+            case "x-gzip":
+                return new InflatingSubscriber<>(bodySubscriber, true);
+            case "deflate":
+                return new InflatingSubscriber<>(bodySubscriber, false);
+            default:
+                return bodySubscriber;
+        }
+    }
+
+    /**
+     * BodySubscriber that inflates every chunk of bytes as soon as it arrives and hands the inflated
+     * chunks to the downstream BodySubscriber, so the compressed body is never buffered as a whole.
+     */
+    static class InflatingSubscriber<T> implements BodySubscriber<T> {
+
+        private static final int CHUNK_SIZE = 8192;
+
+        private static final int GZIP_MAGIC = 0x8b1f;
+        private static final int GZIP_HEADER_SIZE = 10;
+        private static final int GZIP_TRAILER_SIZE = 8;
+        private static final int FHCRC = 2;
+        private static final int FEXTRA = 4;
+        private static final int FNAME = 8;
+        private static final int FCOMMENT = 16;
+
+        private final BodySubscriber<T> downstream;
+        private final boolean gzip;
+        private final ByteBuffer scratch = ByteBuffer.allocate(GZIP_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 crc = new CRC32();
+
+        private Inflater inflater;
+        private Flow.Subscription subscription;
+        private State state;
+        private int flags;
+        private int extraRemaining;
+        private boolean receivedAny;
+        private boolean memberCompleted;
+        private boolean failed;
+
+        InflatingSubscriber(BodySubscriber<T> downstream, boolean gzip) {
+            this.downstream = downstream;
+            this.gzip = gzip;
+            this.state = gzip ? State.GZIP_HEADER : State.ZLIB_HEADER;
+            if (gzip) {
+                this.inflater = new Inflater(true);
+            }
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (failed) {
+                return;
+            }
+            List<ByteBuffer> output = new ArrayList<>();
+            try {
+                for (var item : items) {
+                    process(item, output);
+                }
+            } catch (ZipException | DataFormatException e) {
+                fail(e);
+                subscription.cancel();
+                return;
+            }
+            if (output.isEmpty()) {
+                // Nothing was inflated yet, so the demand of the downstream is still pending.
+                subscription.request(1);
+            } else {
+                downstream.onNext(output);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!failed) {
+                fail(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (failed) {
+                return;
+            }
+            var isComplete = !receivedAny || state == State.DONE
+                    || (state == State.GZIP_HEADER && scratch.position() == 0 && memberCompleted);
+            endInflater();
+            if (isComplete) {
+                downstream.onComplete();
+            } else {
+                downstream.onError(new EOFException("Unexpected end of the compressed response body."));
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            failed = true;
+            endInflater();
+            downstream.onError(throwable);
+        }
+
+        private void endInflater() {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+
+        private void process(ByteBuffer input, List<ByteBuffer> output) throws ZipException, DataFormatException {
+            receivedAny |= input.hasRemaining();
+            while (input.hasRemaining() && state != State.DONE) {
+                switch (state) {
+                    case ZLIB_HEADER:
+                        if (!fill(input, 2)) {
+                            return;
+                        }
+                        scratch.flip();
+                        inflater = new Inflater(!isZlibHeader(scratch.get(0) & 0xff, scratch.get(1) & 0xff));
+                        inflate(scratch, output);
+                        scratch.clear();
+                        state = State.BODY;
+                        break;
+                    case GZIP_HEADER:
+                        if (!fill(input, GZIP_HEADER_SIZE)) {
+                            return;
+                        }
+                        if ((scratch.getShort(0) & 0xffff) != GZIP_MAGIC) {
+                            throw new ZipException("Not in GZIP format.");
+                        }
+                        if (scratch.get(2) != Deflater.DEFLATED) {
+                            throw new ZipException("Unsupported GZIP compression method.");
+                        }
+                        flags = scratch.get(3) & 0xff;
+                        scratch.clear();
+                        memberCompleted = false;
+                        inflater.reset();
+                        crc.reset();
+                        state = nextGzipState(State.GZIP_HEADER);
+                        break;
+                    case GZIP_EXTRA_LENGTH:
+                        if (!fill(input, 2)) {
+                            return;
+                        }
+                        extraRemaining = scratch.getShort(0) & 0xffff;
+                        scratch.clear();
+                        state = State.GZIP_EXTRA;
+                        break;
+                    case GZIP_EXTRA:
+                        var skipped = Math.min(extraRemaining, input.remaining());
+                        input.position(input.position() + skipped);
+                        extraRemaining -= skipped;
+                        if (extraRemaining == 0) {
+                            state = nextGzipState(State.GZIP_EXTRA);
+                        }
+                        break;
+                    case GZIP_NAME:
+                    case GZIP_COMMENT:
+                        if (skipZeroTerminated(input)) {
+                            state = nextGzipState(state);
+                        }
+                        break;
+                    case GZIP_HEADER_CRC:
+                        if (!fill(input, 2)) {
+                            return;
+                        }
+                        scratch.clear();
+                        state = State.BODY;
+                        break;
+                    case BODY:
+                        inflate(input, output);
+                        if (inflater.finished()) {
+                            state = gzip ? State.GZIP_TRAILER : State.DONE;
+                        }
+                        break;
+                    case GZIP_TRAILER:
+                        if (!fill(input, GZIP_TRAILER_SIZE)) {
+                            return;
+                        }
+                        if ((scratch.getInt(0) & 0xffffffffL) != crc.getValue()) {
+                            throw new ZipException("Corrupt GZIP trailer: CRC mismatch.");
+                        }
+                        if ((scratch.getInt(4) & 0xffffffffL) != (inflater.getBytesWritten() & 0xffffffffL)) {
+                            throw new ZipException("Corrupt GZIP trailer: size mismatch.");
+                        }
+                        scratch.clear();
+                        memberCompleted = true;
+                        // A gzip body can be made of several concatenated members.
+                        state = State.GZIP_HEADER;
+                        break;
+                    default:
+                        return;
+                }
+            }
+        }
+
+        private void inflate(ByteBuffer input, List<ByteBuffer> output) throws DataFormatException {
+            inflater.setInput(input);
+            while (!inflater.finished()) {
+                var chunk = new byte[CHUNK_SIZE];
+                var count = inflater.inflate(chunk);
+                if (count == 0) {
+                    if (inflater.needsDictionary()) {
+                        throw new DataFormatException("Preset dictionaries are not supported.");
+                    }
+                    break;
+                }
+                crc.update(chunk, 0, count);
+                output.add(ByteBuffer.wrap(chunk, 0, count));
+            }
+        }
+
+        private boolean fill(ByteBuffer input, int size) {
+            while (scratch.position() < size && input.hasRemaining()) {
+                scratch.put(input.get());
+            }
+            return scratch.position() == size;
+        }
+
+        private boolean skipZeroTerminated(ByteBuffer input) {
+            while (input.hasRemaining()) {
+                if (input.get() == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private State nextGzipState(State current) {
+            if (current.compareTo(State.GZIP_EXTRA_LENGTH) < 0 && (flags & FEXTRA) != 0) {
+                return State.GZIP_EXTRA_LENGTH;
+            }
+            if (current.compareTo(State.GZIP_NAME) < 0 && (flags & FNAME) != 0) {
+                return State.GZIP_NAME;
+            }
+            if (current.compareTo(State.GZIP_COMMENT) < 0 && (flags & FCOMMENT) != 0) {
+                return State.GZIP_COMMENT;
+            }
+            if (current.compareTo(State.GZIP_HEADER_CRC) < 0 && (flags & FHCRC) != 0) {
+                return State.GZIP_HEADER_CRC;
+            }
+            return State.BODY;
+        }
+
+        private static boolean isZlibHeader(int cmf, int flg) {
+            return (cmf & 0x0f) == Deflater.DEFLATED && ((cmf << 8) | flg) % 31 == 0;
+        }
+
+        private enum State {
+            ZLIB_HEADER,
+            GZIP_HEADER,
+            GZIP_EXTRA_LENGTH,
+            GZIP_EXTRA,
+            GZIP_NAME,
+            GZIP_COMMENT,
+            GZIP_HEADER_CRC,
+            BODY,
+            GZIP_TRAILER,
+            DONE;
+        }
+
+    }
+
+}
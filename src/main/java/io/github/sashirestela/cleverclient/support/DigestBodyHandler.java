@@ -0,0 +1,106 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.TransferDigest;
+import io.github.sashirestela.cleverclient.util.CommonUtil;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * BodyHandler that adds the bytes of a successful response to a TransferDigest on their way to the
+ * wrapped BodyHandler, and that ends the body with a TransferVerificationException instead of
+ * completing it if the digest or the size is not the expected one. A full response starts the digest
+ * over, while a partial response (206) goes on with it from the bytes not digested yet, so a resumed
+ * body is digested once.
+ *
+ * @param <T> Type of the response body.
+ */
+public class DigestBodyHandler<T> implements BodyHandler<T> {
+
+    private final BodyHandler<T> bodyHandler;
+    private final TransferDigest digest;
+
+    public DigestBodyHandler(BodyHandler<T> bodyHandler, TransferDigest digest) {
+        this.bodyHandler = bodyHandler;
+        this.digest = digest;
+    }
+
+    @Override
+    public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+        var bodySubscriber = bodyHandler.apply(responseInfo);
+        var statusCode = responseInfo.statusCode();
+        if (!CommonUtil.isInHundredsOf(statusCode, HttpURLConnection.HTTP_OK)) {
+            return bodySubscriber;
+        }
+        var skip = 0L;
+        if (statusCode == HttpURLConnection.HTTP_PARTIAL) {
+            skip = Math.max(0, digest.getSize() - Math.max(0, ByteRanges.startOf(responseInfo.headers())));
+        } else {
+            digest.reset();
+        }
+        return new DigestSubscriber<>(bodySubscriber, digest, skip);
+    }
+
+    static class DigestSubscriber<T> implements BodySubscriber<T> {
+
+        private final BodySubscriber<T> downstream;
+        private final TransferDigest digest;
+        private long skip;
+
+        DigestSubscriber(BodySubscriber<T> downstream, TransferDigest digest, long skip) {
+            this.downstream = downstream;
+            this.digest = digest;
+            this.skip = skip;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            for (var item : items) {
+                if (skip >= item.remaining()) {
+                    skip -= item.remaining();
+                } else if (skip > 0) {
+                    // The start of the chunk was digested before the body was resumed.
+                    digest.update(item.duplicate().position(item.position() + (int) skip));
+                    skip = 0;
+                } else {
+                    digest.update(item);
+                }
+            }
+            downstream.onNext(items);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                digest.verify();
+            } catch (TransferVerificationException e) {
+                downstream.onError(e);
+                return;
+            }
+            downstream.onComplete();
+        }
+
+    }
+
+}
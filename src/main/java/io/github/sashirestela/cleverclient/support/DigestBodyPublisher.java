@@ -0,0 +1,79 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.TransferDigest;
+
+import java.net.http.HttpRequest.BodyPublisher;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+
+/**
+ * BodyPublisher that adds the bytes of a request body to a TransferDigest as they are sent, and that
+ * ends the body with a TransferVerificationException instead of completing it if the digest or the
+ * size is not the expected one, so the request fails. The last buffer is held back until the digest
+ * is verified, so the server never receives a complete body that does not match.
+ */
+public class DigestBodyPublisher implements BodyPublisher {
+
+    private final BodyPublisher bodyPublisher;
+    private final TransferDigest digest;
+
+    public DigestBodyPublisher(BodyPublisher bodyPublisher, TransferDigest digest) {
+        this.bodyPublisher = bodyPublisher;
+        this.digest = digest;
+    }
+
+    @Override
+    public long contentLength() {
+        return bodyPublisher.contentLength();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        // The body is published again from its start when the request is sent again.
+        digest.reset();
+        bodyPublisher.subscribe(new Flow.Subscriber<ByteBuffer>() {
+
+            private Flow.Subscription subscription;
+            private ByteBuffer held;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscriber.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                digest.update(item);
+                if (held != null) {
+                    subscriber.onNext(held);
+                } else {
+                    // The held buffer was requested by the subscriber, it is replaced by one more.
+                    subscription.request(1);
+                }
+                held = item;
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                try {
+                    digest.verify();
+                } catch (TransferVerificationException e) {
+                    subscriber.onError(e);
+                    return;
+                }
+                if (held != null) {
+                    subscriber.onNext(held);
+                }
+                subscriber.onComplete();
+            }
+
+        });
+    }
+
+}
@@ -0,0 +1,219 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BodyHandler that writes the response body to a file through a FileChannel, with the buffers of the
+ * HttpClient as they arrive, so the body is never copied to the heap. When it is atomic, the body is
+ * written to a part file next to the target, that is renamed to the target once the body is
+ * complete, so the target is never seen half written. When it preallocates, the file is extended to
+ * the Content-Length of the response before the first write. When it is resumable, a partial
+ * response (206) is written from the first byte of its Content-Range on, the bytes written so far are
+ * kept in a counter, and the file is kept if the response fails, to be resumed by a later request.
+ */
+public class FileBodyHandler implements BodyHandler<Path> {
+
+    private static final String HEADER_CONTENT_LENGTH = "Content-Length";
+    private static final String PART_SUFFIX = ".part";
+
+    private final Path file;
+    private final boolean atomic;
+    private final boolean preallocate;
+    private final long offset;
+    private final AtomicLong written;
+
+    public FileBodyHandler(Path file, boolean atomic, boolean preallocate) {
+        this(file, atomic, preallocate, 0, null);
+    }
+
+    /**
+     * Constructor of a resumable FileBodyHandler.
+     *
+     * @param file        The target file.
+     * @param atomic      True to write a part file that replaces the target once it is complete.
+     * @param preallocate True to extend the file to the Content-Length of a full response.
+     * @param offset      Bytes of the file already written, the position requested with Range.
+     * @param written     Counter set to the bytes of the file written so far, contiguous from the start.
+     */
+    public FileBodyHandler(Path file, boolean atomic, boolean preallocate, long offset, AtomicLong written) {
+        this.file = file;
+        this.atomic = atomic;
+        this.preallocate = preallocate;
+        this.offset = offset;
+        this.written = written;
+    }
+
+    /**
+     * @param file The target file.
+     * @return The file where the body of an atomic download is written until it is complete.
+     */
+    public static Path partFileOf(Path file) {
+        return file.resolveSibling(file.getFileName() + PART_SUFFIX);
+    }
+
+    /**
+     * Renames a complete part file to its target, replacing the target in a single step when the file
+     * system can do it.
+     *
+     * @param partFile The complete part file.
+     * @param file     The target file.
+     * @throws IOException If the part file cannot be renamed.
+     */
+    public static void replace(Path partFile, Path file) throws IOException {
+        try {
+            Files.move(partFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public BodySubscriber<Path> apply(ResponseInfo responseInfo) {
+        var output = atomic ? partFileOf(file) : file;
+        if (written != null && responseInfo.statusCode() == HttpURLConnection.HTTP_PARTIAL) {
+            var start = ByteRanges.startOf(responseInfo.headers());
+            // A range starting after the bytes written would leave a gap in the file.
+            return new FileSubscriber(file, output, start >= 0 && start <= offset ? start : -1, -1, written);
+        }
+        var length = preallocate ? responseInfo.headers().firstValueAsLong(HEADER_CONTENT_LENGTH).orElse(-1) : -1;
+        return new FileSubscriber(file, output, 0, length, written);
+    }
+
+    static class FileSubscriber implements BodySubscriber<Path> {
+
+        private final Path file;
+        private final Path output;
+        private final long start;
+        private final long length;
+        private final AtomicLong written;
+        private final CompletableFuture<Path> body = new CompletableFuture<>();
+        private FileChannel channel;
+        private Flow.Subscription subscription;
+        private long position;
+
+        FileSubscriber(Path file, Path output, long start, long length, AtomicLong written) {
+            this.file = file;
+            this.output = output;
+            this.start = start;
+            this.length = length;
+            this.written = written;
+            this.position = start;
+        }
+
+        @Override
+        public CompletionStage<Path> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            try {
+                if (start < 0) {
+                    throw new IOException("The partial response does not continue the file " + output + ".");
+                }
+                if (start == 0) {
+                    channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                            StandardOpenOption.TRUNCATE_EXISTING);
+                } else {
+                    channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                    channel.position(start);
+                }
+                if (length > 0) {
+                    channel.write(ByteBuffer.allocate(1), length - 1);
+                }
+                count(0);
+            } catch (IOException e) {
+                subscription.cancel();
+                fail(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (body.isDone()) {
+                return;
+            }
+            try {
+                var buffers = items.toArray(ByteBuffer[]::new);
+                while (buffers.length > 0 && buffers[buffers.length - 1].hasRemaining()) {
+                    count(channel.write(buffers));
+                }
+            } catch (IOException e) {
+                subscription.cancel();
+                fail(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (body.isDone()) {
+                return;
+            }
+            try {
+                if (channel.size() > position) {
+                    channel.truncate(position);
+                }
+                channel.force(false);
+                channel.close();
+                if (!output.equals(file)) {
+                    replace(output, file);
+                }
+                body.complete(file);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private void count(long bytes) {
+            position += bytes;
+            if (written != null) {
+                written.set(position);
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            if (body.isDone()) {
+                return;
+            }
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+                if (written == null) {
+                    Files.deleteIfExists(output);
+                }
+            } catch (IOException e) {
+                throwable.addSuppressed(e);
+            }
+            body.completeExceptionally(throwable);
+        }
+
+    }
+
+}
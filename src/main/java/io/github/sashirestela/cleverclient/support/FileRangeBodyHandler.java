@@ -0,0 +1,143 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BodyHandler that writes the body of a partial response (206) at a position of a file, without
+ * moving the position of its FileChannel, so many ranges of the same file can be written at once. The
+ * bytes written are added to a counter as they are written, to know where to resume the range if the
+ * response fails. Any other response is cancelled at once and its body is -1.
+ * <p>
+ * A partial response whose Content-Range does not start at the position, or that sends bytes past the
+ * end of the range, fails before writing them, so it never overwrites the neighbour ranges.
+ */
+public class FileRangeBodyHandler implements BodyHandler<Long> {
+
+    private final FileChannel channel;
+    private final long position;
+    private final long end;
+    private final AtomicLong written;
+
+    /**
+     * Constructor.
+     * 
+     * @param channel  The file to write.
+     * @param position Position of the first byte of the range.
+     * @param end      Position of the last byte of the range.
+     * @param written  Counter of the bytes written.
+     */
+    public FileRangeBodyHandler(FileChannel channel, long position, long end, AtomicLong written) {
+        this.channel = channel;
+        this.position = position;
+        this.end = end;
+        this.written = written;
+    }
+
+    @Override
+    public BodySubscriber<Long> apply(ResponseInfo responseInfo) {
+        var partial = responseInfo.statusCode() == HttpURLConnection.HTTP_PARTIAL;
+        var subscriber = new RangeSubscriber(channel, position, end, written, partial);
+        var start = ByteRanges.startOf(responseInfo.headers());
+        if (partial && start != position) {
+            subscriber.fail(new CleverClientException("The server returned the range from byte {0} instead of {1}.",
+                    start, position, null));
+        }
+        return subscriber;
+    }
+
+    static class RangeSubscriber implements BodySubscriber<Long> {
+
+        private final FileChannel channel;
+        private final long end;
+        private final AtomicLong written;
+        private final boolean partial;
+        private final CompletableFuture<Long> body = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+        private long position;
+
+        RangeSubscriber(FileChannel channel, long position, long end, AtomicLong written, boolean partial) {
+            this.channel = channel;
+            this.position = position;
+            this.end = end;
+            this.written = written;
+            this.partial = partial;
+        }
+
+        void fail(Throwable throwable) {
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public CompletionStage<Long> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (body.isDone()) {
+                subscription.cancel();
+                return;
+            }
+            if (!partial) {
+                // The whole file is coming, or a changed one: it is not worth reading it.
+                subscription.cancel();
+                body.complete(-1L);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (body.isDone()) {
+                return;
+            }
+            var received = items.stream().mapToLong(ByteBuffer::remaining).sum();
+            if (position + received > end + 1) {
+                fail(new CleverClientException("The server sent bytes past the end of the range at byte {0}.", end,
+                        null));
+                return;
+            }
+            try {
+                for (var item : items) {
+                    while (item.hasRemaining()) {
+                        var count = channel.write(item, position);
+                        position += count;
+                        written.addAndGet(count);
+                    }
+                }
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            body.complete(position);
+        }
+
+    }
+
+}
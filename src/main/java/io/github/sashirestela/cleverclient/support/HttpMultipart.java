@@ -1,17 +1,29 @@
 package io.github.sashirestela.cleverclient.support;
 
+import io.github.sashirestela.cleverclient.TransferDigest;
 import io.github.sashirestela.cleverclient.util.Constant;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Flow;
 
 public class HttpMultipart {
 
@@ -28,54 +40,130 @@ public class HttpMultipart {
 
     public static List<byte[]> toByteArrays(Map<String, Object> data) {
         List<byte[]> byteArrays = new ArrayList<>();
+        for (var part : toParts(data)) {
+            if (part instanceof Path) {
+                try {
+                    byteArrays.add(Files.readAllBytes((Path) part));
+                } catch (IOException e) {
+                    throw new CleverClientException("Error trying to read the file {0}.", part, e);
+                }
+            } else {
+                byteArrays.add((byte[]) part);
+            }
+        }
+        return byteArrays;
+    }
+
+    /**
+     * Creates the BodyPublisher of a multipart body that reads the files while the body is sent,
+     * instead of holding them in memory. The length of the body is known up front, from the sizes of
+     * the files. If there is a TransferDigest, the contents of the files are digested as they are read,
+     * and the body fails before its end if they do not match the expected ones.
+     * 
+     * @param data   The fields of the multipart body.
+     * @param digest The TransferDigest of the request, or null.
+     * @return The BodyPublisher to be passed to the Java's HttpClient.
+     */
+    public static BodyPublisher toBodyPublisher(Map<String, Object> data, TransferDigest digest) {
+        var parts = toParts(data);
+        var length = 0L;
+        for (var part : parts) {
+            if (part instanceof Path) {
+                try {
+                    length += Files.size((Path) part);
+                } catch (IOException e) {
+                    throw new CleverClientException("Error trying to read the file {0}.", part, e);
+                }
+            } else {
+                length += ((byte[]) part).length;
+            }
+        }
+        return new SizedBodyPublisher(BodyPublishers.ofInputStream(() -> inputStreamOf(parts, digest)), length);
+    }
+
+    /**
+     * @return The pieces of a multipart body: byte arrays and the Paths of the file contents.
+     */
+    private static List<Object> toParts(Map<String, Object> data) {
+        List<Object> parts = new ArrayList<>();
         for (var entry : data.entrySet()) {
-            byteArrays.add(toBytes(DASH + Constant.BOUNDARY_VALUE + NL));
-            byteArrays.add(toBytes(DISPOSITION));
+            parts.add(toBytes(DASH + Constant.BOUNDARY_VALUE + NL));
+            parts.add(toBytes(DISPOSITION));
             var fieldName = entry.getKey();
             if (isFile(entry.getValue())) {
                 String fileName = null;
                 String mimeType = null;
-                byte[] fileContent = null;
+                Path path = null;
                 try {
                     URI uri = new URI(entry.getValue().toString());
-                    var path = Paths.get(uri);
+                    path = Paths.get(uri);
                     fileName = path.toString();
                     mimeType = Files.probeContentType(path);
-                    fileContent = Files.readAllBytes(path);
                 } catch (IOException | URISyntaxException e) {
                     throw new CleverClientException("Error trying to read the file {0}.", fileName, e);
                 }
-                byteArrays.add(toBytes(FIELD_NAME + DQ + fieldName + DQ + FILE_NAME + DQ + fileName + DQ + NL));
-                byteArrays.add(toBytes(CONTENT_TYPE + mimeType + NL));
-                byteArrays.add(toBytes(NL));
-                byteArrays.add(fileContent);
-                byteArrays.add(toBytes(NL));
+                parts.add(toBytes(FIELD_NAME + DQ + fieldName + DQ + FILE_NAME + DQ + fileName + DQ + NL));
+                parts.add(toBytes(CONTENT_TYPE + mimeType + NL));
+                parts.add(toBytes(NL));
+                parts.add(path);
+                parts.add(toBytes(NL));
             } else {
                 var fieldValue = entry.getValue();
                 var isFirst = true;
                 if (fieldValue instanceof Collection) {
                     for (Object item : (Collection<?>) fieldValue) {
-                        addIndividualField(byteArrays, fieldName + "[]", item, isFirst);
+                        addIndividualField(parts, fieldName + "[]", item, isFirst);
                         isFirst = false;
                     }
                 } else {
-                    addIndividualField(byteArrays, fieldName, fieldValue, isFirst);
+                    addIndividualField(parts, fieldName, fieldValue, isFirst);
                 }
             }
         }
-        byteArrays.add(toBytes(DASH + Constant.BOUNDARY_VALUE + DASH + NL));
-        return byteArrays;
+        parts.add(toBytes(DASH + Constant.BOUNDARY_VALUE + DASH + NL));
+        return parts;
     }
 
-    private static void addIndividualField(List<byte[]> byteArrays, String fieldName, Object fieldValue,
+    private static void addIndividualField(List<Object> parts, String fieldName, Object fieldValue,
             boolean isFirst) {
         if (!isFirst) {
-            byteArrays.add(toBytes(DASH + Constant.BOUNDARY_VALUE + NL));
-            byteArrays.add(toBytes(DISPOSITION));
+            parts.add(toBytes(DASH + Constant.BOUNDARY_VALUE + NL));
+            parts.add(toBytes(DISPOSITION));
+        }
+        parts.add(toBytes(FIELD_NAME + DQ + fieldName + DQ + NL));
+        parts.add(toBytes(NL));
+        parts.add(toBytes(fieldValue + NL));
+    }
+
+    private static InputStream inputStreamOf(List<Object> parts, TransferDigest digest) {
+        if (digest != null) {
+            // The body is read again from its start when the request is sent again.
+            digest.reset();
         }
-        byteArrays.add(toBytes(FIELD_NAME + DQ + fieldName + DQ + NL));
-        byteArrays.add(toBytes(NL));
-        byteArrays.add(toBytes(fieldValue + NL));
+        var iterator = parts.iterator();
+        var body = new SequenceInputStream(new Enumeration<InputStream>() {
+
+            @Override
+            public boolean hasMoreElements() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                var part = iterator.next();
+                if (part instanceof Path) {
+                    try {
+                        var input = Files.newInputStream((Path) part);
+                        return digest != null ? new DigestInputStream(input, digest) : input;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return new ByteArrayInputStream((byte[]) part);
+            }
+
+        });
+        return digest != null ? new VerifyingInputStream(body, digest) : body;
     }
 
     private static byte[] toBytes(String text) {
@@ -88,4 +176,130 @@ public class HttpMultipart {
                 && ((String) value).startsWith(FILE_PROTOCOL);
     }
 
+    static class SizedBodyPublisher implements BodyPublisher {
+
+        private final BodyPublisher bodyPublisher;
+        private final long length;
+
+        SizedBodyPublisher(BodyPublisher bodyPublisher, long length) {
+            this.bodyPublisher = bodyPublisher;
+            this.length = length;
+        }
+
+        @Override
+        public long contentLength() {
+            return length;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            bodyPublisher.subscribe(subscriber);
+        }
+
+    }
+
+    static class DigestInputStream extends FilterInputStream {
+
+        private final TransferDigest digest;
+
+        DigestInputStream(InputStream input, TransferDigest digest) {
+            super(input);
+            this.digest = digest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var value = super.read();
+            if (value >= 0) {
+                digest.update(ByteBuffer.wrap(new byte[] { (byte) value }));
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            var count = super.read(bytes, offset, length);
+            if (count > 0) {
+                digest.update(ByteBuffer.wrap(bytes, offset, count));
+            }
+            return count;
+        }
+
+    }
+
+    /**
+     * Checks the digest when the end of the body is reached. The last byte read is held back until the
+     * next one arrives, so a body that does not match fails before it is complete.
+     */
+    static class VerifyingInputStream extends FilterInputStream {
+
+        private boolean verified;
+        private int held = -1;
+
+        private final TransferDigest digest;
+
+        VerifyingInputStream(InputStream input, TransferDigest digest) {
+            super(input);
+            this.digest = digest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (held < 0 && !hold()) {
+                return -1;
+            }
+            var value = held;
+            hold();
+            return value;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (held < 0 && !hold()) {
+                return -1;
+            }
+            bytes[offset] = (byte) held;
+            var count = length > 1 ? super.read(bytes, offset + 1, length - 1) : 0;
+            if (count <= 0) {
+                hold();
+                return 1;
+            }
+            // The last byte read takes the place of the held one.
+            held = bytes[offset + count] & 0xFF;
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return held < 0 ? Math.max(0, super.available() - 1) : super.available();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        /**
+         * Reads the next byte to be held back, verifying the digest at the end of the body.
+         *
+         * @return Whether there was a next byte.
+         */
+        private boolean hold() throws IOException {
+            held = super.read();
+            if (held < 0 && !verified) {
+                verified = true;
+                try {
+                    digest.verify();
+                } catch (TransferVerificationException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
+            }
+            return held >= 0;
+        }
+
+    }
+
 }
@@ -0,0 +1,72 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.util.JsonUtil;
+
+import java.net.http.HttpHeaders;
+
+/**
+ * Exception thrown when the server responds with a status code out of the 2xx range. It carries the
+ * status code, the response headers and the (possibly truncated) error body, which can be decoded
+ * lazily to a class; the decoded object is cached for subsequent calls.
+ */
+public class HttpResponseException extends CleverClientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+    private final transient HttpHeaders headers;
+    private final String body;
+
+    private transient Class<?> decodedClass;
+    private transient Object decodedBody;
+
+    public HttpResponseException(int statusCode, HttpHeaders headers, String body) {
+        this(statusCode, headers, body, true);
+    }
+
+    /**
+     * Creates the exception choosing whether to fill in its stack trace. Without stack trace, the
+     * exception is cheap to create, which matters when many error responses are received.
+     * 
+     * @param statusCode         The response status code.
+     * @param headers            The response headers.
+     * @param body               The (possibly truncated) error body.
+     * @param writableStackTrace Whether the stack trace should be filled in.
+     */
+    public HttpResponseException(int statusCode, HttpHeaders headers, String body, boolean writableStackTrace) {
+        super("ERROR : " + body, null, false, writableStackTrace);
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * Decodes the error body as Json to a class. The result is cached, so the body is decoded only once
+     * for the same class.
+     * 
+     * @param <T>   Type of the decoded body.
+     * @param clazz Class of the decoded body.
+     * @return The decoded body.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T getBodyAs(Class<T> clazz) {
+        if (!clazz.equals(decodedClass)) {
+            decodedBody = JsonUtil.jsonToObject(body, clazz);
+            decodedClass = clazz;
+        }
+        return (T) decodedBody;
+    }
+
+}
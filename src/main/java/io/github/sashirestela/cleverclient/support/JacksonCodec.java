@@ -0,0 +1,60 @@
+package io.github.sashirestela.cleverclient.support;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Codec backed by a Jackson ObjectMapper. Any Jackson data format can be used with it, for instance
+ * {@code new JacksonCodec("application/cbor", new CBORMapper())}.
+ */
+public class JacksonCodec implements Codec {
+
+    private final String mediaType;
+    private final ObjectWriter objectWriter;
+    private final ObjectReader objectReader;
+
+    public JacksonCodec(String mediaType, ObjectMapper objectMapper) {
+        this.mediaType = mediaType;
+        this.objectWriter = objectMapper.writer();
+        this.objectReader = objectMapper.reader().without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    @Override
+    public byte[] encode(Object object) {
+        try {
+            return objectWriter.writeValueAsBytes(object);
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot encode the object {0} as {1}.", object, mediaType, e);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] data, JavaType javaType) {
+        try {
+            return objectReader.forType(javaType).readValue(data);
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot decode {0} to {1}.", mediaType, javaType, e);
+        }
+    }
+
+    @Override
+    public <T> T decode(InputStream data, JavaType javaType) {
+        try (data) {
+            return objectReader.forType(javaType).readValue(data);
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot decode {0} to {1}.", mediaType, javaType, e);
+        }
+    }
+
+}
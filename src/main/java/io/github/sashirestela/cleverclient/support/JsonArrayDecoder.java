@@ -0,0 +1,102 @@
+package io.github.sashirestela.cleverclient.support;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import io.github.sashirestela.cleverclient.util.JsonUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * ChunkDecoder of a Json array whose elements are decoded one by one as soon as each of them is
+ * complete, using the non-blocking Jackson parser. A body that is not an array is decoded as a single
+ * element.
+ *
+ * @param <T> Type of the decoded elements.
+ */
+public class JsonArrayDecoder<T> implements ChunkDecoder<T> {
+
+    private final Class<T> clazz;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private boolean rootStarted;
+    private boolean rootIsArray;
+    private TokenBuffer tokens;
+    private int nesting;
+
+    public JsonArrayDecoder(Class<T> clazz) {
+        this.clazz = clazz;
+        this.parser = JsonUtil.createNonBlockingParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    @Override
+    public void decode(ByteBuffer buffer, Consumer<T> consumer) {
+        byte[] array;
+        int offset;
+        int length = buffer.remaining();
+        if (buffer.hasArray()) {
+            array = buffer.array();
+            offset = buffer.arrayOffset() + buffer.position();
+        } else {
+            array = new byte[length];
+            buffer.duplicate().get(array);
+            offset = 0;
+        }
+        buffer.position(buffer.limit());
+        try {
+            feeder.feedInput(array, offset, offset + length);
+            readTokens(consumer);
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot decode the Json array.", null, e);
+        }
+    }
+
+    @Override
+    public void finish(Consumer<T> consumer) {
+        feeder.endOfInput();
+        try {
+            readTokens(consumer);
+            parser.close();
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot decode the Json array.", null, e);
+        }
+        if (tokens != null) {
+            throw new CleverClientException("Unexpected end of the Json array.");
+        }
+    }
+
+    private void readTokens(Consumer<T> consumer) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (!rootStarted) {
+                rootStarted = true;
+                if (token == JsonToken.START_ARRAY) {
+                    rootIsArray = true;
+                    continue;
+                }
+            }
+            if (rootIsArray && tokens == null && token == JsonToken.END_ARRAY) {
+                continue;
+            }
+            if (tokens == null) {
+                tokens = new TokenBuffer(parser);
+            }
+            tokens.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                nesting++;
+            } else if (token.isStructEnd()) {
+                nesting--;
+            }
+            if (nesting == 0) {
+                consumer.accept(JsonUtil.tokensToObject(tokens, clazz));
+                tokens = null;
+            }
+        }
+    }
+
+}
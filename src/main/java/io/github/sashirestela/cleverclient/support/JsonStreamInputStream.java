@@ -0,0 +1,99 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.util.JsonUtil;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * InputStream that serializes the elements of a Stream to Json one at a time, as the request body is
+ * read by the HttpClient, so only the element being sent is held in memory. The elements are written
+ * as a Json array or, when delimited, as NDJSON: one Json document per line. Closing the InputStream
+ * closes the Stream.
+ */
+public class JsonStreamInputStream extends InputStream {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final byte[] OPEN = "[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CLOSE = "]".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] COMMA = ",".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private final Stream<?> stream;
+    private final Iterator<?> elements;
+    private final boolean delimited;
+    private byte[] chunk;
+    private int position;
+    private boolean first = true;
+    private boolean ended;
+
+    public JsonStreamInputStream(Stream<?> stream, boolean delimited) {
+        this.stream = stream;
+        this.elements = stream.iterator();
+        this.delimited = delimited;
+        this.chunk = delimited ? EMPTY : OPEN;
+    }
+
+    @Override
+    public int read() {
+        if (!fill()) {
+            return -1;
+        }
+        return chunk[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        var count = 0;
+        while (count < length && fill()) {
+            var size = Math.min(length - count, chunk.length - position);
+            System.arraycopy(chunk, position, buffer, offset + count, size);
+            position += size;
+            count += size;
+        }
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public void close() {
+        ended = true;
+        chunk = EMPTY;
+        stream.close();
+    }
+
+    /**
+     * Serializes the next element when the current one was read completely.
+     *
+     * @return Whether there are bytes left to read.
+     */
+    private boolean fill() {
+        while (position == chunk.length) {
+            if (ended) {
+                return false;
+            }
+            position = 0;
+            if (elements.hasNext()) {
+                var json = JsonUtil.objectToJson(elements.next()).getBytes(StandardCharsets.UTF_8);
+                chunk = delimited ? concat(json, NEW_LINE) : first ? json : concat(COMMA, json);
+                first = false;
+            } else {
+                chunk = delimited ? EMPTY : CLOSE;
+                ended = true;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] concat(byte[] head, byte[] tail) {
+        var bytes = new byte[head.length + tail.length];
+        System.arraycopy(head, 0, bytes, 0, head.length);
+        System.arraycopy(tail, 0, bytes, head.length, tail.length);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.util.CommonUtil;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * BodyHandler that lets only the first bytes of an error response (any status out of 2xx) reach the
+ * wrapped BodyHandler. Once the limit is reached the exchange is cancelled, so the rest of the error
+ * body is neither buffered nor read. Successful responses are passed through untouched.
+ *
+ * @param <T> Type of the response body.
+ */
+public class LimitedErrorBodyHandler<T> implements BodyHandler<T> {
+
+    private final BodyHandler<T> bodyHandler;
+    private final int maxSize;
+
+    public LimitedErrorBodyHandler(BodyHandler<T> bodyHandler, int maxSize) {
+        this.bodyHandler = bodyHandler;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+        var bodySubscriber = bodyHandler.apply(responseInfo);
+        if (CommonUtil.isInHundredsOf(responseInfo.statusCode(), HttpURLConnection.HTTP_OK)) {
+            return bodySubscriber;
+        }
+        return new LimitingSubscriber<>(bodySubscriber, maxSize);
+    }
+
+    static class LimitingSubscriber<T> implements BodySubscriber<T> {
+
+        private final BodySubscriber<T> downstream;
+        private long remaining;
+        private Flow.Subscription subscription;
+        private boolean done;
+
+        LimitingSubscriber(BodySubscriber<T> downstream, long maxSize) {
+            this.downstream = downstream;
+            this.remaining = maxSize;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (done) {
+                return;
+            }
+            List<ByteBuffer> allowed = new ArrayList<>(items.size());
+            for (var item : items) {
+                if (remaining <= 0) {
+                    break;
+                }
+                if (item.remaining() > remaining) {
+                    var slice = item.slice();
+                    slice.limit((int) remaining);
+                    item = slice;
+                }
+                remaining -= item.remaining();
+                allowed.add(item);
+            }
+            downstream.onNext(allowed);
+            if (remaining <= 0) {
+                done = true;
+                subscription.cancel();
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+    }
+
+}
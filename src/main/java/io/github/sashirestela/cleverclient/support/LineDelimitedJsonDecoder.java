@@ -0,0 +1,94 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.util.JsonUtil;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * ChunkDecoder of Newline Delimited Json (one Json value per line). Lines wholly contained in a chunk
+ * are decoded in place, only lines split across chunks are copied. Blank lines are skipped.
+ *
+ * @param <T> Type of the decoded elements.
+ */
+public class LineDelimitedJsonDecoder<T> implements ChunkDecoder<T> {
+
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private final Class<T> clazz;
+
+    private byte[] line = new byte[256];
+    private int lineLength;
+
+    public LineDelimitedJsonDecoder(Class<T> clazz) {
+        this.clazz = clazz;
+    }
+
+    @Override
+    public void decode(ByteBuffer buffer, Consumer<T> consumer) {
+        byte[] array;
+        int position;
+        int limit;
+        if (buffer.hasArray()) {
+            array = buffer.array();
+            position = buffer.arrayOffset() + buffer.position();
+            limit = buffer.arrayOffset() + buffer.limit();
+        } else {
+            array = new byte[buffer.remaining()];
+            buffer.duplicate().get(array);
+            position = 0;
+            limit = array.length;
+        }
+        buffer.position(buffer.limit());
+        var start = position;
+        for (var i = position; i < limit; i++) {
+            if (array[i] == LF) {
+                if (lineLength == 0) {
+                    decodeLine(array, start, i - start, consumer);
+                } else {
+                    appendToLine(array, start, i - start);
+                    decodeLine(line, 0, lineLength, consumer);
+                    lineLength = 0;
+                }
+                start = i + 1;
+            }
+        }
+        if (start < limit) {
+            appendToLine(array, start, limit - start);
+        }
+    }
+
+    @Override
+    public void finish(Consumer<T> consumer) {
+        decodeLine(line, 0, lineLength, consumer);
+        lineLength = 0;
+    }
+
+    private void decodeLine(byte[] bytes, int offset, int length, Consumer<T> consumer) {
+        while (length > 0 && isBlank(bytes[offset])) {
+            offset++;
+            length--;
+        }
+        while (length > 0 && (isBlank(bytes[offset + length - 1]) || bytes[offset + length - 1] == CR)) {
+            length--;
+        }
+        if (length > 0) {
+            consumer.accept(JsonUtil.bytesToObject(bytes, offset, length, clazz));
+        }
+    }
+
+    private void appendToLine(byte[] bytes, int offset, int length) {
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+        }
+        System.arraycopy(bytes, offset, line, lineLength, length);
+        lineLength += length;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+}
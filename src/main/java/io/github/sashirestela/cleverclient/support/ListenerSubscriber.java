@@ -0,0 +1,149 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.EventListener;
+import io.github.sashirestela.cleverclient.StreamHandle;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Flow.Subscriber that hands every element to an EventListener on an executor. The next element is
+ * requested only after the listener has processed the previous one, and the callbacks are run one
+ * after another even when the executor has many threads.
+ *
+ * @param <T> Type of the elements.
+ */
+public class ListenerSubscriber<T> implements Flow.Subscriber<T>, StreamHandle {
+
+    private final EventListener<T> listener;
+    private final SerialExecutor executor;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private volatile Flow.Subscription subscription;
+    private volatile boolean cancelled;
+
+    /**
+     * Constructor.
+     * 
+     * @param listener The receiver of the elements.
+     * @param executor The executor to run the callbacks on, or null to run them on the thread that
+     *                 decodes the elements.
+     */
+    public ListenerSubscriber(EventListener<T> listener, Executor executor) {
+        this.listener = listener;
+        this.executor = new SerialExecutor(executor != null ? executor : Runnable::run);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        if (cancelled) {
+            subscription.cancel();
+        } else {
+            subscription.request(1);
+        }
+    }
+
+    @Override
+    public void onNext(T item) {
+        executor.execute(() -> {
+            if (cancelled) {
+                return;
+            }
+            try {
+                listener.onEvent(item);
+            } catch (RuntimeException e) {
+                completion.completeExceptionally(e);
+                cancel();
+                listener.onError(e);
+                return;
+            }
+            subscription.request(1);
+        });
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        executor.execute(() -> {
+            if (!cancelled && !completion.isDone()) {
+                try {
+                    listener.onError(throwable);
+                } finally {
+                    completion.completeExceptionally(throwable);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onComplete() {
+        executor.execute(() -> {
+            if (!cancelled && !completion.isDone()) {
+                try {
+                    listener.onComplete();
+                } finally {
+                    completion.complete(null);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        var currentSubscription = subscription;
+        if (currentSubscription != null) {
+            currentSubscription.cancel();
+        }
+        completion.complete(null);
+    }
+
+    @Override
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    @Override
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    /**
+     * Runs the tasks one after another on the underlying executor, in the order they were submitted.
+     */
+    static class SerialExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private final Executor executor;
+        private Runnable active;
+
+        SerialExecutor(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            tasks.add(() -> {
+                try {
+                    task.run();
+                } finally {
+                    scheduleNext();
+                }
+            });
+            if (active == null) {
+                scheduleNext();
+            }
+        }
+
+        private synchronized void scheduleNext() {
+            if ((active = tasks.poll()) != null) {
+                executor.execute(active);
+            }
+        }
+
+    }
+
+}
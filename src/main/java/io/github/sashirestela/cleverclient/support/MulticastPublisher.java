@@ -0,0 +1,292 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.annotation.Multicast.Overflow;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Publisher that shares one subscription to an upstream Publisher among all of its concurrent
+ * subscribers with the same key. The upstream is subscribed by the first subscriber and cancelled
+ * when the last one leaves, so a later subscriber starts a new one. Every subscriber gets the
+ * elements from a bounded buffer, and the overflow policy decides what happens when it is full.
+ *
+ * @param <T> Type of the published elements.
+ */
+public class MulticastPublisher<T> implements Flow.Publisher<T> {
+
+    private static final Map<Object, Hub<?>> hubs = new ConcurrentHashMap<>();
+
+    private final Object key;
+    private final Supplier<Flow.Publisher<T>> upstreamSupplier;
+    private final int bufferSize;
+    private final Overflow overflow;
+
+    /**
+     * @param key              Identifies the upstream to be shared, for instance the method and its
+     *                         arguments.
+     * @param upstreamSupplier Creates the upstream Publisher when there is not a running one.
+     * @param bufferSize       Maximum number of elements buffered for every subscriber.
+     * @param overflow         Policy for the subscribers whose buffer is full.
+     */
+    public MulticastPublisher(Object key, Supplier<Flow.Publisher<T>> upstreamSupplier, int bufferSize,
+            Overflow overflow) {
+        this.key = key;
+        this.upstreamSupplier = upstreamSupplier;
+        this.bufferSize = Math.max(bufferSize, 1);
+        this.overflow = overflow;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        var member = new Member<T>(subscriber, bufferSize);
+        subscriber.onSubscribe(member);
+        var created = new AtomicReference<Hub<T>>();
+        var hub = (Hub<T>) hubs.compute(key, (k, current) -> {
+            if (current != null && ((Hub<T>) current).join(member)) {
+                return current;
+            }
+            var newHub = new Hub<T>(key, overflow);
+            newHub.join(member);
+            created.set(newHub);
+            return newHub;
+        });
+        member.hub = hub;
+        if (created.get() == hub) {
+            upstreamSupplier.get().subscribe(hub);
+        }
+        if (member.cancelled) {
+            hub.leave(member);
+        }
+    }
+
+    /**
+     * @return The number of upstreams being shared at the moment.
+     */
+    static int sharedCount() {
+        return hubs.size();
+    }
+
+    /**
+     * Subscriber to the upstream that broadcasts its elements to the members.
+     */
+    static class Hub<T> implements Flow.Subscriber<T> {
+
+        private final Object key;
+        private final Overflow overflow;
+        private final List<Member<T>> members = new CopyOnWriteArrayList<>();
+        private volatile Flow.Subscription upstream;
+        private boolean closed;
+        private boolean pending;
+
+        Hub(Object key, Overflow overflow) {
+            this.key = key;
+            this.overflow = overflow;
+        }
+
+        synchronized boolean join(Member<T> member) {
+            if (closed) {
+                return false;
+            }
+            members.add(member);
+            return true;
+        }
+
+        void leave(Member<T> member) {
+            synchronized (this) {
+                if (!members.remove(member) || !members.isEmpty() || closed) {
+                    return;
+                }
+                closed = true;
+            }
+            hubs.remove(key, this);
+            if (upstream != null) {
+                upstream.cancel();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            boolean cancel;
+            synchronized (this) {
+                upstream = subscription;
+                cancel = closed;
+            }
+            if (cancel) {
+                subscription.cancel();
+            } else if (overflow == Overflow.BLOCK) {
+                requestIfRoom();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            for (var member : members) {
+                if (member.offer(item)) {
+                    continue;
+                }
+                if (overflow == Overflow.DISCONNECT) {
+                    member.fail(new CleverClientException(
+                            "The subscriber was disconnected because its buffer of {0} elements is full.",
+                            member.bufferSize, null));
+                }
+                // With DROP the element is only lost for this member. With BLOCK there is always room.
+            }
+            if (overflow == Overflow.BLOCK) {
+                synchronized (this) {
+                    pending = false;
+                }
+                requestIfRoom();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            close();
+            members.forEach(member -> member.finish(throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            close();
+            members.forEach(member -> member.finish(null));
+        }
+
+        /**
+         * Requests the next element only when every member has room for it.
+         */
+        void requestIfRoom() {
+            synchronized (this) {
+                if (pending || closed || upstream == null) {
+                    return;
+                }
+                for (var member : members) {
+                    if (member.buffer.remainingCapacity() == 0) {
+                        return;
+                    }
+                }
+                pending = true;
+            }
+            upstream.request(1);
+        }
+
+        private void close() {
+            synchronized (this) {
+                closed = true;
+            }
+            hubs.remove(key, this);
+        }
+
+    }
+
+    /**
+     * Subscription of a subscriber that delivers the buffered elements honoring its demand.
+     */
+    static class Member<T> implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final int bufferSize;
+        private final ArrayBlockingQueue<T> buffer;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private volatile Hub<T> hub;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        Member(Flow.Subscriber<? super T> subscriber, int bufferSize) {
+            this.subscriber = subscriber;
+            this.bufferSize = bufferSize;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean offer(T item) {
+            if (done) {
+                return true;
+            }
+            var offered = buffer.offer(item);
+            drain();
+            return offered;
+        }
+
+        void fail(Throwable throwable) {
+            buffer.clear();
+            finish(throwable);
+            var currentHub = hub;
+            if (currentHub != null) {
+                currentHub.leave(this);
+            }
+        }
+
+        void finish(Throwable throwable) {
+            if (error == null) {
+                error = throwable;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("The number of requested elements must be positive."));
+                return;
+            }
+            demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            buffer.clear();
+            var currentHub = hub;
+            if (currentHub != null) {
+                currentHub.leave(this);
+            }
+        }
+
+        private void drain() {
+            if (workInProgress.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                var delivered = false;
+                while (!cancelled && demand.get() > 0) {
+                    var item = buffer.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    demand.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - 1);
+                    delivered = true;
+                    subscriber.onNext(item);
+                }
+                if (!cancelled && done && buffer.isEmpty()) {
+                    cancelled = true;
+                    if (error != null) {
+                        subscriber.onError(error);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                }
+                var currentHub = hub;
+                if (delivered && currentHub != null && currentHub.overflow == Overflow.BLOCK) {
+                    currentHub.requestIfRoom();
+                }
+            } while (workInProgress.decrementAndGet() != 0);
+        }
+
+    }
+
+}
@@ -0,0 +1,24 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * ChunkDecoder of binary bodies, that hands over the buffers of the HttpClient as they arrive, without
+ * copying them. Empty buffers are skipped.
+ */
+public class PassThroughDecoder implements ChunkDecoder<ByteBuffer> {
+
+    @Override
+    public void decode(ByteBuffer buffer, Consumer<ByteBuffer> consumer) {
+        if (buffer.hasRemaining()) {
+            consumer.accept(buffer);
+        }
+    }
+
+    @Override
+    public void finish(Consumer<ByteBuffer> consumer) {
+        // Nothing is held between chunks.
+    }
+
+}
@@ -0,0 +1,102 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.ProgressListener;
+import io.github.sashirestela.cleverclient.util.CommonUtil;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BodyHandler that reports to a ProgressListener the bytes of a successful response as they arrive.
+ * The count is shared by the responses of the same call, so partial responses (206) add up to the
+ * bytes received before, as when a download is resumed or split, while a full response starts over.
+ *
+ * @param <T> Type of the response body.
+ */
+public class ProgressBodyHandler<T> implements BodyHandler<T> {
+
+    private static final String HEADER_CONTENT_LENGTH = "Content-Length";
+
+    private final BodyHandler<T> bodyHandler;
+    private final ProgressListener listener;
+    private final AtomicLong received;
+
+    public ProgressBodyHandler(BodyHandler<T> bodyHandler, ProgressListener listener, AtomicLong received) {
+        this.bodyHandler = bodyHandler;
+        this.listener = listener;
+        this.received = received;
+    }
+
+    @Override
+    public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+        var bodySubscriber = bodyHandler.apply(responseInfo);
+        var statusCode = responseInfo.statusCode();
+        if (!CommonUtil.isInHundredsOf(statusCode, HttpURLConnection.HTTP_OK)) {
+            return bodySubscriber;
+        }
+        long total;
+        if (statusCode == HttpURLConnection.HTTP_PARTIAL) {
+            total = ByteRanges.totalOf(responseInfo.headers());
+        } else {
+            received.set(0);
+            total = responseInfo.headers().firstValueAsLong(HEADER_CONTENT_LENGTH).orElse(-1);
+        }
+        return new ProgressSubscriber<>(bodySubscriber, listener, received, total);
+    }
+
+    static class ProgressSubscriber<T> implements BodySubscriber<T> {
+
+        private final BodySubscriber<T> downstream;
+        private final ProgressListener listener;
+        private final AtomicLong received;
+        private final long total;
+
+        ProgressSubscriber(BodySubscriber<T> downstream, ProgressListener listener, AtomicLong received,
+                long total) {
+            this.downstream = downstream;
+            this.listener = listener;
+            this.received = received;
+            this.total = total;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            var size = 0L;
+            for (var item : items) {
+                size += item.remaining();
+            }
+            var current = received.addAndGet(size);
+            downstream.onNext(items);
+            listener.onProgress(current, total);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.net.http.HttpResponse.BodySubscriber;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BodySubscriber that decodes the response body into elements and publishes them to a
+ * Flow.Subscriber honoring its demand: the next chunk of bytes is requested to the HttpClient only
+ * when the subscriber has demand that the already decoded elements can not satisfy, so a slow
+ * subscriber throttles the network read instead of growing a buffer. Cancelling the subscription
+ * cancels the exchange.
+ *
+ * @param <T> Type of the published elements.
+ */
+public class PublishingBodySubscriber<T> implements BodySubscriber<String>, Flow.Subscription {
+
+    private final Flow.Subscriber<? super T> downstream;
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger workInProgress = new AtomicInteger();
+    private final CompletableFuture<String> body = new CompletableFuture<>();
+
+    private ChunkDecoder<T> decoder;
+    private volatile Flow.Subscription upstream;
+    private volatile boolean upstreamPending;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+    private boolean terminated;
+
+    public PublishingBodySubscriber(Flow.Subscriber<? super T> downstream) {
+        this.downstream = downstream;
+    }
+
+    /**
+     * Sets the decoder of the response body, once its content type is known.
+     * 
+     * @param decoder The decoder of the response body.
+     * @return This BodySubscriber.
+     */
+    public PublishingBodySubscriber<T> decodingWith(ChunkDecoder<T> decoder) {
+        this.decoder = decoder;
+        return this;
+    }
+
+    /**
+     * Ends the publishing with an error, for instance when the response could not be obtained.
+     * 
+     * @param throwable The error to be delivered to the subscriber.
+     */
+    public void fail(Throwable throwable) {
+        if (error == null) {
+            error = throwable;
+        }
+        done = true;
+        var subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        body.complete(null);
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            fail(new IllegalArgumentException("The number of requested elements must be positive."));
+            return;
+        }
+        demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        var subscription = upstream;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        drain();
+    }
+
+    @Override
+    public CompletionStage<String> getBody() {
+        return body;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        upstream = subscription;
+        if (cancelled || done) {
+            subscription.cancel();
+        } else {
+            drain();
+        }
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> items) {
+        upstreamPending = false;
+        if (done || cancelled) {
+            return;
+        }
+        try {
+            for (var item : items) {
+                decoder.decode(item, queue::add);
+            }
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        try {
+            decoder.finish(queue::add);
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+        done = true;
+        body.complete(null);
+        drain();
+    }
+
+    private void drain() {
+        if (workInProgress.getAndIncrement() != 0) {
+            return;
+        }
+        var missed = 1;
+        do {
+            if (cancelled) {
+                queue.clear();
+            } else if (!terminated) {
+                emit();
+            }
+            missed = workInProgress.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void emit() {
+        while (demand.get() > 0 && error == null && !cancelled) {
+            var element = queue.poll();
+            if (element == null) {
+                break;
+            }
+            demand.decrementAndGet();
+            downstream.onNext(element);
+        }
+        if (error != null || (done && queue.isEmpty())) {
+            terminated = true;
+            queue.clear();
+            if (error != null) {
+                downstream.onError(error);
+            } else {
+                downstream.onComplete();
+            }
+        } else if (demand.get() > 0 && queue.isEmpty() && upstream != null && !upstreamPending) {
+            upstreamPending = true;
+            upstream.request(1);
+        }
+    }
+
+}
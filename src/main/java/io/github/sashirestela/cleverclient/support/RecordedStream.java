@@ -0,0 +1,277 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A response recorded by a StreamJournal, with the chunks of bytes as they were received. It can be
+ * replayed through any BodyHandler, for instance to decode its events again. Only the positions of
+ * the chunks in the journal files are kept, their bytes are read from the files when they are used.
+ */
+public class RecordedStream {
+
+    private static final String HEADER_CONTENT_TYPE = "Content-Type";
+
+    private final long id;
+    private final String label;
+    private final int statusCode;
+    private final String contentType;
+    private final List<Chunk> chunks = new ArrayList<>();
+    private boolean finished;
+    private String error;
+
+    RecordedStream(long id, String label, int statusCode, String contentType) {
+        this.id = id;
+        this.label = label;
+        this.statusCode = statusCode;
+        this.contentType = contentType;
+    }
+
+    void addChunk(Path file, long position, int length) {
+        chunks.add(new Chunk(file, position, length));
+    }
+
+    void finish(String error) {
+        this.finished = true;
+        this.error = error;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return The origin of the response, the signature of the method that was called.
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return True if the response was recorded up to its end, complete or failed.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * @return The message of the error that ended the response, or null if there was none.
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return The number of recorded chunks.
+     */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    /**
+     * @return The recorded chunks, read from the journal files. Prefer replay for big responses.
+     */
+    public List<byte[]> getChunks() {
+        var bytes = new ArrayList<byte[]>(chunks.size());
+        try (var reader = new ChunkReader()) {
+            for (var chunk : chunks) {
+                bytes.add(reader.read(chunk));
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @return The whole recorded body, read from the journal files. Prefer replay for big responses.
+     */
+    public byte[] getBody() {
+        var body = new ByteArrayOutputStream();
+        getChunks().forEach(chunk -> body.write(chunk, 0, chunk.length));
+        return body.toByteArray();
+    }
+
+    /**
+     * Emits the recorded chunks to the BodySubscriber of a BodyHandler, honoring its demand, as if they
+     * were being received again. The body fails if the response ended with an error or was not
+     * recorded up to its end.
+     *
+     * @param <T>         Type of the response body.
+     * @param bodyHandler The BodyHandler that receives the recorded response.
+     * @return The body of the BodyHandler.
+     */
+    public <T> CompletionStage<T> replay(BodyHandler<T> bodyHandler) {
+        var bodySubscriber = bodyHandler.apply(new RecordedResponseInfo());
+        bodySubscriber.onSubscribe(new ReplaySubscription(bodySubscriber));
+        return bodySubscriber.getBody();
+    }
+
+    @Override
+    public String toString() {
+        return "RecordedStream(id=" + id + ", label=" + label + ", statusCode=" + statusCode + ", contentType="
+                + contentType + ", chunks=" + chunks.size() + ", finished=" + finished + ", error=" + error + ")";
+    }
+
+    class RecordedResponseInfo implements ResponseInfo {
+
+        @Override
+        public int statusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            var headers = contentType != null ? Map.of(HEADER_CONTENT_TYPE, List.of(contentType))
+                    : Map.<String, List<String>>of();
+            return HttpHeaders.of(headers, (name, value) -> true);
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+
+    }
+
+    static class Chunk {
+
+        private final Path file;
+        private final long position;
+        private final int length;
+
+        Chunk(Path file, long position, int length) {
+            this.file = file;
+            this.position = position;
+            this.length = length;
+        }
+
+    }
+
+    /**
+     * Reads chunks keeping the last journal file open, as the chunks of a response are mostly in the
+     * same file.
+     */
+    static class ChunkReader implements AutoCloseable {
+
+        private Path file;
+        private FileChannel channel;
+
+        byte[] read(Chunk chunk) {
+            try {
+                if (!chunk.file.equals(file)) {
+                    close();
+                    channel = FileChannel.open(chunk.file, StandardOpenOption.READ);
+                    file = chunk.file;
+                }
+                var buffer = ByteBuffer.allocate(chunk.length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, chunk.position + buffer.position()) < 0) {
+                        throw new EOFException("The journal file ends before its chunk.");
+                    }
+                }
+                return buffer.array();
+            } catch (IOException e) {
+                throw new CleverClientException("Cannot read the journal file {0}.", chunk.file, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    // Nothing was written, there is nothing to lose.
+                }
+                channel = null;
+                file = null;
+            }
+        }
+
+    }
+
+    class ReplaySubscription implements Flow.Subscription {
+
+        private final ChunkReader reader = new ChunkReader();
+        private final Flow.Subscriber<List<ByteBuffer>> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private int next;
+        private volatile boolean cancelled;
+
+        ReplaySubscription(Flow.Subscriber<List<ByteBuffer>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            if (workInProgress.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (!cancelled && demand.get() > 0 && next < chunks.size()) {
+                    demand.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - 1);
+                    byte[] chunk;
+                    try {
+                        chunk = reader.read(chunks.get(next++));
+                    } catch (CleverClientException e) {
+                        cancelled = true;
+                        reader.close();
+                        subscriber.onError(e.getCause());
+                        return;
+                    }
+                    subscriber.onNext(List.of(ByteBuffer.wrap(chunk)));
+                }
+                if (!cancelled && next == chunks.size()) {
+                    cancelled = true;
+                    terminate();
+                }
+                if (cancelled) {
+                    reader.close();
+                }
+            } while (workInProgress.decrementAndGet() != 0);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void terminate() {
+            reader.close();
+            if (error != null) {
+                subscriber.onError(new IOException(error));
+            } else if (!finished) {
+                subscriber.onError(new EOFException("The response was not recorded up to its end."));
+            } else {
+                subscriber.onComplete();
+            }
+        }
+
+    }
+
+}
@@ -1,11 +1,33 @@
 package io.github.sashirestela.cleverclient.support;
 
+import com.fasterxml.jackson.databind.JavaType;
+import io.github.sashirestela.cleverclient.BatchListener;
+import io.github.sashirestela.cleverclient.EventListener;
+import io.github.sashirestela.cleverclient.ProgressListener;
+import io.github.sashirestela.cleverclient.StreamAccumulator;
+import io.github.sashirestela.cleverclient.TransferDigest;
+import io.github.sashirestela.cleverclient.annotation.Bandwidth;
+import io.github.sashirestela.cleverclient.annotation.Batch;
+import io.github.sashirestela.cleverclient.annotation.Extract;
+import io.github.sashirestela.cleverclient.annotation.LazyEvents;
+import io.github.sashirestela.cleverclient.annotation.Multicast;
+import io.github.sashirestela.cleverclient.annotation.ParallelDownload;
+import io.github.sashirestela.cleverclient.annotation.Resumable;
+import io.github.sashirestela.cleverclient.annotation.SaveTo;
+import io.github.sashirestela.cleverclient.annotation.StreamReduce;
+import io.github.sashirestela.cleverclient.annotation.StreamTimeout;
 import io.github.sashirestela.cleverclient.annotation.StreamType;
 import io.github.sashirestela.cleverclient.annotation.StreamType.StreamTypeArray;
+import io.github.sashirestela.cleverclient.annotation.Tee;
+import io.github.sashirestela.cleverclient.util.JsonUtil;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -17,7 +39,14 @@ public class ReturnType {
     private static final String LIST = "java.util.List";
     private static final String INPUTSTREAM = "java.io.InputStream";
     private static final String STRING = "java.lang.String";
+    private static final String PATH = "java.nio.file.Path";
+    private static final String BYTE_BUFFER = "java.nio.ByteBuffer";
+    private static final String CHANNEL = "java.nio.channels.ReadableByteChannel";
     private static final String EVENT = "io.github.sashirestela.cleverclient.Event";
+    private static final String RESULT = "io.github.sashirestela.cleverclient.Result";
+    private static final String PUBLISHER = "java.util.concurrent.Flow$Publisher";
+    private static final String VOID = "void";
+    private static final String STREAM_HANDLE = "io.github.sashirestela.cleverclient.StreamHandle";
 
     private static final String REGEX = "[<>]";
     private static final String JAVA_PCK = "java";
@@ -29,6 +58,26 @@ public class ReturnType {
     private int lastIndex;
     private int prevLastIndex;
     private Map<String, Class<?>> classByEvent;
+    private String extractPointer;
+    private Resumable resumable;
+    private StreamTimeout streamTimeout;
+    private Multicast multicast;
+    private boolean lazyEvents;
+    private boolean tee;
+    private String methodSignature;
+    private int listenerIndex = -1;
+    private Class<?> listenerClass;
+    private boolean batchListener;
+    private Batch batch;
+    private Class<?> reduceClass;
+    private int reduceIndex = -1;
+    private Class<?> reduceElementClass;
+    private int saveToIndex = -1;
+    private SaveTo saveTo;
+    private ParallelDownload parallelDownload;
+    private int progressIndex = -1;
+    private List<Integer> digestIndexes = List.of();
+    private BandwidthLimiter bandwidthLimiter;
 
     public ReturnType(String fullClassName) {
         this.fullClassName = fullClassName;
@@ -42,6 +91,137 @@ public class ReturnType {
     public ReturnType(Method method) {
         this(method.getGenericReturnType().getTypeName());
         setClassByEventIfExists(method);
+        setExtractPointerIfExists(method);
+        this.resumable = method.getDeclaredAnnotation(Resumable.class);
+        this.streamTimeout = method.getDeclaredAnnotation(StreamTimeout.class);
+        this.multicast = method.getDeclaredAnnotation(Multicast.class);
+        this.lazyEvents = method.isAnnotationPresent(LazyEvents.class);
+        this.tee = method.isAnnotationPresent(Tee.class);
+        this.parallelDownload = method.getDeclaredAnnotation(ParallelDownload.class);
+        setBandwidthIfExists(method);
+        this.methodSignature = method.toGenericString();
+        setListenerIfExists(method);
+        setReduceIfExists(method);
+        if (multicast != null && hasReduce()) {
+            // A subscriber joining a running response would reduce only the elements from then on.
+            throw new CleverClientException(
+                    "The method {0} is annotated with Multicast, its elements can not be reduced.", methodSignature,
+                    null);
+        }
+        setSaveToIfExists(method);
+        setProgressIfExists(method);
+        setDigestsIfExist(method);
+    }
+
+    private void setBandwidthIfExists(Method method) {
+        var bandwidth = method.getDeclaredAnnotation(Bandwidth.class);
+        if (bandwidth != null) {
+            // One bucket for the method, shared by all of its calls.
+            this.bandwidthLimiter = BandwidthLimiter.of(bandwidth.bytesPerSecond(), bandwidth.burst());
+        }
+    }
+
+    private void setDigestsIfExist(Method method) {
+        var parameterTypes = method.getParameterTypes();
+        var indexes = new ArrayList<Integer>();
+        for (var index = 0; index < parameterTypes.length; index++) {
+            if (TransferDigest.class.isAssignableFrom(parameterTypes[index])) {
+                indexes.add(index);
+            }
+        }
+        this.digestIndexes = List.copyOf(indexes);
+    }
+
+    private void setProgressIfExists(Method method) {
+        var parameterTypes = method.getParameterTypes();
+        for (var index = 0; index < parameterTypes.length; index++) {
+            if (ProgressListener.class.isAssignableFrom(parameterTypes[index])) {
+                this.progressIndex = index;
+                return;
+            }
+        }
+    }
+
+    private void setSaveToIfExists(Method method) {
+        var parameterAnnotations = method.getParameterAnnotations();
+        for (var index = 0; index < parameterAnnotations.length; index++) {
+            for (var annotation : parameterAnnotations[index]) {
+                if (annotation instanceof SaveTo) {
+                    this.saveToIndex = index;
+                    this.saveTo = (SaveTo) annotation;
+                    return;
+                }
+            }
+        }
+    }
+
+    private void setReduceIfExists(Method method) {
+        var parameterTypes = method.getGenericParameterTypes();
+        for (var index = 0; index < parameterTypes.length; index++) {
+            if (StreamAccumulator.class.isAssignableFrom(classOf(parameterTypes[index]))) {
+                this.reduceIndex = index;
+                this.reduceElementClass = accumulatedClassOf(parameterTypes[index]);
+                break;
+            }
+        }
+        if (method.isAnnotationPresent(StreamReduce.class)) {
+            this.reduceClass = method.getDeclaredAnnotation(StreamReduce.class).value();
+            if (this.reduceElementClass == null) {
+                this.reduceElementClass = accumulatedClassOf(this.reduceClass);
+            }
+        }
+    }
+
+    private Class<?> accumulatedClassOf(Type type) {
+        if (type instanceof ParameterizedType && ((ParameterizedType) type).getRawType() == StreamAccumulator.class) {
+            return classOf(((ParameterizedType) type).getActualTypeArguments()[0]);
+        }
+        var clazz = classOf(type);
+        var supertypes = new ArrayList<Type>(Arrays.asList(clazz.getGenericInterfaces()));
+        if (clazz.getGenericSuperclass() != null) {
+            supertypes.add(clazz.getGenericSuperclass());
+        }
+        for (var supertype : supertypes) {
+            if (StreamAccumulator.class.isAssignableFrom(classOf(supertype))) {
+                return accumulatedClassOf(supertype);
+            }
+        }
+        return Object.class;
+    }
+
+    private static Class<?> classOf(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        } else {
+            return Object.class;
+        }
+    }
+
+    private void setListenerIfExists(Method method) {
+        var parameterTypes = method.getGenericParameterTypes();
+        for (var index = 0; index < parameterTypes.length; index++) {
+            var parameterType = parameterTypes[index];
+            if (parameterType instanceof ParameterizedType
+                    && (((ParameterizedType) parameterType).getRawType() == EventListener.class
+                            || ((ParameterizedType) parameterType).getRawType() == BatchListener.class)) {
+                var typeArgument = ((ParameterizedType) parameterType).getActualTypeArguments()[0];
+                this.listenerIndex = index;
+                this.batchListener = ((ParameterizedType) parameterType).getRawType() == BatchListener.class;
+                this.batch = method.getDeclaredAnnotation(Batch.class);
+                this.listenerClass = typeArgument instanceof ParameterizedType
+                        ? (Class<?>) ((ParameterizedType) typeArgument).getRawType()
+                        : typeArgument instanceof Class ? (Class<?>) typeArgument : Object.class;
+                return;
+            }
+        }
+    }
+
+    private void setExtractPointerIfExists(Method method) {
+        if (method.isAnnotationPresent(Extract.class)) {
+            this.extractPointer = method.getDeclaredAnnotation(Extract.class).value();
+        }
     }
 
     private void setClassByEventIfExists(Method method) {
@@ -99,6 +279,129 @@ public class ReturnType {
         return this.classByEvent;
     }
 
+    public String getExtractPointer() {
+        return this.extractPointer;
+    }
+
+    public Resumable getResumable() {
+        return this.resumable;
+    }
+
+    public StreamTimeout getStreamTimeout() {
+        return this.streamTimeout;
+    }
+
+    public Multicast getMulticast() {
+        return this.multicast;
+    }
+
+    public boolean isLazyEvents() {
+        return this.lazyEvents;
+    }
+
+    public boolean isTee() {
+        return this.tee;
+    }
+
+    public String getMethodSignature() {
+        return this.methodSignature;
+    }
+
+    /**
+     * @return The index of the EventListener parameter of the method, or -1 if it has not one.
+     */
+    public int getListenerIndex() {
+        return this.listenerIndex;
+    }
+
+    /**
+     * @return The class of the elements received by the EventListener or BatchListener parameter of the
+     *         method.
+     */
+    public Class<?> getListenerClass() {
+        return this.listenerClass;
+    }
+
+    /**
+     * @return True if the listener parameter of the method is a BatchListener.
+     */
+    public boolean isBatchListener() {
+        return this.batchListener;
+    }
+
+    public Batch getBatch() {
+        return this.batch;
+    }
+
+    /**
+     * @return The StreamAccumulator class of the StreamReduce annotation of the method, or null.
+     */
+    public Class<?> getReduceClass() {
+        return this.reduceClass;
+    }
+
+    /**
+     * @return The index of the StreamAccumulator parameter of the method, or -1 if it has not one.
+     */
+    public int getReduceIndex() {
+        return this.reduceIndex;
+    }
+
+    /**
+     * @return The class of the elements accumulated by the StreamAccumulator of the method.
+     */
+    public Class<?> getReduceElementClass() {
+        return this.reduceElementClass;
+    }
+
+    /**
+     * @return The index of the parameter annotated with SaveTo, or -1 if the method has not one.
+     */
+    public int getSaveToIndex() {
+        return this.saveToIndex;
+    }
+
+    public SaveTo getSaveTo() {
+        return this.saveTo;
+    }
+
+    /**
+     * @return The index of the ProgressListener parameter of the method, or -1 if it has not one.
+     */
+    public int getProgressIndex() {
+        return this.progressIndex;
+    }
+
+    /**
+     * @return The indexes of the TransferDigest parameters of the method, for its request or response.
+     */
+    public List<Integer> getDigestIndexes() {
+        return this.digestIndexes;
+    }
+
+    /**
+     * @param arguments The arguments of the method call.
+     * @param target    The body to be digested, the request or the response.
+     * @return The TransferDigest argument of the body, or null if there is not one.
+     */
+    public TransferDigest digestOf(Object[] arguments, TransferDigest.Target target) {
+        for (var index : digestIndexes) {
+            var digest = (TransferDigest) arguments[index];
+            if (digest != null && digest.getTarget() == target) {
+                return digest;
+            }
+        }
+        return null;
+    }
+
+    public ParallelDownload getParallelDownload() {
+        return this.parallelDownload;
+    }
+
+    public BandwidthLimiter getBandwidthLimiter() {
+        return this.bandwidthLimiter;
+    }
+
     public Class<?> getBaseClass() {
         return getClass(lastIndex);
     }
@@ -107,6 +410,28 @@ public class ReturnType {
         return isGeneric() ? getClass(prevLastIndex) : null;
     }
 
+    public JavaType getJavaType() {
+        if (isList()) {
+            return JsonUtil.listJavaTypeOf(getBaseClass());
+        } else if (isGeneric()) {
+            return JsonUtil.parametricJavaTypeOf(getGenericClassIfExists(), getBaseClass());
+        } else {
+            return JsonUtil.javaTypeOf(getBaseClass());
+        }
+    }
+
+    /**
+     * Gets the type argument of a Result return type, for instance Demo for
+     * CompletableFuture&lt;Result&lt;Demo&gt;&gt;.
+     * 
+     * @return The return type wrapped by the Result.
+     */
+    public ReturnType getResultValueType() {
+        var start = fullClassName.indexOf(RESULT + "<") + RESULT.length() + 1;
+        var end = fullClassName.length() - (isAsync() ? 2 : 1);
+        return new ReturnType(fullClassName.substring(start, end));
+    }
+
     private Class<?> getClass(int index) {
         Class<?> clazz = null;
         try {
@@ -118,7 +443,11 @@ public class ReturnType {
     }
 
     public Category category() {
-        if (isAsync()) {
+        if (hasReduce()) {
+            return isAsync() ? Category.ASYNC_REDUCE : Category.SYNC_REDUCE;
+        } else if (hasListener()) {
+            return listenerCategory();
+        } else if (isAsync()) {
             return asyncCategory();
         } else {
             return syncCategory();
@@ -126,7 +455,9 @@ public class ReturnType {
     }
 
     private Category asyncCategory() {
-        if (isStream()) {
+        if (isResult()) {
+            return Category.ASYNC_RESULT;
+        } else if (isStream()) {
             if (isEvent()) {
                 return Category.ASYNC_STREAM_EVENT;
             } else {
@@ -140,6 +471,10 @@ public class ReturnType {
             return Category.ASYNC_CUSTOM;
         } else if (isBinary()) {
             return Category.ASYNC_BINARY;
+        } else if (isFile()) {
+            return Category.ASYNC_FILE;
+        } else if (isBuffer()) {
+            return Category.ASYNC_BUFFER;
         } else if (isPlainText()) {
             return Category.ASYNC_PLAIN_TEXT;
         } else {
@@ -148,7 +483,15 @@ public class ReturnType {
     }
 
     private Category syncCategory() {
-        if (isStream()) {
+        if (isResult()) {
+            return Category.SYNC_RESULT;
+        } else if (isPublisher()) {
+            if (isEvent()) {
+                return Category.SYNC_PUBLISHER_EVENT;
+            } else {
+                return Category.SYNC_PUBLISHER;
+            }
+        } else if (isStream()) {
             if (isEvent()) {
                 return Category.SYNC_STREAM_EVENT;
             } else {
@@ -162,6 +505,10 @@ public class ReturnType {
             return Category.SYNC_CUSTOM;
         } else if (isBinary()) {
             return Category.SYNC_BINARY;
+        } else if (isFile()) {
+            return Category.SYNC_FILE;
+        } else if (isBuffer()) {
+            return Category.SYNC_BUFFER;
         } else if (isPlainText()) {
             return Category.SYNC_PLAIN_TEXT;
         } else {
@@ -169,10 +516,35 @@ public class ReturnType {
         }
     }
 
+    private Category listenerCategory() {
+        if (size == 1 && (VOID.equals(fullClassName) || STREAM_HANDLE.equals(fullClassName))) {
+            return EVENT.equals(listenerClass.getName()) ? Category.SYNC_LISTENER_EVENT : Category.SYNC_LISTENER;
+        } else {
+            return null;
+        }
+    }
+
+    private boolean hasReduce() {
+        return reduceClass != null || reduceIndex >= 0;
+    }
+
+    private boolean hasListener() {
+        return listenerIndex >= 0;
+    }
+
     private boolean isAsync() {
         return size > 1 && ASYNC.equals(returnTypeArray[firstIndex]);
     }
 
+    private boolean isResult() {
+        var index = isAsync() ? firstIndex + 1 : firstIndex;
+        return size > index + 1 && RESULT.equals(returnTypeArray[index]);
+    }
+
+    private boolean isPublisher() {
+        return size == 2 && PUBLISHER.equals(returnTypeArray[firstIndex]);
+    }
+
     private boolean isStream() {
         return size > 1 && STREAM.equals(returnTypeArray[prevLastIndex]);
     }
@@ -187,13 +559,22 @@ public class ReturnType {
     }
 
     private boolean isCustom() {
-        return !isInputStream() && !isString() && !isEvent() && (size == 1 || (size == 2 && isAsync()));
+        return !isInputStream() && !isString() && !isEvent() && !isPath() && !isByteBuffer() && !isChannel()
+                && (size == 1 || (size == 2 && isAsync()));
     }
 
     private boolean isBinary() {
         return isInputStream() && (size == 1 || (size == 2 && isAsync()));
     }
 
+    private boolean isFile() {
+        return isPath() && (size == 1 || (size == 2 && isAsync()));
+    }
+
+    private boolean isBuffer() {
+        return (isByteBuffer() || isChannel()) && (size == 1 || (size == 2 && isAsync()));
+    }
+
     private boolean isPlainText() {
         return isString() && (size == 1 || (size == 2 && isAsync()));
     }
@@ -202,6 +583,18 @@ public class ReturnType {
         return INPUTSTREAM.equals(returnTypeArray[lastIndex]);
     }
 
+    private boolean isPath() {
+        return PATH.equals(returnTypeArray[lastIndex]);
+    }
+
+    private boolean isByteBuffer() {
+        return BYTE_BUFFER.equals(returnTypeArray[lastIndex]);
+    }
+
+    private boolean isChannel() {
+        return CHANNEL.equals(returnTypeArray[lastIndex]);
+    }
+
     private boolean isString() {
         return STRING.equals(returnTypeArray[lastIndex]);
     }
@@ -217,14 +610,26 @@ public class ReturnType {
         ASYNC_GENERIC,
         ASYNC_CUSTOM,
         ASYNC_BINARY,
+        ASYNC_FILE,
+        ASYNC_BUFFER,
         ASYNC_PLAIN_TEXT,
+        ASYNC_RESULT,
         SYNC_STREAM_EVENT,
         SYNC_STREAM,
         SYNC_LIST,
         SYNC_GENERIC,
         SYNC_CUSTOM,
         SYNC_BINARY,
-        SYNC_PLAIN_TEXT;
+        SYNC_FILE,
+        SYNC_BUFFER,
+        SYNC_PLAIN_TEXT,
+        SYNC_RESULT,
+        SYNC_PUBLISHER_EVENT,
+        SYNC_PUBLISHER,
+        SYNC_LISTENER_EVENT,
+        SYNC_LISTENER,
+        ASYNC_REDUCE,
+        SYNC_REDUCE;
     }
 
 }
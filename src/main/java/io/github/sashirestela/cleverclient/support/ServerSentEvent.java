@@ -0,0 +1,90 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * A dispatched server sent event as read by the ServerSentEventParser. The data keeps the raw UTF-8
+ * bytes of the payload, so it can be handed to the Json decoder without creating a String.
+ */
+public class ServerSentEvent {
+
+    private final String name;
+    private final String lastEventId;
+    private final byte[] data;
+    private final long retry;
+    private CompletableFuture<Object> decodedAhead;
+
+    public ServerSentEvent(String name, String lastEventId, byte[] data, long retry) {
+        this.name = name;
+        this.lastEventId = lastEventId;
+        this.data = data;
+        this.retry = retry;
+    }
+
+    /**
+     * @return The event name, or an empty text when the event had no event field.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The last event id received up to this event, or null if none was received.
+     */
+    public String getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * @return The last reconnection time in milliseconds sent by the server up to this event, or -1 if
+     *         none was sent.
+     */
+    public long getRetry() {
+        return retry;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public String getDataAsString() {
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Starts decoding the data on a worker, ahead of the consumer of the event.
+     */
+    void decodeAhead(Function<ServerSentEvent, ?> decoder, Executor executor) {
+        decodedAhead = CompletableFuture.supplyAsync(() -> decoder.apply(this), executor);
+    }
+
+    /**
+     * Decodes the event, or waits for it to be decoded if it was started ahead.
+     * 
+     * @param decoder Function that decodes the event.
+     * @return The decoded event.
+     */
+    public Object decodeWith(Function<ServerSentEvent, ?> decoder) {
+        if (decodedAhead == null) {
+            return decoder.apply(this);
+        }
+        try {
+            return decodedAhead.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new CleverClientException(e.getCause().getMessage(), null, e.getCause());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "event: " + name + ", data: " + getDataAsString();
+    }
+
+}
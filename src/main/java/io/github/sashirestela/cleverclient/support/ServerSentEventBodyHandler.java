@@ -0,0 +1,265 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.util.CommonUtil;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * BodyHandler that parses a text/event-stream response into a Stream of ServerSentEvent as the bytes
+ * arrive. The next bytes are requested only when the consumer of the Stream has taken all the events
+ * parsed so far, and closing the Stream cancels the exchange. Error responses (status code out of
+ * 2xx) are delivered as a Stream of lines instead, to be reported like any other stream.
+ * <p>
+ * When a decoder and an executor are given, every event is decoded on the executor as soon as it is
+ * parsed, and the bytes keep being read ahead of the consumer up to a window of events. The events
+ * are still delivered in order, see ServerSentEvent.decodeWith.
+ * <p>
+ * When the end of stream marker is required, a response closed before sending one fails the Stream
+ * as a dropped connection, so it can be resumed.
+ */
+public class ServerSentEventBodyHandler implements BodyHandler<Stream<ServerSentEvent>> {
+
+    private final Collection<String> events;
+    private final Collection<String> endsOfStream;
+    private final Function<ServerSentEvent, ?> decoder;
+    private final Executor executor;
+    private final int window;
+    private boolean endOfStreamRequired;
+    private volatile boolean aborted;
+    private volatile ServerSentEventSubscriber current;
+
+    public ServerSentEventBodyHandler(Collection<String> events, Collection<String> endsOfStream) {
+        this(events, endsOfStream, null, null, 1);
+    }
+
+    /**
+     * Constructor for streams decoded in parallel.
+     * 
+     * @param events       Names of the events to be dispatched.
+     * @param endsOfStream Data texts that mark the end of the stream.
+     * @param decoder      Function that decodes every event.
+     * @param executor     Executor where the events are decoded.
+     * @param window       Maximum number of events read ahead of the consumer, but the ones of the
+     *                     last chunk of bytes.
+     */
+    public ServerSentEventBodyHandler(Collection<String> events, Collection<String> endsOfStream,
+            Function<ServerSentEvent, ?> decoder, Executor executor, int window) {
+        this.events = events;
+        this.endsOfStream = endsOfStream;
+        this.decoder = decoder;
+        this.executor = executor;
+        this.window = Math.max(window, 1);
+    }
+
+    /**
+     * Sets whether a response closed before an end of stream marker fails the Stream. It has no effect
+     * when there are not end of stream markers.
+     * 
+     * @param endOfStreamRequired True to fail the Stream of responses without end of stream marker.
+     * @return This BodyHandler.
+     */
+    public ServerSentEventBodyHandler endOfStreamRequired(boolean endOfStreamRequired) {
+        this.endOfStreamRequired = endOfStreamRequired;
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public BodySubscriber<Stream<ServerSentEvent>> apply(ResponseInfo responseInfo) {
+        if (!CommonUtil.isInHundredsOf(responseInfo.statusCode(), HttpURLConnection.HTTP_OK)) {
+            return (BodySubscriber) BodySubscribers.ofLines(StandardCharsets.UTF_8);
+        }
+        current = new ServerSentEventSubscriber(new ServerSentEventParser(events, endsOfStream),
+                executor != null ? decoder : null, executor, window,
+                endOfStreamRequired && !endsOfStream.isEmpty());
+        if (aborted) {
+            current.abort();
+        }
+        return current;
+    }
+
+    /**
+     * Cancels the response, now if its events are being received or as soon as it arrives, for
+     * instance when the caller cancels the future of the stream before it is ready.
+     */
+    public void abort() {
+        aborted = true;
+        var subscriber = current;
+        if (subscriber != null) {
+            subscriber.abort();
+        }
+    }
+
+    static class ServerSentEventSubscriber implements BodySubscriber<Stream<ServerSentEvent>> {
+
+        private static final Object END = new Object();
+
+        private final ServerSentEventParser parser;
+        private final Function<ServerSentEvent, ?> decoder;
+        private final Executor executor;
+        private final int window;
+        private final boolean endOfStreamRequired;
+        private final LinkedBlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        private final CompletableFuture<Stream<ServerSentEvent>> body = new CompletableFuture<>();
+        private final AtomicInteger buffered = new AtomicInteger();
+        private final AtomicBoolean requested = new AtomicBoolean(true);
+        private volatile Flow.Subscription subscription;
+        private volatile boolean aborted;
+
+        ServerSentEventSubscriber(ServerSentEventParser parser, Function<ServerSentEvent, ?> decoder,
+                Executor executor, int window, boolean endOfStreamRequired) {
+            this.parser = parser;
+            this.decoder = decoder;
+            this.executor = executor;
+            this.window = window;
+            this.endOfStreamRequired = endOfStreamRequired;
+        }
+
+        @Override
+        public CompletionStage<Stream<ServerSentEvent>> getBody() {
+            return body;
+        }
+
+        void abort() {
+            aborted = true;
+            var currentSubscription = subscription;
+            if (currentSubscription != null) {
+                currentSubscription.cancel();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (aborted) {
+                subscription.cancel();
+                return;
+            }
+            var iterator = new EventIterator();
+            body.complete(StreamSupport
+                    .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                            false)
+                    .onClose(subscription::cancel));
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            List<ServerSentEvent> batch = new ArrayList<>();
+            for (var item : items) {
+                parser.parse(item, batch::add);
+            }
+            if (!batch.isEmpty()) {
+                if (decoder != null) {
+                    batch.forEach(event -> event.decodeAhead(decoder, executor));
+                }
+                buffered.addAndGet(batch.size());
+                queue.add(batch);
+            }
+            // When no event was completed yet, the demand of the consumer is still pending.
+            requested.set(false);
+            requestIfBelowWindow();
+        }
+
+        private void requestIfBelowWindow() {
+            if (buffered.get() < window && requested.compareAndSet(false, true)) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            queue.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            parser.finish();
+            if (endOfStreamRequired && !parser.isEndOfStream()) {
+                queue.add(new CleverClientException("The stream was closed before its end of stream marker.", null,
+                        null));
+            } else {
+                queue.add(END);
+            }
+        }
+
+        /**
+         * Iterates the batches of events parsed from every chunk of bytes. There is at most one chunk
+         * requested at any time, and only while the events not consumed are less than the window, so a
+         * slow consumer throttles the network read.
+         */
+        private class EventIterator implements Iterator<ServerSentEvent> {
+
+            private Iterator<ServerSentEvent> batch = List.<ServerSentEvent>of().iterator();
+            private boolean ended;
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean hasNext() {
+                while (!batch.hasNext() && !ended) {
+                    requestIfBelowWindow();
+                    Object item;
+                    try {
+                        item = queue.take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        subscription.cancel();
+                        throw new CleverClientException("The stream was interrupted.", null, e);
+                    }
+                    if (item == END) {
+                        ended = true;
+                    } else if (item instanceof Throwable) {
+                        ended = true;
+                        var throwable = (Throwable) item;
+                        if (throwable instanceof CleverClientException) {
+                            throw (CleverClientException) throwable;
+                        }
+                        throw new CleverClientException(throwable.getMessage(), null, throwable);
+                    } else {
+                        batch = ((List<ServerSentEvent>) item).iterator();
+                    }
+                }
+                return batch.hasNext();
+            }
+
+            @Override
+            public ServerSentEvent next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                var event = batch.next();
+                buffered.decrementAndGet();
+                if (window > 1) {
+                    requestIfBelowWindow();
+                }
+                return event;
+            }
+
+        }
+
+    }
+
+}
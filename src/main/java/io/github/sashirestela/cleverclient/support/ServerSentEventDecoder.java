@@ -0,0 +1,32 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * ChunkDecoder of Server Sent Events, which maps every dispatched event to an element.
+ *
+ * @param <T> Type of the decoded elements.
+ */
+public class ServerSentEventDecoder<T> implements ChunkDecoder<T> {
+
+    private final ServerSentEventParser parser;
+    private final Function<ServerSentEvent, T> mapper;
+
+    public ServerSentEventDecoder(ServerSentEventParser parser, Function<ServerSentEvent, T> mapper) {
+        this.parser = parser;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void decode(ByteBuffer buffer, Consumer<T> consumer) {
+        parser.parse(buffer, event -> consumer.accept(mapper.apply(event)));
+    }
+
+    @Override
+    public void finish(Consumer<T> consumer) {
+        parser.finish();
+    }
+
+}
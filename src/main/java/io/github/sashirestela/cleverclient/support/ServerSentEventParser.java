@@ -0,0 +1,253 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Incremental parser of the text/event-stream format working directly on the bytes of the response.
+ * It supports multi-line data, event, id and retry fields and comments, and lines ended by CR, LF or
+ * CRLF, even when they are split across buffers. Event names and end of stream markers are matched
+ * against byte tables computed once, so only the dispatched events allocate memory.
+ */
+public class ServerSentEventParser {
+
+    /**
+     * Name of the events without event field.
+     */
+    public static final String NO_EVENT = "";
+
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    private static final byte COLON = ':';
+    private static final byte SPACE = ' ';
+
+    private static final byte[] FIELD_DATA = bytesOf("data");
+    private static final byte[] FIELD_EVENT = bytesOf("event");
+    private static final byte[] FIELD_ID = bytesOf("id");
+    private static final byte[] FIELD_RETRY = bytesOf("retry");
+
+    private static final int UNKNOWN_EVENT = -1;
+
+    private final String[] eventNames;
+    private final byte[][] eventTable;
+    private final byte[][] endOfStreamTable;
+    private final int noEventIndex;
+
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private boolean lastWasCR;
+
+    private byte[] data = new byte[1024];
+    private int dataLength;
+    private boolean hasData;
+    private int eventIndex;
+    private String lastEventId;
+    private long retry = -1;
+    private boolean endOfStream;
+
+    /**
+     * Constructor.
+     * 
+     * @param events       Names of the events to be dispatched, NO_EVENT stands for the events without
+     *                     event field. Events with other names are ignored.
+     * @param endsOfStream Data values that mark the end of the stream and are not dispatched.
+     */
+    public ServerSentEventParser(Collection<String> events, Collection<String> endsOfStream) {
+        eventNames = events.toArray(new String[0]);
+        eventTable = Arrays.stream(eventNames).map(ServerSentEventParser::bytesOf).toArray(byte[][]::new);
+        endOfStreamTable = endsOfStream.stream().map(ServerSentEventParser::bytesOf).toArray(byte[][]::new);
+        noEventIndex = Arrays.asList(eventNames).indexOf(NO_EVENT);
+        eventIndex = noEventIndex;
+    }
+
+    /**
+     * Parses the bytes of a buffer, dispatching the completed events.
+     * 
+     * @param buffer   Next bytes of the response body.
+     * @param consumer Receiver of the dispatched events.
+     */
+    public void parse(ByteBuffer buffer, Consumer<ServerSentEvent> consumer) {
+        byte[] array;
+        int position;
+        int limit;
+        if (buffer.hasArray()) {
+            array = buffer.array();
+            position = buffer.arrayOffset() + buffer.position();
+            limit = buffer.arrayOffset() + buffer.limit();
+        } else {
+            array = new byte[buffer.remaining()];
+            buffer.duplicate().get(array);
+            position = 0;
+            limit = array.length;
+        }
+        buffer.position(buffer.limit());
+        var start = position;
+        for (var i = position; i < limit; i++) {
+            var b = array[i];
+            if (b == LF && lastWasCR) {
+                lastWasCR = false;
+                start = i + 1;
+            } else if (b == LF || b == CR) {
+                lastWasCR = b == CR;
+                if (lineLength == 0) {
+                    processLine(array, start, i - start, consumer);
+                } else {
+                    appendToLine(array, start, i - start);
+                    processLine(line, 0, lineLength, consumer);
+                    lineLength = 0;
+                }
+                start = i + 1;
+            } else {
+                lastWasCR = false;
+            }
+        }
+        if (start < limit) {
+            appendToLine(array, start, limit - start);
+        }
+    }
+
+    /**
+     * Ends the parsing. An event which was not terminated by an empty line is discarded.
+     */
+    public void finish() {
+        lineLength = 0;
+        resetEvent();
+    }
+
+    /**
+     * @return The last event id received, or null if none was received.
+     */
+    public String getLastEventId() {
+        return lastEventId;
+    }
+
+    /**
+     * @return True if an end of stream marker was received.
+     */
+    public boolean isEndOfStream() {
+        return endOfStream;
+    }
+
+    /**
+     * @return The last reconnection time in milliseconds sent by the server, or -1 if none was sent.
+     */
+    public long getRetry() {
+        return retry;
+    }
+
+    private void processLine(byte[] bytes, int offset, int length, Consumer<ServerSentEvent> consumer) {
+        if (length == 0) {
+            dispatch(consumer);
+            return;
+        }
+        if (bytes[offset] == COLON) {
+            // Comment line
+            return;
+        }
+        var nameLength = indexOf(bytes, offset, length, COLON);
+        var valueOffset = offset + length;
+        var valueLength = 0;
+        if (nameLength < 0) {
+            nameLength = length;
+        } else {
+            valueOffset = offset + nameLength + 1;
+            valueLength = length - nameLength - 1;
+            if (valueLength > 0 && bytes[valueOffset] == SPACE) {
+                valueOffset++;
+                valueLength--;
+            }
+        }
+        if (equals(bytes, offset, nameLength, FIELD_DATA)) {
+            appendToData(bytes, valueOffset, valueLength);
+        } else if (equals(bytes, offset, nameLength, FIELD_EVENT)) {
+            eventIndex = lookup(eventTable, bytes, valueOffset, valueLength);
+        } else if (equals(bytes, offset, nameLength, FIELD_ID)) {
+            if (indexOf(bytes, valueOffset, valueLength, (byte) 0) < 0) {
+                lastEventId = new String(bytes, valueOffset, valueLength, StandardCharsets.UTF_8);
+            }
+        } else if (equals(bytes, offset, nameLength, FIELD_RETRY)) {
+            setRetry(bytes, valueOffset, valueLength);
+        }
+    }
+
+    private void dispatch(Consumer<ServerSentEvent> consumer) {
+        if (hasData && lookup(endOfStreamTable, data, 0, dataLength) != UNKNOWN_EVENT) {
+            endOfStream = true;
+        } else if (hasData && eventIndex != UNKNOWN_EVENT) {
+            consumer.accept(new ServerSentEvent(eventNames[eventIndex], lastEventId,
+                    Arrays.copyOf(data, dataLength), retry));
+        }
+        resetEvent();
+    }
+
+    private void resetEvent() {
+        dataLength = 0;
+        hasData = false;
+        eventIndex = noEventIndex;
+    }
+
+    private void setRetry(byte[] bytes, int offset, int length) {
+        if (length == 0 || length > 18) {
+            return;
+        }
+        long value = 0;
+        for (var i = offset; i < offset + length; i++) {
+            if (bytes[i] < '0' || bytes[i] > '9') {
+                return;
+            }
+            value = value * 10 + (bytes[i] - '0');
+        }
+        retry = value;
+    }
+
+    private void appendToLine(byte[] bytes, int offset, int length) {
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+        }
+        System.arraycopy(bytes, offset, line, lineLength, length);
+        lineLength += length;
+    }
+
+    private void appendToData(byte[] bytes, int offset, int length) {
+        var separator = hasData ? 1 : 0;
+        if (dataLength + separator + length > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + separator + length));
+        }
+        if (hasData) {
+            data[dataLength++] = LF;
+        }
+        System.arraycopy(bytes, offset, data, dataLength, length);
+        dataLength += length;
+        hasData = true;
+    }
+
+    private static int lookup(byte[][] table, byte[] bytes, int offset, int length) {
+        for (var i = 0; i < table.length; i++) {
+            if (equals(bytes, offset, length, table[i])) {
+                return i;
+            }
+        }
+        return UNKNOWN_EVENT;
+    }
+
+    private static boolean equals(byte[] bytes, int offset, int length, byte[] expected) {
+        return Arrays.equals(bytes, offset, offset + length, expected, 0, expected.length);
+    }
+
+    private static int indexOf(byte[] bytes, int offset, int length, byte value) {
+        for (var i = offset; i < offset + length; i++) {
+            if (bytes[i] == value) {
+                return i - offset;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] bytesOf(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,34 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One daemon thread that keeps the timers of every client, as the stream timeouts and the flushes of
+ * the batches. When a timer expires its task is handed to the default async executor of
+ * CompletableFuture, so the callbacks of the users never run on the timers thread.
+ */
+final class SharedScheduler {
+
+    private static final ScheduledThreadPoolExecutor scheduler = createScheduler();
+
+    private SharedScheduler() {
+    }
+
+    static ScheduledFuture<?> schedule(Runnable task, long delayMillis) {
+        return scheduler.schedule(() -> CompletableFuture.runAsync(task), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        var executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            var thread = new Thread(runnable, "cleverclient-timers");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+}
@@ -0,0 +1,146 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.util.CommonUtil;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * BodyHandler that fails the successful responses whose body is bigger than a maximum size with a
+ * BodyTooLargeException, and releases their connection. A Content-Length over the maximum fails the
+ * body before any byte is read, otherwise the bytes are counted as they arrive. Error responses are
+ * left to the LimitedErrorBodyHandler.
+ *
+ * @param <T> Type of the response body.
+ */
+public class SizeLimitBodyHandler<T> implements BodyHandler<T> {
+
+    private static final String HEADER_CONTENT_LENGTH = "Content-Length";
+
+    private final BodyHandler<T> bodyHandler;
+    private final long maxSize;
+
+    public SizeLimitBodyHandler(BodyHandler<T> bodyHandler, long maxSize) {
+        this.bodyHandler = bodyHandler;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+        if (!CommonUtil.isInHundredsOf(responseInfo.statusCode(), HttpURLConnection.HTTP_OK)) {
+            return bodyHandler.apply(responseInfo);
+        }
+        // Checked before the wrapped handler is applied, as it could allocate the declared length.
+        var length = responseInfo.headers().firstValueAsLong(HEADER_CONTENT_LENGTH).orElse(-1);
+        if (length > maxSize) {
+            return new RejectingSubscriber<>(new BodyTooLargeException(length, maxSize));
+        }
+        return new SizeLimitSubscriber<>(bodyHandler.apply(responseInfo), maxSize);
+    }
+
+    static class RejectingSubscriber<T> implements BodySubscriber<T> {
+
+        private final CompletableFuture<T> body = new CompletableFuture<>();
+
+        RejectingSubscriber(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.cancel();
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            // Nothing is read.
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // The body has already failed.
+        }
+
+        @Override
+        public void onComplete() {
+            // The body has already failed.
+        }
+
+    }
+
+    static class SizeLimitSubscriber<T> implements BodySubscriber<T> {
+
+        private final BodySubscriber<T> downstream;
+        private final long maxSize;
+        private Flow.Subscription subscription;
+        private long received;
+        private boolean done;
+
+        SizeLimitSubscriber(BodySubscriber<T> downstream, long maxSize) {
+            this.downstream = downstream;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            downstream.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (done) {
+                return;
+            }
+            for (var item : items) {
+                received += item.remaining();
+            }
+            if (received > maxSize) {
+                fail(received);
+                return;
+            }
+            downstream.onNext(items);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!done) {
+                done = true;
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        private void fail(long size) {
+            done = true;
+            subscription.cancel();
+            downstream.onError(new BodyTooLargeException(size, maxSize));
+        }
+
+    }
+
+}
@@ -0,0 +1,178 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.io.IOException;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * BodyHandler that keeps the response body in memory up to a threshold, and spills it to a temporary
+ * file beyond it. A body whose Content-Length is over the threshold goes to the file from its first
+ * byte. Once the body is complete the file is memory-mapped and deleted, so it is parsed without
+ * holding the body on the heap, and nothing is left on disk whatever happens to the SpooledBody. The
+ * next chunk is requested only when the previous one was written, so the network read waits for the
+ * disk.
+ */
+public class SpoolBodyHandler implements BodyHandler<SpooledBody> {
+
+    private static final String HEADER_CONTENT_LENGTH = "Content-Length";
+
+    private final long threshold;
+
+    public SpoolBodyHandler(long threshold) {
+        // Bodies kept in memory must fit in an array.
+        this.threshold = Math.min(threshold, Integer.MAX_VALUE - 8);
+    }
+
+    @Override
+    public BodySubscriber<SpooledBody> apply(ResponseInfo responseInfo) {
+        return new SpoolSubscriber(threshold, responseInfo.headers().firstValueAsLong(HEADER_CONTENT_LENGTH)
+                .orElse(-1));
+    }
+
+    static class SpoolSubscriber implements BodySubscriber<SpooledBody> {
+
+        private final long threshold;
+        private final long length;
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+        private final CompletableFuture<SpooledBody> body = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+        private Path file;
+        private FileChannel channel;
+        private long size;
+
+        SpoolSubscriber(long threshold, long length) {
+            this.threshold = threshold;
+            this.length = length;
+        }
+
+        @Override
+        public CompletionStage<SpooledBody> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            try {
+                if (length > threshold) {
+                    spill();
+                }
+            } catch (IOException e) {
+                subscription.cancel();
+                fail(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (body.isDone()) {
+                return;
+            }
+            for (var item : items) {
+                size += item.remaining();
+            }
+            try {
+                if (channel != null) {
+                    write(items);
+                } else {
+                    chunks.addAll(items);
+                    if (size > threshold) {
+                        spill();
+                    }
+                }
+            } catch (IOException e) {
+                subscription.cancel();
+                fail(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (body.isDone()) {
+                return;
+            }
+            if (channel == null) {
+                var bytes = new byte[(int) size];
+                var position = 0;
+                for (var chunk : chunks) {
+                    var count = chunk.remaining();
+                    chunk.get(bytes, position, count);
+                    position += count;
+                }
+                chunks.clear();
+                body.complete(SpooledBody.of(bytes));
+                return;
+            }
+            try {
+                var regions = new ArrayList<ByteBuffer>();
+                for (var position = 0L; position < size; position += Integer.MAX_VALUE) {
+                    regions.add(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                            Math.min(Integer.MAX_VALUE, size - position)));
+                }
+                discard();
+                body.complete(SpooledBody.of(regions, size));
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private void spill() throws IOException {
+            file = Files.createTempFile("cleverclient-", ".body");
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            write(chunks);
+            chunks.clear();
+        }
+
+        private void write(List<ByteBuffer> items) throws IOException {
+            var buffers = items.toArray(ByteBuffer[]::new);
+            while (buffers.length > 0 && buffers[buffers.length - 1].hasRemaining()) {
+                channel.write(buffers);
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            chunks.clear();
+            discard();
+            body.completeExceptionally(throwable);
+        }
+
+        /**
+         * Closes and deletes the file, whose mapped regions stay valid. Where a mapped file can not be
+         * deleted, it is deleted on exit.
+         */
+        private void discard() {
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+            channel = null;
+        }
+
+    }
+
+}
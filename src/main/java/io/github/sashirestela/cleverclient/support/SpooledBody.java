@@ -0,0 +1,93 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Response body received by a SpoolBodyHandler: an array of bytes when it was small enough, or the
+ * memory-mapped regions of the temporary file it was spilled to. The mapped pages are loaded by the
+ * operating system as they are read and do not count in the heap.
+ */
+public class SpooledBody {
+
+    private final byte[] bytes;
+    private final List<ByteBuffer> regions;
+    private final long size;
+
+    private SpooledBody(byte[] bytes, List<ByteBuffer> regions, long size) {
+        this.bytes = bytes;
+        this.regions = regions;
+        this.size = size;
+    }
+
+    static SpooledBody of(byte[] bytes) {
+        return new SpooledBody(bytes, null, bytes.length);
+    }
+
+    static SpooledBody of(List<ByteBuffer> regions, long size) {
+        return new SpooledBody(null, List.copyOf(regions), size);
+    }
+
+    /**
+     * @return A new InputStream over the whole body. It can be opened many times.
+     */
+    public InputStream openStream() {
+        if (bytes != null) {
+            return new ByteArrayInputStream(bytes);
+        }
+        var streams = regions.stream()
+                .map(region -> (InputStream) new RegionInputStream(region.duplicate()))
+                .collect(Collectors.toList());
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return True if the body was written to a temporary file, false if it is in memory.
+     */
+    public boolean isSpilled() {
+        return bytes == null;
+    }
+
+    static class RegionInputStream extends InputStream {
+
+        private final ByteBuffer region;
+
+        RegionInputStream(ByteBuffer region) {
+            this.region = region;
+        }
+
+        @Override
+        public int read() {
+            return region.hasRemaining() ? region.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!region.hasRemaining()) {
+                return -1;
+            }
+            var count = Math.min(length, region.remaining());
+            region.get(buffer, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return region.remaining();
+        }
+
+    }
+
+}
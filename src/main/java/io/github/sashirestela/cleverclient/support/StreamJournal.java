@@ -0,0 +1,351 @@
+package io.github.sashirestela.cleverclient.support;
+
+import lombok.Builder;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Journal that records the raw bytes of the responses of the methods annotated with Tee. The records
+ * are appended to rotating files by a background writer, in batches of gathering writes, so the
+ * consumers of the responses never wait for the disk. When the writer falls behind by more than the
+ * maximum pending bytes, the responses are read from the network at the pace of the disk. The
+ * recorded responses can be read back with replay.
+ */
+public class StreamJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamJournal.class);
+
+    private static final String EXTENSION = ".journal";
+    private static final int HEADER_SIZE = Long.BYTES + Byte.BYTES + Integer.BYTES;
+    private static final int MAX_BATCH = 256;
+
+    static final byte START = 1;
+    static final byte DATA = 2;
+    static final byte END = 3;
+    static final byte ERROR = 4;
+
+    private static final ByteBuffer CLOSING = ByteBuffer.allocate(0);
+
+    private final Path directory;
+    private final String prefix;
+    private final long maxFileSize;
+    private final long maxPendingBytes;
+    private final LinkedBlockingQueue<ByteBuffer> records = new LinkedBlockingQueue<>();
+    private final Queue<Runnable> waitingForRoom = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicLong streamIds = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Thread writer;
+
+    private FileChannel channel;
+    private int fileNumber;
+    private long fileSize;
+    private volatile boolean closed;
+
+    /**
+     * Constructor to create a StreamJournal and start its writer.
+     *
+     * @param directory       Directory of the journal files. It is created if it does not exist.
+     * @param prefix          Prefix of the journal file names. Optional, "stream" by default.
+     * @param maxFileSize     Size in bytes from which a new file is started. Optional, 64 MB by default.
+     * @param maxPendingBytes Maximum number of bytes waiting to be written before the responses are
+     *                        slowed down. Optional, 8 MB by default.
+     */
+    @Builder
+    public StreamJournal(@NonNull Path directory, String prefix, long maxFileSize, long maxPendingBytes) {
+        this.directory = directory;
+        this.prefix = prefix != null ? prefix : "stream";
+        this.maxFileSize = maxFileSize > 0 ? maxFileSize : 64L * 1024 * 1024;
+        this.maxPendingBytes = maxPendingBytes > 0 ? maxPendingBytes : 8L * 1024 * 1024;
+        try {
+            Files.createDirectories(directory);
+            this.fileNumber = journalFiles(directory, this.prefix).size();
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot open the journal in {0}.", directory, e);
+        }
+        this.writer = new Thread(this::write, "cleverclient-journal-" + this.prefix);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Starts the record of a response.
+     *
+     * @param label       Identifies the origin of the response, as the method that was called.
+     * @param statusCode  The response status code.
+     * @param contentType The response Content-Type, or null.
+     * @return The id of the recorded stream.
+     */
+    public long start(String label, int statusCode, String contentType) {
+        var id = streamIds.incrementAndGet();
+        var text = label + "\n" + statusCode + "\n" + (contentType != null ? contentType : "");
+        enqueue(record(id, START, text.getBytes(StandardCharsets.UTF_8)), 0);
+        return id;
+    }
+
+    /**
+     * Appends a copy of a chunk of the response, without moving the position of the buffers.
+     *
+     * @param id    The id of the recorded stream.
+     * @param items The chunk of the response.
+     */
+    public void append(long id, List<ByteBuffer> items) {
+        var size = items.stream().mapToInt(ByteBuffer::remaining).sum();
+        if (size == 0) {
+            return;
+        }
+        var buffer = header(id, DATA, size);
+        items.forEach(item -> buffer.put(item.duplicate()));
+        enqueue(buffer.flip(), size);
+    }
+
+    /**
+     * Ends the record of a response.
+     *
+     * @param id    The id of the recorded stream.
+     * @param error The error that ended the response, or null if it was complete.
+     */
+    public void end(long id, Throwable error) {
+        if (error == null) {
+            enqueue(record(id, END, new byte[0]), 0);
+        } else {
+            var message = String.valueOf(error.getMessage());
+            enqueue(record(id, ERROR, message.getBytes(StandardCharsets.UTF_8)), 0);
+        }
+    }
+
+    /**
+     * @return True if the writer is not behind by more than the maximum pending bytes.
+     */
+    public boolean hasRoom() {
+        return pendingBytes.get() < maxPendingBytes || closed;
+    }
+
+    /**
+     * Runs an action as soon as the writer is not behind by more than the maximum pending bytes, now if
+     * it is not.
+     *
+     * @param action The action to be run, on the writer thread if it has to wait.
+     */
+    public void whenRoom(Runnable action) {
+        waitingForRoom.add(action);
+        if (hasRoom()) {
+            runWaiting();
+        }
+    }
+
+    /**
+     * Writes the pending records and closes the current file. Later records are discarded.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        records.add(CLOSING);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        runWaiting();
+    }
+
+    /**
+     * Reads the responses recorded in a journal directory, in the order they were started. Only the
+     * headers of the records are read: the bytes of the chunks stay in the files until the responses
+     * are replayed.
+     *
+     * @param directory Directory of the journal files.
+     * @param prefix    Prefix of the journal file names, "stream" if null.
+     * @return The recorded responses.
+     */
+    public static List<RecordedStream> replay(Path directory, String prefix) {
+        var streams = new LinkedHashMap<Long, RecordedStream>();
+        try {
+            for (var file : journalFiles(directory, prefix != null ? prefix : "stream")) {
+                readFile(file, streams);
+            }
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot read the journal in {0}.", directory, e);
+        }
+        return new ArrayList<>(streams.values());
+    }
+
+    private static void readFile(Path file, LinkedHashMap<Long, RecordedStream> streams) throws IOException {
+        var size = Files.size(file);
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            var position = 0L;
+            while (size - position >= HEADER_SIZE) {
+                var id = input.readLong();
+                var type = input.readByte();
+                var length = input.readInt();
+                position += HEADER_SIZE;
+                if (length < 0 || length > size - position) {
+                    // A record cut by a crash in the middle of a write.
+                    break;
+                }
+                var stream = streams.get(id);
+                if (type == DATA) {
+                    if (stream != null) {
+                        stream.addChunk(file, position, length);
+                    }
+                    skipFully(input, length);
+                } else {
+                    var payload = new byte[length];
+                    input.readFully(payload);
+                    if (type == START) {
+                        var fields = new String(payload, StandardCharsets.UTF_8).split("\n", 3);
+                        streams.put(id, new RecordedStream(id, fields[0], Integer.parseInt(fields[1]),
+                                fields.length > 2 && !fields[2].isEmpty() ? fields[2] : null));
+                    } else if (stream != null) {
+                        stream.finish(type == ERROR ? new String(payload, StandardCharsets.UTF_8) : null);
+                    }
+                }
+                position += length;
+            }
+        }
+    }
+
+    private static void skipFully(InputStream input, long count) throws IOException {
+        var remaining = count;
+        while (remaining > 0) {
+            var skipped = input.skip(remaining);
+            if (skipped <= 0) {
+                throw new EOFException("The journal file ends before its record.");
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static List<Path> journalFiles(Path directory, String prefix) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> {
+                var name = file.getFileName().toString();
+                return name.startsWith(prefix + "-") && name.endsWith(EXTENSION);
+            }).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static ByteBuffer record(long id, byte type, byte[] payload) {
+        return header(id, type, payload.length).put(payload).flip();
+    }
+
+    private static ByteBuffer header(long id, byte type, int length) {
+        return ByteBuffer.allocate(HEADER_SIZE + length).putLong(id).put(type).putInt(length);
+    }
+
+    private void enqueue(ByteBuffer record, int dataSize) {
+        if (closed) {
+            return;
+        }
+        pendingBytes.addAndGet(dataSize);
+        records.add(record);
+    }
+
+    private void write() {
+        var batch = new ArrayList<ByteBuffer>(MAX_BATCH);
+        var running = true;
+        while (running) {
+            try {
+                batch.add(records.take());
+                records.drainTo(batch, MAX_BATCH - 1);
+                running = !batch.remove(CLOSING);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } catch (IOException e) {
+                logger.error("Cannot write the journal in {}. {}", directory, e.getMessage());
+            } finally {
+                pendingBytes.addAndGet(-batch.stream().mapToLong(this::dataSizeOf).sum());
+                batch.clear();
+                if (hasRoom()) {
+                    runWaiting();
+                }
+            }
+        }
+        closeChannel();
+    }
+
+    private void writeBatch(List<ByteBuffer> batch) throws IOException {
+        var from = 0;
+        while (from < batch.size()) {
+            if (channel == null || (fileSize > 0 && fileSize + batch.get(from).remaining() > maxFileSize)) {
+                rotate();
+            }
+            // Gather the records that fit in the current file in a single write.
+            var to = from + 1;
+            var size = (long) batch.get(from).remaining();
+            while (to < batch.size() && fileSize + size + batch.get(to).remaining() <= maxFileSize) {
+                size += batch.get(to).remaining();
+                to++;
+            }
+            var buffers = batch.subList(from, to).stream().map(ByteBuffer::duplicate).toArray(ByteBuffer[]::new);
+            while (buffers[buffers.length - 1].hasRemaining()) {
+                channel.write(buffers);
+            }
+            fileSize += size;
+            from = to;
+        }
+    }
+
+    private void rotate() throws IOException {
+        closeChannel();
+        fileNumber++;
+        var file = directory.resolve(String.format("%s-%08d%s", prefix, fileNumber, EXTENSION));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            logger.error("Cannot close the journal file. {}", e.getMessage());
+        }
+        channel = null;
+    }
+
+    private long dataSizeOf(ByteBuffer record) {
+        return record.limit() > HEADER_SIZE && record.get(Long.BYTES) == DATA ? record.limit() - HEADER_SIZE : 0;
+    }
+
+    private void runWaiting() {
+        Runnable action;
+        while ((action = waitingForRoom.poll()) != null) {
+            action.run();
+        }
+    }
+
+}
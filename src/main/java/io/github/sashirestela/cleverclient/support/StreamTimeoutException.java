@@ -0,0 +1,26 @@
+package io.github.sashirestela.cleverclient.support;
+
+/**
+ * Thrown when a response is aborted because it was idle or it exceeded its total time, as set by the
+ * StreamTimeout annotation.
+ */
+public class StreamTimeoutException extends CleverClientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean idle;
+
+    public StreamTimeoutException(long timeout, boolean idle) {
+        super(idle ? "No data was received in the response for {0} ms." : "The response took more than {0} ms.",
+                timeout, null);
+        this.idle = idle;
+    }
+
+    /**
+     * @return True if the response was idle, false if it exceeded its total time.
+     */
+    public boolean isIdle() {
+        return idle;
+    }
+
+}
@@ -0,0 +1,116 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BodyHandler that copies the bytes of the response to a StreamJournal on their way to the wrapped
+ * BodyHandler. The demand of the wrapped BodySubscriber is held back while the journal writer is
+ * behind, so its memory stays bounded without blocking any thread.
+ *
+ * @param <T> Type of the response body.
+ */
+public class TeeBodyHandler<T> implements BodyHandler<T> {
+
+    private static final String HEADER_CONTENT_TYPE = "Content-Type";
+
+    private final BodyHandler<T> bodyHandler;
+    private final StreamJournal journal;
+    private final String label;
+
+    public TeeBodyHandler(BodyHandler<T> bodyHandler, StreamJournal journal, String label) {
+        this.bodyHandler = bodyHandler;
+        this.journal = journal;
+        this.label = label;
+    }
+
+    @Override
+    public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+        var id = journal.start(label, responseInfo.statusCode(),
+                responseInfo.headers().firstValue(HEADER_CONTENT_TYPE).orElse(null));
+        return new TeeSubscriber<>(bodyHandler.apply(responseInfo), journal, id);
+    }
+
+    static class TeeSubscriber<T> implements BodySubscriber<T>, Flow.Subscription {
+
+        private final BodySubscriber<T> downstream;
+        private final StreamJournal journal;
+        private final long id;
+        private final AtomicLong heldDemand = new AtomicLong();
+        private final AtomicBoolean ended = new AtomicBoolean();
+        private volatile Flow.Subscription upstream;
+
+        TeeSubscriber(BodySubscriber<T> downstream, StreamJournal journal, long id) {
+            this.downstream = downstream;
+            this.journal = journal;
+            this.id = id;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            journal.append(id, items);
+            downstream.onNext(items);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            end(throwable);
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            end(null);
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (journal.hasRoom()) {
+                upstream.request(n);
+                return;
+            }
+            heldDemand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            journal.whenRoom(this::releaseDemand);
+        }
+
+        @Override
+        public void cancel() {
+            end(new CleverClientException("The response was cancelled."));
+            upstream.cancel();
+        }
+
+        private void releaseDemand() {
+            var demand = heldDemand.getAndSet(0);
+            if (demand > 0) {
+                upstream.request(demand);
+            }
+        }
+
+        private void end(Throwable throwable) {
+            if (ended.compareAndSet(false, true)) {
+                journal.end(id, throwable);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,61 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * BodyHandler that reads the response body no faster than a BandwidthLimiter allows.
+ *
+ * @param <T> Type of the response body.
+ */
+public class ThrottledBodyHandler<T> implements BodyHandler<T> {
+
+    private final BodyHandler<T> bodyHandler;
+    private final BandwidthLimiter limiter;
+
+    public ThrottledBodyHandler(BodyHandler<T> bodyHandler, BandwidthLimiter limiter) {
+        this.bodyHandler = bodyHandler;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+        var bodySubscriber = bodyHandler.apply(responseInfo);
+        var throttledSubscriber = new ThrottledSubscriber<List<ByteBuffer>>(bodySubscriber, limiter,
+                ThrottledSubscriber::sizeOf);
+        return new BodySubscriber<T>() {
+
+            @Override
+            public CompletionStage<T> getBody() {
+                return bodySubscriber.getBody();
+            }
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                throttledSubscriber.onSubscribe(subscription);
+            }
+
+            @Override
+            public void onNext(List<ByteBuffer> items) {
+                throttledSubscriber.onNext(items);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throttledSubscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                throttledSubscriber.onComplete();
+            }
+
+        };
+    }
+
+}
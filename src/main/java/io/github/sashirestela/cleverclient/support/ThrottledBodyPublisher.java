@@ -0,0 +1,30 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.net.http.HttpRequest.BodyPublisher;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+
+/**
+ * BodyPublisher that writes the request body no faster than a BandwidthLimiter allows.
+ */
+public class ThrottledBodyPublisher implements BodyPublisher {
+
+    private final BodyPublisher bodyPublisher;
+    private final BandwidthLimiter limiter;
+
+    public ThrottledBodyPublisher(BodyPublisher bodyPublisher, BandwidthLimiter limiter) {
+        this.bodyPublisher = bodyPublisher;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public long contentLength() {
+        return bodyPublisher.contentLength();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        bodyPublisher.subscribe(new ThrottledSubscriber<ByteBuffer>(subscriber, limiter, ThrottledSubscriber::sizeOf));
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * Subscriber that paces a flow of bytes with a BandwidthLimiter. The items are requested from
+ * upstream one at a time, whatever the demand of downstream is, and the next one is requested only
+ * once the limiter allows it, so the HttpClient stops reading from or writing to the socket in the
+ * meantime.
+ *
+ * @param <T> Type of the items, a ByteBuffer or a list of them.
+ */
+class ThrottledSubscriber<T> implements Flow.Subscriber<T>, Flow.Subscription {
+
+    private final Flow.Subscriber<? super T> downstream;
+    private final BandwidthLimiter limiter;
+    private final ToLongFunction<T> sizer;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private volatile Flow.Subscription upstream;
+    private volatile boolean cancelled;
+
+    ThrottledSubscriber(Flow.Subscriber<? super T> downstream, BandwidthLimiter limiter, ToLongFunction<T> sizer) {
+        this.downstream = downstream;
+        this.limiter = limiter;
+        this.sizer = sizer;
+    }
+
+    static long sizeOf(List<ByteBuffer> items) {
+        var size = 0L;
+        for (var item : items) {
+            size += item.remaining();
+        }
+        return size;
+    }
+
+    static long sizeOf(ByteBuffer item) {
+        return item.remaining();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        upstream = subscription;
+        downstream.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(T item) {
+        var size = sizer.applyAsLong(item);
+        downstream.onNext(item);
+        var delay = size > 0 ? limiter.acquire(size) : 0;
+        if (delay <= 0) {
+            pending.set(false);
+            pull();
+        } else {
+            // Requesting can read the body in the calling thread, so it is not done by the timers.
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+                pending.set(false);
+                pull();
+            });
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        downstream.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            upstream.request(n);
+            return;
+        }
+        demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+        pull();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        upstream.cancel();
+    }
+
+    private void pull() {
+        while (!cancelled && demand.get() > 0 && pending.compareAndSet(false, true)) {
+            if (demand.get() > 0) {
+                demand.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - 1);
+                upstream.request(1);
+                return;
+            }
+            pending.set(false);
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+package io.github.sashirestela.cleverclient.support;
+
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BodyHandler that cancels the response body, releasing its connection, when no bytes arrive for the
+ * idle timeout while there is demand for them, or when the response exceeds its total timeout. The
+ * wrapped BodySubscriber gets a StreamTimeoutException then. Timeouts of zero are not applied.
+ *
+ * @param <T> Type of the response body.
+ */
+public class TimeoutBodyHandler<T> implements BodyHandler<T> {
+
+    private final BodyHandler<T> bodyHandler;
+    private final long idleTimeout;
+    private final long totalTimeout;
+
+    public TimeoutBodyHandler(BodyHandler<T> bodyHandler, long idleTimeout, long totalTimeout) {
+        this.bodyHandler = bodyHandler;
+        this.idleTimeout = idleTimeout;
+        this.totalTimeout = totalTimeout;
+    }
+
+    @Override
+    public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+        return new TimeoutSubscriber<>(bodyHandler.apply(responseInfo), idleTimeout, totalTimeout);
+    }
+
+    static class TimeoutSubscriber<T> implements BodySubscriber<T>, Flow.Subscription {
+
+        private final BodySubscriber<T> downstream;
+        private final long idleTimeout;
+        private final long totalTimeout;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final AtomicLong demand = new AtomicLong();
+        private volatile Flow.Subscription upstream;
+        private volatile long lastActivity;
+        private volatile ScheduledFuture<?> idleCheck;
+        private volatile ScheduledFuture<?> totalCheck;
+
+        TimeoutSubscriber(BodySubscriber<T> downstream, long idleTimeout, long totalTimeout) {
+            this.downstream = downstream;
+            this.idleTimeout = idleTimeout;
+            this.totalTimeout = totalTimeout;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return downstream.getBody();
+        }
+
+        @Override
+        public synchronized void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            lastActivity = System.nanoTime();
+            if (idleTimeout > 0) {
+                idleCheck = SharedScheduler.schedule(this::checkIdle, idleTimeout);
+            }
+            if (totalTimeout > 0) {
+                totalCheck = SharedScheduler.schedule(() -> timeout(totalTimeout, false), totalTimeout);
+            }
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public synchronized void onNext(List<ByteBuffer> items) {
+            if (done.get()) {
+                return;
+            }
+            lastActivity = System.nanoTime();
+            demand.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - 1);
+            downstream.onNext(items);
+        }
+
+        @Override
+        public synchronized void onError(Throwable throwable) {
+            if (finish()) {
+                downstream.onError(throwable);
+            }
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (finish()) {
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            var previous = demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            if (previous == 0) {
+                // The idle time counts from the moment there is demand again.
+                lastActivity = System.nanoTime();
+            }
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            finish();
+            upstream.cancel();
+        }
+
+        private void checkIdle() {
+            if (done.get()) {
+                return;
+            }
+            var elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastActivity);
+            if (demand.get() > 0 && elapsed >= idleTimeout) {
+                timeout(idleTimeout, true);
+            } else {
+                var delay = demand.get() > 0 ? idleTimeout - elapsed : idleTimeout;
+                idleCheck = SharedScheduler.schedule(this::checkIdle, delay);
+            }
+        }
+
+        private synchronized void timeout(long timeout, boolean idle) {
+            if (finish()) {
+                upstream.cancel();
+                downstream.onError(new StreamTimeoutException(timeout, idle));
+            }
+        }
+
+        private boolean finish() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            if (idleCheck != null) {
+                idleCheck.cancel(false);
+            }
+            if (totalCheck != null) {
+                totalCheck.cancel(false);
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+package io.github.sashirestela.cleverclient.support;
+
+/**
+ * Thrown when the size or the digest of a body, computed while it was transferred, is not the
+ * expected one, as set in a TransferDigest.
+ */
+public class TransferVerificationException extends CleverClientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String property;
+    private final String expected;
+    private final String actual;
+
+    public TransferVerificationException(String property, String expected, String actual) {
+        super("The {0} of the body is {1} but {2} was expected.", property, actual, expected, null);
+        this.property = property;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * @return The property that did not match: "size" or the name of the digest algorithm.
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    public String getExpected() {
+        return expected;
+    }
+
+    public String getActual() {
+        return actual;
+    }
+
+    /**
+     * @param throwable A failure of a transfer.
+     * @return The TransferVerificationException that caused the failure, or null if it was not one.
+     */
+    public static TransferVerificationException causeOf(Throwable throwable) {
+        for (var cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransferVerificationException) {
+                return (TransferVerificationException) cause;
+            }
+        }
+        return null;
+    }
+
+}
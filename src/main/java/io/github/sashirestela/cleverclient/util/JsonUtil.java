@@ -1,15 +1,21 @@
 package io.github.sashirestela.cleverclient.util;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.JsonPointerBasedFilter;
+import com.fasterxml.jackson.core.filter.TokenFilter;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import io.github.sashirestela.cleverclient.support.CleverClientException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -69,4 +75,90 @@ public class JsonUtil {
         }
     }
 
+    public static <T> T bytesToObject(byte[] data, JavaType javaType) {
+        try {
+            return objectReaderIgnoringUnknown.forType(javaType).readValue(data);
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot convert the Json bytes to {0}.", javaType, e);
+        }
+    }
+
+    public static <T> T bytesToObject(byte[] data, Class<T> clazz) {
+        try {
+            return objectReaderIgnoringUnknown.readValue(data, clazz);
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot convert the Json bytes to class of {0}.", clazz.getName(), e);
+        }
+    }
+
+    public static <T> T bytesToObject(byte[] data, int offset, int length, Class<T> clazz) {
+        try {
+            return objectReaderIgnoringUnknown.forType(clazz).readValue(data, offset, length);
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot convert the Json bytes to class of {0}.", clazz.getName(), e);
+        }
+    }
+
+    public static <T> T tokensToObject(TokenBuffer tokens, Class<T> clazz) {
+        try (var parser = tokens.asParser()) {
+            return objectReaderIgnoringUnknown.forType(clazz).readValue(parser);
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot convert the Json tokens to class of {0}.", clazz.getName(), e);
+        }
+    }
+
+    public static JsonParser createNonBlockingParser() {
+        try {
+            return objectMapperStrict.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot create a non-blocking Json parser.", null, e);
+        }
+    }
+
+    public static JavaType javaTypeOf(Class<?> clazz) {
+        return objectReaderIgnoringUnknown.getTypeFactory().constructType(clazz);
+    }
+
+    public static JavaType listJavaTypeOf(Class<?> clazz) {
+        return objectReaderIgnoringUnknown.getTypeFactory().constructCollectionType(ArrayList.class, clazz);
+    }
+
+    public static JavaType parametricJavaTypeOf(Class<?> clazzT, Class<?> clazzU) {
+        return objectReaderIgnoringUnknown.getTypeFactory().constructParametricType(clazzT, clazzU);
+    }
+
+    public static <T> T jsonToObject(InputStream json, JavaType javaType) {
+        try (json) {
+            return objectReaderIgnoringUnknown.forType(javaType).readValue(json);
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot convert the Json to {0}.", javaType, e);
+        }
+    }
+
+    public static <T> T jsonToObject(InputStream json, String pointer, JavaType javaType) {
+        try (var parser = objectMapperStrict.getFactory().createParser(json)) {
+            return readPointedValue(parser, pointer, javaType);
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot convert the Json at {0} to {1}.", pointer, javaType, e);
+        }
+    }
+
+    public static <T> T jsonToObject(byte[] json, String pointer, JavaType javaType) {
+        try (var parser = objectMapperStrict.getFactory().createParser(json)) {
+            return readPointedValue(parser, pointer, javaType);
+        } catch (IOException e) {
+            throw new CleverClientException("Cannot convert the Json at {0} to {1}.", pointer, javaType, e);
+        }
+    }
+
+    private static <T> T readPointedValue(JsonParser parser, String pointer, JavaType javaType) throws IOException {
+        // Subtrees out of the pointer's path are skipped by the parser without being deserialized.
+        var filteringParser = new FilteringParserDelegate(parser, new JsonPointerBasedFilter(pointer),
+                TokenFilter.Inclusion.ONLY_INCLUDE_ALL, false);
+        if (filteringParser.nextToken() == null) {
+            throw new CleverClientException("The Json pointer {0} does not match any value.", pointer, null);
+        }
+        return objectReaderIgnoringUnknown.forType(javaType).readValue(filteringParser);
+    }
+
 }
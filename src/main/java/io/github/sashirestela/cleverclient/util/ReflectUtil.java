@@ -1,5 +1,7 @@
 package io.github.sashirestela.cleverclient.util;
 
+import io.github.sashirestela.cleverclient.support.CleverClientException;
+
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 
@@ -16,4 +18,12 @@ public class ReflectUtil {
                 handler);
     }
 
+    public static <T> T createInstance(Class<T> clazz) {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new CleverClientException("Cannot create an instance of {0}.", clazz.getName(), e);
+        }
+    }
+
 }
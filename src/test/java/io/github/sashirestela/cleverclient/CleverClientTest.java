@@ -6,6 +6,7 @@ import io.github.sashirestela.cleverclient.annotation.Query;
 import io.github.sashirestela.cleverclient.annotation.Resource;
 import io.github.sashirestela.cleverclient.http.HttpRequestData;
 import io.github.sashirestela.cleverclient.support.ContentType;
+import io.github.sashirestela.cleverclient.support.DecompressingBodyHandler;
 import io.github.sashirestela.cleverclient.util.HttpRequestBodyTestUtility;
 import lombok.Builder;
 import lombok.Value;
@@ -17,6 +18,8 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 
@@ -25,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -44,6 +48,25 @@ class CleverClientTest {
         assertNotNull(cleverClient.getHttpProcessor());
         assertNull(cleverClient.getRequestInterceptor());
         assertNull(cleverClient.getBodyInspector());
+        assertNull(cleverClient.getEventExecutor());
+    }
+
+    @Test
+    void shouldCreateAPoolOfEventWorkersWhenNoEventExecutorIsPassed() {
+        var cleverClient = CleverClient.builder()
+                .baseUrl("https://test")
+                .eventWorkers(2)
+                .build();
+        assertNotNull(cleverClient.getEventExecutor());
+        cleverClient.close();
+        assertTrue(((ExecutorService) cleverClient.getEventExecutor()).isShutdown());
+        Executor executor = Runnable::run;
+        cleverClient = CleverClient.builder()
+                .baseUrl("https://test")
+                .eventExecutor(executor)
+                .eventWorkers(2)
+                .build();
+        assertEquals(executor, cleverClient.getEventExecutor());
     }
 
     @Test
@@ -163,6 +186,32 @@ class CleverClientTest {
         assertThrows(IllegalArgumentException.class, () -> testService.getText(sample, "math"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void shouldAskForCompressedResponsesWhenDecompressionIsEnabled() {
+        var httpClient = mock(HttpClient.class);
+        var cleverClient = CleverClient.builder()
+                .baseUrl("https://test")
+                .httpClient(httpClient)
+                .decompression(true)
+                .build();
+        when(httpClient.sendAsync(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(HttpResponse.class)));
+
+        var test = cleverClient.create(TestCleverClient.class);
+        test.getText(Sample.builder().id("1").build(), "geo");
+
+        ArgumentCaptor<HttpRequest> requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+        ArgumentCaptor<HttpResponse.BodyHandler<?>> handlerCaptor = ArgumentCaptor.forClass(
+                HttpResponse.BodyHandler.class);
+        verify(httpClient, times(1)).sendAsync(requestCaptor.capture(), handlerCaptor.capture());
+
+        var actualEncoding = requestCaptor.getValue().headers().firstValue("Accept-Encoding").orElse(null);
+        var expectedEncoding = "gzip, deflate";
+        assertEquals(expectedEncoding, actualEncoding);
+        assertEquals(DecompressingBodyHandler.class, handlerCaptor.getValue().getClass());
+    }
+
     @Value
     @Builder
     static class Sample {
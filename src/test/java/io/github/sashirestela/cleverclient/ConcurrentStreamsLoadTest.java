@@ -0,0 +1,121 @@
+package io.github.sashirestela.cleverclient;
+
+import io.github.sashirestela.cleverclient.annotation.GET;
+import io.github.sashirestela.cleverclient.annotation.StreamType;
+import lombok.Data;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Opens thousands of concurrent SSE streams against a local stand-in server, consuming them through
+ * EventListeners, and checks that every event is delivered while the number of live threads stays
+ * far below the number of streams, under the 50 promised by the README. Both the HttpClient and the
+ * EventListeners run on small fixed pools, so the responses are read and parsed on the HttpClient
+ * callbacks. It is excluded from the default build, run it with:
+ * 
+ * <pre>
+ * mvn test -P load -Dload.streams=10000
+ * </pre>
+ */
+@Tag("load")
+class ConcurrentStreamsLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrentStreamsLoadTest.class);
+
+    static final int STREAMS = Integer.getInteger("load.streams", 10000);
+    static final int EVENTS = Integer.getInteger("load.events", 10);
+    static final int INTERVAL = Integer.getInteger("load.interval", 500);
+    static final int MAX_THREADS = 50;
+
+    static Process server;
+    static int port;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        var java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        server = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                SseStandInServer.class.getName(), String.valueOf(EVENTS), String.valueOf(INTERVAL))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        var reader = new BufferedReader(new InputStreamReader(server.getInputStream(), StandardCharsets.UTF_8));
+        port = Integer.parseInt(reader.readLine().strip());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.destroy();
+    }
+
+    @Test
+    void shouldConsumeThousandsOfStreamsWithAFewThreads() {
+        var httpExecutor = Executors.newFixedThreadPool(4);
+        var cleverClient = CleverClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .httpClient(HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(httpExecutor)
+                        .build())
+                .eventWorkers(4)
+                .build();
+        var feed = cleverClient.create(Feed.class);
+        var threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        var received = new AtomicInteger();
+        var failed = new AtomicInteger();
+        var completions = new ArrayList<CompletableFuture<Void>>(STREAMS);
+        for (var i = 0; i < STREAMS; i++) {
+            completions.add(feed.listen(event -> received.incrementAndGet()).completion()
+                    .exceptionally(throwable -> {
+                        failed.incrementAndGet();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(completions.toArray(CompletableFuture[]::new))
+                .orTimeout(5, TimeUnit.MINUTES)
+                .join();
+        var peakThreads = threads.getPeakThreadCount();
+        cleverClient.close();
+        httpExecutor.shutdown();
+        logger.info("Streams: {}, events: {}, failures: {}, peak threads: {}", STREAMS, received.get(), failed.get(),
+                peakThreads);
+        assertEquals(0, failed.get());
+        assertEquals(STREAMS * EVENTS, received.get());
+        assertTrue(peakThreads < MAX_THREADS, "Peak threads: " + peakThreads);
+    }
+
+    interface Feed {
+
+        @GET("/feed")
+        @StreamType(type = Tick.class, events = { "tick" })
+        StreamHandle listen(EventListener<Event> listener);
+
+    }
+
+    @Data
+    static class Tick {
+
+        private int sequence;
+
+    }
+
+}
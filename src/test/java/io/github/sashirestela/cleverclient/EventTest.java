@@ -0,0 +1,60 @@
+package io.github.sashirestela.cleverclient;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventTest {
+
+    @Test
+    void shouldKeepTheHashCodeOfALazyEventOnceDecoded() {
+        var event = lazyEvent("{\"id\":1}", raw -> "decoded");
+        var events = new HashSet<Event>();
+        events.add(event);
+        var hashCode = event.hashCode();
+        assertEquals("decoded", event.getData());
+        assertEquals(hashCode, event.hashCode());
+        assertTrue(events.contains(event));
+        assertEquals(lazyEvent("{\"id\":1}", raw -> "other"), event);
+        assertNotEquals(lazyEvent("{\"id\":2}", raw -> "decoded"), event);
+    }
+
+    @Test
+    void shouldDecodeTheDataOnlyOnceEvenIfItIsNull() {
+        var decodings = new AtomicInteger();
+        var event = lazyEvent("null", raw -> {
+            decodings.incrementAndGet();
+            return null;
+        });
+        assertTrue(event.toString().contains("data=null"));
+        assertNull(event.getData());
+        assertNull(event.getData());
+        assertEquals(1, decodings.get());
+    }
+
+    @Test
+    void shouldCompareTheEagerEventsByTheirData() {
+        var event = Event.builder().name("created").data("one").build();
+        assertEquals(Event.builder().name("created").data("one").build(), event);
+        assertEquals(Event.builder().name("created").data("one").build().hashCode(), event.hashCode());
+        assertNotEquals(Event.builder().name("created").data("two").build(), event);
+        assertTrue(event.toString().contains("data=one"));
+    }
+
+    private Event lazyEvent(String rawData, Function<byte[], Object> decoder) {
+        return Event.builder()
+                .name("created")
+                .rawData(rawData.getBytes(StandardCharsets.UTF_8))
+                .decoder(decoder)
+                .build();
+    }
+
+}
@@ -0,0 +1,83 @@
+package io.github.sashirestela.cleverclient;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for a Server Sent Events API, used by the load tests. Every request to /feed is
+ * answered with a stream of events, one every interval, that is closed after the last one. The open
+ * streams are written by a single scheduler thread, so the server does not need a thread per stream.
+ * It is run in its own process to not share the limit of open files with the client.
+ * <p>
+ * Arguments: number of events per stream and interval between events in milliseconds. The bound
+ * port is printed to the standard output.
+ */
+public class SseStandInServer {
+
+    public static void main(String[] args) throws IOException {
+        var events = Integer.parseInt(args[0]);
+        var interval = Long.parseLong(args[1]);
+        var streams = new ConcurrentLinkedQueue<Stream>();
+        var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16384);
+        server.createContext("/feed", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            streams.add(new Stream(exchange));
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+        scheduler.scheduleWithFixedDelay(() -> writeEvents(streams, events), interval, interval,
+                TimeUnit.MILLISECONDS);
+        // Handshake with the parent process, that reads the port from the first line of stdout.
+        System.out.println(server.getAddress().getPort());
+        System.out.flush();
+    }
+
+    private static void writeEvents(Queue<Stream> streams, int events) {
+        for (var iterator = streams.iterator(); iterator.hasNext();) {
+            var stream = iterator.next();
+            if (!stream.write(events)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    static class Stream {
+
+        private final HttpExchange exchange;
+        private int sequence;
+
+        Stream(HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        boolean write(int events) {
+            try {
+                var output = exchange.getResponseBody();
+                sequence++;
+                output.write(("event: tick\ndata: {\"sequence\":" + sequence + "}\n\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                output.flush();
+                if (sequence < events) {
+                    return true;
+                }
+            } catch (IOException e) {
+                // The client has gone away.
+            }
+            exchange.close();
+            return false;
+        }
+
+    }
+
+}
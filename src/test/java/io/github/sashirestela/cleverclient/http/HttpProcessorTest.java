@@ -1,11 +1,29 @@
 package io.github.sashirestela.cleverclient.http;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.sashirestela.cleverclient.Event;
+import io.github.sashirestela.cleverclient.EventListener;
+import io.github.sashirestela.cleverclient.StreamHandle;
+import io.github.sashirestela.cleverclient.TransferDigest;
+import io.github.sashirestela.cleverclient.support.BodyTooLargeException;
 import io.github.sashirestela.cleverclient.support.CleverClientException;
+import io.github.sashirestela.cleverclient.support.ClientOptions;
 import io.github.sashirestela.cleverclient.support.Configurator;
+import io.github.sashirestela.cleverclient.support.HttpResponseException;
+import io.github.sashirestela.cleverclient.support.JacksonCodec;
+import io.github.sashirestela.cleverclient.support.ServerSentEventBodyHandler;
+import io.github.sashirestela.cleverclient.support.SpooledBody;
+import io.github.sashirestela.cleverclient.support.StreamJournal;
+import io.github.sashirestela.cleverclient.support.StreamTimeoutException;
+import io.github.sashirestela.cleverclient.support.TransferVerificationException;
+import io.github.sashirestela.cleverclient.util.HttpRequestBodyTestUtility;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -13,21 +31,43 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.net.HttpURLConnection;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings("unchecked")
@@ -39,6 +79,7 @@ class HttpProcessorTest {
     HttpResponse<String> httpResponse = mock(HttpResponse.class);
     HttpResponse<Stream<String>> httpResponseStream = mock(HttpResponse.class);
     HttpResponse<InputStream> httpResponseBinary = mock(HttpResponse.class);
+    HttpResponse<byte[]> httpResponseBytes = mock(HttpResponse.class);
 
     @BeforeAll
     static void setup() {
@@ -185,11 +226,9 @@ class HttpProcessorTest {
 
     @Test
     void shouldReturnAStreamSyncWhenMethodReturnTypeIsAStream() throws IOException, InterruptedException {
-        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofLines().getClass())))
-                .thenReturn(httpResponseStream);
-        when(httpResponseStream.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
-        when(httpResponseStream.body())
-                .thenReturn(Stream.of("data: {\"id\":100,\"description\":\"Description\",\"active\":true}"));
+        when(httpClient.send(any(HttpRequest.class), any(ServerSentEventBodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK,
+                        ": comment\n\ndata: {\"id\":100,\"description\":\"Description\",\"active\":true}\n\n"));
 
         var service = httpProcessor.createProxy(ITest.SyncService.class);
         var actualStreamDemo = service.getDemoStream(new ITest.RequestDemo("Descr", null));
@@ -201,7 +240,7 @@ class HttpProcessorTest {
 
     @Test
     void shouldThrownExceptionWhenMethodReturnTypeIsAStream() throws IOException, InterruptedException {
-        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofLines().getClass())))
+        when(httpClient.send(any(HttpRequest.class), any(ServerSentEventBodyHandler.class)))
                 .thenThrow(new InterruptedException("The operation was interrupted"));
 
         var service = httpProcessor.createProxy(ITest.SyncService.class);
@@ -211,12 +250,9 @@ class HttpProcessorTest {
 
     @Test
     void shouldReturnAStreamSyncWhenMethodReturnTypeIsAStreamEvent() throws IOException, InterruptedException {
-        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofLines().getClass())))
-                .thenReturn(httpResponseStream);
-        when(httpResponseStream.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
-        when(httpResponseStream.body())
-                .thenReturn(Stream.of("event: created",
-                        "data: {\"id\":100,\"description\":\"Description\",\"active\":true}"));
+        when(httpClient.send(any(HttpRequest.class), any(ServerSentEventBodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK,
+                        "event: created\ndata: {\"id\":100,\"description\":\"Description\",\"active\":true}\n\n"));
 
         var service = httpProcessor.createProxy(ITest.SyncService.class);
         var actualStreamObject = service.getStreamEvent(new ITest.RequestDemo("Descr", null));
@@ -226,9 +262,34 @@ class HttpProcessorTest {
         assertEquals(expectedObject, actualObject);
     }
 
+    @Test
+    void shouldDecodeTheStreamEventsInOrderWhenThereIsADecodeExecutor() throws IOException, InterruptedException {
+        var executor = Executors.newFixedThreadPool(3);
+        var processor = HttpProcessor.builder()
+                .baseUrl("https://api.demo")
+                .headers(List.of())
+                .httpClient(httpClient)
+                .options(ClientOptions.builder().decodeExecutor(executor).decodeWindow(4).build())
+                .build();
+        var body = new StringBuilder();
+        for (var id = 1; id <= 20; id++) {
+            body.append("event: created\ndata: {\"id\":" + id + ",\"description\":\"Demo\",\"active\":true}\n\n");
+        }
+        when(httpClient.send(any(HttpRequest.class), any(ServerSentEventBodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK, body.toString()));
+
+        var service = processor.createProxy(ITest.SyncService.class);
+        var actualIds = service.getStreamEvent(new ITest.RequestDemo("Descr", null))
+                .map(event -> ((ITest.Demo) event.getData()).getId())
+                .collect(Collectors.toList());
+        executor.shutdown();
+
+        assertEquals(IntStream.rangeClosed(1, 20).boxed().collect(Collectors.toList()), actualIds);
+    }
+
     @Test
     void shouldThrownExceptionWhenMethodReturnTypeIsAStreamObject() throws IOException, InterruptedException {
-        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofLines().getClass())))
+        when(httpClient.send(any(HttpRequest.class), any(ServerSentEventBodyHandler.class)))
                 .thenThrow(new InterruptedException("The operation was interrupted"));
 
         var service = httpProcessor.createProxy(ITest.SyncService.class);
@@ -236,6 +297,583 @@ class HttpProcessorTest {
         assertThrows(CleverClientException.class, () -> service.getStreamEvent(requestDemo));
     }
 
+    @Test
+    void shouldResumeTheStreamFromTheLastEventIdWhenConnectionDrops() throws IOException, InterruptedException {
+        var event = "event: created\ndata: {\"id\":%d,\"description\":\"Description\",\"active\":true}\n\n";
+        when(httpClient.send(any(HttpRequest.class), any(ServerSentEventBodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK,
+                        "retry: 1\nid: 1\n" + String.format(event, 1), new IOException("Connection reset")))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK,
+                        "id: 2\n" + String.format(event, 2) + "data: END\n\n"));
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var actualIds = service.getResumableStreamEvent()
+                .map(e -> ((ITest.Demo) e.getData()).getId())
+                .collect(Collectors.toList());
+        assertEquals(List.of(1, 2), actualIds);
+
+        var requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient, times(2)).send(requestCaptor.capture(), any(ServerSentEventBodyHandler.class));
+        assertTrue(requestCaptor.getAllValues().get(0).headers().firstValue("Last-Event-ID").isEmpty());
+        assertEquals("1", requestCaptor.getAllValues().get(1).headers().firstValue("Last-Event-ID").get());
+    }
+
+    @Test
+    void shouldResumeTheStreamClosedBeforeItsEndWithABackoffBoundedByTheMaxDelay()
+            throws IOException, InterruptedException {
+        var event = "event: created\ndata: {\"id\":%d,\"description\":\"Description\",\"active\":true}\n\n";
+        when(httpClient.send(any(HttpRequest.class), any(ServerSentEventBodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK,
+                        "retry: 999999999999999999\nid: 1\n" + String.format(event, 1)))
+                .thenThrow(new IOException("Connection refused"))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK,
+                        "id: 2\n" + String.format(event, 2) + "data: END\n\n"));
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var actualIds = service.getResumableStreamEvent()
+                .map(e -> ((ITest.Demo) e.getData()).getId())
+                .collect(Collectors.toList());
+        assertEquals(List.of(1, 2), actualIds);
+        verify(httpClient, times(3)).send(any(HttpRequest.class), any(ServerSentEventBodyHandler.class));
+    }
+
+    @Test
+    void shouldResumeTheStreamWhenTheReconnectionGetsAServerError() throws IOException, InterruptedException {
+        var event = "event: created\ndata: {\"id\":%d,\"description\":\"Description\",\"active\":true}\n\n";
+        when(httpClient.send(any(HttpRequest.class), any(ServerSentEventBodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK,
+                        "retry: 1\nid: 1\n" + String.format(event, 1), new IOException("Connection reset")))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_UNAVAILABLE,
+                        "Service unavailable"))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK,
+                        "id: 2\n" + String.format(event, 2) + "data: END\n\n"));
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var actualIds = service.getResumableStreamEvent()
+                .map(e -> ((ITest.Demo) e.getData()).getId())
+                .collect(Collectors.toList());
+        assertEquals(List.of(1, 2), actualIds);
+        verify(httpClient, times(3)).send(any(HttpRequest.class), any(ServerSentEventBodyHandler.class));
+    }
+
+    @Test
+    void shouldThrownExceptionWhenResumableStreamExceedsTheReconnectionAttempts()
+            throws IOException, InterruptedException {
+        when(httpClient.send(any(HttpRequest.class), any(ServerSentEventBodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK, "",
+                        new IOException("Connection reset")));
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var stream = service.getResumableStreamEvent();
+        assertThrows(CleverClientException.class, () -> stream.findFirst());
+        verify(httpClient, times(3)).send(any(HttpRequest.class), any(ServerSentEventBodyHandler.class));
+    }
+
+    @Test
+    void shouldWriteTheBodyToTheFileWhenMethodReturnTypeIsAPath(@TempDir Path directory)
+            throws IOException, InterruptedException {
+        var body = "{\"id\":100,\"description\":\"Description\",\"active\":true}";
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK, body));
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var file = directory.resolve("demo.json");
+
+        assertEquals(file, service.downloadDemo(100, file));
+        assertEquals(body, Files.readString(file));
+        assertFalse(Files.exists(directory.resolve("demo.json.part")));
+    }
+
+    @Test
+    void shouldThrownExceptionAndKeepTheFileWhenTheDownloadFails(@TempDir Path directory)
+            throws IOException, InterruptedException {
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_NOT_FOUND, "Not found"));
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var file = Files.writeString(directory.resolve("demo.json"), "previous");
+
+        var exception = assertThrows(HttpResponseException.class, () -> service.downloadDemo(100, file));
+        assertEquals("Not found", exception.getBody());
+        assertEquals("previous", Files.readString(file));
+    }
+
+    @Test
+    void shouldWriteTheBodyToATemporaryFileWhenThereIsNoSaveToParameter() throws IOException {
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> CompletableFuture
+                        .completedFuture(respondWith(invocation, HttpURLConnection.HTTP_OK, "binary")));
+        var service = httpProcessor.createProxy(ITest.AsyncService.class);
+
+        var file = service.downloadDemo(100).join();
+        assertEquals("binary", Files.readString(file));
+        Files.delete(file);
+    }
+
+    @Test
+    void shouldReturnTheBodyInADirectBufferWhenMethodReturnTypeIsAByteBuffer()
+            throws IOException, InterruptedException {
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK, "binary"))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_NOT_FOUND, "Not found"));
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+
+        var buffer = service.getDemoBuffer(100);
+        assertTrue(buffer.isDirect());
+        assertEquals("binary", StandardCharsets.UTF_8.decode(buffer).toString());
+        var exception = assertThrows(HttpResponseException.class, () -> service.getDemoBuffer(100));
+        assertEquals("Not found", exception.getBody());
+    }
+
+    @Test
+    void shouldReadTheBodyFromAChannelWhenMethodReturnTypeIsAReadableByteChannel() throws IOException {
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> CompletableFuture
+                        .completedFuture(respondWith(invocation, HttpURLConnection.HTTP_OK, "binary")));
+        var service = httpProcessor.createProxy(ITest.AsyncService.class);
+
+        try (var channel = service.getDemoChannel(100).join()) {
+            var buffer = ByteBuffer.allocateDirect(16);
+            while (channel.read(buffer) >= 0) {
+                // Read up to the end of the body.
+            }
+            assertEquals("binary", StandardCharsets.UTF_8.decode(buffer.flip()).toString());
+        }
+    }
+
+    @Test
+    void shouldPublishTheBuffersOfTheBodyWhenMethodReturnTypeIsAPublisherOfByteBuffer() {
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_OK, "application/json", "[binary]", null)));
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+
+        var buffers = collect(service.getDemoBufferPublisher(100)).join();
+        assertEquals(1, buffers.size());
+        assertEquals("[binary]", StandardCharsets.UTF_8.decode(buffers.get(0)).toString());
+    }
+
+    @Test
+    void shouldDownloadTheFileInPartsAndRetryTheFailedOne(@TempDir Path directory) {
+        var content = "0123456789abcdefghij";
+        var requests = new ArrayList<HttpRequest>();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    synchronized (requests) {
+                        requests.add(invocation.getArgument(0));
+                    }
+                    return respondWithRange(invocation, content, "bytes=7-13");
+                });
+        var service = httpProcessor.createProxy(ITest.AsyncService.class);
+        var file = directory.resolve("model.bin");
+
+        assertEquals(file, service.downloadFile("model", file).join());
+        assertEquals(content, readString(file));
+        var ranges = requests.stream()
+                .map(request -> request.headers().firstValue("Range").orElse(request.method()))
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(List.of("HEAD", "bytes=0-6", "bytes=14-19", "bytes=7-13", "bytes=9-13"), ranges);
+        assertTrue(requests.stream()
+                .filter(request -> request.headers().firstValue("Range").isPresent())
+                .allMatch(request -> request.headers().firstValue("If-Range").orElse("").equals("\"v1\"")));
+    }
+
+    @Test
+    void shouldFailThePartWhoseRangeDoesNotStartWhereItWasAsked(@TempDir Path directory) {
+        var content = "0123456789abcdefghij";
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> respondWithRange(invocation, content, "bytes=7-13", "bytes=9-13", 2));
+        var service = httpProcessor.createProxy(ITest.AsyncService.class);
+        var file = directory.resolve("model.bin");
+
+        var download = service.downloadFile("model", file);
+        var exception = assertThrows(CompletionException.class, () -> download.join());
+        assertTrue(exception.getCause().getMessage().contains("from byte 7 instead of 9"));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void shouldDownloadTheFileInOneRequestWhenTheServerHasNotRanges(@TempDir Path directory) {
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    HttpRequest request = invocation.getArgument(0);
+                    if ("HEAD".equals(request.method())) {
+                        HttpResponse<Object> head = mock(HttpResponse.class);
+                        when(head.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+                        when(head.headers()).thenReturn(headersOf("Content-Length", "20"));
+                        return CompletableFuture.completedFuture(head);
+                    }
+                    return CompletableFuture.completedFuture(
+                            respondWith(invocation, HttpURLConnection.HTTP_OK, "0123456789abcdefghij"));
+                });
+        var service = httpProcessor.createProxy(ITest.AsyncService.class);
+        var file = directory.resolve("model.bin");
+
+        assertEquals("0123456789abcdefghij", readString(service.downloadFile("model", file).join()));
+        verify(httpClient, times(2)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void shouldResumeTheBodyFromTheLastByteReadWhenTheInputStreamFails() throws IOException, InterruptedException {
+        var requests = new ArrayList<HttpRequest>();
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    HttpRequest request = invocation.getArgument(0);
+                    requests.add(request);
+                    HttpResponse<InputStream> response = mock(HttpResponse.class);
+                    if (request.headers().firstValue("Range").isEmpty()) {
+                        when(response.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+                        when(response.headers()).thenReturn(headersOf("ETag", "\"v1\""));
+                        when(response.body()).thenReturn(new SequenceInputStream(
+                                new ByteArrayInputStream("0123".getBytes(StandardCharsets.UTF_8)), failingStream()));
+                    } else {
+                        when(response.statusCode()).thenReturn(HttpURLConnection.HTTP_PARTIAL);
+                        when(response.headers()).thenReturn(headersOf("Content-Range", "bytes 4-9/10"));
+                        when(response.body()).thenReturn(
+                                new ByteArrayInputStream("456789".getBytes(StandardCharsets.UTF_8)));
+                    }
+                    return response;
+                });
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+
+        try (var body = service.readFile("model")) {
+            assertEquals("0123456789", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(2, requests.size());
+        assertEquals("bytes=4-", requests.get(1).headers().firstValue("Range").orElse(null));
+        assertEquals("\"v1\"", requests.get(1).headers().firstValue("If-Range").orElse(null));
+    }
+
+    @Test
+    void shouldRetryTheResumedBodyWhenTheServerFailsAndGiveUpOnClientErrors()
+            throws IOException, InterruptedException {
+        var requests = new ArrayList<HttpRequest>();
+        var rangeStatuses = new ArrayList<>(List.of(HttpURLConnection.HTTP_UNAVAILABLE, HttpURLConnection.HTTP_PARTIAL,
+                416));
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    HttpRequest request = invocation.getArgument(0);
+                    requests.add(request);
+                    HttpResponse<InputStream> response = mock(HttpResponse.class);
+                    var status = request.headers().firstValue("Range").isEmpty() ? HttpURLConnection.HTTP_OK
+                            : rangeStatuses.remove(0);
+                    when(response.statusCode()).thenReturn(status);
+                    if (status == HttpURLConnection.HTTP_OK) {
+                        when(response.headers()).thenReturn(headersOf("ETag", "\"v1\""));
+                        when(response.body()).thenReturn(new SequenceInputStream(
+                                new ByteArrayInputStream("0123".getBytes(StandardCharsets.UTF_8)), failingStream()));
+                    } else if (status == HttpURLConnection.HTTP_PARTIAL) {
+                        when(response.headers()).thenReturn(headersOf("Content-Range", "bytes 4-9/10"));
+                        when(response.body()).thenReturn(new SequenceInputStream(
+                                new ByteArrayInputStream("45".getBytes(StandardCharsets.UTF_8)), failingStream()));
+                    } else {
+                        when(response.headers()).thenReturn(HttpHeaders.of(Map.of(), (n, v) -> true));
+                        when(response.body()).thenReturn(
+                                new ByteArrayInputStream("error".getBytes(StandardCharsets.UTF_8)));
+                    }
+                    return response;
+                });
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+
+        try (var body = service.readFile("model")) {
+            var bytes = new byte[6];
+            assertEquals(4, body.read(bytes, 0, 4));
+            assertEquals(2, body.read(bytes, 4, 2));
+            assertEquals("012345", new String(bytes, StandardCharsets.UTF_8));
+            assertThrows(IOException.class, () -> body.read(bytes, 0, 1));
+        }
+        assertEquals(4, requests.size());
+    }
+
+    @Test
+    void shouldResumeTheDownloadIntoTheSameFileAndReportItsProgress(@TempDir Path directory) {
+        var content = "0123456789";
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    HttpRequest request = invocation.getArgument(0);
+                    var range = request.headers().firstValue("Range");
+                    HttpResponse.BodyHandler<Object> bodyHandler = invocation.getArgument(1);
+                    var responseInfo = mock(HttpResponse.ResponseInfo.class);
+                    HttpResponse<Object> response = mock(HttpResponse.class);
+                    if (range.isEmpty()) {
+                        when(responseInfo.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+                        when(responseInfo.headers()).thenReturn(HttpHeaders.of(Map.of("Content-Length",
+                                List.of("10"), "ETag", List.of("\"v1\"")), (n, v) -> true));
+                    } else {
+                        assertEquals("bytes=6-", range.get());
+                        when(responseInfo.statusCode()).thenReturn(HttpURLConnection.HTTP_PARTIAL);
+                        when(responseInfo.headers()).thenReturn(headersOf("Content-Range", "bytes 6-9/10"));
+                        when(response.statusCode()).thenReturn(HttpURLConnection.HTTP_PARTIAL);
+                    }
+                    var bodySubscriber = bodyHandler.apply(responseInfo);
+                    bodySubscriber.onSubscribe(mock(Flow.Subscription.class));
+                    var chunk = range.isEmpty() ? content.substring(0, 4) : content.substring(6);
+                    bodySubscriber.onNext(List.of(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+                    if (range.isEmpty()) {
+                        bodySubscriber.onNext(List.of(ByteBuffer.wrap("45".getBytes(StandardCharsets.UTF_8))));
+                        bodySubscriber.onError(new IOException("Connection reset"));
+                        return bodySubscriber.getBody().toCompletableFuture().thenApply(body -> response);
+                    }
+                    bodySubscriber.onComplete();
+                    when(response.body()).thenReturn(bodySubscriber.getBody().toCompletableFuture().join());
+                    return CompletableFuture.completedFuture(response);
+                });
+        var service = httpProcessor.createProxy(ITest.AsyncService.class);
+        var file = directory.resolve("model.bin");
+        var progress = new ArrayList<String>();
+
+        var downloaded = service.resumeFile("model", file, (received, total) -> progress.add(received + "/" + total));
+        assertEquals(content, readString(downloaded.join()));
+        assertEquals(List.of("4/10", "6/10", "10/10"), progress);
+        verify(httpClient, times(2)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void shouldRecordTheStreamInTheJournalWhenMethodHasTee(@TempDir Path directory)
+            throws IOException, InterruptedException {
+        var body = "event: created\ndata: {\"id\":1,\"description\":\"One\",\"active\":true}\n\n";
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK, body));
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        assertThrows(CleverClientException.class, () -> service.getRecordedStreamEvent());
+
+        var journal = StreamJournal.builder().directory(directory).build();
+        var processor = HttpProcessor.builder()
+                .baseUrl("https://api.demo")
+                .headers(List.of())
+                .httpClient(httpClient)
+                .options(ClientOptions.builder().journal(journal).build())
+                .build();
+        var events = processor.createProxy(ITest.SyncService.class).getRecordedStreamEvent()
+                .collect(Collectors.toList());
+        journal.close();
+
+        assertEquals(new ITest.Demo(1, "One", true), events.get(0).getData());
+        assertNull(events.get(0).getRawData());
+        var recorded = StreamJournal.replay(directory, null);
+        assertEquals(1, recorded.size());
+        assertTrue(recorded.get(0).getLabel().contains("getRecordedStreamEvent"));
+        assertEquals(body, new String(recorded.get(0).getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldDecodeTheEventDataOnDemandWhenMethodHasLazyEvents() throws IOException, InterruptedException {
+        when(httpClient.send(any(HttpRequest.class), any(ServerSentEventBodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK,
+                        "event: created\ndata: {\"id\":1,\"description\":\"One\",\"active\":true}\n\n"
+                                + "event: created\ndata: {not json}\n\n"));
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var events = service.getLazyStreamEvent().collect(Collectors.toList());
+
+        assertEquals("{not json}", events.get(1).getRawDataAsString());
+        assertTrue(events.get(1).toString().contains("data=null"));
+        assertNotEquals(events.get(0), events.get(1));
+        var data = events.get(0).getData();
+        assertEquals(new ITest.Demo(1, "One", true), data);
+        assertSame(data, events.get(0).getData());
+        assertThrows(CleverClientException.class, () -> events.get(1).getData());
+    }
+
+    @Test
+    void shouldFailTheStreamWhenNoDataArrivesForTheIdleTimeout() throws IOException, InterruptedException {
+        var subscription = mock(Flow.Subscription.class);
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    HttpResponse.BodyHandler<Object> bodyHandler = invocation.getArgument(1);
+                    var responseInfo = mock(HttpResponse.ResponseInfo.class);
+                    when(responseInfo.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+                    when(responseInfo.headers()).thenReturn(HttpHeaders.of(Map.of(), (n, v) -> true));
+                    var bodySubscriber = bodyHandler.apply(responseInfo);
+                    bodySubscriber.onSubscribe(subscription);
+                    HttpResponse<Object> response = mock(HttpResponse.class);
+                    when(response.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+                    when(response.body()).thenReturn(bodySubscriber.getBody().toCompletableFuture().join());
+                    return response;
+                });
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var stream = service.getTimedStreamEvent();
+        var exception = assertThrows(StreamTimeoutException.class, () -> stream.findFirst());
+        assertTrue(exception.isIdle());
+        verify(subscription).cancel();
+    }
+
+    @Test
+    void shouldCancelTheExchangeWhenTheFutureOfAStreamIsCancelled() {
+        var httpResponseFuture = new CompletableFuture<HttpResponse<Object>>();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(httpResponseFuture);
+
+        var service = httpProcessor.createProxy(ITest.AsyncService.class);
+        var futureStream = service.getDemoStream(new ITest.RequestDemo("Descr", null));
+        futureStream.cancel(true);
+
+        assertTrue(httpResponseFuture.isCancelled());
+    }
+
+    @Test
+    void shouldPublishElementsOnDemandWhenMethodReturnTypeIsAPublisher() {
+        var demos = "[{\"id\":1,\"description\":\"One\",\"active\":true},"
+                + "{\"id\":2,\"description\":\"Two\",\"active\":true}]";
+        var lines = "{\"id\":1,\"description\":\"One\",\"active\":true}\n"
+                + "{\"id\":2,\"description\":\"Two\",\"active\":true}\n";
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_OK, "application/json", demos, null)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_OK, "application/x-ndjson", lines, null)));
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var expectedDemos = List.of(new ITest.Demo(1, "One", true), new ITest.Demo(2, "Two", true));
+        assertEquals(expectedDemos, collect(service.getDemoPublisher()).join());
+        assertEquals(expectedDemos, collect(service.getDemoPublisher()).join());
+    }
+
+    @Test
+    void shouldShareOneRequestAmongTheSubscribersWhenMethodIsMulticast() {
+        var invocation = new AtomicReference<InvocationOnMock>();
+        var httpResponseFuture = new CompletableFuture<HttpResponse<Object>>();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(call -> {
+                    invocation.set(call);
+                    return httpResponseFuture;
+                });
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var firstDemos = collect(service.getSharedDemoPublisher());
+        var secondDemos = collect(service.getSharedDemoPublisher());
+        httpResponseFuture.complete(respondWith(invocation.get(), HttpURLConnection.HTTP_OK,
+                "application/x-ndjson", "{\"id\":1,\"description\":\"One\",\"active\":true}\n", null));
+
+        verify(httpClient, times(1)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        var expectedDemos = List.of(new ITest.Demo(1, "One", true));
+        assertEquals(expectedDemos, firstDemos.join());
+        assertEquals(expectedDemos, secondDemos.join());
+    }
+
+    @Test
+    void shouldPublishEventsWhenMethodReturnTypeIsAPublisherOfEvent() {
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_OK, "text/event-stream",
+                        "event: created\ndata: {\"id\":1,\"description\":\"One\",\"active\":true}\n\n", null)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_NOT_FOUND, "application/json", "{\"error\":\"Not found\"}", null)));
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var events = collect(service.getEventPublisher()).join();
+        assertEquals("created", events.get(0).getName());
+        assertEquals(new ITest.Demo(1, "One", true), events.get(0).getData());
+
+        var futureEvents = collect(service.getEventPublisher());
+        var exception = assertThrows(CompletionException.class, () -> futureEvents.join());
+        assertTrue(exception.getCause() instanceof HttpResponseException);
+    }
+
+    @Test
+    void shouldDeliverElementsToTheListenerWhenMethodReceivesAnEventListener() {
+        var demos = "[{\"id\":1,\"description\":\"One\",\"active\":true},"
+                + "{\"id\":2,\"description\":\"Two\",\"active\":true}]";
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_OK, "application/json", demos, null)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_OK, "text/event-stream",
+                        "event: created\ndata: {\"id\":1,\"description\":\"One\",\"active\":true}\n\n", null)));
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var receivedDemos = new ArrayList<ITest.Demo>();
+        var completed = new CompletableFuture<Void>();
+        service.listenDemos(new EventListener<>() {
+
+            @Override
+            public void onEvent(ITest.Demo demo) {
+                receivedDemos.add(demo);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.complete(null);
+            }
+
+        });
+        completed.join();
+        assertEquals(List.of(new ITest.Demo(1, "One", true), new ITest.Demo(2, "Two", true)), receivedDemos);
+
+        var receivedEvents = new ArrayList<Event>();
+        var handle = service.listenEvents(1, receivedEvents::add);
+        handle.completion().join();
+        assertTrue(handle.isDone());
+        assertEquals("created", receivedEvents.get(0).getName());
+        assertEquals(new ITest.Demo(1, "One", true), receivedEvents.get(0).getData());
+    }
+
+    @Test
+    void shouldHandTheElementsInBatchesWhenMethodReceivesABatchListener() {
+        var demos = "{\"id\":1,\"description\":\"One\",\"active\":true}\n"
+                + "{\"id\":2,\"description\":\"Two\",\"active\":true}\n"
+                + "{\"id\":3,\"description\":\"Three\",\"active\":true}\n";
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_OK, "application/x-ndjson", demos, null)));
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var batchSizes = new ArrayList<Integer>();
+        var handle = service.listenDemoBatches(batch -> batchSizes.add(batch.size()));
+        handle.completion().join();
+
+        assertEquals(List.of(2, 1), batchSizes);
+    }
+
+    @Test
+    void shouldFoldTheElementsIntoTheResultWhenMethodIsAnnotatedWithStreamReduce() {
+        var lines = "{\"id\":1,\"description\":\"One\",\"active\":true}\n"
+                + "{\"id\":2,\"description\":\"Two\",\"active\":true}\n";
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_OK, "text/event-stream",
+                        "data: {\"id\":1,\"description\":\"One\",\"active\":true}\n\n"
+                                + "data: {\"id\":2,\"description\":\"Two\",\"active\":true}\n\n",
+                        null)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_OK, "application/x-ndjson", lines, null)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_NOT_FOUND, "application/json", "{\"error\":\"Not found\"}", null)));
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        assertEquals("OneTwo", service.reduceDemos());
+
+        var accumulator = new ITest.DemoAccumulator();
+        assertEquals("OneTwo", service.reduceDemos(accumulator).join());
+        assertEquals("OneTwo", accumulator.result());
+
+        assertThrows(HttpResponseException.class, () -> service.reduceDemos());
+
+        Exception exception = assertThrows(CleverClientException.class, () -> service.reduceDemos(null));
+        assertTrue(exception.getMessage().startsWith("The StreamAccumulator argument of "));
+        assertTrue(exception.getMessage().contains("reduceDemos"));
+    }
+
+    @Test
+    void shouldStopTheDeliveryWhenTheStreamHandleIsCancelled() {
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_OK, "text/event-stream",
+                        "event: created\ndata: {\"id\":1,\"description\":\"One\",\"active\":true}\n\n"
+                                + "event: created\ndata: {\"id\":2,\"description\":\"Two\",\"active\":true}\n\n",
+                        null)));
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var receivedEvents = new ArrayList<Event>();
+        var handle = new AtomicReference<StreamHandle>();
+        handle.set(service.listenEvents(1, event -> {
+            receivedEvents.add(event);
+            handle.get().cancel();
+        }));
+        assertTrue(handle.get().isDone());
+        assertEquals(1, receivedEvents.size());
+    }
+
     @Test
     void shouldReturnAStringAsyncWhenMethodReturnTypeIsAString() {
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofString().getClass())))
@@ -312,11 +950,10 @@ class HttpProcessorTest {
 
     @Test
     void shouldReturnAStreamAsyncWhenMethodReturnTypeIsAStream() {
-        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofLines().getClass())))
-                .thenReturn(CompletableFuture.completedFuture(httpResponseStream));
-        when(httpResponseStream.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
-        when(httpResponseStream.body())
-                .thenReturn(Stream.of("data: {\"id\":100,\"description\":\"Description\",\"active\":true}"));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(ServerSentEventBodyHandler.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_OK,
+                        "data: {\"id\":100,\"description\":\"Description\",\"active\":true}\r\n\r\ndata: END\r\n\r\n")));
 
         var service = httpProcessor.createProxy(ITest.AsyncService.class);
         var actualStreamDemo = service.getDemoStream(new ITest.RequestDemo("Descr", null)).join();
@@ -328,12 +965,10 @@ class HttpProcessorTest {
 
     @Test
     void shouldReturnAStreamAsyncWhenMethodReturnTypeIsAStreamEvent() {
-        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofLines().getClass())))
-                .thenReturn(CompletableFuture.completedFuture(httpResponseStream));
-        when(httpResponseStream.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
-        when(httpResponseStream.body())
-                .thenReturn(Stream.of("event: created",
-                        "data: {\"id\":100,\"description\":\"Description\",\"active\":true}"));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(ServerSentEventBodyHandler.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_OK,
+                        "event: ignored\ndata: {}\n\nevent: created\ndata: {\"id\":100,\"description\":\"Description\",\"active\":true}\n\n")));
 
         var service = httpProcessor.createProxy(ITest.AsyncService.class);
         var actualStreamObject = service.getStreamEvent(new ITest.RequestDemo("Descr", null)).join();
@@ -358,6 +993,110 @@ class HttpProcessorTest {
         assertEquals(expectedDemo, actualDemo);
     }
 
+    @Test
+    void shouldDigestTheFilesOfTheMultipartBodyWhileTheyAreSent() throws IOException {
+        var requestBody = new AtomicReference<CompletableFuture<Long>>();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofString().getClass())))
+                .thenAnswer(invocation -> {
+                    HttpRequest request = invocation.getArgument(0);
+                    requestBody.set(sizeOf(request.bodyPublisher().orElseThrow()));
+                    return CompletableFuture.completedFuture(httpResponse);
+                });
+        when(httpResponse.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        when(httpResponse.body()).thenReturn("{\"id\":100,\"description\":\"Description\",\"active\":true}");
+        var file = Paths.get("src/test/resources/image.png");
+        var digest = TransferDigest.forRequest(TransferDigest.SHA_256).expectSize(Files.size(file));
+
+        var service = httpProcessor.createProxy(ITest.AsyncService.class);
+        service.uploadFile(new ITest.RequestDemo("Descr", file), digest).join();
+
+        assertTrue(requestBody.get().join() > Files.size(file));
+        assertEquals(Files.size(file), digest.getSize());
+        assertEquals(64, digest.getHex().length());
+    }
+
+    @Test
+    void shouldSendTheStreamedBodiesAsTheyAreRead() throws IOException {
+        var requests = new ArrayList<HttpRequest>();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofString().getClass())))
+                .thenAnswer(invocation -> {
+                    requests.add(invocation.getArgument(0));
+                    return CompletableFuture.completedFuture(httpResponse);
+                });
+        when(httpResponse.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        when(httpResponse.body()).thenReturn("{\"id\":100,\"description\":\"Description\",\"active\":true}");
+        var image = Paths.get("src/test/resources/image.png");
+        var service = httpProcessor.createProxy(ITest.AsyncService.class);
+
+        service.sendContent(new ByteArrayInputStream("binary".getBytes(StandardCharsets.UTF_8))).join();
+        service.sendImage(image).join();
+        service.sendDemos(Stream.of(new ITest.RequestDemo("one", null), new ITest.RequestDemo("two", null)))
+                .join();
+        service.sendDemoLines(Stream.of(new ITest.RequestDemo("one", null), new ITest.RequestDemo("two", null)))
+                .join();
+
+        assertEquals("application/octet-stream", requests.get(0).headers().firstValue("Content-Type").orElse(null));
+        assertEquals(-1, requests.get(0).bodyPublisher().orElseThrow().contentLength());
+        assertEquals("binary", bodyOf(requests.get(0)));
+        assertEquals("image/png", requests.get(1).headers().firstValue("Content-Type").orElse(null));
+        assertEquals(Files.size(image), requests.get(1).bodyPublisher().orElseThrow().contentLength());
+        assertEquals("application/json", requests.get(2).headers().firstValue("Content-Type").orElse(null));
+        assertEquals("[{\"prefix\":\"one\",\"file\":null},{\"prefix\":\"two\",\"file\":null}]",
+                bodyOf(requests.get(2)));
+        assertEquals("application/x-ndjson", requests.get(3).headers().firstValue("Content-Type").orElse(null));
+        assertEquals("{\"prefix\":\"one\",\"file\":null}\n{\"prefix\":\"two\",\"file\":null}\n",
+                bodyOf(requests.get(3)));
+    }
+
+    @Test
+    void shouldLimitTheBandwidthOfTheRequestBodyOfTheMethod() {
+        var requestBody = new AtomicReference<String>();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    requestBody.set(bodyOf(invocation.getArgument(0)));
+                    return CompletableFuture.completedFuture(httpResponse);
+                });
+        when(httpResponse.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        when(httpResponse.body()).thenReturn("{\"id\":100,\"description\":\"Description\",\"active\":true}");
+        // 64 KB at 100 KB per second with a burst of 8 KB, whatever the chunks of the InputStream are.
+        var content = "x".repeat(8 * 8192);
+        var service = httpProcessor.createProxy(ITest.AsyncService.class);
+
+        var start = System.nanoTime();
+        service.sendThrottled(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))).join();
+        var elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(content, requestBody.get());
+        assertTrue(elapsed >= 300, "Elapsed " + elapsed + " ms");
+    }
+
+    @Test
+    void shouldKeepTheFileWhenTheDigestOfTheDownloadIsNotTheExpectedOne(@TempDir Path directory)
+            throws IOException, InterruptedException {
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    try {
+                        return respondWith(invocation, HttpURLConnection.HTTP_OK, "binary");
+                    } catch (CompletionException e) {
+                        // As the HttpClient does when the body fails.
+                        throw new IOException(e.getCause().getMessage(), e.getCause());
+                    }
+                });
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var file = Files.writeString(directory.resolve("demo.bin"), "previous");
+
+        var digest = TransferDigest.forResponse(TransferDigest.CRC32C).expect("00000000");
+        var exception = assertThrows(CleverClientException.class,
+                () -> service.downloadCheckedDemo(100, file, digest));
+        assertNotNull(TransferVerificationException.causeOf(exception));
+        assertEquals("previous", Files.readString(file));
+        assertFalse(Files.exists(directory.resolve("demo.bin.part")));
+
+        var checked = TransferDigest.forResponse(TransferDigest.CRC32C).expect(digest.getHex()).expectSize(6);
+        assertEquals(file, service.downloadCheckedDemo(100, file, checked));
+        assertEquals("binary", Files.readString(file));
+    }
+
     @Test
     void shouldThrownExceptionWhenCallingNoStreamingMethodAndServerRespondsWithError() {
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofString().getClass())))
@@ -375,11 +1114,10 @@ class HttpProcessorTest {
 
     @Test
     void shouldThrownExceptionWhenCallingStreamingMethodAndServerRespondsWithError() {
-        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofLines().getClass())))
-                .thenReturn(CompletableFuture.completedFuture(httpResponseStream));
-        when(httpResponseStream.statusCode()).thenReturn(HttpURLConnection.HTTP_NOT_FOUND);
-        when(httpResponseStream.body()).thenReturn(Stream.of(
-                "{\"error\": {\"message\": \"The resource does not exist\", \"type\": \"T\", \"param\": \"P\", \"code\": \"C\"}}"));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(ServerSentEventBodyHandler.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(respondWith(invocation,
+                        HttpURLConnection.HTTP_NOT_FOUND,
+                        "{\"error\": {\"message\": \"The resource does not exist\", \"type\": \"T\", \"param\": \"P\", \"code\": \"C\"}}")));
 
         var service = httpProcessor.createProxy(ITest.AsyncService.class);
         var futureService = service.getDemoStream(new ITest.RequestDemo("Descr", null));
@@ -404,6 +1142,147 @@ class HttpProcessorTest {
         assertTrue(exception.getMessage().contains("The resource does not exist"));
     }
 
+    @Test
+    void shouldThrownHttpResponseExceptionWithStatusAndDecodableBodyWhenServerRespondsWithError() {
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofString().getClass())))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+        when(httpResponse.statusCode()).thenReturn(HttpURLConnection.HTTP_NOT_FOUND);
+        when(httpResponse.headers()).thenReturn(headersOf("Content-Type", "application/json"));
+        when(httpResponse.body()).thenReturn("{\"id\":0,\"description\":\"Not found\",\"active\":false}");
+
+        var service = httpProcessor.createProxy(ITest.AsyncService.class);
+        var futureService = service.getDemo(100);
+        var exception = assertThrows(CompletionException.class, () -> futureService.join());
+        var responseException = (HttpResponseException) exception.getCause();
+        assertEquals(HttpURLConnection.HTTP_NOT_FOUND, responseException.getStatusCode());
+        assertEquals("application/json", responseException.getHeaders().firstValue("Content-Type").get());
+        var errorDemo = responseException.getBodyAs(ITest.Demo.class);
+        assertEquals(new ITest.Demo(0, "Not found", false), errorDemo);
+        assertSame(errorDemo, responseException.getBodyAs(ITest.Demo.class));
+    }
+
+    @Test
+    void shouldLimitTheErrorBodyWhenMaxErrorBodySizeIsSet() {
+        var processor = HttpProcessor.builder()
+                .baseUrl("https://api.demo")
+                .headers(List.of())
+                .httpClient(httpClient)
+                .options(ClientOptions.builder().maxErrorBodySize(10).build())
+                .build();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponseStream));
+        when(httpResponseStream.statusCode()).thenReturn(HttpURLConnection.HTTP_INTERNAL_ERROR);
+        when(httpResponseStream.body()).thenReturn(Stream.of("0123456789", "abcdefghij", "klmnopqrst"));
+
+        var service = processor.createProxy(ITest.AsyncService.class);
+        var futureService = service.getDemoStream(new ITest.RequestDemo("Descr", null));
+        var exception = assertThrows(CompletionException.class, () -> futureService.join());
+        var responseException = (HttpResponseException) exception.getCause();
+        assertEquals(HttpURLConnection.HTTP_INTERNAL_ERROR, responseException.getStatusCode());
+        assertEquals("0123456789", responseException.getBody());
+    }
+
+    @Test
+    void shouldParseBigBodiesFromDiskAndFailTheOnesOverTheMaxBodySize() throws IOException, InterruptedException {
+        var processor = HttpProcessor.builder()
+                .baseUrl("https://api.demo")
+                .headers(List.of())
+                .httpClient(httpClient)
+                .options(ClientOptions.builder().spillThreshold(16).maxBodySize(1024).build())
+                .build();
+        var demo = "{\"id\":100,\"description\":\"Description\",\"active\":true}";
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK, "[" + demo + "]"))
+                .thenAnswer(invocation -> {
+                    try {
+                        var demos = String.join(",", Collections.nCopies(20, demo));
+                        return respondWith(invocation, HttpURLConnection.HTTP_OK, "[" + demos + "]");
+                    } catch (CompletionException e) {
+                        // As the HttpClient does when the body fails.
+                        throw new IOException(e.getCause().getMessage(), e.getCause());
+                    }
+                });
+
+        var service = processor.createProxy(ITest.SyncService.class);
+        assertEquals(List.of(new ITest.Demo(100, "Description", true)), service.getDemos());
+        var exception = assertThrows(CleverClientException.class, () -> service.getDemos());
+        assertEquals(1024, BodyTooLargeException.causeOf(exception).getMaxSize());
+    }
+
+    @Test
+    void shouldIgnoreUnknownFieldsOfTheBodiesSpilledToDisk() throws IOException, InterruptedException {
+        var processor = HttpProcessor.builder()
+                .baseUrl("https://api.demo")
+                .headers(List.of())
+                .httpClient(httpClient)
+                .options(ClientOptions.builder().spillThreshold(16).build())
+                .build();
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> respondWith(invocation, HttpURLConnection.HTTP_OK,
+                        "{\"id\":100,\"description\":\"Description\",\"active\":true,\"extra\":true}"));
+
+        var service = processor.createProxy(ITest.SyncService.class);
+        assertEquals(new ITest.Demo(100, "Description", true), service.getDemo(100));
+    }
+
+    @Test
+    void shouldReturnResultWithValueOrErrorWhenMethodReturnTypeIsAResult() throws IOException, InterruptedException {
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofByteArray().getClass())))
+                .thenReturn(httpResponseBytes);
+        when(httpResponseBytes.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        when(httpResponseBytes.headers()).thenReturn(headersOf("Content-Type", "application/json"));
+        when(httpResponseBytes.body())
+                .thenReturn("{\"id\":100,\"description\":\"Description\",\"active\":true}".getBytes());
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var result = service.getDemoResult(100);
+        assertTrue(result.isSuccess());
+        assertEquals(new ITest.Demo(100, "Description", true), result.getValue());
+
+        when(httpResponseBytes.statusCode()).thenReturn(HttpURLConnection.HTTP_UNAVAILABLE);
+        when(httpResponseBytes.body())
+                .thenReturn("{\"id\":0,\"description\":\"Try later\",\"active\":false}".getBytes());
+        result = service.getDemoResult(100);
+        assertFalse(result.isSuccess());
+        assertNull(result.getValue());
+        assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, result.getStatusCode());
+        assertEquals(new ITest.Demo(0, "Try later", false), result.getErrorAs(ITest.Demo.class));
+    }
+
+    @Test
+    void shouldReturnAsyncResultWhenMethodReturnTypeIsAFutureOfResult() {
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofByteArray().getClass())))
+                .thenReturn(CompletableFuture.completedFuture(httpResponseBytes));
+        when(httpResponseBytes.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        when(httpResponseBytes.headers()).thenReturn(headersOf("Content-Type", "application/json"));
+        when(httpResponseBytes.body())
+                .thenReturn("[{\"id\":100,\"description\":\"Description\",\"active\":true}]".getBytes());
+
+        var service = httpProcessor.createProxy(ITest.AsyncService.class);
+        var result = service.getDemosResult().join();
+        assertEquals(List.of(new ITest.Demo(100, "Description", true)), result.getValue());
+    }
+
+    @Test
+    void shouldThrownExceptionWithoutStackTraceWhenLightweightErrorsIsSet() {
+        var processor = HttpProcessor.builder()
+                .baseUrl("https://api.demo")
+                .headers(List.of())
+                .httpClient(httpClient)
+                .options(ClientOptions.builder().lightweightErrors(true).build())
+                .build();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofString().getClass())))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+        when(httpResponse.statusCode()).thenReturn(HttpURLConnection.HTTP_NOT_FOUND);
+        when(httpResponse.body()).thenReturn("Not found");
+
+        var service = processor.createProxy(ITest.AsyncService.class);
+        var futureService = service.getDemo(100);
+        var exception = assertThrows(CompletionException.class, () -> futureService.join());
+        assertEquals(0, exception.getCause().getStackTrace().length);
+        assertTrue(exception.getCause().getMessage().contains("Not found"));
+    }
+
     @Test
     void shouldExecuteDefaultMethodWhenItIsCalled() {
         var service = httpProcessor.createProxy(ITest.AsyncService.class);
@@ -413,4 +1292,310 @@ class HttpProcessorTest {
         assertEquals(expectedValue, actualValue);
     }
 
+    @Test
+    void shouldEncodeAndDecodeWithCodecWhenMethodHasItsMediaType() throws IOException, InterruptedException {
+        var processor = createCodecProcessor();
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofByteArray().getClass())))
+                .thenReturn(httpResponseBytes);
+        when(httpResponseBytes.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        when(httpResponseBytes.headers()).thenReturn(headersOf("Content-Type", "application/x-test"));
+        when(httpResponseBytes.body()).thenReturn(
+                "{\"id\":100,\"description\":\"Description\",\"active\":true}".getBytes(StandardCharsets.UTF_8));
+
+        var service = processor.createProxy(ITest.CodecService.class);
+        var actualDemo = service.createDemo(new ITest.RequestDemo("Descr", null));
+        var expectedDemo = new ITest.Demo(100, "Description", true);
+        assertEquals(expectedDemo, actualDemo);
+
+        var requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).send(requestCaptor.capture(), any());
+        var httpRequest = requestCaptor.getValue();
+        assertEquals("application/x-test", httpRequest.headers().firstValue("Content-Type").orElse(null));
+        assertEquals("application/x-test, application/json;q=0.5",
+                httpRequest.headers().firstValue("Accept").orElse(null));
+        assertEquals("{\"prefix\":\"Descr\",\"file\":null}", HttpRequestBodyTestUtility.extractBody(httpRequest));
+    }
+
+    @Test
+    void shouldDecodeAsJsonWhenServerRespondsWithJsonToCodecMethod() {
+        var processor = createCodecProcessor();
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofByteArray().getClass())))
+                .thenReturn(CompletableFuture.completedFuture(httpResponseBytes));
+        when(httpResponseBytes.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        when(httpResponseBytes.headers()).thenReturn(headersOf("Content-Type", "application/json; charset=utf-8"));
+        when(httpResponseBytes.body()).thenReturn(
+                "[{\"id\":100,\"description\":\"Description\",\"active\":true}]".getBytes(StandardCharsets.UTF_8));
+
+        var service = processor.createProxy(ITest.CodecService.class);
+        var actualDemo = service.getDemos().join().get(0);
+        var expectedDemo = new ITest.Demo(100, "Description", true);
+        assertEquals(expectedDemo, actualDemo);
+    }
+
+    @Test
+    void shouldSpillTheBigBodiesAndDecodeThemWithTheCodecWhenClientHasBoth() throws IOException,
+            InterruptedException {
+        var processor = HttpProcessor.builder()
+                .baseUrl("https://api.demo")
+                .headers(List.of())
+                .httpClient(httpClient)
+                .options(ClientOptions.builder()
+                        .codec("application/x-test", new JacksonCodec("application/x-test", new ObjectMapper()))
+                        .spillThreshold(16)
+                        .build())
+                .build();
+        var demo = "{\"id\":100,\"description\":\"Description\",\"active\":true}";
+        var bodies = new ArrayList<Object>();
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    var response = respondWith(invocation, HttpURLConnection.HTTP_OK, "application/x-test", demo,
+                            null);
+                    bodies.add(response.body());
+                    return response;
+                })
+                .thenAnswer(invocation -> {
+                    var response = respondWith(invocation, HttpURLConnection.HTTP_OK, "application/json", demo, null);
+                    bodies.add(response.body());
+                    return response;
+                });
+
+        var service = processor.createProxy(ITest.CodecService.class);
+        var expectedDemo = new ITest.Demo(100, "Description", true);
+        assertEquals(expectedDemo, service.createDemo(new ITest.RequestDemo("Descr", null)));
+        assertEquals(expectedDemo, service.createDemo(new ITest.RequestDemo("Descr", null)));
+        assertTrue(bodies.stream().allMatch(body -> ((SpooledBody) body).isSpilled()));
+    }
+
+    @Test
+    void shouldThrownExceptionWhenThereIsNoCodecForTheMediaType() {
+        var processor = createCodecProcessor();
+        var service = processor.createProxy(ITest.CodecService.class);
+        Exception exception = assertThrows(CleverClientException.class, () -> service.getUnknown());
+        assertEquals("There is no codec for the media type application/x-unknown.", exception.getMessage());
+    }
+
+    @Test
+    void shouldReturnOnlyThePointedValueWhenMethodIsAnnotatedWithExtract() throws IOException, InterruptedException {
+        var json = "{\"id\":1,\"listDemo\":[{\"id\":100,\"description\":\"Description\",\"active\":true}]}";
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofInputStream().getClass())))
+                .thenReturn(httpResponseBinary);
+        when(httpResponseBinary.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        when(httpResponseBinary.body()).thenReturn(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofByteArray().getClass())))
+                .thenReturn(CompletableFuture.completedFuture(httpResponseBytes));
+        when(httpResponseBytes.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        when(httpResponseBytes.body()).thenReturn(json.getBytes(StandardCharsets.UTF_8));
+
+        var service = httpProcessor.createProxy(ITest.SyncService.class);
+        var actualDemo = service.getFirstDemo(1);
+        var expectedDemo = new ITest.Demo(100, "Description", true);
+        assertEquals(expectedDemo, actualDemo);
+
+        var actualDescription = service.getFirstDescription(1).join();
+        assertEquals("Description", actualDescription);
+    }
+
+    @Test
+    void shouldThrownExceptionWhenTheResponseToExtractHasACodec() throws IOException, InterruptedException {
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandlers.ofInputStream().getClass())))
+                .thenReturn(httpResponseBinary);
+        when(httpResponseBinary.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+        when(httpResponseBinary.headers()).thenReturn(HttpHeaders.of(
+                Map.of("Content-Type", List.of("application/x-test")), (name, value) -> true));
+        when(httpResponseBinary.body()).thenReturn(new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+
+        var service = createCodecProcessor().createProxy(ITest.SyncService.class);
+        Exception exception = assertThrows(CleverClientException.class, () -> service.getFirstDemo(1));
+        assertTrue(exception.getMessage()
+                .endsWith("is annotated with Extract, but its response is application/x-test."));
+    }
+
+    private HttpProcessor createCodecProcessor() {
+        return HttpProcessor.builder()
+                .baseUrl("https://api.demo")
+                .headers(List.of())
+                .httpClient(httpClient)
+                .options(ClientOptions.builder()
+                        .codec("application/x-test", new JacksonCodec("application/x-test", new ObjectMapper()))
+                        .build())
+                .build();
+    }
+
+    private <T> HttpResponse<T> respondWith(InvocationOnMock invocation, int statusCode, String body) {
+        return respondWith(invocation, statusCode, body, null);
+    }
+
+    private <T> HttpResponse<T> respondWith(InvocationOnMock invocation, int statusCode, String body,
+            Throwable error) {
+        return respondWith(invocation, statusCode, null, body, error);
+    }
+
+    private <T> HttpResponse<T> respondWith(InvocationOnMock invocation, int statusCode, String contentType,
+            String body, Throwable error) {
+        HttpResponse.BodyHandler<T> bodyHandler = invocation.getArgument(1);
+        var responseInfo = mock(HttpResponse.ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(statusCode);
+        var headers = contentType == null ? HttpHeaders.of(Map.of(), (n, v) -> true)
+                : headersOf("Content-Type", contentType);
+        when(responseInfo.headers()).thenReturn(headers);
+        var bodySubscriber = bodyHandler.apply(responseInfo);
+        bodySubscriber.onSubscribe(mock(Flow.Subscription.class));
+        bodySubscriber.onNext(List.of(ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8))));
+        if (error != null) {
+            bodySubscriber.onError(error);
+        } else {
+            bodySubscriber.onComplete();
+        }
+        var responseBody = bodySubscriber.getBody().toCompletableFuture().join();
+        HttpResponse<T> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(statusCode);
+        when(response.headers()).thenReturn(headers);
+        when(response.body()).thenReturn(responseBody);
+        return response;
+    }
+
+    private CompletableFuture<HttpResponse<Object>> respondWithRange(InvocationOnMock invocation, String content,
+            String failingRange) {
+        return respondWithRange(invocation, content, failingRange, null, 0);
+    }
+
+    /**
+     * Responds to the HEAD request and to every range, failing the failingRange after its first two
+     * bytes, and sending the shiftedRange from the given number of bytes before its start.
+     */
+    private CompletableFuture<HttpResponse<Object>> respondWithRange(InvocationOnMock invocation, String content,
+            String failingRange, String shiftedRange, int shift) {
+        HttpRequest request = invocation.getArgument(0);
+        HttpResponse<Object> response = mock(HttpResponse.class);
+        if ("HEAD".equals(request.method())) {
+            when(response.statusCode()).thenReturn(HttpURLConnection.HTTP_OK);
+            when(response.headers()).thenReturn(HttpHeaders.of(Map.of("Content-Length",
+                    List.of(String.valueOf(content.length())), "Accept-Ranges", List.of("bytes"), "ETag",
+                    List.of("\"v1\"")), (n, v) -> true));
+            return CompletableFuture.completedFuture(response);
+        }
+        var range = request.headers().firstValue("Range").orElseThrow();
+        var bounds = range.substring("bytes=".length()).split("-");
+        var start = Integer.parseInt(bounds[0]);
+        if (range.equals(shiftedRange)) {
+            start -= shift;
+        }
+        var part = content.substring(start, Integer.parseInt(bounds[1]) + 1);
+        HttpResponse.BodyHandler<Object> bodyHandler = invocation.getArgument(1);
+        var responseInfo = mock(HttpResponse.ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(HttpURLConnection.HTTP_PARTIAL);
+        when(responseInfo.headers()).thenReturn(headersOf("Content-Range",
+                "bytes " + start + "-" + bounds[1] + "/" + content.length()));
+        var bodySubscriber = bodyHandler.apply(responseInfo);
+        bodySubscriber.onSubscribe(mock(Flow.Subscription.class));
+        if (range.equals(failingRange)) {
+            bodySubscriber.onNext(List.of(ByteBuffer.wrap(part.substring(0, 2).getBytes(StandardCharsets.UTF_8))));
+            bodySubscriber.onError(new IOException("Connection reset"));
+            return bodySubscriber.getBody().toCompletableFuture().thenApply(body -> response);
+        }
+        bodySubscriber.onNext(List.of(ByteBuffer.wrap(part.getBytes(StandardCharsets.UTF_8))));
+        bodySubscriber.onComplete();
+        when(response.statusCode()).thenReturn(HttpURLConnection.HTTP_PARTIAL);
+        // A failed body fails the future, as the HttpClient does.
+        var body = bodySubscriber.getBody().toCompletableFuture();
+        return body.thenApply(value -> {
+            when(response.body()).thenReturn(value);
+            return response;
+        });
+    }
+
+    private InputStream failingStream() {
+        return new InputStream() {
+
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+
+        };
+    }
+
+    private String readString(Path file) {
+        try {
+            return Files.readString(file);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private CompletableFuture<Long> sizeOf(Flow.Publisher<ByteBuffer> bodyPublisher) {
+        var future = new CompletableFuture<Long>();
+        bodyPublisher.subscribe(new Flow.Subscriber<ByteBuffer>() {
+
+            private long size;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                size += item.remaining();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(size);
+            }
+
+        });
+        return future;
+    }
+
+    private String bodyOf(HttpRequest request) {
+        var body = new StringBuilder();
+        for (var buffer : collect(request.bodyPublisher().orElseThrow()).join()) {
+            body.append(StandardCharsets.UTF_8.decode(buffer));
+        }
+        return body.toString();
+    }
+
+    private <T> CompletableFuture<List<T>> collect(Flow.Publisher<T> publisher) {
+        var future = new CompletableFuture<List<T>>();
+        publisher.subscribe(new Flow.Subscriber<T>() {
+
+            private final List<T> elements = new ArrayList<>();
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(T item) {
+                elements.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(elements);
+            }
+
+        });
+        return future;
+    }
+
+    private HttpHeaders headersOf(String name, String value) {
+        return HttpHeaders.of(Map.of(name, List.of(value)), (n, v) -> true);
+    }
+
 }
@@ -1,15 +1,34 @@
 package io.github.sashirestela.cleverclient.http;
 
+import io.github.sashirestela.cleverclient.BatchListener;
 import io.github.sashirestela.cleverclient.Event;
+import io.github.sashirestela.cleverclient.EventListener;
+import io.github.sashirestela.cleverclient.ProgressListener;
+import io.github.sashirestela.cleverclient.Result;
+import io.github.sashirestela.cleverclient.StreamAccumulator;
+import io.github.sashirestela.cleverclient.StreamHandle;
+import io.github.sashirestela.cleverclient.TransferDigest;
+import io.github.sashirestela.cleverclient.annotation.Bandwidth;
+import io.github.sashirestela.cleverclient.annotation.Batch;
 import io.github.sashirestela.cleverclient.annotation.Body;
+import io.github.sashirestela.cleverclient.annotation.Extract;
 import io.github.sashirestela.cleverclient.annotation.GET;
 import io.github.sashirestela.cleverclient.annotation.Header;
+import io.github.sashirestela.cleverclient.annotation.LazyEvents;
+import io.github.sashirestela.cleverclient.annotation.MediaType;
+import io.github.sashirestela.cleverclient.annotation.Multicast;
 import io.github.sashirestela.cleverclient.annotation.Multipart;
 import io.github.sashirestela.cleverclient.annotation.POST;
+import io.github.sashirestela.cleverclient.annotation.ParallelDownload;
 import io.github.sashirestela.cleverclient.annotation.Path;
 import io.github.sashirestela.cleverclient.annotation.Query;
 import io.github.sashirestela.cleverclient.annotation.Resource;
+import io.github.sashirestela.cleverclient.annotation.Resumable;
+import io.github.sashirestela.cleverclient.annotation.SaveTo;
+import io.github.sashirestela.cleverclient.annotation.StreamReduce;
+import io.github.sashirestela.cleverclient.annotation.StreamTimeout;
 import io.github.sashirestela.cleverclient.annotation.StreamType;
+import io.github.sashirestela.cleverclient.annotation.Tee;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -17,9 +36,12 @@ import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.stream.Stream;
 
 public interface ITest {
@@ -70,6 +92,22 @@ public interface ITest {
         @GET("/{demoId}")
         CompletableFuture<InputStream> getDemoBinary(@Path("demoId") Integer demoId);
 
+        @GET("/{demoId}")
+        CompletableFuture<java.nio.file.Path> downloadDemo(@Path("demoId") Integer demoId);
+
+        @GET("/{demoId}")
+        CompletableFuture<ReadableByteChannel> getDemoChannel(@Path("demoId") Integer demoId);
+
+        @GET("/files/{name}")
+        @ParallelDownload(connections = 3, minPartSize = 4, maxAttempts = 2, delay = 1)
+        CompletableFuture<java.nio.file.Path> downloadFile(@Path("name") String name,
+                @SaveTo java.nio.file.Path file);
+
+        @GET("/files/{name}")
+        @Resumable(maxAttempts = 2, delay = 1)
+        CompletableFuture<java.nio.file.Path> resumeFile(@Path("name") String name,
+                @SaveTo java.nio.file.Path file, ProgressListener progress);
+
         @GET("/{demoId}")
         CompletableFuture<Demo> getDemo(@Path("demoId") Integer demoId);
 
@@ -93,6 +131,29 @@ public interface ITest {
         @POST
         CompletableFuture<Demo> getFile(@Body RequestDemo request);
 
+        @Multipart
+        @POST
+        CompletableFuture<Demo> uploadFile(@Body RequestDemo request, TransferDigest digest);
+
+        @POST
+        CompletableFuture<Demo> sendContent(@Body InputStream content);
+
+        @Bandwidth(bytesPerSecond = 100_000, burst = 8192)
+        @POST
+        CompletableFuture<Demo> sendThrottled(@Body InputStream content);
+
+        @POST
+        CompletableFuture<Demo> sendImage(@Body("image/png") java.nio.file.Path image);
+
+        @POST
+        CompletableFuture<Demo> sendDemos(@Body Stream<RequestDemo> demos);
+
+        @POST
+        CompletableFuture<Demo> sendDemoLines(@Body("application/x-ndjson") Stream<RequestDemo> demos);
+
+        @GET
+        CompletableFuture<Result<List<Demo>>> getDemosResult();
+
         default String defaultMethod(String name) {
             return "Hello " + name;
         }
@@ -108,9 +169,29 @@ public interface ITest {
         @GET("/{demoId}")
         InputStream getDemoBinary(@Path("demoId") Integer demoId);
 
+        @GET("/files/{name}")
+        @Resumable(maxAttempts = 2, delay = 1)
+        InputStream readFile(@Path("name") String name);
+
+        @GET("/{demoId}")
+        java.nio.file.Path downloadDemo(@Path("demoId") Integer demoId, @SaveTo java.nio.file.Path file);
+
+        @GET("/{demoId}")
+        java.nio.file.Path downloadCheckedDemo(@Path("demoId") Integer demoId, @SaveTo java.nio.file.Path file,
+                TransferDigest digest);
+
+        @GET("/{demoId}")
+        ByteBuffer getDemoBuffer(@Path("demoId") Integer demoId);
+
+        @GET("/{demoId}")
+        Flow.Publisher<ByteBuffer> getDemoBufferPublisher(@Path("demoId") Integer demoId);
+
         @GET("/{demoId}")
         Demo getDemo(@Path("demoId") Integer demoId);
 
+        @GET("/{demoId}")
+        Result<Demo> getDemoResult(@Path("demoId") Integer demoId);
+
         @GET("/{genericDemoId}")
         Generic<Demo> getGenericDemo(@Path("genericDemoId") Integer genericDemoId);
 
@@ -125,6 +206,79 @@ public interface ITest {
         @StreamType(type = Demo.class, events = { "created" })
         Stream<Event> getStreamEvent(@Body RequestDemo request);
 
+        @GET("/demos")
+        Flow.Publisher<Demo> getDemoPublisher();
+
+        @GET("/demos")
+        @Multicast(buffer = 8)
+        Flow.Publisher<Demo> getSharedDemoPublisher();
+
+        @GET("/events")
+        @StreamType(type = Demo.class, events = { "created" })
+        Flow.Publisher<Event> getEventPublisher();
+
+        @GET("/demos")
+        void listenDemos(EventListener<Demo> listener);
+
+        @GET("/demos")
+        @Batch(size = 2, interval = 0)
+        StreamHandle listenDemoBatches(BatchListener<Demo> listener);
+
+        @GET("/events")
+        @StreamReduce(DemoAccumulator.class)
+        String reduceDemos();
+
+        @GET("/demos")
+        CompletableFuture<String> reduceDemos(DemoAccumulator accumulator);
+
+        @GET("/events")
+        @StreamType(type = Demo.class, events = { "created" })
+        StreamHandle listenEvents(@Query("from") Integer from, EventListener<Event> listener);
+
+        @GET("/events")
+        @Resumable(maxAttempts = 2, delay = 1, maxDelay = 5)
+        @StreamType(type = Demo.class, events = { "created" })
+        Stream<Event> getResumableStreamEvent();
+
+        @GET("/events")
+        @Tee
+        @StreamType(type = Demo.class, events = { "created" })
+        Stream<Event> getRecordedStreamEvent();
+
+        @GET("/events")
+        @LazyEvents
+        @StreamType(type = Demo.class, events = { "created" })
+        Stream<Event> getLazyStreamEvent();
+
+        @GET("/events")
+        @StreamTimeout(idle = 50)
+        @StreamType(type = Demo.class, events = { "created" })
+        Stream<Event> getTimedStreamEvent();
+
+        @GET("/{genericDemoId}")
+        @Extract("/listDemo/0")
+        Demo getFirstDemo(@Path("genericDemoId") Integer genericDemoId);
+
+        @GET("/{genericDemoId}")
+        @Extract("/listDemo/0/description")
+        CompletableFuture<String> getFirstDescription(@Path("genericDemoId") Integer genericDemoId);
+
+    }
+
+    @Resource("/demos")
+    @MediaType("application/x-test")
+    interface CodecService {
+
+        @POST
+        Demo createDemo(@Body RequestDemo request);
+
+        @GET
+        CompletableFuture<List<Demo>> getDemos();
+
+        @GET
+        @MediaType("application/x-unknown")
+        Demo getUnknown();
+
     }
 
     interface NotSavedService {
@@ -161,6 +315,22 @@ public interface ITest {
 
     }
 
+    static class DemoAccumulator implements StreamAccumulator<Demo, String> {
+
+        private final StringBuilder descriptions = new StringBuilder();
+
+        @Override
+        public void accumulate(Demo demo) {
+            descriptions.append(demo.getDescription());
+        }
+
+        @Override
+        public String result() {
+            return descriptions.toString();
+        }
+
+    }
+
     @NoArgsConstructor
     @AllArgsConstructor
     @Getter
@@ -51,7 +51,7 @@ class InterfaceMetadataStoreTest {
                                         .annotation(AnnotationMetadata.builder()
                                                 .name("Body")
                                                 .isHttpMethod(false)
-                                                .valueByField(createMapString())
+                                                .valueByField(createMapString("value", ""))
                                                 .build())
                                         .build(),
                                 ParameterMetadata.builder()
@@ -0,0 +1,96 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class BandwidthLimiterTest {
+
+    @Test
+    void shouldMakeTheTransferWaitForTheBytesTakenBeyondTheBurst() {
+        var limiter = BandwidthLimiter.of(1000, 100);
+        assertEquals(0, limiter.acquire(100));
+        var delay = limiter.acquire(100);
+        assertTrue(delay > TimeUnit.MILLISECONDS.toNanos(90) && delay <= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(1000, BandwidthLimiter.of(1000).getBurst());
+        assertEquals(64 * 1024, BandwidthLimiter.of(1024 * 1024).getBurst());
+        assertThrows(CleverClientException.class, () -> BandwidthLimiter.of(0));
+    }
+
+    @Test
+    void shouldPaceTheRequestBody() {
+        var chunks = Collections.nCopies(4, "x".repeat(100).getBytes(StandardCharsets.UTF_8));
+        var publisher = new ThrottledBodyPublisher(BodyPublishers.ofByteArrays(chunks), BandwidthLimiter.of(1000, 100));
+        var start = System.nanoTime();
+        var size = sizeOf(publisher).join();
+        var elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertEquals(400, size);
+        assertTrue(elapsed >= 180, "Elapsed " + elapsed + " ms");
+    }
+
+    @Test
+    void shouldRequestTheNextChunkOfTheResponseOnlyWhenTheLimiterAllowsIt() {
+        var handler = new ThrottledBodyHandler<>(info -> BodySubscribers.ofString(StandardCharsets.UTF_8),
+                BandwidthLimiter.of(1000, 100));
+        var bodySubscriber = handler.apply(mock(ResponseInfo.class));
+        var subscription = mock(Flow.Subscription.class);
+        bodySubscriber.onSubscribe(subscription);
+        verify(subscription, times(1)).request(1);
+
+        bodySubscriber.onNext(List.of(ByteBuffer.wrap("x".repeat(100).getBytes(StandardCharsets.UTF_8))));
+        verify(subscription, times(2)).request(1);
+        bodySubscriber.onNext(List.of(ByteBuffer.wrap("y".repeat(50).getBytes(StandardCharsets.UTF_8))));
+        verify(subscription, times(2)).request(1);
+        verify(subscription, timeout(1000).times(3)).request(1);
+        bodySubscriber.onComplete();
+        assertEquals(150, bodySubscriber.getBody().toCompletableFuture().join().length());
+    }
+
+    private CompletableFuture<Long> sizeOf(Flow.Publisher<ByteBuffer> publisher) {
+        var future = new CompletableFuture<Long>();
+        var items = new ArrayList<ByteBuffer>();
+        publisher.subscribe(new Flow.Subscriber<ByteBuffer>() {
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(items.stream().mapToLong(ByteBuffer::remaining).sum());
+            }
+
+        });
+        return future;
+    }
+
+}
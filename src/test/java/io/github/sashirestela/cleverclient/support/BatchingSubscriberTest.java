@@ -0,0 +1,73 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.BatchListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class BatchingSubscriberTest {
+
+    @Test
+    void shouldDeliverFullBatchesReusingTheirLists() {
+        var batches = new ArrayList<List<Integer>>();
+        var lists = new ArrayList<List<Integer>>();
+        var subscriber = new BatchingSubscriber<Integer>(batch -> {
+            batches.add(List.copyOf(batch));
+            lists.add(batch);
+        }, 2, 0, null);
+        var subscription = mock(Flow.Subscription.class);
+        subscriber.onSubscribe(subscription);
+        verify(subscription).request(2);
+        for (var item = 1; item <= 5; item++) {
+            subscriber.onNext(item);
+        }
+        subscriber.onComplete();
+
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), batches);
+        assertSame(lists.get(0), lists.get(1));
+        assertSame(lists.get(0), lists.get(2));
+        verify(subscription, times(3)).request(2);
+        verify(subscription).request(1);
+        assertTrue(subscriber.isDone());
+    }
+
+    @Test
+    void shouldFlushAnIncompleteBatchWhenItsIntervalExpires() {
+        var batches = new CopyOnWriteArrayList<List<String>>();
+        var threads = new CopyOnWriteArrayList<String>();
+        var subscriber = new BatchingSubscriber<String>(new BatchListener<>() {
+
+            @Override
+            public void onBatch(List<String> batch) {
+                batches.add(List.copyOf(batch));
+                threads.add(Thread.currentThread().getName());
+            }
+
+        }, 10, 30, null);
+        var subscription = mock(Flow.Subscription.class);
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext("first");
+        subscriber.onNext("second");
+
+        verify(subscription, timeout(1000)).request(2);
+        assertEquals(List.of(List.of("first", "second")), batches);
+        assertNotEquals("cleverclient-timers", threads.get(0));
+        subscriber.onNext("third");
+        subscriber.onComplete();
+        subscriber.completion().join();
+        assertEquals(List.of(List.of("first", "second"), List.of("third")), batches);
+    }
+
+}
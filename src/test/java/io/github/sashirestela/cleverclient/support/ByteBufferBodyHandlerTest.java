@@ -0,0 +1,68 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ByteBufferBodyHandlerTest {
+
+    @Test
+    void shouldCollectTheBodyInADirectBufferOfTheContentLength() {
+        var buffer = receive(Map.of("Content-Length", List.of("10")), "01234", "56789");
+        assertTrue(buffer.isDirect());
+        assertEquals(10, buffer.capacity());
+        assertEquals("0123456789", StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+
+    @Test
+    void shouldCollectTheBodyInADirectBufferOfTheExactSizeWhenTheLengthIsWrongOrUnknown() {
+        var unknown = receive(Map.of(), "01234", "56789");
+        assertTrue(unknown.isDirect());
+        assertEquals(10, unknown.capacity());
+        assertEquals("0123456789", StandardCharsets.UTF_8.decode(unknown).toString());
+
+        var shorter = receive(Map.of("Content-Length", List.of("4")), "01234", "56789");
+        assertEquals(10, shorter.capacity());
+        assertEquals("0123456789", StandardCharsets.UTF_8.decode(shorter).toString());
+    }
+
+    @Test
+    void shouldNotAllocateTheDeclaredLengthBeforeTheBytesArrive() {
+        var truncated = receive(Map.of("Content-Length", List.of("1000000000")), "01234", "56789");
+        assertTrue(truncated.capacity() <= 1024 * 1024);
+        assertEquals("0123456789", StandardCharsets.UTF_8.decode(truncated).toString());
+
+        var chunk = "x".repeat(700 * 1024);
+        var grown = receive(Map.of("Content-Length", List.of(String.valueOf(2 * chunk.length()))), chunk, chunk);
+        assertEquals(2 * chunk.length(), grown.remaining());
+
+        var invalid = receive(Map.of("Content-Length", List.of("-5")), "01234");
+        assertEquals("01234", StandardCharsets.UTF_8.decode(invalid).toString());
+    }
+
+    private ByteBuffer receive(Map<String, List<String>> headers, String... chunks) {
+        var responseInfo = mock(ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(200);
+        when(responseInfo.headers()).thenReturn(HttpHeaders.of(headers, (name, value) -> true));
+        BodySubscriber<ByteBuffer> bodySubscriber = new ByteBufferBodyHandler().apply(responseInfo);
+        bodySubscriber.onSubscribe(mock(Flow.Subscription.class));
+        for (var chunk : chunks) {
+            bodySubscriber.onNext(List.of(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        }
+        bodySubscriber.onComplete();
+        return bodySubscriber.getBody().toCompletableFuture().join();
+    }
+
+}
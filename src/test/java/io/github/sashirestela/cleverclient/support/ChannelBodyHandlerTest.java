@@ -0,0 +1,66 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ChannelBodyHandlerTest {
+
+    @Test
+    void shouldReadTheBodyIntoTheBuffersOfTheCallerRequestingOneChunkAtATime() throws IOException {
+        var subscription = mock(Flow.Subscription.class);
+        var bodySubscriber = new ChannelBodyHandler().apply(mock(ResponseInfo.class));
+        bodySubscriber.onSubscribe(subscription);
+        var channel = bodySubscriber.getBody().toCompletableFuture().join();
+        verify(subscription, times(1)).request(1);
+
+        bodySubscriber.onNext(List.of(bytesOf("0123"), bytesOf("456")));
+        bodySubscriber.onNext(List.of(bytesOf("789")));
+        bodySubscriber.onComplete();
+
+        var dst = ByteBuffer.allocateDirect(5);
+        assertEquals(5, channel.read(dst));
+        assertEquals("01234", StandardCharsets.UTF_8.decode(dst.flip()).toString());
+        assertEquals(5, channel.read(dst.clear()));
+        assertEquals("56789", StandardCharsets.UTF_8.decode(dst.flip()).toString());
+        assertEquals(-1, channel.read(dst.clear()));
+        verify(subscription, times(3)).request(1);
+
+        channel.close();
+        assertFalse(channel.isOpen());
+        assertThrows(ClosedChannelException.class, () -> channel.read(dst));
+        verify(subscription).cancel();
+    }
+
+    @Test
+    void shouldReturnTheBytesReadBeforeFailingWithTheErrorOfTheResponse() throws IOException {
+        var bodySubscriber = new ChannelBodyHandler().apply(mock(ResponseInfo.class));
+        bodySubscriber.onSubscribe(mock(Flow.Subscription.class));
+        var channel = bodySubscriber.getBody().toCompletableFuture().join();
+        bodySubscriber.onNext(List.of(bytesOf("0123")));
+        bodySubscriber.onError(new IOException("Connection reset"));
+
+        var dst = ByteBuffer.allocate(16);
+        assertEquals(4, channel.read(dst));
+        var exception = assertThrows(IOException.class, () -> channel.read(dst));
+        assertEquals("Connection reset", exception.getMessage());
+    }
+
+    private static ByteBuffer bytesOf(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,102 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DecompressingBodyHandlerTest {
+
+    static final String TEXT = "{\"id\":100,\"description\":\"Description\",\"active\":true}".repeat(200);
+
+    @Test
+    void shouldDecompressBodyWhenContentEncodingIsGzip() throws IOException {
+        var compressed = gzip(TEXT.getBytes(StandardCharsets.UTF_8));
+        assertEquals(TEXT, receive(compressed, "gzip", 7));
+        assertEquals(TEXT, receive(compressed, "gzip", compressed.length));
+    }
+
+    @Test
+    void shouldDecompressBodyWhenGzipHasManyMembers() throws IOException {
+        var first = gzip("first-".getBytes(StandardCharsets.UTF_8));
+        var second = gzip("second".getBytes(StandardCharsets.UTF_8));
+        var compressed = new byte[first.length + second.length];
+        System.arraycopy(first, 0, compressed, 0, first.length);
+        System.arraycopy(second, 0, compressed, first.length, second.length);
+        assertEquals("first-second", receive(compressed, "gzip", 3));
+    }
+
+    @Test
+    void shouldDecompressBodyWhenContentEncodingIsDeflate() throws IOException {
+        var zlib = deflate(TEXT.getBytes(StandardCharsets.UTF_8), false);
+        assertEquals(TEXT, receive(zlib, "deflate", 5));
+        var raw = deflate(TEXT.getBytes(StandardCharsets.UTF_8), true);
+        assertEquals(TEXT, receive(raw, "deflate", 5));
+    }
+
+    @Test
+    void shouldPassBodyThroughWhenThereIsNoContentEncoding() {
+        assertEquals(TEXT, receive(TEXT.getBytes(StandardCharsets.UTF_8), null, 11));
+    }
+
+    @Test
+    void shouldFailWhenCompressedBodyIsCorruptOrTruncated() throws IOException {
+        var corrupt = TEXT.getBytes(StandardCharsets.UTF_8);
+        var exception = assertThrows(CompletionException.class, () -> receive(corrupt, "gzip", 10));
+        assertEquals("Not in GZIP format.", exception.getCause().getMessage());
+
+        var compressed = gzip(TEXT.getBytes(StandardCharsets.UTF_8));
+        var truncated = new byte[compressed.length - 4];
+        System.arraycopy(compressed, 0, truncated, 0, truncated.length);
+        assertThrows(CompletionException.class, () -> receive(truncated, "gzip", 10));
+    }
+
+    private String receive(byte[] body, String encoding, int chunkSize) {
+        var responseInfo = mock(ResponseInfo.class);
+        var headers = encoding == null ? Map.<String, List<String>>of()
+                : Map.of("Content-Encoding", List.of(encoding));
+        when(responseInfo.headers()).thenReturn(HttpHeaders.of(headers, (name, value) -> true));
+        var bodySubscriber = new DecompressingBodyHandler<>(BodyHandlers.ofString()).apply(responseInfo);
+        bodySubscriber.onSubscribe(mock(Flow.Subscription.class));
+        for (var offset = 0; offset < body.length; offset += chunkSize) {
+            var length = Math.min(chunkSize, body.length - offset);
+            bodySubscriber.onNext(List.of(ByteBuffer.wrap(body, offset, length)));
+        }
+        bodySubscriber.onComplete();
+        return bodySubscriber.getBody().toCompletableFuture().join();
+    }
+
+    private byte[] gzip(byte[] data) throws IOException {
+        var output = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(output)) {
+            gzip.write(data);
+        }
+        return output.toByteArray();
+    }
+
+    private byte[] deflate(byte[] data, boolean nowrap) throws IOException {
+        var output = new ByteArrayOutputStream();
+        try (var deflate = new DeflaterOutputStream(output, new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap))) {
+            deflate.write(data);
+        }
+        return output.toByteArray();
+    }
+
+}
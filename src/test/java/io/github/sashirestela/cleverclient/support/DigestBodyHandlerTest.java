@@ -0,0 +1,102 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.TransferDigest;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DigestBodyHandlerTest {
+
+    private static final String SHA_256_OF_BODY = "84d89877f0d4041efb6bf91a16f0248f2fd573e6af05c19f96bedb9f882f7882";
+
+    @Test
+    void shouldDigestTheBodyWhileItIsReceived() {
+        var digest = TransferDigest.forResponse(TransferDigest.SHA_256).expect(SHA_256_OF_BODY).expectSize(10);
+        var bodySubscriber = receive(digest, 200, Map.of(), "01234", "56789");
+        bodySubscriber.onComplete();
+
+        assertEquals("0123456789", bodySubscriber.getBody().toCompletableFuture().join());
+        assertTrue(digest.isComplete());
+        assertEquals(SHA_256_OF_BODY, digest.getHex());
+        assertEquals(10, digest.getSize());
+    }
+
+    @Test
+    void shouldFailTheBodyWhenTheDigestOrTheSizeIsNotTheExpectedOne() {
+        var crc = new CRC32C();
+        crc.update("0123456789".getBytes(StandardCharsets.UTF_8));
+        var digest = TransferDigest.forResponse(TransferDigest.CRC32C).expect(String.format("%08x", crc.getValue()));
+        var bodySubscriber = receive(digest, 200, Map.of(), "01234", "5678X");
+        bodySubscriber.onComplete();
+
+        var exception = assertThrows(CompletionException.class,
+                () -> bodySubscriber.getBody().toCompletableFuture().join());
+        var mismatch = assertInstanceOf(TransferVerificationException.class, exception.getCause());
+        assertEquals(TransferDigest.CRC32C, mismatch.getProperty());
+        assertEquals(String.format("%08x", crc.getValue()), mismatch.getExpected());
+
+        var sized = TransferDigest.forResponse(TransferDigest.CRC32C).expectSize(12);
+        var shortBody = receive(sized, 200, Map.of(), "0123456789");
+        shortBody.onComplete();
+        exception = assertThrows(CompletionException.class, () -> shortBody.getBody().toCompletableFuture().join());
+        assertEquals("size", ((TransferVerificationException) exception.getCause()).getProperty());
+    }
+
+    @Test
+    void shouldDigestOnceTheBytesOfAResumedBody() {
+        var digest = TransferDigest.forResponse(TransferDigest.SHA_256).expect(SHA_256_OF_BODY);
+        var broken = receive(digest, 200, Map.of(), "012345");
+        broken.onError(new IOException("Connection reset"));
+        assertFalse(digest.isComplete());
+
+        // Only 4 bytes were kept by the consumer, so the body is resumed from there.
+        var resumed = receive(digest, 206, Map.of("Content-Range", List.of("bytes 4-9/10")), "456789");
+        resumed.onComplete();
+        assertEquals("456789", resumed.getBody().toCompletableFuture().join());
+        assertEquals(SHA_256_OF_BODY, digest.getHex());
+    }
+
+    @Test
+    void shouldNotDigestErrorResponses() {
+        var digest = TransferDigest.forResponse(TransferDigest.SHA_256).expect(SHA_256_OF_BODY);
+        var bodySubscriber = receive(digest, 404, Map.of(), "Not found");
+        bodySubscriber.onComplete();
+
+        assertEquals("Not found", bodySubscriber.getBody().toCompletableFuture().join());
+        assertEquals(0, digest.getSize());
+    }
+
+    private BodySubscriber<String> receive(TransferDigest digest, int statusCode, Map<String, List<String>> headers,
+            String... chunks) {
+        var responseInfo = mock(ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(statusCode);
+        when(responseInfo.headers()).thenReturn(HttpHeaders.of(headers, (name, value) -> true));
+        var bodySubscriber = new DigestBodyHandler<>(info -> BodySubscribers.ofString(StandardCharsets.UTF_8),
+                digest).apply(responseInfo);
+        bodySubscriber.onSubscribe(mock(Flow.Subscription.class));
+        for (var chunk : chunks) {
+            bodySubscriber.onNext(List.of(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        }
+        return bodySubscriber;
+    }
+
+}
@@ -0,0 +1,77 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.TransferDigest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class DigestBodyPublisherTest {
+
+    private static final List<byte[]> CHUNKS = List.of("01234".getBytes(), "56789".getBytes());
+
+    @Test
+    void shouldSendTheWholeBodyWhenTheDigestMatches() {
+        var body = new ByteArrayOutputStream();
+        var digest = TransferDigest.forRequest(TransferDigest.CRC32C).expectSize(10);
+
+        var result = send(new DigestBodyPublisher(BodyPublishers.ofByteArrays(CHUNKS), digest), body);
+
+        assertEquals("0123456789", result.join().toString());
+    }
+
+    @Test
+    void shouldNeverSendTheLastBufferWhenTheDigestDoesNotMatch() {
+        var body = new ByteArrayOutputStream();
+        var digest = TransferDigest.forRequest(TransferDigest.CRC32C).expect("00000000");
+
+        var result = send(new DigestBodyPublisher(BodyPublishers.ofByteArrays(CHUNKS), digest), body);
+
+        assertInstanceOf(TransferVerificationException.class, result.handle((b, e) -> e).join());
+        assertEquals("01234", body.toString());
+    }
+
+    private CompletableFuture<ByteArrayOutputStream> send(DigestBodyPublisher bodyPublisher,
+            ByteArrayOutputStream body) {
+        var future = new CompletableFuture<ByteArrayOutputStream>();
+        bodyPublisher.subscribe(new Flow.Subscriber<ByteBuffer>() {
+
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                // One buffer at a time, as the HttpClient does.
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                var bytes = new byte[item.remaining()];
+                item.get(bytes);
+                body.write(bytes, 0, bytes.length);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(body);
+            }
+
+        });
+        return future;
+    }
+
+}
@@ -0,0 +1,97 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FileBodyHandlerTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldWriteThePartFileAndRenameItWhenTheBodyIsComplete() throws IOException {
+        var file = Files.writeString(directory.resolve("model.bin"), "previous");
+        var subscription = mock(Flow.Subscription.class);
+        var bodySubscriber = new FileBodyHandler(file, true, true).apply(responseInfo(10));
+        bodySubscriber.onSubscribe(subscription);
+        bodySubscriber.onNext(List.of(bytesOf("01234"), bytesOf("56")));
+
+        var partFile = FileBodyHandler.partFileOf(file);
+        assertEquals(10, Files.size(partFile));
+        assertEquals("previous", Files.readString(file));
+        bodySubscriber.onNext(List.of(bytesOf("789")));
+        bodySubscriber.onComplete();
+
+        assertEquals(file, bodySubscriber.getBody().toCompletableFuture().join());
+        assertEquals("0123456789", Files.readString(file));
+        assertFalse(Files.exists(partFile));
+        verify(subscription, times(3)).request(1);
+    }
+
+    @Test
+    void shouldTruncateThePreallocatedFileWhenTheBodyIsShorter() throws IOException {
+        var file = directory.resolve("short.bin");
+        var bodySubscriber = receive(new FileBodyHandler(file, false, true), 100, "short");
+        bodySubscriber.onComplete();
+
+        bodySubscriber.getBody().toCompletableFuture().join();
+        assertEquals("short", Files.readString(file));
+    }
+
+    @Test
+    void shouldRemoveThePartFileAndKeepTheTargetWhenTheBodyFails() throws IOException {
+        var file = Files.writeString(directory.resolve("model.bin"), "previous");
+        var bodySubscriber = receive(new FileBodyHandler(file, true, false), -1, "partial");
+        bodySubscriber.onError(new IOException("Connection reset"));
+
+        var body = bodySubscriber.getBody().toCompletableFuture();
+        var exception = assertThrows(CompletionException.class, body::join);
+        assertEquals("Connection reset", exception.getCause().getMessage());
+        assertEquals("previous", Files.readString(file));
+        assertFalse(Files.exists(FileBodyHandler.partFileOf(file)));
+        assertTrue(Files.exists(file));
+    }
+
+    private BodySubscriber<Path> receive(FileBodyHandler bodyHandler, long length, String chunk) {
+        var bodySubscriber = bodyHandler.apply(responseInfo(length));
+        bodySubscriber.onSubscribe(mock(Flow.Subscription.class));
+        bodySubscriber.onNext(List.of(bytesOf(chunk)));
+        return bodySubscriber;
+    }
+
+    private ResponseInfo responseInfo(long length) {
+        var responseInfo = mock(ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(200);
+        var headers = length >= 0 ? Map.of("Content-Length", List.of(String.valueOf(length)))
+                : Map.<String, List<String>>of();
+        when(responseInfo.headers()).thenReturn(HttpHeaders.of(headers, (name, value) -> true));
+        return responseInfo;
+    }
+
+    private ByteBuffer bytesOf(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
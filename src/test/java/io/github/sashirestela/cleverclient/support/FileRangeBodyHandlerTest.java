@@ -0,0 +1,60 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FileRangeBodyHandlerTest {
+
+    @Test
+    void shouldNotWriteTheBytesPastTheEndOfTheRange(@TempDir Path directory) throws IOException {
+        var file = directory.resolve("model.bin");
+        Files.writeString(file, "..........");
+        var written = new AtomicLong();
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            var bodySubscriber = new FileRangeBodyHandler(channel, 2, 4, written)
+                    .apply(responseInfoOf("bytes 2-4/10"));
+            var subscription = mock(Flow.Subscription.class);
+            bodySubscriber.onSubscribe(subscription);
+            bodySubscriber.onNext(List.of(ByteBuffer.wrap("23".getBytes(StandardCharsets.UTF_8))));
+            bodySubscriber.onNext(List.of(ByteBuffer.wrap("456".getBytes(StandardCharsets.UTF_8))));
+
+            verify(subscription).cancel();
+            var exception = assertThrows(CompletionException.class,
+                    () -> bodySubscriber.getBody().toCompletableFuture().join());
+            assertTrue(exception.getCause().getMessage().contains("past the end of the range"));
+        }
+        assertEquals(2, written.get());
+        assertEquals("..23......", Files.readString(file));
+    }
+
+    private ResponseInfo responseInfoOf(String contentRange) {
+        var responseInfo = mock(ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(206);
+        when(responseInfo.headers())
+                .thenReturn(HttpHeaders.of(Map.of("Content-Range", List.of(contentRange)), (n, v) -> true));
+        return responseInfo;
+    }
+
+}
@@ -1,13 +1,25 @@
 package io.github.sashirestela.cleverclient.support;
 
+import io.github.sashirestela.cleverclient.TransferDigest;
 import io.github.sashirestela.cleverclient.http.ITest;
 import io.github.sashirestela.cleverclient.util.JsonUtil;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class HttpMultipartTest {
 
@@ -54,4 +66,64 @@ class HttpMultipartTest {
         }
     }
 
+    @Test
+    void shouldPublishTheFilesAsTheBodyIsSentAndDigestTheirContents() throws IOException {
+        var file = Paths.get("src/test/resources/loremipsum.txt");
+        var objectMap = JsonUtil.objectToMap(new ITest.MultipartClass(file, 101, "Testing", List.of("one"),
+                new Integer[] { 13 }));
+        var expectedBody = new ByteArrayOutputStream();
+        HttpMultipart.toByteArrays(objectMap).forEach(bytes -> expectedBody.write(bytes, 0, bytes.length));
+        var expectedDigest = TransferDigest.forRequest(TransferDigest.SHA_256);
+        expectedDigest.update(ByteBuffer.wrap(Files.readAllBytes(file)));
+        expectedDigest.verify();
+
+        var digest = TransferDigest.forRequest(TransferDigest.SHA_256).expect(expectedDigest.getBase64());
+        var bodyPublisher = HttpMultipart.toBodyPublisher(objectMap, digest);
+        assertEquals(expectedBody.size(), bodyPublisher.contentLength());
+        assertEquals(expectedBody.toString(), new String(read(bodyPublisher).join()));
+        assertEquals(expectedDigest.getHex(), digest.getHex());
+        assertEquals(Files.size(file), digest.getSize());
+
+        var wrongDigest = TransferDigest.forRequest(TransferDigest.CRC32C).expect("00000000");
+        var received = new ByteArrayOutputStream();
+        var exception = assertThrows(CompletionException.class,
+                () -> read(HttpMultipart.toBodyPublisher(objectMap, wrongDigest), received).join());
+        assertNotNull(TransferVerificationException.causeOf(exception));
+        assertTrue(received.size() < expectedBody.size());
+    }
+
+    private CompletableFuture<byte[]> read(BodyPublisher bodyPublisher) {
+        return read(bodyPublisher, new ByteArrayOutputStream());
+    }
+
+    private CompletableFuture<byte[]> read(BodyPublisher bodyPublisher, ByteArrayOutputStream body) {
+        var future = new CompletableFuture<byte[]>();
+        bodyPublisher.subscribe(new Flow.Subscriber<ByteBuffer>() {
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                var bytes = new byte[item.remaining()];
+                item.get(bytes);
+                body.write(bytes, 0, bytes.length);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(body.toByteArray());
+            }
+
+        });
+        return future;
+    }
+
 }
@@ -0,0 +1,52 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonArrayDecoderTest {
+
+    static final String ARRAY = "[{\"id\":1,\"description\":\"First [1]\",\"active\":true,\"extra\":{\"a\":[1,2]}},"
+            + " {\"id\":2,\"description\":\"Second\",\"active\":false}]";
+
+    @Test
+    void shouldDecodeEveryElementWhenItIsComplete() {
+        for (var chunkSize = 1; chunkSize < 10; chunkSize++) {
+            var elements = decode(new JsonArrayDecoder<>(Map.class), ARRAY, chunkSize);
+            assertEquals(List.of(Map.of("id", 1, "description", "First [1]", "active", true,
+                    "extra", Map.of("a", List.of(1, 2))),
+                    Map.of("id", 2, "description", "Second", "active", false)), elements);
+        }
+    }
+
+    @Test
+    void shouldDecodeScalarsAndSingleValues() {
+        assertEquals(List.of("a", "b"), decode(new JsonArrayDecoder<>(String.class), "[\"a\",\"b\"]", 3));
+        assertEquals(List.of(Map.of("id", 1)), decode(new JsonArrayDecoder<>(Map.class), "{\"id\":1}", 4));
+    }
+
+    @Test
+    void shouldThrownExceptionWhenArrayIsTruncated() {
+        var decoder = new JsonArrayDecoder<>(Map.class);
+        assertThrows(CleverClientException.class, () -> decode(decoder, ARRAY.substring(0, 30), 5));
+    }
+
+    private <T> List<T> decode(ChunkDecoder<T> decoder, String body, int chunkSize) {
+        var bytes = body.getBytes(StandardCharsets.UTF_8);
+        List<T> elements = new ArrayList<>();
+        for (var offset = 0; offset < bytes.length; offset += chunkSize) {
+            decoder.decode(ByteBuffer.wrap(bytes, offset, Math.min(chunkSize, bytes.length - offset)),
+                    elements::add);
+        }
+        decoder.finish(elements::add);
+        return elements;
+    }
+
+}
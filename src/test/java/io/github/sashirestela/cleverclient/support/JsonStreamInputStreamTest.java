@@ -0,0 +1,45 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonStreamInputStreamTest {
+
+    @Test
+    void shouldSerializeTheElementsAsAJsonArray() throws IOException {
+        try (var input = new JsonStreamInputStream(Stream.of(Map.of("id", 1), List.of("a", "b"), "text"), false)) {
+            assertEquals("[{\"id\":1},[\"a\",\"b\"],\"text\"]",
+                    new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            assertEquals(-1, input.read());
+        }
+        try (var input = new JsonStreamInputStream(Stream.empty(), false)) {
+            assertEquals("[]", new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldSerializeTheElementsAsLinesAndCloseTheStream() throws IOException {
+        var closed = new AtomicBoolean();
+        var stream = Stream.of(Map.of("id", 1), Map.of("id", 2)).onClose(() -> closed.set(true));
+        try (var input = new JsonStreamInputStream(stream, true)) {
+            var buffer = new byte[3];
+            var body = new StringBuilder();
+            int count;
+            while ((count = input.read(buffer, 0, buffer.length)) != -1) {
+                body.append(new String(buffer, 0, count, StandardCharsets.UTF_8));
+            }
+            assertEquals("{\"id\":1}\n{\"id\":2}\n", body.toString());
+        }
+        assertTrue(closed.get());
+    }
+
+}
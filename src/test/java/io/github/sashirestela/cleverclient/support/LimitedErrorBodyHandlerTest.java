@@ -0,0 +1,57 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LimitedErrorBodyHandlerTest {
+
+    static final String TEXT = "{\"error\":\"Something went wrong\"}".repeat(100);
+
+    @Test
+    void shouldLimitBodyAndCancelExchangeWhenResponseIsAnError() {
+        var subscription = mock(Flow.Subscription.class);
+        var body = receive(HttpURLConnection.HTTP_BAD_REQUEST, 50, subscription);
+        assertEquals(TEXT.substring(0, 50), body);
+        verify(subscription, times(1)).cancel();
+    }
+
+    @Test
+    void shouldPassBodyThroughWhenResponseIsSuccessful() {
+        var subscription = mock(Flow.Subscription.class);
+        var body = receive(HttpURLConnection.HTTP_OK, 50, subscription);
+        assertEquals(TEXT, body);
+        verify(subscription, never()).cancel();
+    }
+
+    private String receive(int statusCode, int maxSize, Flow.Subscription subscription) {
+        var responseInfo = mock(ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(statusCode);
+        when(responseInfo.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+        var bodySubscriber = new LimitedErrorBodyHandler<>(BodyHandlers.ofString(), maxSize).apply(responseInfo);
+        bodySubscriber.onSubscribe(subscription);
+        var bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        for (var offset = 0; offset < bytes.length; offset += 7) {
+            var length = Math.min(7, bytes.length - offset);
+            bodySubscriber.onNext(List.of(ByteBuffer.wrap(bytes, offset, length)));
+        }
+        bodySubscriber.onComplete();
+        return bodySubscriber.getBody().toCompletableFuture().join();
+    }
+
+}
@@ -0,0 +1,36 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SuppressWarnings("rawtypes")
+class LineDelimitedJsonDecoderTest {
+
+    static final String LINES = "{\"id\":1,\"description\":\"First\",\"active\":true}\r\n"
+            + "\n"
+            + "{\"id\":2,\"description\":\"Second\",\"active\":false}";
+
+    @Test
+    void shouldDecodeEveryLineWhenItIsComplete() {
+        for (var chunkSize = 1; chunkSize < 10; chunkSize++) {
+            var decoder = new LineDelimitedJsonDecoder<>(Map.class);
+            var bytes = LINES.getBytes(StandardCharsets.UTF_8);
+            List<Map> elements = new ArrayList<>();
+            for (var offset = 0; offset < bytes.length; offset += chunkSize) {
+                decoder.decode(ByteBuffer.wrap(bytes, offset, Math.min(chunkSize, bytes.length - offset)),
+                        elements::add);
+            }
+            decoder.finish(elements::add);
+            assertEquals(List.of(Map.of("id", 1, "description", "First", "active", true),
+                    Map.of("id", 2, "description", "Second", "active", false)), elements);
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.EventListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ListenerSubscriberTest {
+
+    @Test
+    void shouldRunTheCallbacksInOrderWhenTheExecutorHasManyThreads() {
+        var executor = Executors.newFixedThreadPool(4);
+        var calls = new CopyOnWriteArrayList<String>();
+        var subscriber = new ListenerSubscriber<String>(new EventListener<>() {
+
+            @Override
+            public void onEvent(String event) {
+                sleep();
+                calls.add(event);
+            }
+
+            @Override
+            public void onComplete() {
+                calls.add("complete");
+            }
+
+        }, executor);
+        var subscription = mock(Flow.Subscription.class);
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext("first");
+        subscriber.onNext("second");
+        subscriber.onComplete();
+        subscriber.completion().join();
+        executor.shutdown();
+        assertEquals(List.of("first", "second", "complete"), calls);
+        verify(subscription, times(3)).request(1);
+    }
+
+    @Test
+    void shouldCancelTheSubscriptionWhenTheListenerFails() {
+        var errors = new CopyOnWriteArrayList<Throwable>();
+        var subscriber = new ListenerSubscriber<String>(new EventListener<>() {
+
+            @Override
+            public void onEvent(String event) {
+                throw new IllegalStateException(event);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                errors.add(throwable);
+            }
+
+        }, null);
+        var subscription = mock(Flow.Subscription.class);
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext("wrong");
+        verify(subscription).cancel();
+        assertTrue(subscriber.completion().isCompletedExceptionally());
+        assertEquals("wrong", errors.get(0).getMessage());
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
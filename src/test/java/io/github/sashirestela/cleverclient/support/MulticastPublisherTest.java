@@ -0,0 +1,178 @@
+package io.github.sashirestela.cleverclient.support;
+
+import io.github.sashirestela.cleverclient.annotation.Multicast.Overflow;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MulticastPublisherTest {
+
+    @Test
+    void shouldShareOneUpstreamAmongConcurrentSubscribers() {
+        var upstreams = new ArrayList<Upstream>();
+        var publisher = publisherOf("shared", upstreams, 4, Overflow.DROP);
+        var first = new Recorder(Long.MAX_VALUE);
+        var second = new Recorder(Long.MAX_VALUE);
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+        upstreams.get(0).emit(1, 2, 3);
+        upstreams.get(0).subscriber.onComplete();
+
+        assertEquals(1, upstreams.size());
+        assertEquals(List.of(1, 2, 3), first.items);
+        assertEquals(List.of(1, 2, 3), second.items);
+        assertTrue(first.completed && second.completed);
+        assertEquals(0, MulticastPublisher.sharedCount());
+    }
+
+    @Test
+    void shouldHoldTheUpstreamForTheSlowestSubscriberWhenOverflowIsBlock() {
+        var upstreams = new ArrayList<Upstream>();
+        var publisher = publisherOf("block", upstreams, 2, Overflow.BLOCK);
+        var fast = new Recorder(Long.MAX_VALUE);
+        var slow = new Recorder(0);
+        publisher.subscribe(fast);
+        publisher.subscribe(slow);
+        var upstream = upstreams.get(0);
+        upstream.emit(1, 2);
+        assertEquals(2, upstream.requested);
+
+        slow.subscription.request(1);
+        assertEquals(3, upstream.requested);
+        upstream.emit(3);
+        slow.subscription.request(2);
+        assertEquals(List.of(1, 2, 3), fast.items);
+        assertEquals(List.of(1, 2, 3), slow.items);
+        slow.subscription.cancel();
+        fast.subscription.cancel();
+        assertTrue(upstream.cancelled);
+    }
+
+    @Test
+    void shouldDropOrDisconnectOnlyTheSlowSubscriberWhenItsBufferIsFull() {
+        var upstreams = new ArrayList<Upstream>();
+        var dropping = publisherOf("drop", upstreams, 2, Overflow.DROP);
+        var fast = new Recorder(Long.MAX_VALUE);
+        var slow = new Recorder(0);
+        dropping.subscribe(fast);
+        dropping.subscribe(slow);
+        upstreams.get(0).emit(1, 2, 3, 4);
+        slow.subscription.request(Long.MAX_VALUE);
+        assertEquals(List.of(1, 2, 3, 4), fast.items);
+        assertEquals(List.of(1, 2), slow.items);
+        fast.subscription.cancel();
+        slow.subscription.cancel();
+
+        var disconnecting = publisherOf("disconnect", upstreams, 2, Overflow.DISCONNECT);
+        fast = new Recorder(Long.MAX_VALUE);
+        slow = new Recorder(0);
+        disconnecting.subscribe(fast);
+        disconnecting.subscribe(slow);
+        upstreams.get(1).emit(1, 2, 3, 4);
+        assertEquals(List.of(1, 2, 3, 4), fast.items);
+        assertTrue(slow.error instanceof CleverClientException);
+        assertEquals(List.of(), slow.items);
+        upstreams.get(1).subscriber.onComplete();
+        assertTrue(fast.completed);
+    }
+
+    @Test
+    void shouldCancelTheUpstreamWhenTheLastSubscriberLeaves() {
+        var upstreams = new ArrayList<Upstream>();
+        var publisher = publisherOf("cancel", upstreams, 4, Overflow.DROP);
+        var first = new Recorder(Long.MAX_VALUE);
+        publisher.subscribe(first);
+        first.subscription.cancel();
+        assertTrue(upstreams.get(0).cancelled);
+
+        var second = new Recorder(Long.MAX_VALUE);
+        publisher.subscribe(second);
+        assertEquals(2, upstreams.size());
+        upstreams.get(1).subscriber.onError(new IllegalStateException("Failed"));
+        assertEquals("Failed", second.error.getMessage());
+        assertNull(first.error);
+    }
+
+    private MulticastPublisher<Integer> publisherOf(String key, List<Upstream> upstreams, int bufferSize,
+            Overflow overflow) {
+        return new MulticastPublisher<>(key, () -> {
+            var upstream = new Upstream();
+            upstreams.add(upstream);
+            return upstream;
+        }, bufferSize, overflow);
+    }
+
+    static class Upstream implements Flow.Publisher<Integer>, Flow.Subscription {
+
+        Flow.Subscriber<? super Integer> subscriber;
+        long requested;
+        boolean cancelled;
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            requested = requested + n < 0 ? Long.MAX_VALUE : requested + n;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        void emit(Integer... items) {
+            for (var item : items) {
+                subscriber.onNext(item);
+            }
+        }
+
+    }
+
+    static class Recorder implements Flow.Subscriber<Integer> {
+
+        final List<Integer> items = new ArrayList<>();
+        final long initialDemand;
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        Recorder(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+    }
+
+}
@@ -0,0 +1,89 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PublishingBodySubscriberTest {
+
+    @Test
+    void shouldRequestBytesOnlyWhenTheSubscriberHasUnsatisfiedDemand() {
+        var subscriber = new TestSubscriber();
+        var upstream = mock(Flow.Subscription.class);
+        var bodySubscriber = new PublishingBodySubscriber<String>(subscriber)
+                .decodingWith(new LineDelimitedJsonDecoder<>(String.class));
+        subscriber.onSubscribe(bodySubscriber);
+        bodySubscriber.onSubscribe(upstream);
+        verify(upstream, never()).request(1);
+
+        subscriber.subscription.request(1);
+        verify(upstream, times(1)).request(1);
+        bodySubscriber.onNext(List.of(bytesOf("\"one\"\n\"two\"\n")));
+        assertEquals(List.of("one"), subscriber.elements);
+        verify(upstream, times(1)).request(1);
+
+        subscriber.subscription.request(2);
+        assertEquals(List.of("one", "two"), subscriber.elements);
+        verify(upstream, times(2)).request(1);
+        bodySubscriber.onNext(List.of(bytesOf("\"three\"")));
+        bodySubscriber.onComplete();
+        assertEquals(List.of("one", "two", "three"), subscriber.elements);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void shouldCancelTheExchangeWhenSubscriptionIsCancelled() {
+        var subscriber = new TestSubscriber();
+        var upstream = mock(Flow.Subscription.class);
+        var bodySubscriber = new PublishingBodySubscriber<String>(subscriber)
+                .decodingWith(new LineDelimitedJsonDecoder<>(String.class));
+        subscriber.onSubscribe(bodySubscriber);
+        bodySubscriber.onSubscribe(upstream);
+        subscriber.subscription.cancel();
+        verify(upstream, times(1)).cancel();
+    }
+
+    private ByteBuffer bytesOf(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static class TestSubscriber implements Flow.Subscriber<String> {
+
+        Flow.Subscription subscription;
+        List<String> elements = new ArrayList<>();
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String item) {
+            elements.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            throw new AssertionError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+    }
+
+}
@@ -1,19 +1,31 @@
 package io.github.sashirestela.cleverclient.support;
 
 import io.github.sashirestela.cleverclient.Event;
+import io.github.sashirestela.cleverclient.EventListener;
+import io.github.sashirestela.cleverclient.Result;
+import io.github.sashirestela.cleverclient.StreamAccumulator;
+import io.github.sashirestela.cleverclient.StreamHandle;
+import io.github.sashirestela.cleverclient.annotation.Multicast;
 import io.github.sashirestela.cleverclient.annotation.POST;
+import io.github.sashirestela.cleverclient.annotation.StreamReduce;
 import org.junit.jupiter.api.Test;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ReturnTypeTest {
 
@@ -35,14 +47,23 @@ class ReturnTypeTest {
                 Map.entry("asyncGenericMethod", ReturnType.Category.ASYNC_GENERIC),
                 Map.entry("asyncMyClassMethod", ReturnType.Category.ASYNC_CUSTOM),
                 Map.entry("asyncBinaryMethod", ReturnType.Category.ASYNC_BINARY),
+                Map.entry("asyncFileMethod", ReturnType.Category.ASYNC_FILE),
+                Map.entry("asyncBufferMethod", ReturnType.Category.ASYNC_BUFFER),
                 Map.entry("asyncStringMethod", ReturnType.Category.ASYNC_PLAIN_TEXT),
+                Map.entry("asyncResultMethod", ReturnType.Category.ASYNC_RESULT),
                 Map.entry("syncStreamEventMethod", ReturnType.Category.SYNC_STREAM_EVENT),
                 Map.entry("syncStreamMethod", ReturnType.Category.SYNC_STREAM),
                 Map.entry("syncListMethod", ReturnType.Category.SYNC_LIST),
                 Map.entry("syncGenericMethod", ReturnType.Category.SYNC_GENERIC),
                 Map.entry("syncMyClassMethod", ReturnType.Category.SYNC_CUSTOM),
                 Map.entry("syncBinaryMethod", ReturnType.Category.SYNC_BINARY),
-                Map.entry("syncStringMethod", ReturnType.Category.SYNC_PLAIN_TEXT));
+                Map.entry("syncFileMethod", ReturnType.Category.SYNC_FILE),
+                Map.entry("syncBufferMethod", ReturnType.Category.SYNC_BUFFER),
+                Map.entry("syncChannelMethod", ReturnType.Category.SYNC_BUFFER),
+                Map.entry("syncStringMethod", ReturnType.Category.SYNC_PLAIN_TEXT),
+                Map.entry("syncResultMethod", ReturnType.Category.SYNC_RESULT),
+                Map.entry("syncPublisherEventMethod", ReturnType.Category.SYNC_PUBLISHER_EVENT),
+                Map.entry("syncPublisherMethod", ReturnType.Category.SYNC_PUBLISHER));
         for (String methodName : testData.keySet()) {
             var method = TestInterface.class.getMethod(methodName, new Class[] {});
             var returnType = new ReturnType(method);
@@ -62,6 +83,18 @@ class ReturnTypeTest {
         assertNull(returnType.category());
     }
 
+    @Test
+    void shouldReturnTheWrappedTypeWhenMethodReturnTypeIsAResult() throws NoSuchMethodException, SecurityException {
+        var method = TestInterface.class.getMethod("asyncResultMethod", new Class[] {});
+        var valueType = new ReturnType(method).getResultValueType();
+        assertEquals(ReturnType.Category.SYNC_LIST, valueType.category());
+        assertEquals(MyClass.class, valueType.getBaseClass());
+        method = TestInterface.class.getMethod("syncResultMethod", new Class[] {});
+        valueType = new ReturnType(method).getResultValueType();
+        assertEquals(ReturnType.Category.SYNC_GENERIC, valueType.category());
+        assertEquals(Generic.class, valueType.getGenericClassIfExists());
+    }
+
     @Test
     void shouldReturnMapClassByEventWhenTheMethodIsAnnotatedWithCompositeMultiStreamType()
             throws NoSuchMethodException, SecurityException {
@@ -87,8 +120,73 @@ class ReturnTypeTest {
         assertEquals(Boolean.TRUE, expectedMap.equals(actualMap));
     }
 
+    @Test
+    void shouldReturnListenerCategoryWhenMethodReceivesAnEventListener()
+            throws NoSuchMethodException, SecurityException {
+        var method = TestInterface.class.getMethod("listenerEventMethod", EventListener.class);
+        var returnType = new ReturnType(method);
+        assertEquals(ReturnType.Category.SYNC_LISTENER_EVENT, returnType.category());
+        assertEquals(0, returnType.getListenerIndex());
+        assertEquals(Event.class, returnType.getListenerClass());
+        method = TestInterface.class.getMethod("listenerMethod", String.class, EventListener.class);
+        returnType = new ReturnType(method);
+        assertEquals(ReturnType.Category.SYNC_LISTENER, returnType.category());
+        assertEquals(1, returnType.getListenerIndex());
+        assertEquals(MyClass.class, returnType.getListenerClass());
+        method = TestInterface.class.getMethod("listenerWrongMethod", EventListener.class);
+        assertNull(new ReturnType(method).category());
+    }
+
+    @Test
+    void shouldReturnReduceCategoryWhenMethodHasAStreamAccumulator() throws NoSuchMethodException, SecurityException {
+        var method = TestInterface.class.getMethod("reduceMethod");
+        var returnType = new ReturnType(method);
+        assertEquals(ReturnType.Category.SYNC_REDUCE, returnType.category());
+        assertEquals(MyAccumulator.class, returnType.getReduceClass());
+        assertEquals(MyClass.class, returnType.getReduceElementClass());
+        method = TestInterface.class.getMethod("asyncReduceMethod", MyAccumulator.class);
+        returnType = new ReturnType(method);
+        assertEquals(ReturnType.Category.ASYNC_REDUCE, returnType.category());
+        assertEquals(0, returnType.getReduceIndex());
+        assertEquals(MyClass.class, returnType.getReduceElementClass());
+    }
+
+    @Test
+    void shouldThrownExceptionWhenMethodWithMulticastReducesItsElements() throws NoSuchMethodException {
+        var method = TestInterface.class.getMethod("multicastReduceMethod", MyAccumulator.class);
+        var exception = assertThrows(CleverClientException.class, () -> new ReturnType(method));
+        assertTrue(exception.getMessage().contains("multicastReduceMethod"));
+    }
+
+    static class MyAccumulator implements StreamAccumulator<MyClass, String> {
+
+        @Override
+        public void accumulate(MyClass element) {
+        }
+
+        @Override
+        public String result() {
+            return "";
+        }
+
+    }
+
     static interface TestInterface {
 
+        @StreamReduce(MyAccumulator.class)
+        String reduceMethod();
+
+        CompletableFuture<String> asyncReduceMethod(MyAccumulator accumulator);
+
+        @Multicast
+        CompletableFuture<String> multicastReduceMethod(MyAccumulator accumulator);
+
+        void listenerEventMethod(EventListener<Event> listener);
+
+        StreamHandle listenerMethod(String id, EventListener<MyClass> listener);
+
+        MyClass listenerWrongMethod(EventListener<MyClass> listener);
+
         @POST
         @CompositeTwo
         CompletableFuture<Stream<Event>> asyncStreamEventMethod();
@@ -103,8 +201,14 @@ class ReturnTypeTest {
 
         CompletableFuture<InputStream> asyncBinaryMethod();
 
+        CompletableFuture<Path> asyncFileMethod();
+
+        CompletableFuture<ByteBuffer> asyncBufferMethod();
+
         CompletableFuture<String> asyncStringMethod();
 
+        CompletableFuture<Result<List<MyClass>>> asyncResultMethod();
+
         CompletableFuture<Set<MyClass>> asyncSetMethod();
 
         @CompositeOne
@@ -120,8 +224,20 @@ class ReturnTypeTest {
 
         InputStream syncBinaryMethod();
 
+        Path syncFileMethod();
+
+        ByteBuffer syncBufferMethod();
+
+        ReadableByteChannel syncChannelMethod();
+
         String syncStringMethod();
 
+        Result<Generic<MyClass>> syncResultMethod();
+
+        Flow.Publisher<Event> syncPublisherEventMethod();
+
+        Flow.Publisher<MyClass> syncPublisherMethod();
+
         Set<MyClass> syncSetMethod();
 
     }
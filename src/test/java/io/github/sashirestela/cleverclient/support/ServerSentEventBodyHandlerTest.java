@@ -0,0 +1,126 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.HttpURLConnection;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ServerSentEventBodyHandlerTest {
+
+    @Test
+    void shouldRequestMoreBytesOnlyWhenParsedEventsWereConsumed() {
+        var subscription = mock(Flow.Subscription.class);
+        var bodySubscriber = new ServerSentEventBodyHandler(Set.of(ServerSentEventParser.NO_EVENT), List.of())
+                .apply(responseInfo(HttpURLConnection.HTTP_OK));
+        bodySubscriber.onSubscribe(subscription);
+        verify(subscription, times(1)).request(1);
+
+        bodySubscriber.onNext(List.of(bytesOf("data: one\n")));
+        verify(subscription, times(2)).request(1);
+        bodySubscriber.onNext(List.of(bytesOf("\ndata: two\n\n")));
+        verify(subscription, times(2)).request(1);
+
+        var iterator = bodySubscriber.getBody().toCompletableFuture().join().iterator();
+        assertEquals("one", iterator.next().getDataAsString());
+        assertEquals("two", iterator.next().getDataAsString());
+        verify(subscription, times(2)).request(1);
+        bodySubscriber.onComplete();
+        assertFalse(iterator.hasNext());
+        verify(subscription, times(3)).request(1);
+    }
+
+    @Test
+    void shouldDecodeAheadInParallelAndDeliverInOrderWhenThereIsADecodeExecutor() {
+        var subscription = mock(Flow.Subscription.class);
+        var executor = Executors.newFixedThreadPool(4);
+        Function<ServerSentEvent, Object> decoder = event -> {
+            var number = Integer.parseInt(event.getDataAsString());
+            sleep(10L * (5 - number));
+            return number;
+        };
+        var bodySubscriber = new ServerSentEventBodyHandler(Set.of(ServerSentEventParser.NO_EVENT), List.of(),
+                decoder, executor, 3)
+                .apply(responseInfo(HttpURLConnection.HTTP_OK));
+        bodySubscriber.onSubscribe(subscription);
+        bodySubscriber.onNext(List.of(bytesOf("data: 1\n\ndata: 2\n\n")));
+        verify(subscription, times(2)).request(1);
+        bodySubscriber.onNext(List.of(bytesOf("data: 3\n\ndata: 4\n\n")));
+        verify(subscription, times(2)).request(1);
+
+        var iterator = bodySubscriber.getBody().toCompletableFuture().join().iterator();
+        var decoded = new ArrayList<>();
+        decoded.add(iterator.next().decodeWith(decoder));
+        verify(subscription, times(2)).request(1);
+        decoded.add(iterator.next().decodeWith(decoder));
+        verify(subscription, times(3)).request(1);
+        bodySubscriber.onNext(List.of(bytesOf("data: 5\n\n")));
+        bodySubscriber.onComplete();
+        iterator.forEachRemaining(event -> decoded.add(event.decodeWith(decoder)));
+        executor.shutdown();
+        assertEquals(List.of(1, 2, 3, 4, 5), decoded);
+    }
+
+    @Test
+    void shouldCancelTheExchangeWhenStreamIsClosed() {
+        var subscription = mock(Flow.Subscription.class);
+        var bodySubscriber = new ServerSentEventBodyHandler(Set.of(ServerSentEventParser.NO_EVENT), List.of())
+                .apply(responseInfo(HttpURLConnection.HTTP_OK));
+        bodySubscriber.onSubscribe(subscription);
+        bodySubscriber.getBody().toCompletableFuture().join().close();
+        verify(subscription, times(1)).cancel();
+    }
+
+    @Test
+    void shouldCancelTheExchangeWhenItIsAbortedBeforeOrAfterTheResponseArrives() {
+        var handler = new ServerSentEventBodyHandler(Set.of(ServerSentEventParser.NO_EVENT), List.of());
+        var subscription = mock(Flow.Subscription.class);
+        handler.apply(responseInfo(HttpURLConnection.HTTP_OK)).onSubscribe(subscription);
+        handler.abort();
+        verify(subscription, times(1)).cancel();
+
+        var abortedHandler = new ServerSentEventBodyHandler(Set.of(ServerSentEventParser.NO_EVENT), List.of());
+        abortedHandler.abort();
+        var lateSubscription = mock(Flow.Subscription.class);
+        abortedHandler.apply(responseInfo(HttpURLConnection.HTTP_OK)).onSubscribe(lateSubscription);
+        verify(lateSubscription, times(1)).cancel();
+        verify(lateSubscription, never()).request(1);
+    }
+
+    private ResponseInfo responseInfo(int statusCode) {
+        var responseInfo = mock(ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(statusCode);
+        when(responseInfo.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+        return responseInfo;
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ByteBuffer bytesOf(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
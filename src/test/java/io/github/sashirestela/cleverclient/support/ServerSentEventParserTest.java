@@ -0,0 +1,84 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ServerSentEventParserTest {
+
+    static final String STREAM = ": keep alive\r\n"
+            + "id: 1\r\n"
+            + "retry: 3000\r\n"
+            + "data: {\"first\":\r\n"
+            + "data:  true}\r\n"
+            + "\r\n"
+            + "event: delta\n"
+            + "data: second\n"
+            + "id: 2\n"
+            + "\n"
+            + "event: unknown\n"
+            + "data: ignored\n"
+            + "\n"
+            + "data\r"
+            + "\r"
+            + "data: [DONE]\n"
+            + "\n"
+            + "data: incomplete\n";
+
+    @Test
+    void shouldDispatchEventsWhenStreamIsParsedInOneBuffer() {
+        var parser = new ServerSentEventParser(Set.of(ServerSentEventParser.NO_EVENT, "delta"), List.of("[DONE]"));
+        var events = parse(parser, STREAM, STREAM.length());
+        assertEvents(events);
+        assertEquals("2", parser.getLastEventId());
+        assertEquals(3000, parser.getRetry());
+    }
+
+    @Test
+    void shouldDispatchEventsWhenLinesAreSplitAcrossBuffers() {
+        for (var chunkSize = 1; chunkSize < 8; chunkSize++) {
+            var parser = new ServerSentEventParser(Set.of(ServerSentEventParser.NO_EVENT, "delta"),
+                    List.of("[DONE]"));
+            assertEvents(parse(parser, STREAM, chunkSize));
+        }
+    }
+
+    @Test
+    void shouldIgnoreEventsWithoutNameWhenTheyAreNotExpected() {
+        var parser = new ServerSentEventParser(Set.of("delta"), List.of());
+        var events = parse(parser, STREAM, 16);
+        assertEquals(1, events.size());
+        assertEquals("delta", events.get(0).getName());
+        assertNull(new ServerSentEventParser(Set.of(), List.of()).getLastEventId());
+    }
+
+    private void assertEvents(List<ServerSentEvent> events) {
+        assertEquals(3, events.size());
+        assertEquals("", events.get(0).getName());
+        assertEquals("{\"first\":\n true}", events.get(0).getDataAsString());
+        assertEquals("1", events.get(0).getLastEventId());
+        assertEquals("delta", events.get(1).getName());
+        assertEquals("second", events.get(1).getDataAsString());
+        assertEquals("2", events.get(1).getLastEventId());
+        assertEquals("", events.get(2).getDataAsString());
+    }
+
+    private List<ServerSentEvent> parse(ServerSentEventParser parser, String stream, int chunkSize) {
+        var bytes = stream.getBytes(StandardCharsets.UTF_8);
+        List<ServerSentEvent> events = new ArrayList<>();
+        for (var offset = 0; offset < bytes.length; offset += chunkSize) {
+            var length = Math.min(chunkSize, bytes.length - offset);
+            parser.parse(ByteBuffer.wrap(bytes, offset, length), events::add);
+        }
+        parser.finish();
+        return events;
+    }
+
+}
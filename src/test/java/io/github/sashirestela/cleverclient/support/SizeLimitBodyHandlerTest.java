@@ -0,0 +1,75 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SizeLimitBodyHandlerTest {
+
+    @Test
+    void shouldFailTheBodyBeforeReadingItWhenItsContentLengthIsOverTheLimit() {
+        var applied = new AtomicBoolean();
+        var handler = new SizeLimitBodyHandler<>(info -> {
+            applied.set(true);
+            return new ByteBufferBodyHandler().apply(info);
+        }, 1024);
+        var bodySubscriber = handler.apply(responseInfoOf(200, 1_000_000_000L));
+        var subscription = mock(Flow.Subscription.class);
+        bodySubscriber.onSubscribe(subscription);
+        verify(subscription).cancel();
+        // The wrapped handler would allocate the declared length.
+        assertFalse(applied.get());
+
+        var exception = assertThrows(CompletionException.class,
+                () -> bodySubscriber.getBody().toCompletableFuture().join());
+        var tooLarge = BodyTooLargeException.causeOf(exception);
+        assertEquals(1_000_000_000L, tooLarge.getSize());
+        assertEquals(1024, tooLarge.getMaxSize());
+    }
+
+    @Test
+    void shouldFailTheBodyWhenItsBytesGoOverTheLimitButNotTheErrorBodies() {
+        var handler = new SizeLimitBodyHandler<>(info -> BodySubscribers.ofString(StandardCharsets.UTF_8), 10);
+        var bodySubscriber = handler.apply(responseInfoOf(200, null));
+        var subscription = mock(Flow.Subscription.class);
+        bodySubscriber.onSubscribe(subscription);
+        bodySubscriber.onNext(List.of(ByteBuffer.wrap("012345".getBytes(StandardCharsets.UTF_8))));
+        bodySubscriber.onNext(List.of(ByteBuffer.wrap("6789ab".getBytes(StandardCharsets.UTF_8))));
+        bodySubscriber.onComplete();
+        verify(subscription).cancel();
+        var exception = assertThrows(CompletionException.class,
+                () -> bodySubscriber.getBody().toCompletableFuture().join());
+        assertEquals(12, BodyTooLargeException.causeOf(exception).getSize());
+
+        var errorSubscriber = handler.apply(responseInfoOf(500, 12L));
+        errorSubscriber.onSubscribe(mock(Flow.Subscription.class));
+        errorSubscriber.onNext(List.of(ByteBuffer.wrap("0123456789ab".getBytes(StandardCharsets.UTF_8))));
+        errorSubscriber.onComplete();
+        assertEquals("0123456789ab", errorSubscriber.getBody().toCompletableFuture().join());
+    }
+
+    private ResponseInfo responseInfoOf(int statusCode, Long length) {
+        var responseInfo = mock(ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(statusCode);
+        when(responseInfo.headers()).thenReturn(HttpHeaders.of(length == null ? Map.of()
+                : Map.of("Content-Length", List.of(length.toString())), (name, value) -> true));
+        return responseInfo;
+    }
+
+}
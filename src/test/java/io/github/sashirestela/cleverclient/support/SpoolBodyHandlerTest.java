@@ -0,0 +1,64 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SpoolBodyHandlerTest {
+
+    @Test
+    void shouldKeepTheSmallBodiesInMemoryAndSpillTheBigOnes() throws IOException {
+        var small = receive(new SpoolBodyHandler(16), null, List.of("0123456789", "abcdef"));
+        assertFalse(small.isSpilled());
+        assertEquals(16, small.size());
+        assertEquals("0123456789abcdef", read(small));
+
+        var big = receive(new SpoolBodyHandler(16), null, List.of("0123456789", "abcdef", "ghij"));
+        assertTrue(big.isSpilled());
+        assertEquals(20, big.size());
+        assertEquals("0123456789abcdefghij", read(big));
+        assertEquals("0123456789abcdefghij", read(big));
+    }
+
+    @Test
+    void shouldSpillTheBodyFromItsStartWhenItsContentLengthIsOverTheThreshold() throws IOException {
+        var body = receive(new SpoolBodyHandler(4), 10L, List.of("0123456789"));
+        assertTrue(body.isSpilled());
+        assertEquals("0123456789", read(body));
+    }
+
+    private SpooledBody receive(SpoolBodyHandler handler, Long length, List<String> chunks) {
+        var responseInfo = mock(ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(200);
+        when(responseInfo.headers()).thenReturn(HttpHeaders.of(length == null ? Map.of()
+                : Map.of("Content-Length", List.of(length.toString())), (name, value) -> true));
+        BodySubscriber<SpooledBody> bodySubscriber = handler.apply(responseInfo);
+        bodySubscriber.onSubscribe(mock(Flow.Subscription.class));
+        for (var chunk : chunks) {
+            bodySubscriber.onNext(List.of(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        }
+        bodySubscriber.onComplete();
+        return bodySubscriber.getBody().toCompletableFuture().join();
+    }
+
+    private String read(SpooledBody body) throws IOException {
+        try (var input = body.openStream()) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+}
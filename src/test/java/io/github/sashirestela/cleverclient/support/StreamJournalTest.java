@@ -0,0 +1,108 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StreamJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldRecordTheResponseBytesAndReplayThem() {
+        var journal = StreamJournal.builder().directory(directory).build();
+        var first = record(journal, "first", List.of("data: one\n\n", "data: two\n\n"), true);
+        record(journal, "second", List.of("{\"id\":1}\n"), false);
+        assertEquals("data: one\n\ndata: two\n\n", first.getBody().toCompletableFuture().join());
+        journal.close();
+
+        var streams = StreamJournal.replay(directory, null);
+        assertEquals(2, streams.size());
+        assertEquals("first", streams.get(0).getLabel());
+        assertEquals(200, streams.get(0).getStatusCode());
+        assertEquals("text/event-stream", streams.get(0).getContentType());
+        assertEquals(2, streams.get(0).getChunks().size());
+        assertTrue(streams.get(0).isFinished());
+        assertEquals("data: one\n\ndata: two\n\n",
+                streams.get(0).replay(info -> BodySubscribers.ofString(StandardCharsets.UTF_8))
+                        .toCompletableFuture().join());
+        assertFalse(streams.get(1).isFinished());
+        var replayed = streams.get(1).replay(info -> BodySubscribers.ofString(StandardCharsets.UTF_8))
+                .toCompletableFuture();
+        assertThrows(CompletionException.class, () -> replayed.join());
+    }
+
+    @Test
+    void shouldRotateTheFilesWhenTheyReachTheirMaximumSize() throws IOException {
+        var journal = StreamJournal.builder().directory(directory).prefix("audit").maxFileSize(64).build();
+        var chunks = List.of("data: 0123456789\n\n", "data: 0123456789\n\n", "data: 0123456789\n\n");
+        record(journal, "rotated", chunks, true);
+        journal.close();
+
+        try (var files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+        var streams = StreamJournal.replay(directory, "audit");
+        assertEquals(1, streams.size());
+        assertEquals(String.join("", chunks), new String(streams.get(0).getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldReadTheChunksFromTheFilesOnlyWhenTheyAreUsed() throws IOException {
+        var journal = StreamJournal.builder().directory(directory).build();
+        record(journal, "lazy", List.of("data: one\n\n", "data: two\n\n"), true);
+        journal.close();
+
+        var streams = StreamJournal.replay(directory, null);
+        assertEquals(2, streams.get(0).getChunkCount());
+        try (var files = Files.list(directory)) {
+            var file = files.findFirst().orElseThrow();
+            var bytes = Files.readAllBytes(file);
+            Files.write(file, new String(bytes, StandardCharsets.ISO_8859_1).replace("two", "TWO")
+                    .getBytes(StandardCharsets.ISO_8859_1));
+        }
+        assertEquals("data: one\n\ndata: TWO\n\n",
+                streams.get(0).replay(info -> BodySubscribers.ofString(StandardCharsets.UTF_8))
+                        .toCompletableFuture().join());
+    }
+
+    private BodySubscriber<String> record(StreamJournal journal, String label, List<String> chunks,
+            boolean complete) {
+        var responseInfo = mock(ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(200);
+        when(responseInfo.headers()).thenReturn(HttpHeaders.of(
+                Map.of("Content-Type", List.of("text/event-stream")), (name, value) -> true));
+        var bodySubscriber = new TeeBodyHandler<>(info -> BodySubscribers.ofString(StandardCharsets.UTF_8), journal,
+                label).apply(responseInfo);
+        bodySubscriber.onSubscribe(mock(Flow.Subscription.class));
+        for (var chunk : chunks) {
+            bodySubscriber.onNext(List.of(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        }
+        if (complete) {
+            bodySubscriber.onComplete();
+        }
+        return bodySubscriber;
+    }
+
+}
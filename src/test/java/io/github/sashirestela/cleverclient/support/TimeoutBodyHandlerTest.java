@@ -0,0 +1,114 @@
+package io.github.sashirestela.cleverclient.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class TimeoutBodyHandlerTest {
+
+    @Test
+    void shouldTimeOutWhenIdleOnlyWhileThereIsDemand() throws InterruptedException {
+        var subscription = mock(Flow.Subscription.class);
+        var downstream = new PausedSubscriber();
+        var bodySubscriber = new TimeoutBodyHandler<>(responseInfo -> downstream, 50, 0)
+                .apply(mock(ResponseInfo.class));
+        bodySubscriber.onSubscribe(subscription);
+
+        Thread.sleep(150);
+        assertFalse(downstream.getBody().toCompletableFuture().isDone());
+        verify(subscription, never()).cancel();
+
+        downstream.subscription.request(1);
+        verify(subscription, timeout(1000)).cancel();
+        var body = downstream.getBody().toCompletableFuture();
+        var exception = assertThrows(CompletionException.class, () -> body.join());
+        assertTrue(((StreamTimeoutException) exception.getCause()).isIdle());
+    }
+
+    @Test
+    void shouldTimeOutWhenTheResponseExceedsItsTotalTime() throws InterruptedException {
+        var subscription = mock(Flow.Subscription.class);
+        var bodySubscriber = new TimeoutBodyHandler<>(TimeoutBodyHandlerTest::ofString, 1000, 100)
+                .apply(mock(ResponseInfo.class));
+        bodySubscriber.onSubscribe(subscription);
+        for (var chunk = 0; chunk < 5; chunk++) {
+            bodySubscriber.onNext(List.of(ByteBuffer.wrap("data".getBytes(StandardCharsets.UTF_8))));
+            Thread.sleep(40);
+        }
+
+        verify(subscription, timeout(1000)).cancel();
+        var exception = assertThrows(CompletionException.class, () -> bodySubscriber.getBody().toCompletableFuture()
+                .join());
+        assertFalse(((StreamTimeoutException) exception.getCause()).isIdle());
+    }
+
+    @Test
+    void shouldNotTimeOutWhenTheResponseCompletesInTime() throws InterruptedException {
+        var subscription = mock(Flow.Subscription.class);
+        var bodySubscriber = new TimeoutBodyHandler<>(TimeoutBodyHandlerTest::ofString, 50, 100)
+                .apply(mock(ResponseInfo.class));
+        bodySubscriber.onSubscribe(subscription);
+        bodySubscriber.onNext(List.of(ByteBuffer.wrap("data".getBytes(StandardCharsets.UTF_8))));
+        bodySubscriber.onComplete();
+
+        Thread.sleep(150);
+        verify(subscription, never()).cancel();
+        assertEquals("data", bodySubscriber.getBody().toCompletableFuture().join());
+    }
+
+    private static BodySubscriber<String> ofString(ResponseInfo responseInfo) {
+        return BodySubscribers.ofString(StandardCharsets.UTF_8);
+    }
+
+    static class PausedSubscriber implements BodySubscriber<String> {
+
+        private final CompletableFuture<String> body = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        @Override
+        public CompletionStage<String> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            // Nothing is requested until the test does it.
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            body.complete("");
+        }
+
+    }
+
+}
@@ -9,6 +9,8 @@ import lombok.Setter;
 import lombok.experimental.SuperBuilder;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -130,6 +132,33 @@ class JsonUtilTest {
         assertThrows(CleverClientException.class, () -> JsonUtil.objectToMap(object));
     }
 
+    @Test
+    void shouldConvertOnlyThePointedJsonValueWhenExtractingWithAJsonPointer() {
+        String json = "{\"id\":\"abc\",\"skipped\":{\"deep\":[1,2,{\"x\":\"y\"}]}," +
+                "\"data\":[{\"first\":\"test1\",\"second\":10},{\"first\":\"test2\",\"second\":20}]}";
+        var bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        TestClass actualObject = JsonUtil.jsonToObject(bytes, "/data/1", JsonUtil.javaTypeOf(TestClass.class));
+        assertEquals("test2", actualObject.getFirst());
+        assertEquals(20, actualObject.getSecond());
+
+        String actualText = JsonUtil.jsonToObject(new ByteArrayInputStream(bytes), "/data/0/first",
+                JsonUtil.javaTypeOf(String.class));
+        assertEquals("test1", actualText);
+
+        List<TestClass> actualList = JsonUtil.jsonToObject(bytes, "/data", JsonUtil.listJavaTypeOf(TestClass.class));
+        assertEquals(2, actualList.size());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenJsonPointerDoesNotMatchAnyValue() {
+        var bytes = "{\"data\":[]}".getBytes(StandardCharsets.UTF_8);
+        var javaType = JsonUtil.javaTypeOf(TestClass.class);
+        Exception exception = assertThrows(CleverClientException.class,
+                () -> JsonUtil.jsonToObject(bytes, "/data/0", javaType));
+        assertEquals("The Json pointer /data/0 does not match any value.", exception.getMessage());
+    }
+
     @NoArgsConstructor
     @AllArgsConstructor
     @Getter